@@ -113,3 +113,28 @@ SELECT
 FROM crypto_scout.cmc_kline_1w k
 LEFT JOIN crypto_scout.cmc_kline_1w_indicators i
     ON k.symbol = i.symbol AND k.timestamp = i.timestamp;
+
+-- Last bar written per indicators table and symbol by the indicator recompute job
+CREATE TABLE IF NOT EXISTS crypto_scout.indicator_recompute_checkpoints (
+    indicators_table TEXT NOT NULL,
+    symbol TEXT NOT NULL,
+    last_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT indicator_recompute_checkpoints_pkey PRIMARY KEY (indicators_table, symbol)
+);
+
+ALTER TABLE crypto_scout.indicator_recompute_checkpoints OWNER TO crypto_scout_db;
+
+-- Saved indicator calculator state per series, restored by the analyst instead of replaying klines on startup
+CREATE TABLE IF NOT EXISTS crypto_scout.analyst_calculator_states (
+    market TEXT NOT NULL,
+    symbol TEXT NOT NULL,
+    interval_ms BIGINT NOT NULL,
+    last_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    stream_offset BIGINT,
+    state BYTEA NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT analyst_calculator_states_pkey PRIMARY KEY (market, symbol, interval_ms)
+);
+
+ALTER TABLE crypto_scout.analyst_calculator_states OWNER TO crypto_scout_db;
@@ -196,6 +196,376 @@ SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_60m', interval
 SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_240m', interval '365 days');
 SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_1d', interval '365 days');
 
+-- =========================
+-- TRADE BARS (1s/5s/15s built in memory from public trades)
+-- =========================
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_1s (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_time   TIMESTAMP WITH TIME ZONE NOT NULL,
+    open_price DOUBLE PRECISION NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    high_price DOUBLE PRECISION NOT NULL,
+    low_price DOUBLE PRECISION NOT NULL,
+    volume DOUBLE PRECISION NOT NULL,
+    turnover DOUBLE PRECISION NOT NULL,
+    vwap DOUBLE PRECISION NOT NULL,
+    trade_count BIGINT NOT NULL,
+    buy_volume DOUBLE PRECISION NOT NULL,
+    sell_volume DOUBLE PRECISION NOT NULL,
+    CONSTRAINT bybit_spot_kline_1s_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_1s OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_1s_symbol_start_time ON crypto_scout.bybit_spot_kline_1s(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_1s', 'start_time', chunk_time_interval => INTERVAL '6 hours', if_not_exists => TRUE);
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_5s (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_time   TIMESTAMP WITH TIME ZONE NOT NULL,
+    open_price DOUBLE PRECISION NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    high_price DOUBLE PRECISION NOT NULL,
+    low_price DOUBLE PRECISION NOT NULL,
+    volume DOUBLE PRECISION NOT NULL,
+    turnover DOUBLE PRECISION NOT NULL,
+    vwap DOUBLE PRECISION NOT NULL,
+    trade_count BIGINT NOT NULL,
+    buy_volume DOUBLE PRECISION NOT NULL,
+    sell_volume DOUBLE PRECISION NOT NULL,
+    CONSTRAINT bybit_spot_kline_5s_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_5s OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_5s_symbol_start_time ON crypto_scout.bybit_spot_kline_5s(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_5s', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_15s (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_time   TIMESTAMP WITH TIME ZONE NOT NULL,
+    open_price DOUBLE PRECISION NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    high_price DOUBLE PRECISION NOT NULL,
+    low_price DOUBLE PRECISION NOT NULL,
+    volume DOUBLE PRECISION NOT NULL,
+    turnover DOUBLE PRECISION NOT NULL,
+    vwap DOUBLE PRECISION NOT NULL,
+    trade_count BIGINT NOT NULL,
+    buy_volume DOUBLE PRECISION NOT NULL,
+    sell_volume DOUBLE PRECISION NOT NULL,
+    CONSTRAINT bybit_spot_kline_15s_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_15s OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_15s_symbol_start_time ON crypto_scout.bybit_spot_kline_15s(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_15s', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_1s SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+ALTER TABLE crypto_scout.bybit_spot_kline_5s SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+ALTER TABLE crypto_scout.bybit_spot_kline_15s SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_1s', interval '7 days');
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_5s', interval '7 days');
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_15s', interval '7 days');
+
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_1s', 'idx_bybit_spot_kline_1s_symbol_start_time');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_5s', 'idx_bybit_spot_kline_5s_symbol_start_time');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_15s', 'idx_bybit_spot_kline_15s_symbol_start_time');
+
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_1s', interval '90 days');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_5s', interval '90 days');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_15s', interval '90 days');
+
+-- =========================
+-- KLINE INDICATORS (1m/5m/15m/60m/240m/1d, computed per confirmed kline by the analyst service)
+-- Schema is identical across intervals; start_time matches the kline the row was computed on.
+-- =========================
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_1m_indicators (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    sma_50 DOUBLE PRECISION,
+    sma_100 DOUBLE PRECISION,
+    sma_200 DOUBLE PRECISION,
+    ema_50 DOUBLE PRECISION,
+    ema_100 DOUBLE PRECISION,
+    ema_200 DOUBLE PRECISION,
+    rsi_14 DOUBLE PRECISION,
+    stochastic_14 DOUBLE PRECISION,
+    macd_line DOUBLE PRECISION,
+    macd_signal DOUBLE PRECISION,
+    macd_histogram DOUBLE PRECISION,
+    bb_middle DOUBLE PRECISION,
+    bb_upper DOUBLE PRECISION,
+    bb_lower DOUBLE PRECISION,
+    bb_width DOUBLE PRECISION,
+    bb_percent_b DOUBLE PRECISION,
+    atr_14 DOUBLE PRECISION,
+    std_dev_20 DOUBLE PRECISION,
+    vwap DOUBLE PRECISION,
+    volume_sma_20 DOUBLE PRECISION,
+    CONSTRAINT bybit_spot_kline_1m_indicators_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_1m_indicators OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_1m_indicators_symbol_start_time ON crypto_scout.bybit_spot_kline_1m_indicators(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_1m_indicators', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_5m_indicators (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    sma_50 DOUBLE PRECISION,
+    sma_100 DOUBLE PRECISION,
+    sma_200 DOUBLE PRECISION,
+    ema_50 DOUBLE PRECISION,
+    ema_100 DOUBLE PRECISION,
+    ema_200 DOUBLE PRECISION,
+    rsi_14 DOUBLE PRECISION,
+    stochastic_14 DOUBLE PRECISION,
+    macd_line DOUBLE PRECISION,
+    macd_signal DOUBLE PRECISION,
+    macd_histogram DOUBLE PRECISION,
+    bb_middle DOUBLE PRECISION,
+    bb_upper DOUBLE PRECISION,
+    bb_lower DOUBLE PRECISION,
+    bb_width DOUBLE PRECISION,
+    bb_percent_b DOUBLE PRECISION,
+    atr_14 DOUBLE PRECISION,
+    std_dev_20 DOUBLE PRECISION,
+    vwap DOUBLE PRECISION,
+    volume_sma_20 DOUBLE PRECISION,
+    CONSTRAINT bybit_spot_kline_5m_indicators_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_5m_indicators OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_5m_indicators_symbol_start_time ON crypto_scout.bybit_spot_kline_5m_indicators(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_5m_indicators', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_15m_indicators (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    sma_50 DOUBLE PRECISION,
+    sma_100 DOUBLE PRECISION,
+    sma_200 DOUBLE PRECISION,
+    ema_50 DOUBLE PRECISION,
+    ema_100 DOUBLE PRECISION,
+    ema_200 DOUBLE PRECISION,
+    rsi_14 DOUBLE PRECISION,
+    stochastic_14 DOUBLE PRECISION,
+    macd_line DOUBLE PRECISION,
+    macd_signal DOUBLE PRECISION,
+    macd_histogram DOUBLE PRECISION,
+    bb_middle DOUBLE PRECISION,
+    bb_upper DOUBLE PRECISION,
+    bb_lower DOUBLE PRECISION,
+    bb_width DOUBLE PRECISION,
+    bb_percent_b DOUBLE PRECISION,
+    atr_14 DOUBLE PRECISION,
+    std_dev_20 DOUBLE PRECISION,
+    vwap DOUBLE PRECISION,
+    volume_sma_20 DOUBLE PRECISION,
+    CONSTRAINT bybit_spot_kline_15m_indicators_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_15m_indicators OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_15m_indicators_symbol_start_time ON crypto_scout.bybit_spot_kline_15m_indicators(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_15m_indicators', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_60m_indicators (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    sma_50 DOUBLE PRECISION,
+    sma_100 DOUBLE PRECISION,
+    sma_200 DOUBLE PRECISION,
+    ema_50 DOUBLE PRECISION,
+    ema_100 DOUBLE PRECISION,
+    ema_200 DOUBLE PRECISION,
+    rsi_14 DOUBLE PRECISION,
+    stochastic_14 DOUBLE PRECISION,
+    macd_line DOUBLE PRECISION,
+    macd_signal DOUBLE PRECISION,
+    macd_histogram DOUBLE PRECISION,
+    bb_middle DOUBLE PRECISION,
+    bb_upper DOUBLE PRECISION,
+    bb_lower DOUBLE PRECISION,
+    bb_width DOUBLE PRECISION,
+    bb_percent_b DOUBLE PRECISION,
+    atr_14 DOUBLE PRECISION,
+    std_dev_20 DOUBLE PRECISION,
+    vwap DOUBLE PRECISION,
+    volume_sma_20 DOUBLE PRECISION,
+    CONSTRAINT bybit_spot_kline_60m_indicators_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_60m_indicators OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_60m_indicators_symbol_start_time ON crypto_scout.bybit_spot_kline_60m_indicators(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_60m_indicators', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_240m_indicators (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    sma_50 DOUBLE PRECISION,
+    sma_100 DOUBLE PRECISION,
+    sma_200 DOUBLE PRECISION,
+    ema_50 DOUBLE PRECISION,
+    ema_100 DOUBLE PRECISION,
+    ema_200 DOUBLE PRECISION,
+    rsi_14 DOUBLE PRECISION,
+    stochastic_14 DOUBLE PRECISION,
+    macd_line DOUBLE PRECISION,
+    macd_signal DOUBLE PRECISION,
+    macd_histogram DOUBLE PRECISION,
+    bb_middle DOUBLE PRECISION,
+    bb_upper DOUBLE PRECISION,
+    bb_lower DOUBLE PRECISION,
+    bb_width DOUBLE PRECISION,
+    bb_percent_b DOUBLE PRECISION,
+    atr_14 DOUBLE PRECISION,
+    std_dev_20 DOUBLE PRECISION,
+    vwap DOUBLE PRECISION,
+    volume_sma_20 DOUBLE PRECISION,
+    CONSTRAINT bybit_spot_kline_240m_indicators_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_240m_indicators OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_240m_indicators_symbol_start_time ON crypto_scout.bybit_spot_kline_240m_indicators(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_240m_indicators', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_kline_1d_indicators (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price DOUBLE PRECISION NOT NULL,
+    sma_50 DOUBLE PRECISION,
+    sma_100 DOUBLE PRECISION,
+    sma_200 DOUBLE PRECISION,
+    ema_50 DOUBLE PRECISION,
+    ema_100 DOUBLE PRECISION,
+    ema_200 DOUBLE PRECISION,
+    rsi_14 DOUBLE PRECISION,
+    stochastic_14 DOUBLE PRECISION,
+    macd_line DOUBLE PRECISION,
+    macd_signal DOUBLE PRECISION,
+    macd_histogram DOUBLE PRECISION,
+    bb_middle DOUBLE PRECISION,
+    bb_upper DOUBLE PRECISION,
+    bb_lower DOUBLE PRECISION,
+    bb_width DOUBLE PRECISION,
+    bb_percent_b DOUBLE PRECISION,
+    atr_14 DOUBLE PRECISION,
+    std_dev_20 DOUBLE PRECISION,
+    vwap DOUBLE PRECISION,
+    volume_sma_20 DOUBLE PRECISION,
+    CONSTRAINT bybit_spot_kline_1d_indicators_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_1d_indicators OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_kline_1d_indicators_symbol_start_time ON crypto_scout.bybit_spot_kline_1d_indicators(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_kline_1d_indicators', 'start_time', chunk_time_interval => INTERVAL '1 month', if_not_exists => TRUE);
+
+ALTER TABLE crypto_scout.bybit_spot_kline_1m_indicators SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+ALTER TABLE crypto_scout.bybit_spot_kline_5m_indicators SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+ALTER TABLE crypto_scout.bybit_spot_kline_15m_indicators SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+ALTER TABLE crypto_scout.bybit_spot_kline_60m_indicators SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+ALTER TABLE crypto_scout.bybit_spot_kline_240m_indicators SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+ALTER TABLE crypto_scout.bybit_spot_kline_1d_indicators SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_1m_indicators', interval '14 days');
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_5m_indicators', interval '14 days');
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_15m_indicators', interval '14 days');
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_60m_indicators', interval '14 days');
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_240m_indicators', interval '14 days');
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_kline_1d_indicators', interval '1 month');
+
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_1m_indicators', 'idx_bybit_spot_kline_1m_indicators_symbol_start_time');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_5m_indicators', 'idx_bybit_spot_kline_5m_indicators_symbol_start_time');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_15m_indicators', 'idx_bybit_spot_kline_15m_indicators_symbol_start_time');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_60m_indicators', 'idx_bybit_spot_kline_60m_indicators_symbol_start_time');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_240m_indicators', 'idx_bybit_spot_kline_240m_indicators_symbol_start_time');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_kline_1d_indicators', 'idx_bybit_spot_kline_1d_indicators_symbol_start_time');
+
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_1m_indicators', interval '365 days');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_5m_indicators', interval '365 days');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_15m_indicators', interval '365 days');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_60m_indicators', interval '365 days');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_240m_indicators', interval '365 days');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_kline_1d_indicators', interval '365 days');
+
+-- =========================
+-- VOLUME PROFILE (footprint per bar: sorted price tick indexes with buy/sell volume)
+-- =========================
+
+CREATE TABLE IF NOT EXISTS crypto_scout.bybit_spot_volume_profile (
+    symbol TEXT NOT NULL,
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_time   TIMESTAMP WITH TIME ZONE NOT NULL,
+    tick_size DOUBLE PRECISION NOT NULL,
+    price_ticks BIGINT[] NOT NULL,
+    buy_volumes DOUBLE PRECISION[] NOT NULL,
+    sell_volumes DOUBLE PRECISION[] NOT NULL,
+    volume DOUBLE PRECISION NOT NULL,
+    delta DOUBLE PRECISION NOT NULL,
+    poc_price DOUBLE PRECISION NOT NULL,
+    CONSTRAINT bybit_spot_volume_profile_pkey PRIMARY KEY (symbol, start_time)
+);
+
+ALTER TABLE crypto_scout.bybit_spot_volume_profile OWNER TO crypto_scout_db;
+CREATE INDEX IF NOT EXISTS idx_bybit_spot_volume_profile_symbol_start_time ON crypto_scout.bybit_spot_volume_profile(symbol, start_time DESC);
+SELECT public.create_hypertable('crypto_scout.bybit_spot_volume_profile', 'start_time', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+ALTER TABLE crypto_scout.bybit_spot_volume_profile SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'start_time DESC'
+);
+
+SELECT public.add_compression_policy('crypto_scout.bybit_spot_volume_profile', interval '14 days');
+SELECT public.add_reorder_policy('crypto_scout.bybit_spot_volume_profile', 'idx_bybit_spot_volume_profile_symbol_start_time');
+SELECT public.add_retention_policy('crypto_scout.bybit_spot_volume_profile', interval '365 days');
+
 -- =========================
 -- PUBLIC TRADES (normalized: 1 row per trade)
 -- =========================
@@ -58,6 +58,11 @@ public final class Collector extends Launcher {
     }
 
     static void main(final String[] args) throws Exception {
+        if (args.length > 0 && IndicatorRecompute.COMMAND.equals(args[0])) {
+            new IndicatorRecompute().launch(args);
+            return;
+        }
+
         new Collector().launch(args);
     }
 }
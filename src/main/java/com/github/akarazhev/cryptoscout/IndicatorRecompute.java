@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.akarazhev.cryptoscout;
+
+import com.github.akarazhev.cryptoscout.collector.IndicatorRecomputeJob;
+import com.github.akarazhev.cryptoscout.config.ConfigValidator;
+import com.github.akarazhev.cryptoscout.module.CoreModule;
+import com.github.akarazhev.cryptoscout.module.RecomputeModule;
+import io.activej.inject.annotation.Inject;
+import io.activej.inject.module.Module;
+import io.activej.launcher.Launcher;
+import io.activej.service.ServiceGraphModule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static io.activej.inject.module.Modules.combine;
+
+/**
+ * Batch mode of the collector: {@code recompute [--fresh] [indicators_table...]} rebuilds the indicator tables from
+ * the stored klines and exits.
+ */
+public final class IndicatorRecompute extends Launcher {
+    static final String COMMAND = "recompute";
+    private static final String FRESH = "--fresh";
+
+    @Inject
+    private IndicatorRecomputeJob job;
+
+    @Override
+    protected Module getModule() {
+        return combine(
+                ServiceGraphModule.create(),
+                CoreModule.create(),
+                RecomputeModule.create());
+    }
+
+    @Override
+    protected void onStart() throws Exception {
+        ConfigValidator.validate();
+    }
+
+    @Override
+    protected void run() throws Exception {
+        final var tables = new ArrayList<String>();
+        var fresh = false;
+        for (final var arg : Arrays.copyOfRange(args, 1, args.length)) {
+            if (FRESH.equals(arg)) {
+                fresh = true;
+            } else {
+                tables.add(arg);
+            }
+        }
+
+        final var summary = job.run(tables, fresh);
+        if (summary.failed() > 0) {
+            throw new IllegalStateException(summary.failed() + " of " + summary.symbols() + " symbols failed");
+        }
+    }
+}
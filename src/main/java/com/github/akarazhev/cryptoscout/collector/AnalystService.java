@@ -28,12 +28,12 @@ import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
 import com.github.akarazhev.cryptoscout.collector.db.StreamOffsetsRepository;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
 import com.github.akarazhev.cryptoscout.config.JdbcConfig;
-import com.github.akarazhev.jcryptolib.stream.OffsetPayload;
 import com.github.akarazhev.jcryptolib.stream.Payload;
 import com.github.akarazhev.jcryptolib.stream.Provider;
 import com.github.akarazhev.jcryptolib.stream.Source;
 import io.activej.async.service.ReactiveService;
 import io.activej.promise.Promise;
+import io.activej.promise.Promises;
 import io.activej.reactor.AbstractReactive;
 import io.activej.reactor.nio.NioReactor;
 import org.slf4j.Logger;
@@ -41,16 +41,36 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET_CMC;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.WARMUP_BARS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CIRCULATING_SUPPLY;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.MARKET_CAP;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VOLUME;
 import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.CLOSE;
 import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.HIGH;
 import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.LOW;
@@ -62,152 +82,145 @@ import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.VOLUME;
 import static com.github.akarazhev.jcryptolib.util.ParserUtils.getFirstRow;
 import static com.github.akarazhev.jcryptolib.util.ParserUtils.getRow;
 
+/**
+ * Computes technical indicators for the CMC BTC weekly klines and for every confirmed Bybit spot and linear kline
+ * from 1m to 1d.
+ * <p>
+ * Each (market, symbol, interval) series has its own calculator in a {@link CalculatorRegistry}: it is loaded on the
+ * first bar of the series from the stored klines, read on the executor like every other analyst read, and dropped
+ * once idle. Bars are applied on the shard that owns their series, and the resulting rows are written in one batch
+ * per flush, each timeframe to its own table.
+ * <p>
+ * After each flush the state of every calculator it touched is saved next to the rows, so a calculator is restored in
+ * O(1) when its series resumes, e.g. after a restart, and only the bars stored since its state are replayed. A state
+ * older than the warm-up window, or saved with another configuration, is ignored and the klines are replayed instead.
+ * <p>
+ * Bybit bars carry no stream offset, so their rows are recovered from the stored klines instead: the bars a loaded
+ * Bybit calculator replays past its state, or past the last stored row when it warms up, are written as rows with
+ * the next flush, and a flush whose save fails drops the calculators it touched so they are loaded and replayed
+ * again. Gaps longer than the warm-up window are left to the recompute job. The 5m to 1d klines the collector derives
+ * from 1m klines are added once stored; in derived-only mode Bybit's own 5m to 1d klines are not analysed.
+ * <p>
+ * Unconfirmed Bybit klines are evaluated as well, at most once per provisional interval and series, on a copy of the
+ * calculator of their series: the confirmed state is left untouched and only series with a live calculator are
+ * evaluated, so no tick reads the database. The latest result of each series is kept as its provisional indicators
+ * until the bar is confirmed and added.
+ * <p>
+ * Every result, confirmed or provisional, is also pushed to the TA stream as soon as it is computed, ahead of the
+ * batched write of the confirmed rows. Confirmed results are also checked against the signal rules of the
+ * {@link SignalService}; the signals of a flush are published once its shards are done.
+ */
 public final class AnalystService extends AbstractReactive implements ReactiveService {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnalystService.class);
     private final Executor executor;
     private final StreamOffsetsRepository streamOffsetsRepository;
     private final AnalystRepository analystRepository;
+    private final IndicatorStreamPublisher indicatorPublisher;
+    private final SignalService signalService;
     private final String stream;
     private final int batchSize;
     private final long flushIntervalMs;
-    private final Queue<OffsetPayload<Map<String, Object>>> buffer = new ConcurrentLinkedQueue<>();
+    private final Queue<Bar> buffer = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean flushInProgress = new AtomicBoolean(false);
     private final AtomicBoolean running = new AtomicBoolean(false);
-    private final TechnicalAnalysisCalculator taCalculator;
+    private final CalculatorRegistry registry;
+    private final long provisionalIntervalMs;
+    private final boolean derivedKlinesOnly;
+    // Time of the last provisional evaluation per series, confined to the reactor
+    private final Map<CalculatorRegistry.Key, Long> provisionalTimes = new HashMap<>();
+    // Latest provisional indicators per series, written on the shard of the series
+    private final Map<CalculatorRegistry.Key, Map<String, Object>> provisionalIndicators = new ConcurrentHashMap<>();
+    // Rows of the stored bars a loaded calculator replayed past the last stored row, written on the shard of the series
+    private final Map<CalculatorRegistry.Key, List<Row>> replayedRows = new ConcurrentHashMap<>();
 
     // Target configuration for cmc_kline_1w
     private static final String TARGET_SYMBOL = "BTC";
     private static final Source TARGET_SOURCE = Source.BTC_USD_1W;
-    private static final int INITIAL_LOOKBACK = 250;
-    private static final Duration LOOKBACK_PERIOD = Duration.ofDays(7L * INITIAL_LOOKBACK);
+    private static final Duration LOOKBACK_PERIOD = Duration.ofDays(7L * IndicatorSeries.CMC_MAX_PERIOD);
+    private static final CalculatorRegistry.Key TARGET_KEY =
+            new CalculatorRegistry.Key(MARKET_CMC, TARGET_SYMBOL, IndicatorSeries.CMC_1W.intervalMs());
+
+    // A bar of a series; CMC bars carry their stream offset, which may come without data
+    private record Bar(CalculatorRegistry.Key key, IndicatorSeries series, TechnicalAnalysisCalculator.OhlcvPoint point,
+                       long offset) {
+    }
+
+    private record Row(IndicatorSeries series, Map<String, Object> indicator) {
+    }
+
+    // Rows of a shard and the states of the calculators they came from, saved once the rows are
+    private record Computed(List<CalculatorRegistry.Key> keys, List<Row> rows,
+                            List<AnalystRepository.CalculatorState> states, List<SignalEngine.Signal> signals) {
+    }
 
     public static AnalystService create(final NioReactor reactor, final Executor executor,
                                         final StreamOffsetsRepository streamOffsetsRepository,
-                                        final AnalystRepository analystRepository) {
-        return new AnalystService(reactor, executor, streamOffsetsRepository, analystRepository);
+                                        final AnalystRepository analystRepository,
+                                        final IndicatorStreamPublisher indicatorPublisher,
+                                        final SignalService signalService) {
+        return new AnalystService(reactor, executor, streamOffsetsRepository, analystRepository, indicatorPublisher,
+                signalService);
     }
 
     private AnalystService(final NioReactor reactor, final Executor executor,
                            final StreamOffsetsRepository streamOffsetsRepository,
-                           final AnalystRepository analystRepository) {
+                           final AnalystRepository analystRepository,
+                           final IndicatorStreamPublisher indicatorPublisher,
+                           final SignalService signalService) {
         super(reactor);
         this.executor = executor;
         this.streamOffsetsRepository = streamOffsetsRepository;
         this.analystRepository = analystRepository;
+        this.indicatorPublisher = indicatorPublisher;
+        this.signalService = signalService;
         this.batchSize = JdbcConfig.getAnalystBatchSize();
         this.flushIntervalMs = JdbcConfig.getAnalystFlushIntervalMs();
         this.stream = AmqpConfig.getAmqpCryptoScoutStream();
-
-        // Configure calculator with all technical indicators enabled
-        final var config = TechnicalAnalysisCalculator.Config.builder()
-                .maxPeriod(INITIAL_LOOKBACK)
-                .enableRsi(true)
-                .enableStochastic(true)
-                .enableMacd(true)
-                .enableBollinger(true)
-                .enableAtr(true)
-                .enableStdDev(true)
-                .enableVwap(true)
-                .enableVolumeSma(true)
-                .includeMarketFundamentals(true)
-                .build();
-        this.taCalculator = TechnicalAnalysisCalculator.create(config);
+        this.registry = CalculatorRegistry.create(JdbcConfig.getAnalystShards(), JdbcConfig.getAnalystIdleEvictMs(),
+                this::loadCalculator, this::onEvicted);
+        this.provisionalIntervalMs = JdbcConfig.getAnalystProvisionalIntervalMs();
+        this.derivedKlinesOnly = JdbcConfig.getBybitKlineRollupDerivedOnly();
     }
 
     @Override
     public Promise<Void> start() {
-        return initializeCalculator()
-            .then(() -> {
-                running.set(true);
-                reactor.delayBackground(flushIntervalMs, this::scheduledFlush);
-                LOGGER.info("AnalystService started");
-                return Promise.complete();
-            });
-    }
-
-    private Promise<Void> initializeCalculator() {
-        return Promise.ofBlocking(executor, () -> {
-            try {
-                final var now = OffsetDateTime.now();
-                final var from = now.minus(LOOKBACK_PERIOD);
-
-                // Step 1: Try to load existing indicators (has EMA values)
-                final var existingIndicators = analystRepository.getIndicators(TARGET_SYMBOL, from, now);
-
-                if (!existingIndicators.isEmpty()) {
-                    taCalculator.initialize(existingIndicators);
-                    LOGGER.info("Initialized from {} existing indicators", existingIndicators.size());
-                } else {
-                    LOGGER.info("No existing indicators found, will compute from raw klines");
-                }
-
-                // Step 2: Load raw klines from cmc_kline_1w to fill gaps or initialize
-                final var currentDataCount = taCalculator.getDataCount();
-                final var neededDataPoints = Math.max(0, 200 - currentDataCount);
-
-                if (neededDataPoints > 0) {
-                    final var klines = analystRepository.getKlines(TARGET_SYMBOL, from, now);
-
-                    if (!klines.isEmpty()) {
-                        initializeFromKlines(klines, neededDataPoints);
-                    }
-                }
-
-                LOGGER.info("Calculator initialized with {} data points", taCalculator.getDataCount());
-            } catch (final SQLException e) {
-                throw new IllegalStateException("Failed to initialize calculator", e);
-            }
-        });
-    }
-
-    private void initializeFromKlines(final List<Map<String, Object>> klines, final int neededPoints) {
-        // Sort ascending (oldest first)
-        final var sorted = klines.stream()
-            .sorted(Comparator.comparing(m -> (OffsetDateTime) m.get(TIMESTAMP)))
-            .toList();
-
-        // Take only what we need from the end, but process in order
-        final var toProcess = sorted.size() <= neededPoints ?
-            sorted : sorted.subList(sorted.size() - neededPoints, sorted.size());
-
-        for (final var kline : toProcess) {
-            final var timestamp = (OffsetDateTime) kline.get(TIMESTAMP);
-            final var open = ((Number) kline.get(OPEN)).doubleValue();
-            final var high = ((Number) kline.get(HIGH)).doubleValue();
-            final var low = ((Number) kline.get(LOW)).doubleValue();
-            final var close = ((Number) kline.get(CLOSE)).doubleValue();
-            final var volume = ((Number) kline.get(VOLUME)).doubleValue();
-            final var marketCap = kline.get(com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.MARKET_CAP) instanceof Number ?
-                    ((Number) kline.get(com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.MARKET_CAP)).doubleValue() : 0.0;
-            final var supply = kline.get(com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CIRCULATING_SUPPLY) instanceof Number ?
-                    ((Number) kline.get(com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CIRCULATING_SUPPLY)).longValue() : 0L;
-
-            final var point = new TechnicalAnalysisCalculator.OhlcvPoint(
-                    timestamp, open, high, low, close, volume, marketCap, supply);
-            taCalculator.addOhlcv(point);
-        }
-
-        LOGGER.info("Loaded {} klines with full OHLCV from cmc_kline_1w", toProcess.size());
+        running.set(true);
+        reactor.delayBackground(flushIntervalMs, this::scheduledFlush);
+        LOGGER.info("AnalystService started with {} shards", registry.getShardCount());
+        return Promise.complete();
     }
 
     @Override
     public Promise<Void> stop() {
         running.set(false);
-        return flush();
+        return flush().whenComplete(registry::close);
     }
 
     public Promise<Void> save(final Payload<Map<String, Object>> payload, final long offset) {
-        if (!Provider.CMC.equals(payload.getProvider())) {
-            LOGGER.warn("Invalid payload: {}", payload);
-            return Promise.complete();
-        }
+        if (Provider.CMC.equals(payload.getProvider())) {
+            // Filter for BTC 1W data only
+            if (!TARGET_SOURCE.equals(payload.getSource())) {
+                return Promise.complete();
+            }
 
-        // Filter for BTC 1W data only
-        if (!TARGET_SOURCE.equals(payload.getSource())) {
+            buffer.add(new Bar(TARGET_KEY, IndicatorSeries.CMC_1W, extractOhlcv(payload.getData()), offset));
+        } else if (Provider.BYBIT.equals(payload.getProvider())) {
+            addKlineBars(payload.getSource(), payload.getData(), false);
+            if (provisionalIntervalMs > 0) {
+                PayloadParser.forFormingKlineBar(payload.getSource(), payload.getData(),
+                        (table, symbol, startMs, open, high, low, close, volume) -> {
+                            final var series = IndicatorSeries.ofKlineTable(table);
+                            if (series != null) {
+                                previewIndicators(new CalculatorRegistry.Key(series.market(), symbol,
+                                        series.intervalMs()), startMs, open, high, low, close, volume);
+                            }
+                        });
+            }
+        } else {
+            LOGGER.warn("Invalid payload: {}", payload);
             return Promise.complete();
         }
 
-        buffer.add(OffsetPayload.of(payload, offset));
         if (buffer.size() >= batchSize) {
             return flush();
         }
@@ -215,6 +228,14 @@ public final class AnalystService extends AbstractReactive implements ReactiveSe
         return Promise.complete();
     }
 
+    /**
+     * Adds the 5m to 1d klines derived from the 1m klines of a market once they are stored. They are not published to
+     * the stream, so this is the only way they reach the analyst; they are computed with the next flush.
+     */
+    public void saveDerived(final Source source, final List<Map<String, Object>> klines) {
+        klines.forEach(kline -> addKlineBars(source, kline, true));
+    }
+
     public Promise<List<Map<String, Object>>> getIndicators(final String symbol, final OffsetDateTime from,
                                                             final OffsetDateTime to) {
         return Promise.ofBlocking(executor, () -> analystRepository.getIndicators(symbol, from, to));
@@ -225,12 +246,71 @@ public final class AnalystService extends AbstractReactive implements ReactiveSe
         return Promise.ofBlocking(executor, () -> analystRepository.getKlines(symbol, from, to));
     }
 
+    /**
+     * Returns the provisional indicators of the forming bars of the symbol, one row per market and interval.
+     */
+    public Promise<List<Map<String, Object>>> getProvisionalIndicators(final String symbol) {
+        return Promise.of(provisionalIndicators.entrySet().stream()
+                .filter(entry -> entry.getKey().symbol().equals(symbol))
+                .map(Map.Entry::getValue)
+                .toList());
+    }
+
+    private void addKlineBars(final Source source, final Map<String, Object> data, final boolean derived) {
+        PayloadParser.forKlineBar(source, data, (table, symbol, startMs, open, high, low, close, volume) -> {
+            final var series = IndicatorSeries.ofKlineTable(table);
+            // In derived-only mode the stored 5m to 1d klines are the derived ones
+            if (series == null || (derivedKlinesOnly && !derived && series.intervalMs() > INTERVAL_1M_MS)) {
+                return;
+            }
+
+            final var point = toPoint(OffsetDateTime.ofInstant(Instant.ofEpochMilli(startMs), ZoneOffset.UTC), open,
+                    high, low, close, volume);
+            if (point != null) {
+                buffer.add(new Bar(new CalculatorRegistry.Key(series.market(), symbol, series.intervalMs()), series,
+                        point, -1L));
+            }
+        });
+    }
+
+    private void previewIndicators(final CalculatorRegistry.Key key, final long startMs, final double open,
+                                   final double high, final double low, final double close, final double volume) {
+        final var nowMs = System.currentTimeMillis();
+        final var lastMs = provisionalTimes.get(key);
+        if (!running.get() || (lastMs != null && nowMs - lastMs < provisionalIntervalMs)) {
+            return;
+        }
+
+        final var point = toPoint(OffsetDateTime.ofInstant(Instant.ofEpochMilli(startMs), ZoneOffset.UTC), open, high,
+                low, close, volume);
+        if (point == null) {
+            return;
+        }
+
+        provisionalTimes.put(key, nowMs);
+        registry.getShard(registry.getShardIndex(key)).execute(() -> {
+            try {
+                final var result = registry.preview(key, point);
+                if (result != null) {
+                    indicatorPublisher.publish(key, point, result, true);
+                    final var indicator = result.toMap(key.symbol(), point.timestamp(), point);
+                    indicator.put(MARKET, key.market());
+                    indicator.put(INTERVAL_MS, key.intervalMs());
+                    provisionalIndicators.put(key, indicator);
+                }
+            } catch (final Exception e) {
+                LOGGER.warn("Failed to compute provisional indicators for {}", key, e);
+            }
+        });
+    }
+
     private void scheduledFlush() {
         if (!running.get() || flushInProgress.getAndSet(true)) {
             return;
         }
         flush().whenComplete((_, _) -> {
             flushInProgress.set(false);
+            registry.evictIdle(System.currentTimeMillis());
             if (running.get()) {
                 reactor.delayBackground(flushIntervalMs, this::scheduledFlush);
             }
@@ -242,61 +322,330 @@ public final class AnalystService extends AbstractReactive implements ReactiveSe
             return Promise.complete();
         }
 
-        final var items = new ArrayList<OffsetPayload<Map<String, Object>>>();
+        // Bars are grouped per shard in arrival order, so each series sees its bars in order on its single writer
+        final var barsByShard = new HashMap<Integer, List<Bar>>();
+        var maxOffset = -1L;
         while (true) {
-            final var item = buffer.poll();
-            if (item == null) {
+            final var bar = buffer.poll();
+            if (bar == null) {
                 break;
             }
 
-            items.add(item);
+            if (bar.offset() > maxOffset) {
+                maxOffset = bar.offset();
+            }
+
+            if (bar.point() != null) {
+                barsByShard.computeIfAbsent(registry.getShardIndex(bar.key()), _ -> new ArrayList<>()).add(bar);
+            }
         }
 
-        if (items.isEmpty()) {
-            return Promise.complete();
+        final var nowMs = System.currentTimeMillis();
+        final var computations = new ArrayList<Promise<Computed>>(barsByShard.size());
+        for (final var entry : barsByShard.entrySet()) {
+            computations.add(Promise.ofBlocking(registry.getShard(entry.getKey()),
+                    () -> computeIndicators(entry.getValue(), nowMs)));
         }
 
-        return Promise.ofBlocking(executor, () -> {
-            var maxOffset = -1L;
-            final var indicators = new ArrayList<Map<String, Object>>();
+        final var offset = maxOffset;
+        return Promises.toList(computations)
+                .then(computed -> {
+                    computed.forEach(shard -> signalService.publish(shard.signals()));
+                    // The rows of a failed save are recomputed by the calculators it touched once they are reloaded
+                    return Promise.ofBlocking(executor, () -> saveIndicators(computed, offset))
+                            .whenException(_ -> computed.forEach(shard -> shard.keys().forEach(this::reload)));
+                });
+    }
 
-            for (final var item : items) {
-                final var payload = item.payload();
-                final var data = payload.getData();
-                final var timestamp = extractTimestamp(data);
-                final var ohlcv = extractOhlcv(data);
+    private void reload(final CalculatorRegistry.Key key) {
+        registry.getShard(registry.getShardIndex(key)).execute(() -> {
+            replayedRows.remove(key);
+            registry.remove(key);
+        });
+    }
 
-                if (timestamp != null && ohlcv != null) {
-                    final var result = taCalculator.addOhlcv(ohlcv);
-                    final var indicator = result.toMap(TARGET_SYMBOL, timestamp, ohlcv);
-                    indicators.add(indicator);
+    private Computed computeIndicators(final List<Bar> bars, final long nowMs) {
+        final var rows = new ArrayList<Row>(bars.size());
+        // Keys touched by the batch with the highest stream offset among their bars
+        final var offsets = new HashMap<CalculatorRegistry.Key, Long>();
+        final var signals = new ArrayList<SignalEngine.Signal>();
+        for (final var bar : bars) {
+            try {
+                final var result = registry.add(bar.key(), bar.point(), nowMs);
+                final var replayed = replayedRows.remove(bar.key());
+                if (replayed != null) {
+                    rows.addAll(replayed);
                 }
 
-                if (item.offset() > maxOffset) {
-                    maxOffset = item.offset();
+                if (result != null) {
+                    indicatorPublisher.publish(bar.key(), bar.point(), result, false);
+                    signals.addAll(signalService.evaluate(bar.key(), bar.point(), result));
+                    rows.add(new Row(bar.series(),
+                            result.toMap(bar.key().symbol(), bar.point().timestamp(), bar.point())));
+                    offsets.merge(bar.key(), bar.offset(), Math::max);
+                    // A forming bar is only evaluated after the bar before it, so this is the bar it was
+                    provisionalIndicators.remove(bar.key());
                 }
+            } catch (final Exception e) {
+                LOGGER.warn("Failed to compute indicators for {}", bar.key(), e);
             }
+        }
 
-            // No data to insert but we still may want to advance offset in rare cases
-            if (indicators.isEmpty()) {
-                if (maxOffset >= 0) {
-                    streamOffsetsRepository.upsertOffset(stream, maxOffset);
-                    LOGGER.warn("Upserted Analyst stream offset {} (no data batch)", maxOffset);
+        final var states = new ArrayList<AnalystRepository.CalculatorState>(offsets.size());
+        for (final var entry : offsets.entrySet()) {
+            final var key = entry.getKey();
+            final var calculator = registry.get(key);
+            if (calculator != null && calculator.getLastEndTime() != null) {
+                states.add(new AnalystRepository.CalculatorState(key.market(), key.symbol(), key.intervalMs(),
+                        OffsetDateTime.ofInstant(calculator.getLastEndTime(), ZoneOffset.UTC), entry.getValue(),
+                        calculator.saveState()));
+            }
+        }
+
+        return new Computed(bars.stream().map(Bar::key).distinct().toList(), rows, states, signals);
+    }
+
+    private void saveIndicators(final List<Computed> computed, final long maxOffset) throws SQLException {
+        final var cmcIndicators = new ArrayList<Map<String, Object>>();
+        final var bybitIndicators = new HashMap<String, List<Map<String, Object>>>();
+        final var states = new ArrayList<AnalystRepository.CalculatorState>();
+        for (final var shard : computed) {
+            states.addAll(shard.states());
+            for (final var row : shard.rows()) {
+                if (row.series().isCmc()) {
+                    cmcIndicators.add(row.indicator());
+                } else {
+                    bybitIndicators.computeIfAbsent(row.series().indicatorsTable(), _ -> new ArrayList<>())
+                            .add(row.indicator());
                 }
+            }
+        }
+
+        if (!bybitIndicators.isEmpty()) {
+            final var count = analystRepository.saveBybitIndicators(bybitIndicators);
+            LOGGER.debug("Save {} Bybit indicators (tx) into {} tables", count, bybitIndicators.size());
+        }
+
+        if (maxOffset >= 0) {
+            if (cmcIndicators.isEmpty()) {
+                // No data to insert but we still may want to advance offset in rare cases
+                streamOffsetsRepository.upsertOffset(stream, maxOffset);
+                LOGGER.warn("Upserted Analyst stream offset {} (no data batch)", maxOffset);
             } else {
-                indicators.trimToSize();
-                saveIndicators(indicators, maxOffset);
+                final var count = analystRepository.saveIndicators(cmcIndicators, maxOffset);
+                LOGGER.info("Save {} indicators (tx) and updated offset {}", count, maxOffset);
             }
-        });
+        }
+
+        // Saved after the rows, so a restored calculator is never ahead of the stored indicators
+        if (!states.isEmpty()) {
+            final var count = analystRepository.saveCalculatorStates(states);
+            LOGGER.debug("Saved {} calculator states", count);
+        }
     }
 
-    private void saveIndicators(final List<Map<String, Object>> indicators, final long maxOffset) throws SQLException {
-        if (!indicators.isEmpty()) {
-            if (maxOffset >= 0) {
-                final var count = analystRepository.saveIndicators(indicators, maxOffset);
-                LOGGER.info("Save {} indicators (tx) and updated offset {}", count, maxOffset);
+    // Drops the state kept per series with its evicted calculator; called on the shard of the series
+    private void onEvicted(final CalculatorRegistry.Key key) {
+        signalService.forget(key);
+        provisionalIndicators.remove(key);
+        reactor.execute(() -> provisionalTimes.remove(key));
+    }
+
+    private TechnicalAnalysisCalculator loadCalculator(final CalculatorRegistry.Key key, final OffsetDateTime before)
+            throws SQLException {
+        final var series = IndicatorSeries.of(key.market(), key.intervalMs());
+        final var from = before.minus(getWarmupPeriod(series));
+        final var state = read(() -> analystRepository.getCalculatorState(key.market(), key.symbol(),
+                key.intervalMs()));
+        if (state != null && !state.lastTime().isBefore(from)) {
+            final var calculator = restoreCalculator(series, key, state, before);
+            if (calculator != null) {
+                return calculator;
+            }
+        }
+
+        // Only Bybit rows are recovered here: CMC bars are replayed from the stream offset saved with their rows
+        var since = series.isCmc() ? null : read(() -> analystRepository.getLastIndicatorTime(series.indicatorsTable(),
+                key.symbol()));
+        var readFrom = from;
+        if (since != null && since.isBefore(from)) {
+            LOGGER.warn("Indicators of {} are missing since {}, beyond the warm-up window; run the recompute job", key,
+                    since);
+            since = null;
+        } else if (since != null && since.minus(getWarmupPeriod(series)).isBefore(from)) {
+            readFrom = since.minus(getWarmupPeriod(series));
+        }
+
+        final var calculator = TechnicalAnalysisCalculator.create(series.config());
+        final var points = getPoints(series, key.symbol(), readFrom, before);
+        replay(key, series, calculator, points, since);
+        LOGGER.debug("Loaded {} calculator with {} klines", key, points.size());
+        return calculator;
+    }
+
+    /**
+     * Restores a calculator from its saved state and replays the stored bars it missed before the given bar, if any.
+     * Returns null when the state cannot be used, so the caller warms up from the klines instead.
+     */
+    private TechnicalAnalysisCalculator restoreCalculator(final IndicatorSeries series,
+                                                          final CalculatorRegistry.Key key,
+                                                          final AnalystRepository.CalculatorState state,
+                                                          final OffsetDateTime before) throws SQLException {
+        final TechnicalAnalysisCalculator calculator;
+        try {
+            calculator = TechnicalAnalysisCalculator.restoreState(series.config(), state.data());
+        } catch (final IllegalArgumentException e) {
+            LOGGER.warn("Discarded saved state of {} calculator: {}", key, e.getMessage());
+            return null;
+        }
+
+        // A state at or after the bar is current: the calculator itself skips bars it has already seen
+        final var lastTime = state.lastTime();
+        if (!lastTime.plus(Duration.ofMillis(key.intervalMs())).isBefore(before)) {
+            LOGGER.debug("Restored {} calculator at {}", key, lastTime);
+            return calculator;
+        }
+
+        final var points = getPoints(series, key.symbol(), lastTime, before).stream()
+                .filter(point -> point.timestamp().isAfter(lastTime))
+                .toList();
+        // The rows of a Bybit series are saved before its state, so the bars after the state may have none
+        replay(key, series, calculator, points, series.isCmc() ? null : lastTime);
+        LOGGER.info("Restored {} calculator at {} and replayed {} klines", key, lastTime, points.size());
+        return calculator;
+    }
+
+    /**
+     * Adds stored bars to a loaded calculator: the bars up to {@code since} only warm it up, while the rows of the
+     * later ones are kept for the flush of the bar that loaded it, since they may be missing from the indicators
+     * table. Rows are upserted, so writing one that was stored already is harmless.
+     */
+    private void replay(final CalculatorRegistry.Key key, final IndicatorSeries series,
+                        final TechnicalAnalysisCalculator calculator,
+                        final List<TechnicalAnalysisCalculator.OhlcvPoint> points, final OffsetDateTime since) {
+        final var warmup = since == null ? points :
+                points.stream().filter(point -> !point.timestamp().isAfter(since)).toList();
+        if (!warmup.isEmpty()) {
+            calculator.initializeWithOhlcv(warmup);
+        }
+
+        if (since == null) {
+            return;
+        }
+
+        final var rows = new ArrayList<Row>();
+        final var missing = points.stream()
+                .filter(point -> point.timestamp().isAfter(since))
+                .sorted(Comparator.comparing(TechnicalAnalysisCalculator.OhlcvPoint::timestamp))
+                .toList();
+        for (final var point : missing) {
+            try {
+                final var result = calculator.addOhlcv(point);
+                rows.add(new Row(series, result.toMap(key.symbol(), point.timestamp(), point)));
+            } catch (final IllegalArgumentException e) {
+                LOGGER.debug("Skipped replayed bar of {}: {}", key, e.getMessage());
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            replayedRows.put(key, rows);
+            LOGGER.info("Recomputing {} indicator rows of {} after {}", rows.size(), key, since);
+        }
+    }
+
+    /**
+     * Runs a read of the calculator loader on the executor and waits for it on the shard, so that warming calculators
+     * up takes its connections from the analyst slice of the pool like every other analyst read.
+     */
+    private <T> T read(final Callable<T> reader) throws SQLException {
+        final var task = new FutureTask<>(reader);
+        executor.execute(task);
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading a calculator", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+
+            throw new SQLException("Failed to load a calculator", e.getCause());
+        }
+    }
+
+    private static Duration getWarmupPeriod(final IndicatorSeries series) {
+        return series.isCmc() ? LOOKBACK_PERIOD : Duration.ofMillis(WARMUP_BARS * series.intervalMs());
+    }
+
+    /**
+     * Returns the stored bars of the series from the given time, inclusive, up to the given bar, exclusive.
+     */
+    private List<TechnicalAnalysisCalculator.OhlcvPoint> getPoints(final IndicatorSeries series, final String symbol,
+                                                                   final OffsetDateTime from,
+                                                                   final OffsetDateTime before) throws SQLException {
+        final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        if (series.isCmc()) {
+            for (final var kline : read(() -> analystRepository.getKlines(symbol, from, before))) {
+                final var timestamp = (OffsetDateTime) kline.get(TIMESTAMP);
+                if (timestamp != null && timestamp.isBefore(before)) {
+                    final var point = toPoint(timestamp, kline.get(OPEN), kline.get(HIGH), kline.get(LOW),
+                            kline.get(CLOSE), kline.get(VOLUME), kline.get(MARKET_CAP),
+                            kline.get(CIRCULATING_SUPPLY));
+                    if (point != null) {
+                        points.add(point);
+                    }
+                }
+            }
+
+            return points;
+        }
+
+        for (final var kline : read(() -> analystRepository.getBybitKlines(series.klineTable(), symbol, from,
+                before))) {
+            final var startTime = (OffsetDateTime) kline.get(BAR_START_TIME);
+            if (startTime != null && startTime.isBefore(before)) {
+                final var point = toPoint(startTime, kline.get(BAR_OPEN_PRICE), kline.get(BAR_HIGH_PRICE),
+                        kline.get(BAR_LOW_PRICE), kline.get(BAR_CLOSE_PRICE), kline.get(BAR_VOLUME), null, null);
+                if (point != null) {
+                    points.add(point);
+                }
             }
         }
+
+        return points;
+    }
+
+    private static TechnicalAnalysisCalculator.OhlcvPoint toPoint(final OffsetDateTime timestamp, final double open,
+                                                                  final double high, final double low,
+                                                                  final double close, final double volume) {
+        try {
+            return new TechnicalAnalysisCalculator.OhlcvPoint(timestamp, open, high, low, close, volume);
+        } catch (final IllegalStateException e) {
+            LOGGER.warn("Invalid OHLCV data: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static TechnicalAnalysisCalculator.OhlcvPoint toPoint(final OffsetDateTime timestamp, final Object open,
+                                                                  final Object high, final Object low,
+                                                                  final Object close, final Object volume,
+                                                                  final Object marketCap, final Object supply) {
+        if (!(open instanceof Number) || !(high instanceof Number) ||
+            !(low instanceof Number) || !(close instanceof Number)) {
+            return null;
+        }
+
+        try {
+            return new TechnicalAnalysisCalculator.OhlcvPoint(timestamp, ((Number) open).doubleValue(),
+                    ((Number) high).doubleValue(), ((Number) low).doubleValue(), ((Number) close).doubleValue(),
+                    volume instanceof Number ? ((Number) volume).doubleValue() : 0.0,
+                    marketCap instanceof Number ? ((Number) marketCap).doubleValue() : 0.0,
+                    supply instanceof Number ? ((Number) supply).longValue() : 0L);
+        } catch (final IllegalStateException e) {
+            LOGGER.warn("Invalid OHLCV data: {}", e.getMessage());
+            return null;
+        }
     }
 
     private OffsetDateTime extractTimestamp(final Map<String, Object> data) {
@@ -333,36 +682,7 @@ public final class AnalystService extends AbstractReactive implements ReactiveSe
             return null;
         }
 
-        // Extract OHLCV values
-        final var openObj = quote.get(OPEN);
-        final var highObj = quote.get(HIGH);
-        final var lowObj = quote.get(LOW);
-        final var closeObj = quote.get(CLOSE);
-        final var volumeObj = quote.get(VOLUME);
-
-        if (!(openObj instanceof Number) || !(highObj instanceof Number) ||
-            !(lowObj instanceof Number) || !(closeObj instanceof Number)) {
-            return null;
-        }
-
-        final var open = ((Number) openObj).doubleValue();
-        final var high = ((Number) highObj).doubleValue();
-        final var low = ((Number) lowObj).doubleValue();
-        final var close = ((Number) closeObj).doubleValue();
-        final var volume = volumeObj instanceof Number ? ((Number) volumeObj).doubleValue() : 0.0;
-
-        // Extract market fundamentals if available
-        final var marketCapObj = quote.get(com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.MARKET_CAP);
-        final var supplyObj = quote.get(com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CIRCULATING_SUPPLY);
-
-        final var marketCap = marketCapObj instanceof Number ? ((Number) marketCapObj).doubleValue() : 0.0;
-        final var supply = supplyObj instanceof Number ? ((Number) supplyObj).longValue() : 0L;
-
-        try {
-            return new TechnicalAnalysisCalculator.OhlcvPoint(timestamp, open, high, low, close, volume, marketCap, supply);
-        } catch (final IllegalStateException e) {
-            LOGGER.warn("Invalid OHLCV data: {}", e.getMessage());
-            return null;
-        }
+        return toPoint(timestamp, quote.get(OPEN), quote.get(HIGH), quote.get(LOW), quote.get(CLOSE),
+                quote.get(VOLUME), quote.get(MARKET_CAP), quote.get(CIRCULATING_SUPPLY));
     }
 }
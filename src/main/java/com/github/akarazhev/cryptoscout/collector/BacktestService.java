@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import io.activej.async.service.ReactiveService;
+import io.activej.promise.Promise;
+import io.activej.promise.SettablePromise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET_LINEAR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET_SPOT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.QUEUE_TIMEOUT_MS;
+
+/**
+ * Serves backtests of the stored Bybit klines with a {@link Backtester}.
+ * <p>
+ * A backtest streams the history of its symbol through a kline cursor into columns, then evaluates its parameter grid
+ * on the shared fork-join pool ({@code jdbc.backtest.parallelism}). At most {@code jdbc.backtest.max-concurrent}
+ * backtests hold a history at once; the others wait for a slot, and are rejected if none frees up in time. Slots are
+ * taken on the reactor, so a waiting backtest holds no permit of the executor, which the analyst workloads share. A
+ * running one only holds a permit while it reads its history: the grid runs on the fork-join pool itself.
+ */
+public final class BacktestService extends AbstractReactive implements ReactiveService {
+    private final static Logger LOGGER = LoggerFactory.getLogger(BacktestService.class);
+    private final Executor executor;
+    private final AnalystRepository analystRepository;
+    private final Backtester backtester;
+    private final int maxConcurrent;
+    private final int fetchSize;
+    // Backtests waiting for a slot in arrival order and the running ones, confined to the reactor
+    private final ArrayDeque<SettablePromise<Void>> waiting = new ArrayDeque<>();
+    private int active;
+
+    public static BacktestService create(final NioReactor reactor, final Executor executor,
+                                         final AnalystRepository analystRepository) {
+        return new BacktestService(reactor, executor, analystRepository);
+    }
+
+    private BacktestService(final NioReactor reactor, final Executor executor,
+                            final AnalystRepository analystRepository) {
+        super(reactor);
+        this.executor = executor;
+        this.analystRepository = analystRepository;
+        this.backtester = Backtester.create(JdbcConfig.getBacktestParallelism());
+        this.maxConcurrent = JdbcConfig.getBacktestMaxConcurrent();
+        this.fetchSize = JdbcConfig.getRecomputeFetchSize();
+    }
+
+    @Override
+    public Promise<Void> start() {
+        return Promise.complete();
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        return Promise.ofBlocking(executor, backtester::close);
+    }
+
+    /**
+     * Backtests the moving average crossover grid over the klines of a symbol from a time, inclusive, to another,
+     * exclusive.
+     *
+     * @param average {@code SMA} or {@code EMA}
+     * @return One row per parameter set with its return, maximum drawdown, trades and winning trades, best first
+     */
+    public Promise<List<Map<String, Object>>> backtest(final BybitStreamService.Type type, final String symbol,
+                                                       final long intervalMs, final OffsetDateTime from,
+                                                       final OffsetDateTime to, final String average,
+                                                       final List<Integer> fastPeriods,
+                                                       final List<Integer> slowPeriods, final double feeBps) {
+        final IndicatorSeries series;
+        final Backtester.Average movingAverage;
+        final List<Backtester.Params> grid;
+        try {
+            series = IndicatorSeries.of(type == BybitStreamService.Type.BYBIT_SPOT ? MARKET_SPOT : MARKET_LINEAR,
+                    intervalMs);
+            movingAverage = Backtester.Average.valueOf(average);
+            grid = Backtester.grid(fastPeriods, slowPeriods);
+        } catch (final IllegalArgumentException e) {
+            return Promise.ofException(e);
+        }
+
+        return acquireSlot().then(() -> {
+            final var startMs = System.currentTimeMillis();
+            return Promise.ofBlocking(executor, () -> {
+                        final var columns = new Backtester.Columns();
+                        analystRepository.streamBybitKlines(series.klineTable(), symbol, from, to, fetchSize, columns);
+                        return columns;
+                    }).
+                    // Only the read holds an executor permit, the grid runs on the fork-join pool
+                    then(columns -> Promise.ofBlocking(backtester.getPool(), () -> {
+                        final var results = backtester.run(columns, movingAverage, grid, feeBps);
+                        LOGGER.info("Backtested {} parameter sets over {} bars of {} {} in {} ms", grid.size(),
+                                columns.size(), symbol, series.klineTable(), System.currentTimeMillis() - startMs);
+                        return results.stream().map(Backtester.Result::toMap).toList();
+                    })).
+                    whenComplete(this::releaseSlot);
+        });
+    }
+
+    private Promise<Void> acquireSlot() {
+        if (active < maxConcurrent) {
+            active++;
+            return Promise.complete();
+        }
+
+        final var slot = new SettablePromise<Void>();
+        waiting.add(slot);
+        reactor.delayBackground(QUEUE_TIMEOUT_MS, () -> {
+            if (waiting.remove(slot)) {
+                slot.setException(new IllegalStateException("No backtest slot freed up within " + QUEUE_TIMEOUT_MS +
+                        " ms"));
+            }
+        });
+        return slot;
+    }
+
+    // Hands the slot to the next waiting backtest, if any
+    private void releaseSlot() {
+        final var next = waiting.poll();
+        if (next == null) {
+            active--;
+        } else {
+            next.set(null);
+        }
+    }
+}
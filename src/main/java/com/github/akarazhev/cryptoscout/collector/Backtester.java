@@ -0,0 +1,269 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.AVERAGE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.FAST;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.INITIAL_CAPACITY;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.MAX_DRAWDOWN;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.MAX_PARAMETER_SETS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.PNL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.SLOW;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.TRADES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Backtest.WINS;
+
+/**
+ * Backtests a grid of moving average crossover strategies over the klines of one symbol.
+ * <p>
+ * The strategy is long-only: it holds the symbol while the fast average is above the slow one, entering and leaving
+ * at the close of the bar the averages cross on and paying the fee on both. A position still open after the last bar
+ * is valued at its close. Every parameter set reports its return, its maximum drawdown and its trades.
+ * <p>
+ * The history is held once as primitive columns. Each distinct period of the grid is averaged once, with the
+ * {@link BatchIndicators} kernels that match the calculator's definitions, and shared by every parameter set using
+ * it; the averages and then the parameter sets are evaluated as tasks of a fork-join pool.
+ */
+final class Backtester implements AutoCloseable {
+    private final ForkJoinPool pool;
+    private final BatchIndicators indicators;
+
+    enum Average {SMA, EMA}
+
+    /**
+     * The outcome of one parameter set: return and maximum drawdown as fractions of the starting equity, the number of
+     * trades entered and how many of them gained.
+     */
+    record Result(Average average, int fast, int slow, double pnl, double maxDrawdown, int trades, int wins) {
+
+        Map<String, Object> toMap() {
+            final var map = new HashMap<String, Object>();
+            map.put(AVERAGE, average.name());
+            map.put(FAST, fast);
+            map.put(SLOW, slow);
+            map.put(PNL, pnl);
+            map.put(MAX_DRAWDOWN, maxDrawdown);
+            map.put(TRADES, trades);
+            map.put(WINS, wins);
+            return map;
+        }
+    }
+
+    /**
+     * Klines of a symbol as primitive columns in bar order, filled by a kline cursor. Only the closes the strategy
+     * trades on are kept, so a year of 1m bars takes 4 MB.
+     */
+    static final class Columns implements AnalystRepository.KlineConsumer {
+        private double[] close = new double[INITIAL_CAPACITY];
+        private int size;
+
+        @Override
+        public void accept(final OffsetDateTime time, final double open, final double high, final double low,
+                           final double close, final double volume, final double marketCap,
+                           final long circulatingSupply) {
+            add(close);
+        }
+
+        void add(final double close) {
+            if (size == this.close.length) {
+                this.close = Arrays.copyOf(this.close, size * 2);
+            }
+
+            this.close[size++] = close;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private double[] close() {
+            return size == close.length ? close : Arrays.copyOf(close, size);
+        }
+    }
+
+    /**
+     * A fast and a slow period of the grid.
+     */
+    record Params(int fast, int slow) {
+    }
+
+    static Backtester create(final int parallelism) {
+        return new Backtester(parallelism);
+    }
+
+    private Backtester(final int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.indicators = BatchIndicators.create();
+    }
+
+    /**
+     * Pairs every fast period with every slower period.
+     *
+     * @throws IllegalArgumentException if a period is not positive, or the grid is empty or has more than
+     *                                  {@code MAX_PARAMETER_SETS} pairs
+     */
+    static List<Params> grid(final List<Integer> fastPeriods, final List<Integer> slowPeriods) {
+        final var grid = new ArrayList<Params>();
+        for (final var fast : fastPeriods) {
+            for (final var slow : slowPeriods) {
+                if (fast <= 0 || slow <= 0) {
+                    throw new IllegalArgumentException("Periods must be positive, got: " + fast + "/" + slow);
+                }
+
+                if (fast < slow) {
+                    grid.add(new Params(fast, slow));
+                }
+            }
+        }
+
+        if (grid.isEmpty() || grid.size() > MAX_PARAMETER_SETS) {
+            throw new IllegalArgumentException("Parameter grid must have 1 to " + MAX_PARAMETER_SETS +
+                    " fast/slow pairs, got: " + grid.size());
+        }
+
+        return grid;
+    }
+
+    /**
+     * Runs every parameter set of the grid, best return first.
+     *
+     * @param columns The history
+     * @param average The moving average of both periods
+     * @param grid The parameter sets
+     * @param feeBps The fee of an entry or an exit in basis points
+     * @throws IllegalArgumentException if the fee is negative
+     */
+    List<Result> run(final Columns columns, final Average average, final List<Params> grid, final double feeBps)
+            throws Exception {
+        if (!(feeBps >= 0.0) || Double.isInfinite(feeBps)) {
+            throw new IllegalArgumentException("Fee must be non-negative, got: " + feeBps);
+        }
+
+        final var close = columns.close();
+        final var periods = grid.stream().flatMap(p -> Stream.of(p.fast(), p.slow())).distinct().toList();
+        final var averageCalls = new ArrayList<Callable<double[]>>(periods.size());
+        for (final var period : periods) {
+            averageCalls.add(() -> average == Average.SMA ? indicators.sma(close, period) :
+                    indicators.ema(close, period));
+        }
+
+        // The futures come back in the order of the calls, one average per period
+        final var computed = invokeAll(averageCalls);
+        final var averages = new HashMap<Integer, double[]>(periods.size() * 2);
+        for (var i = 0; i < periods.size(); i++) {
+            averages.put(periods.get(i), computed.get(i));
+        }
+
+        final var fee = feeBps / 10_000.0;
+        final var calls = new ArrayList<Callable<Result>>(grid.size());
+        for (final var params : grid) {
+            calls.add(() -> simulate(average, params, close, averages.get(params.fast()), averages.get(params.slow()),
+                    fee));
+        }
+
+        final var results = invokeAll(calls);
+        results.sort(Comparator.comparingDouble(Result::pnl).reversed());
+        return results;
+    }
+
+    /**
+     * Returns the pool the parameter sets run on; {@link #run} may be called on it, waiting tasks help run the others.
+     */
+    ForkJoinPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private <T> List<T> invokeAll(final List<Callable<T>> calls) throws Exception {
+        final var results = new ArrayList<T>(calls.size());
+        for (final var future : pool.invokeAll(calls)) {
+            try {
+                results.add(future.get());
+            } catch (final ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        return results;
+    }
+
+    private static Result simulate(final Average average, final Params params, final double[] close,
+                                   final double[] fast, final double[] slow, final double fee) {
+        var equity = 1.0;
+        var peak = 1.0;
+        var maxDrawdown = 0.0;
+        var entryEquity = 0.0;
+        var trades = 0;
+        var wins = 0;
+        var holding = false;
+        for (var i = params.slow() - 1; i < close.length; i++) {
+            if (holding) {
+                equity *= close[i] / close[i - 1];
+            }
+
+            final var above = fast[i] > slow[i];
+            if (above != holding) {
+                equity *= 1.0 - fee;
+                if (above) {
+                    trades++;
+                    entryEquity = equity;
+                } else if (equity > entryEquity) {
+                    wins++;
+                }
+
+                holding = above;
+            }
+
+            if (equity > peak) {
+                peak = equity;
+            } else if (1.0 - equity / peak > maxDrawdown) {
+                maxDrawdown = 1.0 - equity / peak;
+            }
+        }
+
+        if (holding && equity > entryEquity) {
+            wins++;
+        }
+
+        return new Result(average, params.fast(), params.slow(), equity - 1.0, maxDrawdown, trades, wins);
+    }
+}
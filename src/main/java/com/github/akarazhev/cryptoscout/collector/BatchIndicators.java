@@ -0,0 +1,328 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Columnar indicator kernels over whole OHLCV arrays, for backfills and research queries that would otherwise feed
+ * {@link TechnicalAnalysisCalculator#addOhlcv} one bar at a time.
+ * <p>
+ * Every output has the length of its input and holds {@link Double#NaN} until the indicator is defined, which is the
+ * bar where the calculator stops returning null; the values themselves follow the calculator's definitions. The
+ * element-wise parts (window sums and means, band offsets, true range) run on {@link Kernels}, backed by
+ * {@code jdk.incubator.vector} when the module is resolved ({@code --add-modules jdk.incubator.vector}) and by plain
+ * loops otherwise. Exponential averages are a first-order recurrence and stay scalar.
+ */
+final class BatchIndicators {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchIndicators.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final Kernels DEFAULT_KERNELS = loadKernels();
+
+    private final Kernels kernels;
+
+    static BatchIndicators create() {
+        return new BatchIndicators(DEFAULT_KERNELS);
+    }
+
+    static BatchIndicators create(final Kernels kernels) {
+        return new BatchIndicators(kernels);
+    }
+
+    private BatchIndicators(final Kernels kernels) {
+        this.kernels = kernels;
+    }
+
+    /**
+     * Element-wise primitives the indicators are built from. Implementations must produce bit for bit the same values.
+     */
+    interface Kernels {
+        /**
+         * {@code out[outFrom + i] = (a[aFrom + i] + b[bFrom + i]) * scale} for {@code i} in {@code [0, length)}.
+         */
+        void addScaled(double[] a, int aFrom, double[] b, int bFrom, double scale, double[] out, int outFrom,
+                       int length);
+
+        /**
+         * {@code upper[i] = center[i] + k * width[i]} and {@code lower[i] = center[i] - k * width[i]} for {@code i} in
+         * {@code [from, to)}.
+         */
+        void bands(double[] center, double[] width, double k, double[] upper, double[] lower, int from, int to);
+
+        /**
+         * True range of every bar but the first: {@code max(high - low, |high - prevClose|, |prevClose - low|)}.
+         */
+        void trueRange(double[] high, double[] low, double[] close, double[] out);
+    }
+
+    /**
+     * Bollinger Bands of a close series, centred on the close like the calculator's.
+     */
+    record Bands(double[] middle, double[] upper, double[] lower) {
+    }
+
+    /**
+     * Whether the kernels run on the Vector API.
+     */
+    boolean isVectorized() {
+        return !(kernels instanceof ScalarKernels);
+    }
+
+    /**
+     * Simple moving average. Window sums come from prefix sums restarted every {@code period} values: a window spans at
+     * most two blocks, so its sum is the suffix of one block plus the prefix of the next, and no running total grows
+     * beyond a window's worth of values.
+     *
+     * @param values The series
+     * @param period The window length
+     * @return The average, defined from index {@code period - 1}
+     */
+    double[] sma(final double[] values, final int period) {
+        checkPeriod(period);
+        final var length = values.length;
+        final var out = nans(length);
+        if (length < period) {
+            return out;
+        }
+
+        final var prefix = new double[length];
+        final var suffix = new double[length];
+        for (var i = 0; i < length; i++) {
+            prefix[i] = i % period == 0 ? values[i] : prefix[i - 1] + values[i];
+        }
+
+        for (var i = length - 1; i >= 0; i--) {
+            suffix[i] = i % period == period - 1 || i == length - 1 ? values[i] : suffix[i + 1] + values[i];
+        }
+        // A window starting on a block boundary is that block alone: its suffix already holds the whole sum
+        for (var i = period - 1; i < length; i += period) {
+            prefix[i] = 0.0;
+        }
+
+        kernels.addScaled(suffix, 0, prefix, period - 1, 1.0 / period, out, period - 1, length - period + 1);
+        return out;
+    }
+
+    /**
+     * Exponential moving average seeded with the first value.
+     *
+     * @param values The series
+     * @param period The period, giving a smoothing factor of {@code 2 / (period + 1)}
+     * @return The average, defined from index {@code period - 1}
+     */
+    double[] ema(final double[] values, final int period) {
+        checkPeriod(period);
+        return exponentialAverage(values, 2.0 / (period + 1), period);
+    }
+
+    /**
+     * Rolling population standard deviation from rolling sums and sums of squares, restarted every {@code period}
+     * values like the {@link #sma} window sums. The values are summed as deviations from the first value of the block
+     * the window starts in, a price at most two windows away, so the variance {@code E[d^2] - E[d]^2} loses no
+     * precision to the price level.
+     *
+     * @param values The series
+     * @param period The window length
+     * @return The standard deviation, defined from index {@code period - 1}
+     */
+    double[] stdDev(final double[] values, final int period) {
+        checkPeriod(period);
+        final var length = values.length;
+        final var out = nans(length);
+        if (length < period) {
+            return out;
+        }
+
+        final var prefix = new double[length];
+        final var prefixSquares = new double[length];
+        final var suffix = new double[length];
+        final var suffixSquares = new double[length];
+        for (var i = 0; i < length; i++) {
+            // A block's prefix ends the windows starting in the previous block, so it shares that block's shift
+            final var deviation = values[i] - values[Math.max(0, i / period - 1) * period];
+            final var restart = i % period == 0;
+            prefix[i] = restart ? deviation : prefix[i - 1] + deviation;
+            prefixSquares[i] = restart ? deviation * deviation : prefixSquares[i - 1] + deviation * deviation;
+        }
+
+        for (var i = length - 1; i >= 0; i--) {
+            final var deviation = values[i] - values[i / period * period];
+            final var restart = i % period == period - 1 || i == length - 1;
+            suffix[i] = restart ? deviation : suffix[i + 1] + deviation;
+            suffixSquares[i] = restart ? deviation * deviation : suffixSquares[i + 1] + deviation * deviation;
+        }
+
+        for (var i = period - 1; i < length; i += period) {
+            prefix[i] = 0.0;
+            prefixSquares[i] = 0.0;
+        }
+
+        final var windows = length - period + 1;
+        final var means = new double[length];
+        final var meanSquares = new double[length];
+        kernels.addScaled(suffix, 0, prefix, period - 1, 1.0 / period, means, period - 1, windows);
+        kernels.addScaled(suffixSquares, 0, prefixSquares, period - 1, 1.0 / period, meanSquares, period - 1,
+            windows);
+        for (var i = period - 1; i < length; i++) {
+            out[i] = Math.sqrt(Math.max(0.0, meanSquares[i] - means[i] * means[i]));
+        }
+
+        return out;
+    }
+
+    /**
+     * Bollinger Bands: the close plus and minus {@code k} rolling standard deviations.
+     *
+     * @param close The close series
+     * @param period The window length
+     * @param k The band width in standard deviations
+     * @return The bands, defined from index {@code period - 1}
+     */
+    Bands bollinger(final double[] close, final int period, final double k) {
+        final var width = stdDev(close, period);
+        final var middle = nans(close.length);
+        final var upper = nans(close.length);
+        final var lower = nans(close.length);
+        if (close.length >= period) {
+            System.arraycopy(close, period - 1, middle, period - 1, close.length - period + 1);
+            kernels.bands(close, width, k, upper, lower, period - 1, close.length);
+        }
+
+        return new Bands(middle, upper, lower);
+    }
+
+    /**
+     * True range; the first bar, without a previous close, uses its high-low range.
+     *
+     * @param high The high series
+     * @param low The low series
+     * @param close The close series
+     * @return The true range of every bar
+     */
+    double[] trueRange(final double[] high, final double[] low, final double[] close) {
+        checkLengths(high, low, close);
+        final var out = new double[high.length];
+        if (out.length > 0) {
+            out[0] = high[0] - low[0];
+            kernels.trueRange(high, low, close, out);
+        }
+
+        return out;
+    }
+
+    /**
+     * Average true range with Wilder's smoothing seeded with the first true range.
+     *
+     * @param high The high series
+     * @param low The low series
+     * @param close The close series
+     * @param period The period, giving a smoothing factor of {@code 1 / period}
+     * @return The average, defined from index {@code period - 1}
+     */
+    double[] atr(final double[] high, final double[] low, final double[] close, final int period) {
+        checkPeriod(period);
+        return exponentialAverage(trueRange(high, low, close), 1.0 / period, period);
+    }
+
+    private static double[] exponentialAverage(final double[] values, final double alpha, final int period) {
+        final var out = nans(values.length);
+        var value = 0.0;
+        for (var i = 0; i < values.length; i++) {
+            value = i == 0 ? values[0] : value + alpha * (values[i] - value);
+            if (i >= period - 1) {
+                out[i] = value;
+            }
+        }
+
+        return out;
+    }
+
+    private static double[] nans(final int length) {
+        final var out = new double[length];
+        Arrays.fill(out, Double.NaN);
+        return out;
+    }
+
+    private static void checkPeriod(final int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive, got: " + period);
+        }
+    }
+
+    private static void checkLengths(final double[] high, final double[] low, final double[] close) {
+        if (high.length != low.length || high.length != close.length) {
+            throw new IllegalArgumentException("Series lengths differ: high=" + high.length + ", low=" + low.length +
+                ", close=" + close.length);
+        }
+    }
+
+    private static Kernels loadKernels() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return new VectorKernels();
+            } catch (final LinkageError e) {
+                LOGGER.warn("Vector kernels unavailable, falling back to scalar loops", e);
+            }
+        }
+
+        return new ScalarKernels();
+    }
+
+    /**
+     * Plain loops, used when {@code jdk.incubator.vector} is not resolved.
+     */
+    static final class ScalarKernels implements Kernels {
+
+        @Override
+        public void addScaled(final double[] a, final int aFrom, final double[] b, final int bFrom, final double scale,
+                              final double[] out, final int outFrom, final int length) {
+            for (var i = 0; i < length; i++) {
+                out[outFrom + i] = (a[aFrom + i] + b[bFrom + i]) * scale;
+            }
+        }
+
+        @Override
+        public void bands(final double[] center, final double[] width, final double k, final double[] upper,
+                          final double[] lower, final int from, final int to) {
+            for (var i = from; i < to; i++) {
+                final var offset = k * width[i];
+                upper[i] = center[i] + offset;
+                lower[i] = center[i] - offset;
+            }
+        }
+
+        @Override
+        public void trueRange(final double[] high, final double[] low, final double[] close, final double[] out) {
+            for (var i = 1; i < out.length; i++) {
+                final var previous = close[i - 1];
+                final var range = high[i] - low[i];
+                out[i] = Math.max(range, Math.max(Math.abs(high[i] - previous), Math.abs(previous - low[i])));
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import io.activej.promise.Promise;
+import io.activej.promise.SettablePromise;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.ARGS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.DATA;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.ERROR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.ID;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.METHOD;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.STATUS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.STATUS_ERROR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Batch.STATUS_OK;
+
+/**
+ * Runs the sub-queries of a batch request, at most {@code maxConcurrent} at once and started in request order, so a
+ * dashboard's panels cost one round trip without one batch taking every query permit. Each sub-query is a map with a
+ * {@code method}, its {@code args} and an optional {@code id} echoed back, the index otherwise.
+ * <p>
+ * Every item completes with its own status: a malformed, unsupported or failing sub-query fails its item only, and
+ * the batch completes with all items in request order.
+ * <p>
+ * Not thread-safe: it is used from the reactor thread, which also completes the queries.
+ */
+final class BatchRunner {
+    private final List<?> queries;
+    private final int maxConcurrent;
+    private final BiFunction<String, List<Object>, Promise<?>> query;
+    private final Consumer<Map<String, Object>> onItem;
+    private final List<Map<String, Object>> items;
+    private final SettablePromise<List<Map<String, Object>>> result = new SettablePromise<>();
+    private int next;
+    private int running;
+    private int completed;
+
+    /**
+     * Creates a runner whose query function returns the response data of a method, or null when it is not supported;
+     * {@code onItem} is called with every item as it completes.
+     */
+    static BatchRunner create(final List<?> queries, final int maxConcurrent,
+                              final BiFunction<String, List<Object>, Promise<?>> query,
+                              final Consumer<Map<String, Object>> onItem) {
+        return new BatchRunner(queries, maxConcurrent, query, onItem);
+    }
+
+    private BatchRunner(final List<?> queries, final int maxConcurrent,
+                        final BiFunction<String, List<Object>, Promise<?>> query,
+                        final Consumer<Map<String, Object>> onItem) {
+        this.queries = queries;
+        this.maxConcurrent = maxConcurrent;
+        this.query = query;
+        this.onItem = onItem;
+        this.items = new ArrayList<>(Collections.nCopies(queries.size(), null));
+    }
+
+    Promise<List<Map<String, Object>>> run() {
+        if (queries.isEmpty()) {
+            result.set(items);
+        } else {
+            launch();
+        }
+
+        return result;
+    }
+
+    private void launch() {
+        while (running < maxConcurrent && next < queries.size()) {
+            running++;
+            start(next++);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void start(final int index) {
+        if (!(queries.get(index) instanceof Map<?, ?> subQuery) || !(subQuery.get(METHOD) instanceof String method)) {
+            complete(index, item(index, null, STATUS_ERROR, ERROR, "Sub-query has no method"));
+            return;
+        }
+
+        final var id = subQuery.containsKey(ID) ? subQuery.get(ID) : index;
+        final Promise<?> response;
+        try {
+            final var args = subQuery.get(ARGS);
+            response = query.apply(method, args == null ? List.of() : (List<Object>) args);
+        } catch (final RuntimeException e) {
+            complete(index, item(id, method, STATUS_ERROR, ERROR, e.getMessage()));
+            return;
+        }
+
+        if (response == null) {
+            complete(index, item(id, method, STATUS_ERROR, ERROR, "Method is not supported in a batch: " + method));
+        } else {
+            response.whenComplete((data, e) -> complete(index, e == null ?
+                    item(id, method, STATUS_OK, DATA, data) :
+                    item(id, method, STATUS_ERROR, ERROR, e.getMessage())));
+        }
+    }
+
+    private void complete(final int index, final Map<String, Object> item) {
+        items.set(index, item);
+        running--;
+        completed++;
+        onItem.accept(item);
+        if (completed == queries.size()) {
+            result.set(items);
+        } else {
+            launch();
+        }
+    }
+
+    private static Map<String, Object> item(final Object id, final String method, final String status,
+                                            final String key, final Object value) {
+        final var item = new LinkedHashMap<String, Object>();
+        item.put(ID, id);
+        item.put(METHOD, method);
+        item.put(STATUS, status);
+        item.put(key, value);
+        return item;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.RiskRepository.BtcRisk;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Risk.BISECTION_STEPS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Risk.DAILY_PERIOD;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Risk.GRID_STEPS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Risk.WEEKLY_PERIOD;
+
+/**
+ * BTC risk updated one CMC daily or weekly close at a time from primitive state.
+ * <p>
+ * The price risk is the log distance of the price from its 50-week average, min-max normalized over every weekly
+ * distance seen so far. The composite risk averages it with the same normalization of the Mayer multiple, the log
+ * distance of the daily close from its 200-day average. Both are 0 at the lowest and 1 at the highest reading in
+ * history, so a new extreme stretches the scale. Each bar yields the current risks and, for every step of the risk
+ * grid, the prices at which the risks would be reached; nothing is yielded until both averages are warm.
+ * <p>
+ * A bar at or before the last one of its interval is a replay of a stored bar and is ignored, like the kline tables
+ * ignore it. Not thread-safe: the caller serializes the updates.
+ */
+final class BtcRiskModel {
+    private final StreamingIndicators.RollingWindow weekly;
+    private final StreamingIndicators.RollingWindow daily;
+    private final double[] risks;
+    private long lastWeeklyTime = Long.MIN_VALUE;
+    private long lastDailyTime = Long.MIN_VALUE;
+    private double logWeeklyAverage = Double.NaN;
+    private double logDailyAverage = Double.NaN;
+    private double weeklyMin = Double.POSITIVE_INFINITY;
+    private double weeklyMax = Double.NEGATIVE_INFINITY;
+    private double dailyMin = Double.POSITIVE_INFINITY;
+    private double dailyMax = Double.NEGATIVE_INFINITY;
+
+    static BtcRiskModel create() {
+        return create(WEEKLY_PERIOD, DAILY_PERIOD, GRID_STEPS);
+    }
+
+    static BtcRiskModel create(final int weeklyPeriod, final int dailyPeriod, final int gridSteps) {
+        return new BtcRiskModel(weeklyPeriod, dailyPeriod, gridSteps);
+    }
+
+    private BtcRiskModel(final int weeklyPeriod, final int dailyPeriod, final int gridSteps) {
+        if (gridSteps <= 0) {
+            throw new IllegalArgumentException("Risk grid steps must be positive, got: " + gridSteps);
+        }
+
+        this.weekly = new StreamingIndicators.RollingWindow(weeklyPeriod);
+        this.daily = new StreamingIndicators.RollingWindow(dailyPeriod);
+        this.risks = new double[gridSteps + 1];
+        for (var i = 0; i <= gridSteps; i++) {
+            risks[i] = (double) i / gridSteps;
+        }
+    }
+
+    /**
+     * Adds a weekly close and returns the risk at it, or null when the bar is a replay or the model is not warm.
+     */
+    BtcRisk onWeekly(final long timeMs, final double close) {
+        if (timeMs <= lastWeeklyTime || !isPrice(close)) {
+            return null;
+        }
+
+        lastWeeklyTime = timeMs;
+        weekly.add(close);
+        if (weekly.isFull()) {
+            logWeeklyAverage = Math.log(weekly.mean());
+            final var distance = Math.log(close) - logWeeklyAverage;
+            weeklyMin = Math.min(weeklyMin, distance);
+            weeklyMax = Math.max(weeklyMax, distance);
+        }
+
+        return evaluate(timeMs, close);
+    }
+
+    /**
+     * Adds a daily close and returns the risk at it, or null when the bar is a replay or the model is not warm.
+     */
+    BtcRisk onDaily(final long timeMs, final double close) {
+        if (timeMs <= lastDailyTime || !isPrice(close)) {
+            return null;
+        }
+
+        lastDailyTime = timeMs;
+        daily.add(close);
+        if (daily.isFull()) {
+            logDailyAverage = Math.log(daily.mean());
+            final var distance = Math.log(close) - logDailyAverage;
+            dailyMin = Math.min(dailyMin, distance);
+            dailyMax = Math.max(dailyMax, distance);
+        }
+
+        return evaluate(timeMs, close);
+    }
+
+    boolean isReady() {
+        return weekly.isFull() && daily.isFull() && weeklyMax > weeklyMin && dailyMax > dailyMin;
+    }
+
+    private BtcRisk evaluate(final long timeMs, final double price) {
+        if (!isReady()) {
+            return null;
+        }
+
+        final var logPrice = Math.log(price);
+        final var pricesOfPriceRisk = new long[risks.length];
+        final var pricesOfCompositeRisk = new long[risks.length];
+        for (var i = 0; i < risks.length; i++) {
+            final var distance = weeklyMin + risks[i] * (weeklyMax - weeklyMin);
+            pricesOfPriceRisk[i] = Math.round(Math.exp(logWeeklyAverage + distance));
+            pricesOfCompositeRisk[i] = Math.round(Math.exp(logPriceOfCompositeRisk(risks[i])));
+        }
+
+        return new BtcRisk(OffsetDateTime.ofInstant(Instant.ofEpochMilli(timeMs), ZoneOffset.UTC), Math.round(price),
+                priceRisk(logPrice), compositeRisk(logPrice), risks, pricesOfPriceRisk, pricesOfCompositeRisk);
+    }
+
+    private double priceRisk(final double logPrice) {
+        return normalize(logPrice - logWeeklyAverage, weeklyMin, weeklyMax);
+    }
+
+    private double compositeRisk(final double logPrice) {
+        return (priceRisk(logPrice) + normalize(logPrice - logDailyAverage, dailyMin, dailyMax)) / 2.0;
+    }
+
+    // The composite risk is non-decreasing in the log price, 0 below and 1 above the range of its two terms, so the
+    // lowest log price reaching a risk is bisected within that range
+    private double logPriceOfCompositeRisk(final double risk) {
+        var low = Math.min(logWeeklyAverage + weeklyMin, logDailyAverage + dailyMin);
+        var high = Math.max(logWeeklyAverage + weeklyMax, logDailyAverage + dailyMax);
+        for (var i = 0; i < BISECTION_STEPS; i++) {
+            final var middle = (low + high) / 2.0;
+            if (compositeRisk(middle) >= risk) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+
+        return high;
+    }
+
+    private static double normalize(final double value, final double min, final double max) {
+        return Math.clamp((value - min) / (max - min), 0.0, 1.0);
+    }
+
+    private static boolean isPrice(final double value) {
+        return value > 0.0 && Double.isFinite(value);
+    }
+}
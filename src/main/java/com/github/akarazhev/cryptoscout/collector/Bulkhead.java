@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.ACTIVE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.AVG_WAIT_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.COMPLETED;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.MAX_CONCURRENT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.MAX_QUEUED;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.MAX_WAIT_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.PEAK_QUEUED;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.QUEUED;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.REJECTED;
+
+/**
+ * Executor that runs at most {@code maxConcurrent} tasks of one workload class at once on the shared executor and
+ * queues the rest in arrival order, up to {@code maxQueued} ({@code 0} for no bound); beyond that a task is rejected,
+ * which fails the promise of {@code Promise.ofBlocking}. Queue depth and the time tasks waited for a permit are kept
+ * for the statistics. Work that holds its connection across several tasks, such as a streamed cursor, takes a
+ * {@link Lease} instead, which keeps one permit until it is closed.
+ * <p>
+ * Thread-safe: tasks are submitted from the reactor thread and release their permit from the executor threads.
+ */
+public final class Bulkhead implements Executor {
+    private final String name;
+    private final Executor executor;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Task> queue = new ArrayDeque<>();
+    private int active;
+    private int peakQueued;
+    private long started;
+    private long completed;
+    private long rejected;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    private record Task(Runnable command, long queuedAt, boolean leased) {
+    }
+
+    /**
+     * One permit held across several tasks: the first task waits for a permit like any other, the later ones run on
+     * it directly, and the permit is given back only by {@link #close}. The tasks of a lease are submitted one after
+     * another from one thread, each once the one before it has completed, and the lease is closed after the last.
+     */
+    final class Lease implements Executor, AutoCloseable {
+        private boolean acquired;
+        private boolean closed;
+
+        private Lease() {
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (closed) {
+                throw new RejectedExecutionException("Lease of bulkhead " + name + " is closed");
+            }
+
+            if (acquired) {
+                executor.execute(command);
+                return;
+            }
+
+            acquire(new Task(command, nanoClock.getAsLong(), true));
+            acquired = true;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (acquired) {
+                    release();
+                }
+            }
+        }
+    }
+
+    static Bulkhead create(final String name, final Executor executor, final int maxConcurrent,
+                           final int maxQueued) {
+        return new Bulkhead(name, executor, maxConcurrent, maxQueued, System::nanoTime);
+    }
+
+    static Bulkhead create(final String name, final Executor executor, final int maxConcurrent, final int maxQueued,
+                           final LongSupplier nanoClock) {
+        return new Bulkhead(name, executor, maxConcurrent, maxQueued, nanoClock);
+    }
+
+    private Bulkhead(final String name, final Executor executor, final int maxConcurrent, final int maxQueued,
+                     final LongSupplier nanoClock) {
+        this.name = name;
+        this.executor = executor;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        acquire(new Task(command, nanoClock.getAsLong(), false));
+    }
+
+    Lease lease() {
+        return new Lease();
+    }
+
+    private void acquire(final Task task) {
+        lock.lock();
+        try {
+            if (active >= maxConcurrent) {
+                if (maxQueued > 0 && queue.size() >= maxQueued) {
+                    rejected++;
+                    throw new RejectedExecutionException("Bulkhead " + name + " is full: " + active +
+                            " running, " + queue.size() + " queued");
+                }
+
+                queue.add(task);
+                peakQueued = Math.max(peakQueued, queue.size());
+                return;
+            }
+
+            active++;
+        } finally {
+            lock.unlock();
+        }
+
+        submit(task);
+    }
+
+    public Map<String, Object> getStats() {
+        lock.lock();
+        try {
+            final var stats = new LinkedHashMap<String, Object>();
+            stats.put(MAX_CONCURRENT, maxConcurrent);
+            stats.put(MAX_QUEUED, maxQueued);
+            stats.put(ACTIVE, active);
+            stats.put(QUEUED, queue.size());
+            stats.put(PEAK_QUEUED, peakQueued);
+            stats.put(COMPLETED, completed);
+            stats.put(REJECTED, rejected);
+            stats.put(AVG_WAIT_MS, started == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / started);
+            stats.put(MAX_WAIT_MS, maxWaitNanos / 1_000_000.0);
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void submit(final Task task) {
+        try {
+            executor.execute(() -> run(task));
+        } catch (final RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    private void run(final Task task) {
+        final var waitNanos = nanoClock.getAsLong() - task.queuedAt();
+        lock.lock();
+        try {
+            started++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            task.command().run();
+        } finally {
+            lock.lock();
+            try {
+                completed++;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!task.leased()) {
+                release();
+            }
+        }
+    }
+
+    // Hands the permit to the next queued task, if any
+    private void release() {
+        final Task next;
+        lock.lock();
+        try {
+            next = queue.poll();
+            if (next == null) {
+                active--;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (next != null) {
+            submit(next);
+        }
+    }
+}
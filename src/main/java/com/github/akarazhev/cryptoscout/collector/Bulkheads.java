@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.ANALYST;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.HEALTH;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.INGEST;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Bulkheads.QUERY;
+
+/**
+ * The bulkheads of the blocking work, one per workload class: {@code ingest} for stream flushes and offset commits,
+ * {@code query} for the request/response reads, {@code analyst} for indicators, risk, gap repair and backtests, and
+ * {@code health} for the health check.
+ * <p>
+ * A running task holds about one pooled connection, so the classes together may take no more than the pool: each
+ * owns its slice of it and a burst of one class queues in its own bulkhead instead of starving the others. Ingestion
+ * keeps the largest slice and an unbounded queue by default, so stream offsets are committed whatever the load of
+ * queries.
+ */
+public final class Bulkheads {
+    private final Bulkhead ingest;
+    private final Bulkhead query;
+    private final Bulkhead analyst;
+    private final Bulkhead health;
+
+    public static Bulkheads create(final Executor executor) {
+        final var ingest = JdbcConfig.getBulkheadMaxConcurrent(INGEST);
+        final var query = JdbcConfig.getBulkheadMaxConcurrent(QUERY);
+        final var analyst = JdbcConfig.getBulkheadMaxConcurrent(ANALYST);
+        final var health = JdbcConfig.getBulkheadMaxConcurrent(HEALTH);
+        final var poolSize = JdbcConfig.getMaximumPoolSize();
+        if (ingest + query + analyst + health > poolSize) {
+            throw new IllegalArgumentException("jdbc.bulkhead.*.max-concurrent add up to " +
+                    (ingest + query + analyst + health) + ", more than the pool of " + poolSize);
+        }
+
+        return new Bulkheads(
+                Bulkhead.create(INGEST, executor, ingest, JdbcConfig.getBulkheadMaxQueued(INGEST)),
+                Bulkhead.create(QUERY, executor, query, JdbcConfig.getBulkheadMaxQueued(QUERY)),
+                Bulkhead.create(ANALYST, executor, analyst, JdbcConfig.getBulkheadMaxQueued(ANALYST)),
+                Bulkhead.create(HEALTH, executor, health, JdbcConfig.getBulkheadMaxQueued(HEALTH)));
+    }
+
+    private Bulkheads(final Bulkhead ingest, final Bulkhead query, final Bulkhead analyst, final Bulkhead health) {
+        this.ingest = ingest;
+        this.query = query;
+        this.analyst = analyst;
+        this.health = health;
+    }
+
+    public Bulkhead ingest() {
+        return ingest;
+    }
+
+    public Bulkhead query() {
+        return query;
+    }
+
+    public Bulkhead analyst() {
+        return analyst;
+    }
+
+    public Bulkhead health() {
+        return health;
+    }
+
+    public Map<String, Object> getStats() {
+        final var stats = new LinkedHashMap<String, Object>();
+        stats.put(INGEST, ingest.getStats());
+        stats.put(QUERY, query.getStats());
+        stats.put(ANALYST, analyst.getStats());
+        stats.put(HEALTH, health.getStats());
+        return stats;
+    }
+}
@@ -34,6 +34,7 @@ import com.github.akarazhev.jcryptolib.stream.Payload;
 import com.github.akarazhev.jcryptolib.stream.Provider;
 import com.github.akarazhev.jcryptolib.stream.Source;
 import io.activej.async.service.ReactiveService;
+import io.activej.datastream.supplier.StreamSupplier;
 import io.activej.promise.Promise;
 import io.activej.reactor.AbstractReactive;
 import io.activej.reactor.nio.NioReactor;
@@ -50,9 +51,20 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_60M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.INTERVAL_15S_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.INTERVAL_1S_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.INTERVAL_5S_MS;
 import static com.github.akarazhev.cryptoscout.collector.PayloadParser.isKlineConfirmed;
 import static com.github.akarazhev.cryptoscout.collector.PayloadParser.isSnapshot;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LAST_PRICE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TS;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.TOPIC_FIELD;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.ALL_LIQUIDATION;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_1;
@@ -71,38 +83,83 @@ import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.TICKERS;
 public final class BybitStreamService extends AbstractReactive implements ReactiveService {
     private final static Logger LOGGER = LoggerFactory.getLogger(BybitStreamService.class);
     private final Executor executor;
+    private final Bulkhead queryExecutor;
     private final StreamOffsetsRepository streamOffsetsRepository;
     private final BybitSpotRepository bybitSpotRepository;
     private final BybitLinearRepository bybitLinearRepository;
     private final String stream;
     private final int batchSize;
     private final long flushIntervalMs;
+    private final int streamBatchRows;
+    private final int maxPoints;
     private final Queue<OffsetPayload<Map<String, Object>>> buffer = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean flushInProgress = new AtomicBoolean(false);
     private final AtomicBoolean running = new AtomicBoolean(false);
+    private final TradeBarAggregator spotTradeBars =
+            TradeBarAggregator.create(INTERVAL_1S_MS, INTERVAL_5S_MS, INTERVAL_15S_MS);
+    private final TradeBarAggregator linearTradeBars =
+            TradeBarAggregator.create(INTERVAL_1S_MS, INTERVAL_5S_MS, INTERVAL_15S_MS);
+    private final VolumeProfileAggregator spotVolumeProfiles;
+    private final VolumeProfileAggregator linearVolumeProfiles;
+    private final LiquidationAggregator linearLiquidations = LiquidationAggregator.create();
+    private final boolean derivedKlinesOnly;
+    private final KlineRollupAggregator spotKlineRollup;
+    private final KlineRollupAggregator linearKlineRollup;
+    private final BiConsumer<Source, List<Map<String, Object>>> onDerivedKlinesSaved;
 
     public enum Type {BYBIT_SPOT, BYBIT_LINEAR}
 
     public static BybitStreamService create(final NioReactor reactor, final Executor executor,
+                                            final Bulkhead queryExecutor,
                                             final StreamOffsetsRepository streamOffsetsRepository,
                                             final BybitSpotRepository bybitSpotRepository,
                                             final BybitLinearRepository bybitLinearRepository) {
-        return new BybitStreamService(reactor, executor, streamOffsetsRepository, bybitSpotRepository,
-                bybitLinearRepository);
+        return new BybitStreamService(reactor, executor, queryExecutor, streamOffsetsRepository, bybitSpotRepository,
+                bybitLinearRepository, (_, _) -> {
+                });
+    }
+
+    /**
+     * Creates the service that passes the klines derived from the 1m klines of a market to the given listener once
+     * their save has committed.
+     */
+    public static BybitStreamService create(final NioReactor reactor, final Executor executor,
+                                            final Bulkhead queryExecutor,
+                                            final StreamOffsetsRepository streamOffsetsRepository,
+                                            final BybitSpotRepository bybitSpotRepository,
+                                            final BybitLinearRepository bybitLinearRepository,
+                                            final BiConsumer<Source, List<Map<String, Object>>> onDerivedKlinesSaved) {
+        return new BybitStreamService(reactor, executor, queryExecutor, streamOffsetsRepository, bybitSpotRepository,
+                bybitLinearRepository, onDerivedKlinesSaved);
     }
 
     private BybitStreamService(final NioReactor reactor, final Executor executor,
+                               final Bulkhead queryExecutor,
                                final StreamOffsetsRepository streamOffsetsRepository,
                                final BybitSpotRepository bybitSpotRepository,
-                               final BybitLinearRepository bybitLinearRepository) {
+                               final BybitLinearRepository bybitLinearRepository,
+                               final BiConsumer<Source, List<Map<String, Object>>> onDerivedKlinesSaved) {
         super(reactor);
         this.executor = executor;
+        this.queryExecutor = queryExecutor;
         this.streamOffsetsRepository = streamOffsetsRepository;
         this.bybitSpotRepository = bybitSpotRepository;
         this.bybitLinearRepository = bybitLinearRepository;
         this.batchSize = JdbcConfig.getBybitBatchSize();
         this.flushIntervalMs = JdbcConfig.getBybitFlushIntervalMs();
+        this.streamBatchRows = JdbcConfig.getStreamFetchSize();
+        this.maxPoints = JdbcConfig.getDownsampleMaxPoints();
         this.stream = AmqpConfig.getAmqpBybitStream();
+        final var profileIntervalMs = JdbcConfig.getBybitVolumeProfileIntervalMs();
+        final var defaultTickSize = JdbcConfig.getBybitVolumeProfileDefaultTickSize();
+        final var tickSizes = JdbcConfig.getBybitVolumeProfileTickSizes();
+        this.spotVolumeProfiles = VolumeProfileAggregator.create(profileIntervalMs, defaultTickSize, tickSizes);
+        this.linearVolumeProfiles = VolumeProfileAggregator.create(profileIntervalMs, defaultTickSize, tickSizes);
+        this.derivedKlinesOnly = JdbcConfig.getBybitKlineRollupDerivedOnly();
+        final var rollupGraceMs = JdbcConfig.getBybitKlineRollupGraceMs();
+        this.spotKlineRollup = KlineRollupAggregator.create(derivedKlinesOnly, rollupGraceMs);
+        this.linearKlineRollup = KlineRollupAggregator.create(derivedKlinesOnly, rollupGraceMs);
+        this.onDerivedKlinesSaved = onDerivedKlinesSaved;
     }
 
     @Override
@@ -132,65 +189,165 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
         return Promise.complete();
     }
 
+    public Promise<List<Map<String, Object>>> getKline1s(final Type type, final String symbol,
+                                                         final OffsetDateTime from, final OffsetDateTime to) {
+        return switch (type) {
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline1s(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline1s(symbol, from, to));
+        };
+    }
+
+    public Promise<List<Map<String, Object>>> getKline5s(final Type type, final String symbol,
+                                                         final OffsetDateTime from, final OffsetDateTime to) {
+        return switch (type) {
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline5s(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline5s(symbol, from, to));
+        };
+    }
+
+    public Promise<List<Map<String, Object>>> getKline15s(final Type type, final String symbol,
+                                                          final OffsetDateTime from, final OffsetDateTime to) {
+        return switch (type) {
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline15s(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline15s(symbol, from, to));
+        };
+    }
+
+    public Promise<List<Map<String, Object>>> getVolumeProfile(final Type type, final String symbol,
+                                                               final OffsetDateTime from, final OffsetDateTime to) {
+        return switch (type) {
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getVolumeProfile(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getVolumeProfile(symbol, from, to));
+        };
+    }
+
     public Promise<List<Map<String, Object>>> getKline1m(final Type type, final String symbol,
                                                          final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
-            case BYBIT_SPOT -> Promise.ofBlocking(executor, () -> bybitSpotRepository.getKline1m(symbol, from, to));
-            case BYBIT_LINEAR -> Promise.ofBlocking(executor, () -> bybitLinearRepository.getKline1m(symbol, from, to));
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline1m(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline1m(symbol, from, to));
         };
     }
 
     public Promise<List<Map<String, Object>>> getKline5m(final Type type, final String symbol,
                                                          final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
-            case BYBIT_SPOT -> Promise.ofBlocking(executor, () -> bybitSpotRepository.getKline5m(symbol, from, to));
-            case BYBIT_LINEAR -> Promise.ofBlocking(executor, () -> bybitLinearRepository.getKline5m(symbol, from, to));
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline5m(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline5m(symbol, from, to));
         };
     }
 
     public Promise<List<Map<String, Object>>> getKline15m(final Type type, final String symbol,
                                                           final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
-            case BYBIT_SPOT -> Promise.ofBlocking(executor, () -> bybitSpotRepository.getKline15m(symbol, from, to));
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline15m(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getKline15m(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline15m(symbol, from, to));
         };
     }
 
     public Promise<List<Map<String, Object>>> getKline60m(final Type type, final String symbol,
                                                           final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
-            case BYBIT_SPOT -> Promise.ofBlocking(executor, () -> bybitSpotRepository.getKline60m(symbol, from, to));
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline60m(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getKline60m(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline60m(symbol, from, to));
         };
     }
 
     public Promise<List<Map<String, Object>>> getKline240m(final Type type, final String symbol,
                                                            final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
-            case BYBIT_SPOT -> Promise.ofBlocking(executor, () -> bybitSpotRepository.getKline240m(symbol, from, to));
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline240m(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getKline240m(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline240m(symbol, from, to));
         };
     }
 
     public Promise<List<Map<String, Object>>> getKline1d(final Type type, final String symbol,
                                                          final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
-            case BYBIT_SPOT -> Promise.ofBlocking(executor, () -> bybitSpotRepository.getKline1d(symbol, from, to));
-            case BYBIT_LINEAR -> Promise.ofBlocking(executor, () -> bybitLinearRepository.getKline1d(symbol, from, to));
+            case BYBIT_SPOT ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getKline1d(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getKline1d(symbol, from, to));
         };
     }
 
     public Promise<List<Map<String, Object>>> getTicker(final Type type, final String symbol, final OffsetDateTime from,
                                                         final OffsetDateTime to) {
         return switch (type) {
-            case BYBIT_SPOT -> Promise.ofBlocking(executor, () -> bybitSpotRepository.getTicker(symbol, from, to));
-            case BYBIT_LINEAR -> Promise.ofBlocking(executor, () -> bybitLinearRepository.getTicker(symbol, from, to));
+            case BYBIT_SPOT -> Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getTicker(symbol, from, to));
+            case BYBIT_LINEAR ->
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getTicker(symbol, from, to));
         };
     }
 
+    /**
+     * Klines of at least {@code intervalMs} per bar, aggregated in the database into at most {@code points} buckets
+     * read from the coarsest kline table that fits the bucket width.
+     */
+    public Promise<List<Map<String, Object>>> getKlineDownsampled(final Type type, final String symbol,
+                                                                  final long intervalMs, final OffsetDateTime from,
+                                                                  final OffsetDateTime to, final int points) {
+        return Promise.ofBlocking(queryExecutor, () -> {
+            if (!Downsampler.isKlineInterval(intervalMs)) {
+                throw new IllegalArgumentException("Unsupported kline interval: " + intervalMs + " ms");
+            }
+
+            final var bucketMs = Downsampler.bucketMs(intervalMs, from, to, checkPoints(points));
+            final var sourceMs = Downsampler.sourceIntervalMs(bucketMs);
+            return switch (type) {
+                case BYBIT_SPOT -> bybitSpotRepository.getKlineBuckets(sourceMs, symbol, from, to, bucketMs);
+                case BYBIT_LINEAR -> bybitLinearRepository.getKlineBuckets(sourceMs, symbol, from, to, bucketMs);
+            };
+        });
+    }
+
+    /**
+     * Tickers reduced to at most {@code points} by their last price, read once through a server-side cursor.
+     */
+    public Promise<List<Map<String, Object>>> getTickerDownsampled(final Type type, final String symbol,
+                                                                   final OffsetDateTime from, final OffsetDateTime to,
+                                                                   final int points) {
+        return Promise.ofBlocking(queryExecutor, () -> {
+            final var downsampler = Downsampler.create(from, to, checkPoints(points), TS, LAST_PRICE);
+            try (final var cursor = switch (type) {
+                case BYBIT_SPOT -> bybitSpotRepository.openTicker(symbol, from, to);
+                case BYBIT_LINEAR -> bybitLinearRepository.openTicker(symbol, from, to);
+            }) {
+                for (var rows = cursor.next(streamBatchRows); !rows.isEmpty(); rows = cursor.next(streamBatchRows)) {
+                    rows.forEach(downsampler::add);
+                }
+            }
+
+            return downsampler.finish();
+        });
+    }
+
+    private int checkPoints(final int points) {
+        if (points > maxPoints) {
+            throw new IllegalArgumentException("Downsampling allows at most " + maxPoints + " points, got: " + points);
+        }
+
+        return points;
+    }
+
     private void scheduledFlush() {
         if (!running.get() || flushInProgress.getAndSet(true)) {
             return;
@@ -262,23 +419,23 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                             spotKlines1.add(data);
                         }
                     } else if (topic.contains(KLINE_5)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             spotKlines5.add(data);
                         }
                     } else if (topic.contains(KLINE_15)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             spotKlines15.add(data);
                         }
                     } else if (topic.contains(KLINE_60)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             spotKlines60.add(data);
                         }
                     } else if (topic.contains(KLINE_240)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             spotKlines240.add(data);
                         }
                     } else if (topic.contains(KLINE_D)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             spotKlines1d.add(data);
                         }
                     } else if (topic.contains(TICKERS)) {
@@ -312,23 +469,23 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                             linearKlines1.add(data);
                         }
                     } else if (topic.contains(KLINE_5)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             linearKlines5.add(data);
                         }
                     } else if (topic.contains(KLINE_15)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             linearKlines15.add(data);
                         }
                     } else if (topic.contains(KLINE_60)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             linearKlines60.add(data);
                         }
                     } else if (topic.contains(KLINE_240)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             linearKlines240.add(data);
                         }
                     } else if (topic.contains(KLINE_D)) {
-                        if (isKlineConfirmed(data)) {
+                        if (!derivedKlinesOnly && isKlineConfirmed(data)) {
                             linearKlines1d.add(data);
                         }
                     } else if (topic.contains(TICKERS)) {
@@ -380,6 +537,11 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                     LOGGER.warn("Upserted Bybit stream offset {} (no data batch)", maxOffset);
                 }
             } else {
+                // Derive higher-interval klines from 1m
+                rollupKlines(spotKlineRollup, spotKlines1, spotKlines5, spotKlines15, spotKlines60, spotKlines240,
+                        spotKlines1d);
+                rollupKlines(linearKlineRollup, linearKlines1, linearKlines5, linearKlines15, linearKlines60,
+                        linearKlines240, linearKlines1d);
                 // Save spot data
                 spotKlines1.trimToSize();
                 saveSpotKline1m(spotKlines1, maxOffset);
@@ -397,6 +559,8 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                 saveSpotTicker(spotTickers, maxOffset);
                 spotPublicTrades.trimToSize();
                 saveSpotPublicTrade(spotPublicTrades, maxOffset);
+                saveSpotTradeBars(spotPublicTrades, maxOffset);
+                saveSpotVolumeProfiles(spotPublicTrades, maxOffset);
                 spotOrders1.trimToSize();
                 saveSpotOrderBook1(spotOrders1, maxOffset);
                 spotOrders50.trimToSize();
@@ -422,6 +586,8 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                 saveLinearTicker(linearTickers, maxOffset);
                 linearPublicTrades.trimToSize();
                 saveLinearPublicTrade(linearPublicTrades, maxOffset);
+                saveLinearTradeBars(linearPublicTrades, maxOffset);
+                saveLinearVolumeProfiles(linearPublicTrades, maxOffset);
                 linearOrders1.trimToSize();
                 saveLinearOrderBook1(linearOrders1, maxOffset);
                 linearOrders50.trimToSize();
@@ -432,10 +598,49 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                 saveLinearOrderBook1000(linearOrders1000, maxOffset);
                 linearAllLiquidation.trimToSize();
                 saveLinearAllLiquidation(linearAllLiquidation, maxOffset);
+                saveLinearLiquidation1m(linearAllLiquidation, maxOffset);
             }
         });
     }
 
+    /**
+     * Cross-checks Bybit's higher-interval klines against the rollup and feeds the 1m klines into it. The derived
+     * klines that are ready are saved with Bybit's own ones of their interval and forgotten once that save commits.
+     */
+    private static void rollupKlines(final KlineRollupAggregator rollup, final List<Map<String, Object>> klines1m,
+                                     final List<Map<String, Object>> klines5m,
+                                     final List<Map<String, Object>> klines15m,
+                                     final List<Map<String, Object>> klines60m,
+                                     final List<Map<String, Object>> klines240m,
+                                     final List<Map<String, Object>> klines1d) {
+        rollup.checkKlines(INTERVAL_5M_MS, klines5m);
+        rollup.checkKlines(INTERVAL_15M_MS, klines15m);
+        rollup.checkKlines(INTERVAL_60M_MS, klines60m);
+        rollup.checkKlines(INTERVAL_240M_MS, klines240m);
+        rollup.checkKlines(INTERVAL_1D_MS, klines1d);
+        if (!klines1m.isEmpty()) {
+            rollup.addKlines(klines1m);
+        }
+    }
+
+    private void notifyDerivedKlinesSaved(final Source source, final List<Map<String, Object>> derived) {
+        if (!derived.isEmpty()) {
+            onDerivedKlinesSaved.accept(source, derived);
+        }
+    }
+
+    private static List<Map<String, Object>> withDerived(final List<Map<String, Object>> klines,
+                                                         final List<Map<String, Object>> derived) {
+        if (derived.isEmpty()) {
+            return klines;
+        }
+
+        final var all = new ArrayList<Map<String, Object>>(klines.size() + derived.size());
+        all.addAll(klines);
+        all.addAll(derived);
+        return all;
+    }
+
     private void saveSpotKline1m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
         if (!klines.isEmpty()) {
             if (maxOffset >= 0) {
@@ -446,45 +651,60 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
     }
 
     private void saveSpotKline5m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = spotKlineRollup.getDerivedKlines(INTERVAL_5M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitSpotRepository.saveKline5m(klines, maxOffset);
+                final var count = bybitSpotRepository.saveKline5m(withDerived(klines, derived), maxOffset);
+                spotKlineRollup.removeDerivedKlines(INTERVAL_5M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PMST, derived);
                 LOGGER.info("Save {} spot 5m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveSpotKline15m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = spotKlineRollup.getDerivedKlines(INTERVAL_15M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitSpotRepository.saveKline15m(klines, maxOffset);
+                final var count = bybitSpotRepository.saveKline15m(withDerived(klines, derived), maxOffset);
+                spotKlineRollup.removeDerivedKlines(INTERVAL_15M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PMST, derived);
                 LOGGER.info("Save {} spot 15m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveSpotKline60m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = spotKlineRollup.getDerivedKlines(INTERVAL_60M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitSpotRepository.saveKline60m(klines, maxOffset);
+                final var count = bybitSpotRepository.saveKline60m(withDerived(klines, derived), maxOffset);
+                spotKlineRollup.removeDerivedKlines(INTERVAL_60M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PMST, derived);
                 LOGGER.info("Save {} spot 60m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveSpotKline240m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = spotKlineRollup.getDerivedKlines(INTERVAL_240M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitSpotRepository.saveKline240m(klines, maxOffset);
+                final var count = bybitSpotRepository.saveKline240m(withDerived(klines, derived), maxOffset);
+                spotKlineRollup.removeDerivedKlines(INTERVAL_240M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PMST, derived);
                 LOGGER.info("Save {} spot 240m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveSpotKline1d(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = spotKlineRollup.getDerivedKlines(INTERVAL_1D_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitSpotRepository.saveKline1d(klines, maxOffset);
+                final var count = bybitSpotRepository.saveKline1d(withDerived(klines, derived), maxOffset);
+                spotKlineRollup.removeDerivedKlines(INTERVAL_1D_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PMST, derived);
                 LOGGER.info("Save {} spot 1d klines (tx) and updated offset {}", count, maxOffset);
             }
         }
@@ -509,45 +729,60 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
     }
 
     private void saveLinearKline5m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = linearKlineRollup.getDerivedKlines(INTERVAL_5M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitLinearRepository.saveKline5m(klines, maxOffset);
+                final var count = bybitLinearRepository.saveKline5m(withDerived(klines, derived), maxOffset);
+                linearKlineRollup.removeDerivedKlines(INTERVAL_5M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PML, derived);
                 LOGGER.info("Save {} linear 5m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveLinearKline15m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = linearKlineRollup.getDerivedKlines(INTERVAL_15M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitLinearRepository.saveKline15m(klines, maxOffset);
+                final var count = bybitLinearRepository.saveKline15m(withDerived(klines, derived), maxOffset);
+                linearKlineRollup.removeDerivedKlines(INTERVAL_15M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PML, derived);
                 LOGGER.info("Save {} linear 15m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveLinearKline60m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = linearKlineRollup.getDerivedKlines(INTERVAL_60M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitLinearRepository.saveKline60m(klines, maxOffset);
+                final var count = bybitLinearRepository.saveKline60m(withDerived(klines, derived), maxOffset);
+                linearKlineRollup.removeDerivedKlines(INTERVAL_60M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PML, derived);
                 LOGGER.info("Save {} linear 60m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveLinearKline240m(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = linearKlineRollup.getDerivedKlines(INTERVAL_240M_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitLinearRepository.saveKline240m(klines, maxOffset);
+                final var count = bybitLinearRepository.saveKline240m(withDerived(klines, derived), maxOffset);
+                linearKlineRollup.removeDerivedKlines(INTERVAL_240M_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PML, derived);
                 LOGGER.info("Save {} linear 240m klines (tx) and updated offset {}", count, maxOffset);
             }
         }
     }
 
     private void saveLinearKline1d(final List<Map<String, Object>> klines, final long maxOffset) throws SQLException {
-        if (!klines.isEmpty()) {
+        final var derived = linearKlineRollup.getDerivedKlines(INTERVAL_1D_MS);
+        if (!klines.isEmpty() || !derived.isEmpty()) {
             if (maxOffset >= 0) {
-                final var count = bybitLinearRepository.saveKline1d(klines, maxOffset);
+                final var count = bybitLinearRepository.saveKline1d(withDerived(klines, derived), maxOffset);
+                linearKlineRollup.removeDerivedKlines(INTERVAL_1D_MS, derived.size());
+                notifyDerivedKlinesSaved(Source.PML, derived);
                 LOGGER.info("Save {} linear 1d klines (tx) and updated offset {}", count, maxOffset);
             }
         }
@@ -566,9 +801,9 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                                                             final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
             case BYBIT_SPOT ->
-                    Promise.ofBlocking(executor, () -> bybitSpotRepository.getOrderBook1(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getOrderBook1(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getOrderBook1(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getOrderBook1(symbol, from, to));
         };
     }
 
@@ -576,9 +811,9 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                                                              final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
             case BYBIT_SPOT ->
-                    Promise.ofBlocking(executor, () -> bybitSpotRepository.getOrderBook50(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getOrderBook50(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getOrderBook50(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getOrderBook50(symbol, from, to));
         };
     }
 
@@ -586,9 +821,9 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                                                               final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
             case BYBIT_SPOT ->
-                    Promise.ofBlocking(executor, () -> bybitSpotRepository.getOrderBook200(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getOrderBook200(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getOrderBook200(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getOrderBook200(symbol, from, to));
         };
     }
 
@@ -596,9 +831,9 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                                                                final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
             case BYBIT_SPOT ->
-                    Promise.ofBlocking(executor, () -> bybitSpotRepository.getOrderBook1000(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getOrderBook1000(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getOrderBook1000(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getOrderBook1000(symbol, from, to));
         };
     }
 
@@ -606,15 +841,68 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
                                                              final OffsetDateTime from, final OffsetDateTime to) {
         return switch (type) {
             case BYBIT_SPOT ->
-                    Promise.ofBlocking(executor, () -> bybitSpotRepository.getPublicTrade(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitSpotRepository.getPublicTrade(symbol, from, to));
             case BYBIT_LINEAR ->
-                    Promise.ofBlocking(executor, () -> bybitLinearRepository.getPublicTrade(symbol, from, to));
+                    Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getPublicTrade(symbol, from, to));
         };
     }
 
+    public StreamSupplier<Map<String, Object>> streamOrderBook1(final Type type, final String symbol,
+                                                                final OffsetDateTime from, final OffsetDateTime to) {
+        return CursorStreamSupplier.create(queryExecutor, switch (type) {
+            case BYBIT_SPOT -> () -> bybitSpotRepository.openOrderBook1(symbol, from, to);
+            case BYBIT_LINEAR -> () -> bybitLinearRepository.openOrderBook1(symbol, from, to);
+        }, streamBatchRows);
+    }
+
+    public StreamSupplier<Map<String, Object>> streamOrderBook50(final Type type, final String symbol,
+                                                                 final OffsetDateTime from, final OffsetDateTime to) {
+        return CursorStreamSupplier.create(queryExecutor, switch (type) {
+            case BYBIT_SPOT -> () -> bybitSpotRepository.openOrderBook50(symbol, from, to);
+            case BYBIT_LINEAR -> () -> bybitLinearRepository.openOrderBook50(symbol, from, to);
+        }, streamBatchRows);
+    }
+
+    public StreamSupplier<Map<String, Object>> streamOrderBook200(final Type type, final String symbol,
+                                                                  final OffsetDateTime from, final OffsetDateTime to) {
+        return CursorStreamSupplier.create(queryExecutor, switch (type) {
+            case BYBIT_SPOT -> () -> bybitSpotRepository.openOrderBook200(symbol, from, to);
+            case BYBIT_LINEAR -> () -> bybitLinearRepository.openOrderBook200(symbol, from, to);
+        }, streamBatchRows);
+    }
+
+    public StreamSupplier<Map<String, Object>> streamOrderBook1000(final Type type, final String symbol,
+                                                                   final OffsetDateTime from, final OffsetDateTime to) {
+        return CursorStreamSupplier.create(queryExecutor, switch (type) {
+            case BYBIT_SPOT -> () -> bybitSpotRepository.openOrderBook1000(symbol, from, to);
+            case BYBIT_LINEAR -> () -> bybitLinearRepository.openOrderBook1000(symbol, from, to);
+        }, streamBatchRows);
+    }
+
+    public StreamSupplier<Map<String, Object>> streamPublicTrade(final Type type, final String symbol,
+                                                                 final OffsetDateTime from, final OffsetDateTime to) {
+        return CursorStreamSupplier.create(queryExecutor, switch (type) {
+            case BYBIT_SPOT -> () -> bybitSpotRepository.openPublicTrade(symbol, from, to);
+            case BYBIT_LINEAR -> () -> bybitLinearRepository.openPublicTrade(symbol, from, to);
+        }, streamBatchRows);
+    }
+
     public Promise<List<Map<String, Object>>> getAllLiquidation(final String symbol, final OffsetDateTime from,
                                                                 final OffsetDateTime to) {
-        return Promise.ofBlocking(executor, () -> bybitLinearRepository.getAllLiquidation(symbol, from, to));
+        return Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getAllLiquidation(symbol, from, to));
+    }
+
+    public Promise<List<Map<String, Object>>> getLiquidation1m(final String symbol, final OffsetDateTime from,
+                                                               final OffsetDateTime to) {
+        return Promise.ofBlocking(queryExecutor, () -> bybitLinearRepository.getLiquidation1m(symbol, from, to));
+    }
+
+    public Promise<Map<String, Object>> getLiquidationWindows(final String symbol) {
+        return Promise.of(linearLiquidations.getWindows(symbol, System.currentTimeMillis()));
+    }
+
+    public Promise<List<Map<String, Object>>> getLiquidationWindows() {
+        return Promise.of(linearLiquidations.getWindows(System.currentTimeMillis()));
     }
 
     private void saveSpotPublicTrade(final List<Map<String, Object>> publicTrades, final long maxOffset)
@@ -726,4 +1014,121 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
             }
         }
     }
+
+    private void saveLinearLiquidation1m(final List<Map<String, Object>> allLiquidations, final long maxOffset)
+            throws SQLException {
+        if (!allLiquidations.isEmpty()) {
+            if (maxOffset >= 0) {
+                linearLiquidations.addLiquidations(allLiquidations);
+                final var buckets = linearLiquidations.getClosedBuckets();
+                if (!buckets.isEmpty()) {
+                    final var count = bybitLinearRepository.saveLiquidation1m(buckets, maxOffset);
+                    linearLiquidations.removeClosedBuckets(buckets.size());
+                    LOGGER.info("Save {} linear 1m liquidation buckets (tx) and updated offset {}", count, maxOffset);
+                }
+            }
+        }
+    }
+
+    private void saveSpotTradeBars(final List<Map<String, Object>> publicTrades, final long maxOffset)
+            throws SQLException {
+        if (!publicTrades.isEmpty()) {
+            if (maxOffset >= 0) {
+                spotTradeBars.addTrades(publicTrades);
+                saveSpotKline1s(spotTradeBars.getClosedBars(INTERVAL_1S_MS), maxOffset);
+                saveSpotKline5s(spotTradeBars.getClosedBars(INTERVAL_5S_MS), maxOffset);
+                saveSpotKline15s(spotTradeBars.getClosedBars(INTERVAL_15S_MS), maxOffset);
+            }
+        }
+    }
+
+    private void saveSpotKline1s(final List<Map<String, Object>> bars, final long maxOffset) throws SQLException {
+        if (!bars.isEmpty()) {
+            final var count = bybitSpotRepository.saveKline1s(bars, maxOffset);
+            spotTradeBars.removeClosedBars(INTERVAL_1S_MS, bars.size());
+            LOGGER.info("Save {} spot 1s trade bars (tx) and updated offset {}", count, maxOffset);
+        }
+    }
+
+    private void saveSpotKline5s(final List<Map<String, Object>> bars, final long maxOffset) throws SQLException {
+        if (!bars.isEmpty()) {
+            final var count = bybitSpotRepository.saveKline5s(bars, maxOffset);
+            spotTradeBars.removeClosedBars(INTERVAL_5S_MS, bars.size());
+            LOGGER.info("Save {} spot 5s trade bars (tx) and updated offset {}", count, maxOffset);
+        }
+    }
+
+    private void saveSpotKline15s(final List<Map<String, Object>> bars, final long maxOffset) throws SQLException {
+        if (!bars.isEmpty()) {
+            final var count = bybitSpotRepository.saveKline15s(bars, maxOffset);
+            spotTradeBars.removeClosedBars(INTERVAL_15S_MS, bars.size());
+            LOGGER.info("Save {} spot 15s trade bars (tx) and updated offset {}", count, maxOffset);
+        }
+    }
+
+    private void saveLinearTradeBars(final List<Map<String, Object>> publicTrades, final long maxOffset)
+            throws SQLException {
+        if (!publicTrades.isEmpty()) {
+            if (maxOffset >= 0) {
+                linearTradeBars.addTrades(publicTrades);
+                saveLinearKline1s(linearTradeBars.getClosedBars(INTERVAL_1S_MS), maxOffset);
+                saveLinearKline5s(linearTradeBars.getClosedBars(INTERVAL_5S_MS), maxOffset);
+                saveLinearKline15s(linearTradeBars.getClosedBars(INTERVAL_15S_MS), maxOffset);
+            }
+        }
+    }
+
+    private void saveLinearKline1s(final List<Map<String, Object>> bars, final long maxOffset) throws SQLException {
+        if (!bars.isEmpty()) {
+            final var count = bybitLinearRepository.saveKline1s(bars, maxOffset);
+            linearTradeBars.removeClosedBars(INTERVAL_1S_MS, bars.size());
+            LOGGER.info("Save {} linear 1s trade bars (tx) and updated offset {}", count, maxOffset);
+        }
+    }
+
+    private void saveLinearKline5s(final List<Map<String, Object>> bars, final long maxOffset) throws SQLException {
+        if (!bars.isEmpty()) {
+            final var count = bybitLinearRepository.saveKline5s(bars, maxOffset);
+            linearTradeBars.removeClosedBars(INTERVAL_5S_MS, bars.size());
+            LOGGER.info("Save {} linear 5s trade bars (tx) and updated offset {}", count, maxOffset);
+        }
+    }
+
+    private void saveLinearKline15s(final List<Map<String, Object>> bars, final long maxOffset) throws SQLException {
+        if (!bars.isEmpty()) {
+            final var count = bybitLinearRepository.saveKline15s(bars, maxOffset);
+            linearTradeBars.removeClosedBars(INTERVAL_15S_MS, bars.size());
+            LOGGER.info("Save {} linear 15s trade bars (tx) and updated offset {}", count, maxOffset);
+        }
+    }
+
+    private void saveSpotVolumeProfiles(final List<Map<String, Object>> publicTrades, final long maxOffset)
+            throws SQLException {
+        if (!publicTrades.isEmpty()) {
+            if (maxOffset >= 0) {
+                spotVolumeProfiles.addTrades(publicTrades);
+                final var profiles = spotVolumeProfiles.getClosedProfiles();
+                if (!profiles.isEmpty()) {
+                    final var count = bybitSpotRepository.saveVolumeProfiles(profiles, maxOffset);
+                    spotVolumeProfiles.removeClosedProfiles(profiles.size());
+                    LOGGER.info("Save {} spot volume profiles (tx) and updated offset {}", count, maxOffset);
+                }
+            }
+        }
+    }
+
+    private void saveLinearVolumeProfiles(final List<Map<String, Object>> publicTrades, final long maxOffset)
+            throws SQLException {
+        if (!publicTrades.isEmpty()) {
+            if (maxOffset >= 0) {
+                linearVolumeProfiles.addTrades(publicTrades);
+                final var profiles = linearVolumeProfiles.getClosedProfiles();
+                if (!profiles.isEmpty()) {
+                    final var count = bybitLinearRepository.saveVolumeProfiles(profiles, maxOffset);
+                    linearVolumeProfiles.removeClosedProfiles(profiles.size());
+                    LOGGER.info("Save {} linear volume profiles (tx) and updated offset {}", count, maxOffset);
+                }
+            }
+        }
+    }
 }
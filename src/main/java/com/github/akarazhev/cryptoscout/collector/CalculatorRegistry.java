@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.SHUTDOWN_TIMEOUT_MS;
+
+/**
+ * Technical analysis calculators keyed by market, symbol and interval, created lazily and evicted once idle.
+ * <p>
+ * Keys are spread over a fixed set of single-threaded shards and a calculator is only ever touched by the thread of
+ * its shard, so calculators need no locking and the bars of a series are applied strictly in submission order.
+ * Callers run their work on {@link #getShard(int)} for {@link #getShardIndex(Key)}; {@link #add}, {@link #preview},
+ * {@link #get}, {@link #remove} and {@link #evictIdle(int, long)} must only be called from that shard. The keys of
+ * evicted calculators are passed to the eviction listener on their shard, so that state kept per series elsewhere is
+ * dropped with them.
+ */
+final class CalculatorRegistry implements AutoCloseable {
+    private final static Logger LOGGER = LoggerFactory.getLogger(CalculatorRegistry.class);
+    private final ExecutorService[] shards;
+    // One map per shard, confined to the shard thread
+    private final List<Map<Key, Slot>> calculators;
+    private final AtomicInteger size = new AtomicInteger();
+    private final long idleMs;
+    private final Loader loader;
+    private final Consumer<Key> onEvicted;
+
+    record Key(String market, String symbol, long intervalMs) {
+    }
+
+    /**
+     * Creates the calculator of a series, warmed up with the bars before the given bar time.
+     */
+    @FunctionalInterface
+    interface Loader {
+        TechnicalAnalysisCalculator load(final Key key, final OffsetDateTime before) throws Exception;
+    }
+
+    private static final class Slot {
+        private final TechnicalAnalysisCalculator calculator;
+        private long lastUsedMs;
+
+        private Slot(final TechnicalAnalysisCalculator calculator) {
+            this.calculator = calculator;
+        }
+    }
+
+    static CalculatorRegistry create(final int shardCount, final long idleMs, final Loader loader) {
+        return new CalculatorRegistry(shardCount, idleMs, loader, _ -> {
+        });
+    }
+
+    static CalculatorRegistry create(final int shardCount, final long idleMs, final Loader loader,
+                                     final Consumer<Key> onEvicted) {
+        return new CalculatorRegistry(shardCount, idleMs, loader, onEvicted);
+    }
+
+    private CalculatorRegistry(final int shardCount, final long idleMs, final Loader loader,
+                               final Consumer<Key> onEvicted) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive, got: " + shardCount);
+        }
+
+        this.idleMs = idleMs;
+        this.loader = loader;
+        this.onEvicted = onEvicted;
+        this.shards = new ExecutorService[shardCount];
+        this.calculators = new ArrayList<>(shardCount);
+        for (var i = 0; i < shardCount; i++) {
+            shards[i] = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("analyst-shard-" + i)
+                    .daemon(true).factory());
+            calculators.add(new HashMap<>());
+        }
+    }
+
+    int getShardCount() {
+        return shards.length;
+    }
+
+    int getShardIndex(final Key key) {
+        return Math.floorMod(key.hashCode(), shards.length);
+    }
+
+    Executor getShard(final int index) {
+        return shards[index];
+    }
+
+    /**
+     * Returns the number of live calculators across all shards.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Adds a bar to the calculator of the key, loading the calculator first if the key has none. Returns null when
+     * the bar is not after the last bar of the series, e.g. when a bar is replayed.
+     */
+    TechnicalAnalysisCalculator.AnalysisResult add(final Key key, final TechnicalAnalysisCalculator.OhlcvPoint point,
+                                                   final long nowMs) throws Exception {
+        final var slots = calculators.get(getShardIndex(key));
+        var slot = slots.get(key);
+        if (slot == null) {
+            slot = new Slot(loader.load(key, point.timestamp()));
+            slots.put(key, slot);
+            size.incrementAndGet();
+        }
+
+        slot.lastUsedMs = nowMs;
+        try {
+            return slot.calculator.addOhlcv(point);
+        } catch (final IllegalArgumentException e) {
+            LOGGER.debug("Skipped bar of {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates a forming bar on the live calculator of the key without changing it. Returns null when the key has
+     * no live calculator, which is never loaded for a preview, or when the bar does not directly follow the last bar
+     * of the series, e.g. while the previous bar is still waiting to be added.
+     */
+    TechnicalAnalysisCalculator.AnalysisResult preview(final Key key,
+                                                       final TechnicalAnalysisCalculator.OhlcvPoint point) {
+        final var slot = calculators.get(getShardIndex(key)).get(key);
+        if (slot == null) {
+            return null;
+        }
+
+        final var lastEndTime = slot.calculator.getLastEndTime();
+        if (lastEndTime == null ||
+                lastEndTime.toEpochMilli() + key.intervalMs() != point.timestamp().toInstant().toEpochMilli()) {
+            return null;
+        }
+
+        return slot.calculator.previewOhlcv(point);
+    }
+
+    /**
+     * Returns the live calculator of the key, or null when it has none.
+     */
+    TechnicalAnalysisCalculator get(final Key key) {
+        final var slot = calculators.get(getShardIndex(key)).get(key);
+        return slot != null ? slot.calculator : null;
+    }
+
+    /**
+     * Drops the calculator of the key without telling the eviction listener, so that the next bar of the series loads
+     * it again; returns whether the key had one.
+     */
+    boolean remove(final Key key) {
+        if (calculators.get(getShardIndex(key)).remove(key) == null) {
+            return false;
+        }
+
+        size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Drops the calculators of the shard that have not been used for the idle period and tells the eviction listener
+     * their keys; returns how many were dropped.
+     */
+    int evictIdle(final int shard, final long nowMs) {
+        final var keys = new ArrayList<Key>();
+        calculators.get(shard).entrySet().removeIf(entry -> {
+            if (nowMs - entry.getValue().lastUsedMs < idleMs) {
+                return false;
+            }
+
+            keys.add(entry.getKey());
+            return true;
+        });
+        if (!keys.isEmpty()) {
+            size.addAndGet(-keys.size());
+            keys.forEach(onEvicted);
+        }
+
+        return keys.size();
+    }
+
+    /**
+     * Schedules idle eviction on every shard.
+     */
+    void evictIdle(final long nowMs) {
+        for (var i = 0; i < shards.length; i++) {
+            final var shard = i;
+            shards[i].execute(() -> {
+                final var evicted = evictIdle(shard, nowMs);
+                if (evicted > 0) {
+                    LOGGER.info("Evicted {} idle calculators from shard {}", evicted, shard);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        for (final var shard : shards) {
+            shard.shutdown();
+        }
+
+        for (final var shard : shards) {
+            try {
+                if (!shard.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    shard.shutdownNow();
+                }
+            } catch (final InterruptedException e) {
+                shard.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
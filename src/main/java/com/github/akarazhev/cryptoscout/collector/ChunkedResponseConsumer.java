@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import io.activej.datastream.consumer.AbstractStreamConsumer;
+import io.activej.promise.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Publishes a stream of rows as ordered response chunks (see {@link ResponseChunker}). The stream is suspended while
+ * a chunk is being published, so at most one chunk is held in memory, and the end marker follows the last chunk.
+ */
+final class ChunkedResponseConsumer extends AbstractStreamConsumer<Map<String, Object>> {
+    private final static Logger LOGGER = LoggerFactory.getLogger(ChunkedResponseConsumer.class);
+    private final ResponseChunker chunker;
+    private final ChunkPublisher publisher;
+    private Promise<Void> published = Promise.complete();
+
+    @FunctionalInterface
+    interface ChunkPublisher {
+        Promise<Void> publish(Map<String, Object> chunk);
+    }
+
+    static ChunkedResponseConsumer create(final ChunkPublisher publisher, final int maxRows, final long maxBytes) {
+        return new ChunkedResponseConsumer(publisher, ResponseChunker.create(maxRows, maxBytes));
+    }
+
+    private ChunkedResponseConsumer(final ChunkPublisher publisher, final ResponseChunker chunker) {
+        this.publisher = publisher;
+        this.chunker = chunker;
+    }
+
+    @Override
+    protected void onStarted() {
+        resume(this::accept);
+    }
+
+    @Override
+    protected void onEndOfStream() {
+        final var chunk = chunker.drain(true);
+        published = published.then(() -> publisher.publish(chunk)).
+                whenResult(_ -> acknowledge()).
+                whenException(this::closeEx);
+    }
+
+    @Override
+    protected void onError(final Exception e) {
+        LOGGER.warn("Streamed response failed: {}", e.getMessage());
+        final var chunk = chunker.fail(e.getMessage());
+        published = published.then(() -> publisher.publish(chunk));
+    }
+
+    private void accept(final Map<String, Object> row) {
+        if (chunker.add(row)) {
+            suspend();
+            final var chunk = chunker.drain(false);
+            published = publisher.publish(chunk).
+                    whenResult(_ -> resume(this::accept)).
+                    whenException(this::closeEx);
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Columnar.COLUMNS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Columnar.COUNT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Columnar.DATA;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Columnar.NULLS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Columnar.TYPES;
+
+/**
+ * Columnar encodings of a list of rows, which spare a response the column names repeated in every row and the
+ * boxing of every value.
+ * <p>
+ * {@link #encode} gives a map with the row {@code count}, the sorted {@code columns}, their {@code types} and the
+ * {@code data}, one primitive array per column: times as epoch milliseconds, integers as longs, other numbers as
+ * doubles, booleans, and text as strings. A column whose values are of mixed kinds is text. Null values are left
+ * as zero in the array and listed, per column that has any, by row index under {@code nulls}.
+ * <p>
+ * {@link #encodeBinary} writes the same columns, big-endian: a version byte, the row count as an int and the column
+ * count as a short, then for every column its name as modified UTF-8, its type ordinal, a flag byte telling whether
+ * a null bitmap of {@code (count + 7) / 8} bytes follows, and its values: longs, doubles, a packed bitmap for
+ * booleans, or for text a dictionary (its size as an int, then the entries as modified UTF-8) followed by an int
+ * index per row.
+ */
+final class ColumnarCodec {
+    static final byte VERSION = 1;
+
+    /**
+     * Response format a request asks for as its optional last argument; rows, one map per row, by default.
+     */
+    enum Format {
+        ROWS,
+        COLUMNAR,
+        BINARY;
+
+        static Format of(final List<Object> args, final int index) {
+            return args != null && args.size() > index && args.get(index) != null ?
+                    valueOf(((String) args.get(index)).toUpperCase(Locale.ROOT)) : ROWS;
+        }
+
+        Object encode(final List<Map<String, Object>> rows) {
+            return switch (this) {
+                case ROWS -> rows;
+                case COLUMNAR -> ColumnarCodec.encode(rows);
+                case BINARY -> encodeBinary(rows);
+            };
+        }
+    }
+
+    enum Type {
+        TIME,
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        TEXT;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private ColumnarCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Map<String, Object> encode(final List<Map<String, Object>> rows) {
+        final var columns = columnsOf(rows);
+        final var types = new ArrayList<String>(columns.size());
+        final var data = new ArrayList<Object>(columns.size());
+        final var nulls = new LinkedHashMap<String, List<Integer>>();
+        for (final var column : columns) {
+            final var type = typeOf(rows, column);
+            types.add(type.key());
+            data.add(toArray(rows, column, type));
+            final var missing = new ArrayList<Integer>();
+            for (var i = 0; i < rows.size(); i++) {
+                if (rows.get(i).get(column) == null) {
+                    missing.add(i);
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                nulls.put(column, missing);
+            }
+        }
+
+        final var encoded = new LinkedHashMap<String, Object>();
+        encoded.put(COUNT, rows.size());
+        encoded.put(COLUMNS, columns);
+        encoded.put(TYPES, types);
+        encoded.put(DATA, data);
+        if (!nulls.isEmpty()) {
+            encoded.put(NULLS, nulls);
+        }
+
+        return encoded;
+    }
+
+    static byte[] encodeBinary(final List<Map<String, Object>> rows) {
+        final var columns = columnsOf(rows);
+        final var count = rows.size();
+        final var bytes = new ByteArrayOutputStream(64 + count * columns.size() * Long.BYTES);
+        try (final var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(count);
+            out.writeShort(columns.size());
+            for (final var column : columns) {
+                final var type = typeOf(rows, column);
+                out.writeUTF(column);
+                out.writeByte(type.ordinal());
+                final var nulls = new BitSet(count);
+                for (var i = 0; i < count; i++) {
+                    if (rows.get(i).get(column) == null) {
+                        nulls.set(i);
+                    }
+                }
+
+                out.writeBoolean(!nulls.isEmpty());
+                if (!nulls.isEmpty()) {
+                    writeBits(out, nulls, count);
+                }
+
+                switch (toArray(rows, column, type)) {
+                    case long[] values -> {
+                        for (final var value : values) {
+                            out.writeLong(value);
+                        }
+                    }
+
+                    case double[] values -> {
+                        for (final var value : values) {
+                            out.writeDouble(value);
+                        }
+                    }
+
+                    case boolean[] values -> {
+                        final var bits = new BitSet(count);
+                        for (var i = 0; i < count; i++) {
+                            bits.set(i, values[i]);
+                        }
+
+                        writeBits(out, bits, count);
+                    }
+
+                    case String[] values -> writeText(out, values);
+                    default -> throw new IllegalStateException("Unexpected column type: " + type);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a binary encoding back into rows, times as UTC {@link OffsetDateTime}, nulls left out of the rows.
+     *
+     * @throws IllegalArgumentException if the encoding is malformed or of another version
+     */
+    static List<Map<String, Object>> decodeBinary(final byte[] body) {
+        try (final var in = new DataInputStream(new ByteArrayInputStream(body))) {
+            final var version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported columnar encoding version: " + version);
+            }
+
+            final var count = in.readInt();
+            final var rows = new ArrayList<Map<String, Object>>(count);
+            for (var i = 0; i < count; i++) {
+                rows.add(new HashMap<>());
+            }
+
+            final var columns = in.readUnsignedShort();
+            for (var c = 0; c < columns; c++) {
+                final var column = in.readUTF();
+                final var type = Type.values()[in.readUnsignedByte()];
+                final var nulls = in.readBoolean() ? readBits(in, count) : new BitSet();
+                final var dictionary = type == Type.TEXT ? readDictionary(in) : null;
+                final var flags = type == Type.BOOLEAN ? readBits(in, count) : null;
+                for (var i = 0; i < count; i++) {
+                    final Object value = switch (type) {
+                        case TIME -> OffsetDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC);
+                        case LONG -> in.readLong();
+                        case DOUBLE -> in.readDouble();
+                        case BOOLEAN -> flags.get(i);
+                        case TEXT -> {
+                            final var index = in.readInt();
+                            yield index < 0 ? null : dictionary[index];
+                        }
+                    };
+                    if (!nulls.get(i)) {
+                        rows.get(i).put(column, value);
+                    }
+                }
+            }
+
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Columnar encoding has trailing bytes");
+            }
+
+            return rows;
+        } catch (final IOException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed columnar encoding: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<String> columnsOf(final List<Map<String, Object>> rows) {
+        final var columns = new TreeSet<String>();
+        for (final var row : rows) {
+            columns.addAll(row.keySet());
+        }
+
+        return List.copyOf(columns);
+    }
+
+    private static Type typeOf(final List<Map<String, Object>> rows, final String column) {
+        Type type = null;
+        for (final var row : rows) {
+            final var value = row.get(column);
+            if (value != null) {
+                final var kind = kindOf(value);
+                if (type == null || type == kind) {
+                    type = kind;
+                } else if ((type == Type.LONG || type == Type.DOUBLE) && (kind == Type.LONG || kind == Type.DOUBLE)) {
+                    type = Type.DOUBLE;
+                } else {
+                    return Type.TEXT;
+                }
+            }
+        }
+
+        return type != null ? type : Type.TEXT;
+    }
+
+    private static Type kindOf(final Object value) {
+        return switch (value) {
+            case OffsetDateTime _, ZonedDateTime _, Instant _, Date _ -> Type.TIME;
+            case Double _, Float _, BigDecimal _ -> Type.DOUBLE;
+            case Number _ -> Type.LONG;
+            case Boolean _ -> Type.BOOLEAN;
+            default -> Type.TEXT;
+        };
+    }
+
+    private static Object toArray(final List<Map<String, Object>> rows, final String column, final Type type) {
+        final var count = rows.size();
+        return switch (type) {
+            case TIME -> {
+                final var values = new long[count];
+                for (var i = 0; i < count; i++) {
+                    values[i] = switch (rows.get(i).get(column)) {
+                        case OffsetDateTime time -> time.toInstant().toEpochMilli();
+                        case ZonedDateTime time -> time.toInstant().toEpochMilli();
+                        case Instant time -> time.toEpochMilli();
+                        case Date time -> time.getTime();
+                        case null, default -> 0L;
+                    };
+                }
+
+                yield values;
+            }
+
+            case LONG -> {
+                final var values = new long[count];
+                for (var i = 0; i < count; i++) {
+                    if (rows.get(i).get(column) instanceof Number number) {
+                        values[i] = number.longValue();
+                    }
+                }
+
+                yield values;
+            }
+
+            case DOUBLE -> {
+                final var values = new double[count];
+                for (var i = 0; i < count; i++) {
+                    if (rows.get(i).get(column) instanceof Number number) {
+                        values[i] = number.doubleValue();
+                    }
+                }
+
+                yield values;
+            }
+
+            case BOOLEAN -> {
+                final var values = new boolean[count];
+                for (var i = 0; i < count; i++) {
+                    values[i] = Boolean.TRUE.equals(rows.get(i).get(column));
+                }
+
+                yield values;
+            }
+
+            case TEXT -> {
+                final var values = new String[count];
+                for (var i = 0; i < count; i++) {
+                    final var value = rows.get(i).get(column);
+                    values[i] = value != null ? String.valueOf(value) : null;
+                }
+
+                yield values;
+            }
+        };
+    }
+
+    private static void writeText(final DataOutputStream out, final String[] values) throws IOException {
+        final var indexes = new HashMap<String, Integer>();
+        final var dictionary = new ArrayList<String>();
+        final var encoded = new int[values.length];
+        for (var i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                encoded[i] = -1;
+            } else {
+                final var value = values[i];
+                encoded[i] = indexes.computeIfAbsent(value, _ -> {
+                    dictionary.add(value);
+                    return dictionary.size() - 1;
+                });
+            }
+        }
+
+        out.writeInt(dictionary.size());
+        for (final var entry : dictionary) {
+            out.writeUTF(entry);
+        }
+
+        for (final var index : encoded) {
+            out.writeInt(index);
+        }
+    }
+
+    private static String[] readDictionary(final DataInputStream in) throws IOException {
+        final var dictionary = new String[in.readInt()];
+        for (var i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+
+        return dictionary;
+    }
+
+    private static void writeBits(final DataOutputStream out, final BitSet bits, final int count) throws IOException {
+        out.write(Arrays.copyOf(bits.toByteArray(), (count + 7) / 8));
+    }
+
+    private static BitSet readBits(final DataInputStream in, final int count) throws IOException {
+        final var bytes = new byte[(count + 7) / 8];
+        in.readFully(bytes);
+        return BitSet.valueOf(bytes);
+    }
+}
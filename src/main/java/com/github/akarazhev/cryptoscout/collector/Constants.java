@@ -40,6 +40,9 @@ final class Constants {
         static final String CRYPTO_SCOUT_GET_FGI = "cmcParser.getFgi";
 
         // BybitCryptoCollector methods
+        static final String BYBIT_GET_KLINE_1S = "bybit.getKline1s";
+        static final String BYBIT_GET_KLINE_5S = "bybit.getKline5s";
+        static final String BYBIT_GET_KLINE_15S = "bybit.getKline15s";
         static final String BYBIT_GET_KLINE_1M = "bybit.getKline1m";
         static final String BYBIT_GET_KLINE_5M = "bybit.getKline5m";
         static final String BYBIT_GET_KLINE_15M = "bybit.getKline15m";
@@ -47,12 +50,26 @@ final class Constants {
         static final String BYBIT_GET_KLINE_240M = "bybit.getKline240m";
         static final String BYBIT_GET_KLINE_1D = "bybit.getKline1d";
         static final String BYBIT_GET_TICKER = "bybit.getTicker";
+        static final String BYBIT_GET_VOLUME_PROFILE = "bybit.getVolumeProfile";
+        static final String BYBIT_GET_KLINE_DOWNSAMPLED = "bybit.getKlineDownsampled";
+        static final String BYBIT_GET_TICKER_DOWNSAMPLED = "bybit.getTickerDownsampled";
         static final String BYBIT_GET_ORDER_BOOK_1 = "bybit.getOrderBook1";
         static final String BYBIT_GET_ORDER_BOOK_50 = "bybit.getOrderBook50";
         static final String BYBIT_GET_ORDER_BOOK_200 = "bybit.getOrderBook200";
         static final String BYBIT_GET_ORDER_BOOK_1000 = "bybit.getOrderBook1000";
         static final String BYBIT_GET_PUBLIC_TRADE = "bybit.getPublicTrade";
         static final String BYBIT_GET_ALL_LIQUIDATION = "bybit.getAllLiquidation";
+        static final String BYBIT_GET_LIQUIDATION_1M = "bybit.getLiquidation1m";
+        static final String BYBIT_GET_LIQUIDATION_WINDOWS = "bybit.getLiquidationWindows";
+        static final String BYBIT_GET_PROVISIONAL_INDICATORS = "bybit.getProvisionalIndicators";
+
+        static final String BYBIT_BACKTEST = "bybit.backtest";
+
+        // Collector methods
+        static final String COLLECTOR_BATCH = "collector.batch";
+
+        // Analyst events
+        static final String ANALYST_SIGNALS = "analyst.signals";
     }
 
     final static class Source {
@@ -75,6 +92,12 @@ final class Constants {
         static final long RECONNECT_DELAY_MS = 5000L;
         static final int MAX_RECONNECT_ATTEMPTS = 10;
         static final String HEALTH_CHECK_CLIENT_NAME = "health-check";
+        // TA stream producer: messages per batch, how long a partial batch waits, unconfirmed messages in flight and
+        // how long a send may wait for room before it fails
+        static final int TA_BATCH_SIZE = 100;
+        static final long TA_BATCH_DELAY_MS = 20L;
+        static final int TA_MAX_UNCONFIRMED = 10_000;
+        static final long TA_ENQUEUE_TIMEOUT_MS = 100L;
     }
 
     final static class Health {
@@ -88,6 +111,307 @@ final class Constants {
         static final String DATABASE = "database";
         static final String AMQP = "amqp";
         static final String ERROR = "error";
+        static final String REPLICAS = "replicas";
+        static final String NAME = "name";
+        static final String LAG_MS = "lag_ms";
         static final int CONNECTION_TIMEOUT_SECONDS = 5;
     }
+
+    final static class TradeBars {
+        private TradeBars() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final long INTERVAL_1S_MS = 1_000L;
+        static final long INTERVAL_5S_MS = 5_000L;
+        static final long INTERVAL_15S_MS = 15_000L;
+        // Open bars of a quiet symbol are closed once the market clock passes their end by this margin
+        static final long CLOSE_GRACE_MS = 2_000L;
+    }
+
+    final static class Liquidations {
+        private Liquidations() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final long BUCKET_MS = 60_000L;
+        static final long WINDOW_1M_MS = 60_000L;
+        static final long WINDOW_5M_MS = 300_000L;
+        static final long WINDOW_1H_MS = 3_600_000L;
+        // Every rolling window is a ring of this many slots, so a slot spans 1/60 of the window
+        static final int WINDOW_SLOTS = 60;
+        // An open bucket of a quiet symbol is closed once the market clock passes its end by this margin
+        static final long CLOSE_GRACE_MS = 2_000L;
+
+        // Rolling window snapshot keys
+        static final String SYMBOL = "symbol";
+        static final String AS_OF = "as_of";
+        static final String BUY_COUNT = "buy_count_";
+        static final String BUY_NOTIONAL = "buy_notional_";
+        static final String SELL_COUNT = "sell_count_";
+        static final String SELL_NOTIONAL = "sell_notional_";
+        static final String SUFFIX_1M = "1m";
+        static final String SUFFIX_5M = "5m";
+        static final String SUFFIX_1H = "1h";
+    }
+
+    final static class KlineRollup {
+        private KlineRollup() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final long INTERVAL_1M_MS = 60_000L;
+        static final long INTERVAL_5M_MS = 300_000L;
+        static final long INTERVAL_15M_MS = 900_000L;
+        static final long INTERVAL_60M_MS = 3_600_000L;
+        static final long INTERVAL_240M_MS = 14_400_000L;
+        static final long INTERVAL_1D_MS = 86_400_000L;
+        // Relative tolerances used when a derived bar is compared against the Bybit bar
+        static final double PRICE_TOLERANCE = 1e-9;
+        static final double VOLUME_TOLERANCE = 1e-6;
+    }
+
+    final static class Gaps {
+        private Gaps() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Number of bars tracked per table and symbol; older bars fall out of the bitmap
+        static final int HORIZON_BARS = 4096;
+        // Stream messages of a bar are read from this much before its close until this much after the last one
+        static final long BACKFILL_SLACK_MS = 60_000L;
+        static final long INTERVAL_1W_MS = 604_800_000L;
+
+        // Gap keys
+        static final String TABLE = "table";
+        static final String SYMBOL = "symbol";
+        static final String INTERVAL_MS = "interval_ms";
+        static final String FROM = "from";
+        static final String TO = "to";
+        static final String MISSING_BARS = "missing_bars";
+    }
+
+    final static class Analyst {
+        private Analyst() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Markets of the calculator keys
+        static final String MARKET_SPOT = "spot";
+        static final String MARKET_LINEAR = "linear";
+        static final String MARKET_CMC = "cmc";
+        // Bars of stored history a new Bybit calculator is warmed up with before its first live bar
+        static final int WARMUP_BARS = 400;
+        // How long stop waits for the shards to finish queued work
+        static final long SHUTDOWN_TIMEOUT_MS = 5_000L;
+
+        // Keys of published indicator rows, next to the indicator columns
+        static final String MARKET = "market";
+        static final String INTERVAL_MS = "interval_ms";
+        static final String PROVISIONAL = "provisional";
+    }
+
+    final static class Signals {
+        private Signals() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Rule field matching any market, symbol or interval
+        static final String ANY = "*";
+
+        // Keys of published signals, next to the series and bar keys of indicator rows
+        static final String RULE = "rule";
+        static final String CONDITION = "condition";
+        static final String LEFT = "left";
+        static final String RIGHT = "right";
+    }
+
+    final static class Backtest {
+        private Backtest() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Largest parameter grid of one backtest
+        static final int MAX_PARAMETER_SETS = 10_000;
+        // Initial size of the history columns, doubled as bars are read
+        static final int INITIAL_CAPACITY = 4_096;
+        // How long a backtest waits for a free slot before it is rejected
+        static final long QUEUE_TIMEOUT_MS = 60_000L;
+
+        // Keys of a backtest result
+        static final String AVERAGE = "average";
+        static final String FAST = "fast";
+        static final String SLOW = "slow";
+        static final String PNL = "pnl";
+        static final String MAX_DRAWDOWN = "max_drawdown";
+        static final String TRADES = "trades";
+        static final String WINS = "wins";
+    }
+
+    final static class Risk {
+        private Risk() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Symbol of the CMC klines the BTC risk is computed from
+        static final String SYMBOL = "BTC";
+        // Weekly bars of the long-term average the price risk is measured against
+        static final int WEEKLY_PERIOD = 50;
+        // Daily bars of the average of the Mayer multiple
+        static final int DAILY_PERIOD = 200;
+        // Risk grid steps between 0 and 1
+        static final int GRID_STEPS = 10;
+        // Halvings of the log-price range when inverting the composite risk
+        static final int BISECTION_STEPS = 64;
+    }
+
+    final static class Cache {
+        private Cache() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Rough heap cost of a cached row map and of each of its entries with a boxed value
+        static final long ROW_OVERHEAD_BYTES = 64L;
+        static final long VALUE_BYTES = 80L;
+
+        // Cache statistics keys
+        static final String HITS = "hits";
+        static final String MISSES = "misses";
+        static final String HIT_RATE = "hit_rate";
+        static final String SEGMENTS = "segments";
+        static final String ROWS = "rows";
+        static final String ESTIMATED_BYTES = "estimated_bytes";
+        static final String EVICTIONS = "evictions";
+    }
+
+    final static class Chunks {
+        private Chunks() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Rough JSON size of a key and its quotes, a number, a timestamp and any other value
+        static final long KEY_OVERHEAD_BYTES = 4L;
+        static final long NUMBER_BYTES = 20L;
+        static final long TIME_BYTES = 32L;
+        static final long OTHER_BYTES = 8L;
+
+        // Chunk keys
+        static final String SEQ = "seq";
+        static final String ROWS = "rows";
+        static final String LAST = "last";
+        static final String ERROR = "error";
+    }
+
+    final static class Batch {
+        private Batch() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Sub-query and item keys
+        static final String ID = "id";
+        static final String METHOD = "method";
+        static final String ARGS = "args";
+        static final String STATUS = "status";
+        static final String DATA = "data";
+        static final String ERROR = "error";
+        static final String ITEMS = "items";
+
+        // Item statuses
+        static final String STATUS_OK = "OK";
+        static final String STATUS_ERROR = "ERROR";
+
+        // Batch response mode that publishes every item as a chunk once it completes
+        static final String STREAM = "STREAM";
+    }
+
+    final static class Http {
+        private Http() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Query API endpoints, also the names of their concurrency caps
+        static final String KLINES = "klines";
+        static final String TICKERS = "tickers";
+        static final String ORDER_BOOKS = "order-books";
+        static final String TRADES = "trades";
+        static final String LIQUIDATIONS = "liquidations";
+        static final String FGI = "fgi";
+        static final String INDICATORS = "indicators";
+
+        // Query parameters
+        static final String TYPE = "type";
+        static final String SYMBOL = "symbol";
+        static final String INTERVAL = "interval";
+        static final String DEPTH = "depth";
+        static final String FROM = "from";
+        static final String TO = "to";
+
+        static final String GZIP = "gzip";
+        static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+        // Status codes
+        static final int HTTP_OK = 200;
+        static final int HTTP_NOT_MODIFIED = 304;
+        static final int HTTP_BAD_REQUEST = 400;
+        static final int HTTP_TOO_MANY_REQUESTS = 429;
+        static final int HTTP_INTERNAL_ERROR = 500;
+        static final int HTTP_SERVICE_UNAVAILABLE = 503;
+    }
+
+    final static class Columnar {
+        private Columnar() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Columnar response keys
+        static final String COUNT = "count";
+        static final String COLUMNS = "columns";
+        static final String TYPES = "types";
+        static final String DATA = "data";
+        static final String NULLS = "nulls";
+    }
+
+    final static class Coalescing {
+        private Coalescing() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Coalescing statistics keys
+        static final String REQUESTS = "requests";
+        static final String COALESCED = "coalesced";
+        static final String QUERIES = "queries";
+        static final String IN_FLIGHT = "in_flight";
+    }
+
+    final static class Bulkheads {
+        private Bulkheads() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Workload classes
+        static final String INGEST = "ingest";
+        static final String QUERY = "query";
+        static final String ANALYST = "analyst";
+        static final String HEALTH = "health";
+
+        // Bulkhead statistics keys
+        static final String MAX_CONCURRENT = "max_concurrent";
+        static final String MAX_QUEUED = "max_queued";
+        static final String ACTIVE = "active";
+        static final String QUEUED = "queued";
+        static final String PEAK_QUEUED = "peak_queued";
+        static final String COMPLETED = "completed";
+        static final String REJECTED = "rejected";
+        static final String AVG_WAIT_MS = "avg_wait_ms";
+        static final String MAX_WAIT_MS = "max_wait_ms";
+    }
+
+    final static class Recompute {
+        private Recompute() {
+            throw new UnsupportedOperationException();
+        }
+
+        // How often the recompute job logs its throughput
+        static final long PROGRESS_INTERVAL_MS = 10_000L;
+    }
 }
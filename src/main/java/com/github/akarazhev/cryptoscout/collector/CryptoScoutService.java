@@ -52,6 +52,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public final class CryptoScoutService extends AbstractReactive implements ReactiveService {
     private final static Logger LOGGER = LoggerFactory.getLogger(CryptoScoutService.class);
     private final Executor executor;
+    private final Executor queryExecutor;
     private final StreamOffsetsRepository streamOffsetsRepository;
     private final CryptoScoutRepository cryptoScoutRepository;
     private final String stream;
@@ -62,16 +63,19 @@ public final class CryptoScoutService extends AbstractReactive implements Reacti
     private final AtomicBoolean running = new AtomicBoolean(false);
 
     public static CryptoScoutService create(final NioReactor reactor, final Executor executor,
+                                            final Executor queryExecutor,
                                             final StreamOffsetsRepository streamOffsetsRepository,
                                             final CryptoScoutRepository cryptoScoutRepository) {
-        return new CryptoScoutService(reactor, executor, streamOffsetsRepository, cryptoScoutRepository);
+        return new CryptoScoutService(reactor, executor, queryExecutor, streamOffsetsRepository, cryptoScoutRepository);
     }
 
     private CryptoScoutService(final NioReactor reactor, final Executor executor,
+                               final Executor queryExecutor,
                                final StreamOffsetsRepository streamOffsetsRepository,
                                final CryptoScoutRepository cryptoScoutRepository) {
         super(reactor);
         this.executor = executor;
+        this.queryExecutor = queryExecutor;
         this.streamOffsetsRepository = streamOffsetsRepository;
         this.cryptoScoutRepository = cryptoScoutRepository;
         this.batchSize = JdbcConfig.getCryptoScoutBatchSize();
@@ -107,17 +111,17 @@ public final class CryptoScoutService extends AbstractReactive implements Reacti
     }
 
     public Promise<List<Map<String, Object>>> getFgi(final OffsetDateTime from, final OffsetDateTime to) {
-        return Promise.ofBlocking(executor, () -> cryptoScoutRepository.getFgi(from, to));
+        return Promise.ofBlocking(queryExecutor, () -> cryptoScoutRepository.getFgi(from, to));
     }
 
     public Promise<List<Map<String, Object>>> getKline1d(final String symbol, final OffsetDateTime from,
                                                          final OffsetDateTime to) {
-        return Promise.ofBlocking(executor, () -> cryptoScoutRepository.getKline1d(symbol, from, to));
+        return Promise.ofBlocking(queryExecutor, () -> cryptoScoutRepository.getKline1d(symbol, from, to));
     }
 
     public Promise<List<Map<String, Object>>> getKline1w(final String symbol, final OffsetDateTime from,
                                                          final OffsetDateTime to) {
-        return Promise.ofBlocking(executor, () -> cryptoScoutRepository.getKline1w(symbol, from, to));
+        return Promise.ofBlocking(queryExecutor, () -> cryptoScoutRepository.getKline1w(symbol, from, to));
     }
 
     private void scheduledFlush() {
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.RowCursor;
+import io.activej.common.function.SupplierEx;
+import io.activej.datastream.supplier.AbstractStreamSupplier;
+import io.activej.promise.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Streams the rows of a {@link RowCursor}: the cursor is opened on the first resume and read on the executor, one
+ * batch of at most {@code batchRows} rows at a time and only while the consumer is ready, so memory stays bounded by
+ * one batch whatever the range. The cursor is closed once the stream completes or fails.
+ * <p>
+ * The cursor keeps its pooled connection between batches, so the stream reads on a {@link Bulkhead.Lease}: it takes
+ * a permit of the bulkhead for the first batch and gives it back only once the cursor is closed, and a burst of
+ * streams queues in the bulkhead instead of draining the pool.
+ */
+final class CursorStreamSupplier extends AbstractStreamSupplier<Map<String, Object>> {
+    private final static Logger LOGGER = LoggerFactory.getLogger(CursorStreamSupplier.class);
+    private final Bulkhead.Lease lease;
+    private final SupplierEx<RowCursor> opener;
+    private final int batchRows;
+    private RowCursor cursor;
+    private boolean fetching;
+    private boolean cleanedUp;
+
+    static CursorStreamSupplier create(final Bulkhead bulkhead, final SupplierEx<RowCursor> opener,
+                                       final int batchRows) {
+        return new CursorStreamSupplier(bulkhead, opener, batchRows);
+    }
+
+    private CursorStreamSupplier(final Bulkhead bulkhead, final SupplierEx<RowCursor> opener, final int batchRows) {
+        this.lease = bulkhead.lease();
+        this.opener = opener;
+        this.batchRows = batchRows;
+    }
+
+    @Override
+    protected void onResumed() {
+        if (fetching || isEndOfStream()) {
+            return;
+        }
+
+        fetching = true;
+        Promise.ofBlocking(lease, () -> {
+            if (cursor == null) {
+                cursor = opener.get();
+            }
+
+            return cursor.next(batchRows);
+        }).whenComplete((rows, e) -> {
+            fetching = false;
+            if (cleanedUp) {
+                closeCursor();
+            } else if (e != null) {
+                closeEx(e);
+            } else if (rows.isEmpty()) {
+                sendEndOfStream();
+            } else {
+                for (final var row : rows) {
+                    send(row);
+                }
+
+                if (isReady()) {
+                    onResumed();
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void onCleanup() {
+        cleanedUp = true;
+        if (!fetching) {
+            closeCursor();
+        }
+    }
+
+    private void closeCursor() {
+        final var toClose = cursor;
+        cursor = null;
+        if (toClose != null) {
+            Promise.ofBlocking(lease, toClose::close).
+                    whenException(e -> LOGGER.warn("Failed to close row cursor: {}", e.getMessage())).
+                    whenComplete(lease::close);
+        } else {
+            lease.close();
+        }
+    }
+}
@@ -25,35 +25,73 @@
 package com.github.akarazhev.cryptoscout.collector;
 
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
 import com.github.akarazhev.jcryptolib.stream.Message;
 import com.github.akarazhev.jcryptolib.util.JsonUtils;
 import io.activej.datastream.consumer.AbstractStreamConsumer;
 import io.activej.datastream.consumer.StreamConsumer;
+import io.activej.datastream.supplier.StreamSupplier;
+import io.activej.promise.Promise;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.INTERVAL_1W_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_60M_MS;
 import static com.github.akarazhev.jcryptolib.util.TimeUtils.toOdt;
 
 public final class DataService {
     private final static Logger LOGGER = LoggerFactory.getLogger(DataService.class);
     private final BybitStreamService bybitStreamService;
     private final CryptoScoutService cryptoScoutService;
+    private final AnalystService analystService;
+    private final BacktestService backtestService;
+    private final RangeCache rangeCache;
+    private final RequestCoalescer coalescer;
     private final AmqpPublisher chatbotPublisher;
+    private final int chunkRows;
+    private final int chunkBytes;
+    private final int batchMaxItems;
+    private final int batchMaxConcurrent;
 
     public static DataService create(final BybitStreamService bybitStreamService,
                                      final CryptoScoutService cryptoScoutService,
+                                     final AnalystService analystService,
+                                     final BacktestService backtestService,
+                                     final RangeCache rangeCache,
+                                     final RequestCoalescer coalescer,
                                      final AmqpPublisher chatbotPublisher) {
-        return new DataService(bybitStreamService, cryptoScoutService, chatbotPublisher);
+        return new DataService(bybitStreamService, cryptoScoutService, analystService, backtestService, rangeCache,
+                coalescer, chatbotPublisher);
     }
 
     private DataService(final BybitStreamService bybitStreamService,
                         final CryptoScoutService cryptoScoutService,
+                        final AnalystService analystService,
+                        final BacktestService backtestService,
+                        final RangeCache rangeCache,
+                        final RequestCoalescer coalescer,
                         final AmqpPublisher chatbotPublisher) {
         this.bybitStreamService = bybitStreamService;
         this.cryptoScoutService = cryptoScoutService;
+        this.analystService = analystService;
+        this.backtestService = backtestService;
+        this.rangeCache = rangeCache;
+        this.coalescer = coalescer;
         this.chatbotPublisher = chatbotPublisher;
+        this.chunkRows = JdbcConfig.getStreamChunkRows();
+        this.chunkBytes = JdbcConfig.getStreamChunkBytes();
+        this.batchMaxItems = JdbcConfig.getBatchMaxItems();
+        this.batchMaxConcurrent = JdbcConfig.getBatchMaxConcurrent();
     }
 
     public StreamConsumer<byte[]> getStreamConsumer() {
@@ -74,151 +112,381 @@ public final class DataService {
         switch (command.type()) {
             case Message.Type.REQUEST -> {
                 switch (command.method()) {
-                    // CryptoScoutCollector methods
-                    case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1D -> {
-                        final var args = message.value();
-                        cryptoScoutService.getKline1d((String) args.get(0), toOdt(args.get(1)), toOdt(args.get(2))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.CRYPTO_SCOUT_GET_KLINE_1D, klines));
-                    }
+                    case Constants.Method.COLLECTOR_BATCH -> batch(command.source(), message.value());
 
-                    case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1W -> {
+                    default -> {
+                        final var method = command.method();
                         final var args = message.value();
-                        cryptoScoutService.getKline1w((String) args.get(0), toOdt(args.get(1)), toOdt(args.get(2))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.CRYPTO_SCOUT_GET_KLINE_1W, klines));
+                        final var rows = stream(method, args);
+                        if (rows != null) {
+                            publishChunks(command.source(), method, rows, ColumnarCodec.Format.of(args, 4));
+                        } else {
+                            answer(command.source(), method, args);
+                        }
                     }
+                }
+            }
 
-                    case Constants.Method.CRYPTO_SCOUT_GET_FGI -> {
-                        final var args = message.value();
-                        cryptoScoutService.getFgi(toOdt(args.get(0)), toOdt(args.get(1))).
-                                whenResult(fgis ->
-                                        publish(command.source(), Constants.Method.CRYPTO_SCOUT_GET_FGI, fgis));
-                    }
+            default -> LOGGER.debug("Unhandled message type: {}", command.type());
+        }
+    }
 
-                    // BybitCryptoCollector methods
-                    case Constants.Method.BYBIT_GET_KLINE_1M -> {
-                        final var args = message.value();
-                        bybitStreamService.getKline1m(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_KLINE_1M, klines));
-                    }
+    private void answer(final String source, final String method, final List<Object> args) {
+        final var response = query(method, args);
+        if (response == null) {
+            LOGGER.debug("Unhandled request method: {}", method);
+        } else {
+            response.whenResult(data -> publish(source, method, data)).
+                    whenException(e -> LOGGER.warn("Failed to answer {} request: {}", method, e.getMessage()));
+        }
+    }
 
-                    case Constants.Method.BYBIT_GET_KLINE_5M -> {
-                        final var args = message.value();
-                        bybitStreamService.getKline5m(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_KLINE_5M, klines));
-                    }
+    /**
+     * Opens the rows of a streamed request read through a server-side cursor, or returns null for any other method.
+     */
+    StreamSupplier<Map<String, Object>> stream(final String method, final List<Object> args) {
+        return switch (method) {
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_1 -> bybitStreamService.streamOrderBook1(
+                    BybitStreamService.Type.valueOf((String) args.get(0)), (String) args.get(1),
+                    toOdt(args.get(2)), toOdt(args.get(3)));
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_50 -> bybitStreamService.streamOrderBook50(
+                    BybitStreamService.Type.valueOf((String) args.get(0)), (String) args.get(1),
+                    toOdt(args.get(2)), toOdt(args.get(3)));
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_200 -> bybitStreamService.streamOrderBook200(
+                    BybitStreamService.Type.valueOf((String) args.get(0)), (String) args.get(1),
+                    toOdt(args.get(2)), toOdt(args.get(3)));
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_1000 -> bybitStreamService.streamOrderBook1000(
+                    BybitStreamService.Type.valueOf((String) args.get(0)), (String) args.get(1),
+                    toOdt(args.get(2)), toOdt(args.get(3)));
+            case Constants.Method.BYBIT_GET_PUBLIC_TRADE -> bybitStreamService.streamPublicTrade(
+                    BybitStreamService.Type.valueOf((String) args.get(0)), (String) args.get(1),
+                    toOdt(args.get(2)), toOdt(args.get(3)));
+            default -> null;
+        };
+    }
 
-                    case Constants.Method.BYBIT_GET_KLINE_15M -> {
-                        final var args = message.value();
-                        bybitStreamService.getKline15m(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_KLINE_15M, klines));
-                    }
+    /**
+     * Answers a request that is not streamed with its response data, or returns null for any other method.
+     */
+    Promise<?> query(final String method, final List<Object> args) {
+        return switch (method) {
+            // CryptoScoutCollector methods
+            case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1D -> {
+                final var format = ColumnarCodec.Format.of(args, 3);
+                final var symbol = (String) args.get(0);
+                final var from = toOdt(args.get(1));
+                final var to = toOdt(args.get(2));
+                yield coalescer.get(Constants.Method.CRYPTO_SCOUT_GET_KLINE_1D, Arrays.asList(symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.cmcKlines(INTERVAL_1D_MS), symbol, from, to,
+                                        cryptoScoutService::getKline1d)).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_KLINE_60M -> {
-                        final var args = message.value();
-                        bybitStreamService.getKline60m(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_KLINE_60M, klines));
-                    }
+            case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1W -> {
+                final var format = ColumnarCodec.Format.of(args, 3);
+                final var symbol = (String) args.get(0);
+                final var from = toOdt(args.get(1));
+                final var to = toOdt(args.get(2));
+                yield coalescer.get(Constants.Method.CRYPTO_SCOUT_GET_KLINE_1W, Arrays.asList(symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.cmcKlines(INTERVAL_1W_MS), symbol, from, to,
+                                        cryptoScoutService::getKline1w)).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_KLINE_240M -> {
-                        final var args = message.value();
-                        bybitStreamService.getKline240m(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_KLINE_240M, klines));
-                    }
+            case Constants.Method.CRYPTO_SCOUT_GET_FGI -> {
+                final var format = ColumnarCodec.Format.of(args, 2);
+                final var from = toOdt(args.get(0));
+                final var to = toOdt(args.get(1));
+                yield coalescer.get(Constants.Method.CRYPTO_SCOUT_GET_FGI, Arrays.asList(from, to), () ->
+                                cryptoScoutService.getFgi(from, to)).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_KLINE_1D -> {
-                        final var args = message.value();
-                        bybitStreamService.getKline1d(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(klines ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_KLINE_1D, klines));
-                    }
+            // BybitCryptoCollector methods
+            case Constants.Method.BYBIT_GET_KLINE_1S -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_1S, Arrays.asList(type, symbol, from, to), () ->
+                                bybitStreamService.getKline1s(type, symbol, from, to)).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_TICKER -> {
-                        final var args = message.value();
-                        bybitStreamService.getTicker(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(tickers ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_TICKER, tickers));
-                    }
+            case Constants.Method.BYBIT_GET_KLINE_5S -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_5S, Arrays.asList(type, symbol, from, to), () ->
+                                bybitStreamService.getKline5s(type, symbol, from, to)).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_1 -> {
-                        final var args = message.value();
-                        bybitStreamService.getOrderBook1(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(orderBooks ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_ORDER_BOOK_1, orderBooks));
-                    }
+            case Constants.Method.BYBIT_GET_KLINE_15S -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_15S, Arrays.asList(type, symbol, from, to), () ->
+                                bybitStreamService.getKline15s(type, symbol, from, to)).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_50 -> {
-                        final var args = message.value();
-                        bybitStreamService.getOrderBook50(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(orderBooks ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_ORDER_BOOK_50, orderBooks));
-                    }
+            case Constants.Method.BYBIT_GET_KLINE_1M -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_1M, Arrays.asList(type, symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.bybitKlines(type, INTERVAL_1M_MS), symbol,
+                                        from, to, (s, f, t) -> bybitStreamService.getKline1m(type, s, f, t))).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_200 -> {
-                        final var args = message.value();
-                        bybitStreamService.getOrderBook200(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(orderBooks ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_ORDER_BOOK_200, orderBooks));
-                    }
+            case Constants.Method.BYBIT_GET_KLINE_5M -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_5M, Arrays.asList(type, symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.bybitKlines(type, INTERVAL_5M_MS), symbol,
+                                        from, to, (s, f, t) -> bybitStreamService.getKline5m(type, s, f, t))).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_1000 -> {
-                        final var args = message.value();
-                        bybitStreamService.getOrderBook1000(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(orderBooks ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_ORDER_BOOK_1000, orderBooks));
-                    }
+            case Constants.Method.BYBIT_GET_KLINE_15M -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_15M, Arrays.asList(type, symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.bybitKlines(type, INTERVAL_15M_MS), symbol,
+                                        from, to, (s, f, t) -> bybitStreamService.getKline15m(type, s, f, t))).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_PUBLIC_TRADE -> {
-                        final var args = message.value();
-                        bybitStreamService.getPublicTrade(BybitStreamService.Type.valueOf((String) args.get(0)),
-                                        (String) args.get(1), toOdt(args.get(2)), toOdt(args.get(3))).
-                                whenResult(trades ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_PUBLIC_TRADE, trades));
-                    }
+            case Constants.Method.BYBIT_GET_KLINE_60M -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_60M, Arrays.asList(type, symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.bybitKlines(type, INTERVAL_60M_MS), symbol,
+                                        from, to, (s, f, t) -> bybitStreamService.getKline60m(type, s, f, t))).
+                        map(format::encode);
+            }
 
-                    case Constants.Method.BYBIT_GET_ALL_LIQUIDATION -> {
-                        final var args = message.value();
-                        bybitStreamService.getAllLiquidation((String) args.get(0), toOdt(args.get(1)), toOdt(args.get(2))).
-                                whenResult(liquidations ->
-                                        publish(command.source(), Constants.Method.BYBIT_GET_ALL_LIQUIDATION, liquidations));
-                    }
+            case Constants.Method.BYBIT_GET_KLINE_240M -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_240M,
+                                Arrays.asList(type, symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.bybitKlines(type, INTERVAL_240M_MS), symbol,
+                                        from, to, (s, f, t) -> bybitStreamService.getKline240m(type, s, f, t))).
+                        map(format::encode);
+            }
+
+            case Constants.Method.BYBIT_GET_KLINE_1D -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_1D, Arrays.asList(type, symbol, from, to), () ->
+                                rangeCache.get(RangeCache.Dataset.bybitKlines(type, INTERVAL_1D_MS), symbol,
+                                        from, to, (s, f, t) -> bybitStreamService.getKline1d(type, s, f, t))).
+                        map(format::encode);
+            }
+
+            case Constants.Method.BYBIT_GET_TICKER -> {
+                final var format = ColumnarCodec.Format.of(args, 4);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_TICKER, Arrays.asList(type, symbol, from, to), () ->
+                                bybitStreamService.getTicker(type, symbol, from, to)).
+                        map(format::encode);
+            }
+
+            case Constants.Method.BYBIT_GET_VOLUME_PROFILE -> {
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                yield coalescer.get(Constants.Method.BYBIT_GET_VOLUME_PROFILE,
+                                Arrays.asList(type, symbol, from, to), () ->
+                                bybitStreamService.getVolumeProfile(type, symbol, from, to));
+            }
+
+            case Constants.Method.BYBIT_GET_KLINE_DOWNSAMPLED -> {
+                final var format = ColumnarCodec.Format.of(args, 6);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var intervalMs = ((Number) args.get(2)).longValue();
+                final var from = toOdt(args.get(3));
+                final var to = toOdt(args.get(4));
+                final var points = ((Number) args.get(5)).intValue();
+                yield coalescer.get(Constants.Method.BYBIT_GET_KLINE_DOWNSAMPLED,
+                                Arrays.asList(type, symbol, intervalMs, from, to, points), () ->
+                                bybitStreamService.getKlineDownsampled(type, symbol, intervalMs, from, to,
+                                        points)).
+                        map(format::encode);
+            }
+
+            case Constants.Method.BYBIT_GET_TICKER_DOWNSAMPLED -> {
+                final var format = ColumnarCodec.Format.of(args, 5);
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var from = toOdt(args.get(2));
+                final var to = toOdt(args.get(3));
+                final var points = ((Number) args.get(4)).intValue();
+                yield coalescer.get(Constants.Method.BYBIT_GET_TICKER_DOWNSAMPLED,
+                                Arrays.asList(type, symbol, from, to, points), () ->
+                                bybitStreamService.getTickerDownsampled(type, symbol, from, to, points)).
+                        map(format::encode);
+            }
+
+            case Constants.Method.BYBIT_GET_ALL_LIQUIDATION -> {
+                final var format = ColumnarCodec.Format.of(args, 3);
+                final var symbol = (String) args.get(0);
+                final var from = toOdt(args.get(1));
+                final var to = toOdt(args.get(2));
+                yield coalescer.get(Constants.Method.BYBIT_GET_ALL_LIQUIDATION, Arrays.asList(symbol, from, to), () ->
+                                bybitStreamService.getAllLiquidation(symbol, from, to)).
+                        map(format::encode);
+            }
 
-                    default -> LOGGER.debug("Unhandled request method: {}", command.method());
+            case Constants.Method.BYBIT_GET_LIQUIDATION_1M -> {
+                final var format = ColumnarCodec.Format.of(args, 3);
+                final var symbol = (String) args.get(0);
+                final var from = toOdt(args.get(1));
+                final var to = toOdt(args.get(2));
+                yield coalescer.get(Constants.Method.BYBIT_GET_LIQUIDATION_1M, Arrays.asList(symbol, from, to), () ->
+                                bybitStreamService.getLiquidation1m(symbol, from, to)).
+                        map(format::encode);
+            }
+
+            case Constants.Method.BYBIT_GET_LIQUIDATION_WINDOWS -> {
+                if (args == null || args.isEmpty()) {
+                    yield coalescer.get(Constants.Method.BYBIT_GET_LIQUIDATION_WINDOWS, List.of(),
+                                    bybitStreamService::getLiquidationWindows);
+                } else {
+                    final var symbol = (String) args.get(0);
+                    yield coalescer.get(Constants.Method.BYBIT_GET_LIQUIDATION_WINDOWS, Arrays.asList(symbol),
+                                    () -> bybitStreamService.getLiquidationWindows(symbol));
                 }
             }
 
-            default -> LOGGER.debug("Unhandled message type: {}", command.type());
+            case Constants.Method.BYBIT_GET_PROVISIONAL_INDICATORS -> {
+                final var symbol = (String) args.get(0);
+                yield coalescer.get(Constants.Method.BYBIT_GET_PROVISIONAL_INDICATORS, Arrays.asList(symbol), () ->
+                                analystService.getProvisionalIndicators(symbol));
+            }
+
+            case Constants.Method.BYBIT_BACKTEST -> {
+                final var type = BybitStreamService.Type.valueOf((String) args.get(0));
+                final var symbol = (String) args.get(1);
+                final var intervalMs = ((Number) args.get(2)).longValue();
+                final var from = toOdt(args.get(3));
+                final var to = toOdt(args.get(4));
+                final var average = (String) args.get(5);
+                final var fasts = toInts(args.get(6));
+                final var slows = toInts(args.get(7));
+                final var fee = ((Number) args.get(8)).doubleValue();
+                final var key = Arrays.asList(type, symbol, intervalMs, from, to, average, fasts, slows, fee);
+                yield coalescer.get(Constants.Method.BYBIT_BACKTEST, key, () ->
+                                backtestService.backtest(type, symbol, intervalMs, from, to, average, fasts,
+                                        slows, fee));
+            }
+
+            default -> null;
+        };
+    }
+
+    /**
+     * Answers the sub-queries given as the first argument with one response holding an item per sub-query in request
+     * order or, in the {@code STREAM} mode given as the second, with a chunk per item as soon as it completes.
+     * Streamed methods and nested batches fail their items.
+     */
+    private void batch(final String source, final List<Object> args) {
+        final var method = Constants.Method.COLLECTOR_BATCH;
+        final var queries = (List<?>) args.get(0);
+        final var stream = args.size() > 1 && Constants.Batch.STREAM.equals(args.get(1));
+        if (queries.size() > batchMaxItems) {
+            LOGGER.warn("Rejected batch of {} sub-queries, at most {} are allowed", queries.size(), batchMaxItems);
+            final var error = "Batch holds " + queries.size() + " sub-queries, at most " + batchMaxItems +
+                    " are allowed";
+            publish(source, method, stream ? ResponseChunker.create(chunkRows, chunkBytes).fail(error) :
+                    Map.of(Constants.Batch.ERROR, error));
+            return;
+        }
+
+        if (stream) {
+            final var chunker = ResponseChunker.create(chunkRows, chunkBytes);
+            // Each chunk is published once the one before it is, so chunks arrive in seq order and the last one last
+            final var published = new AtomicReference<Promise<Void>>(Promise.complete());
+            BatchRunner.create(queries, batchMaxConcurrent, this::query, item -> {
+                chunker.add(item);
+                final var chunk = chunker.drain(false);
+                published.set(published.get().then(() -> publish(source, method, chunk)));
+            }).run().whenResult(_ -> {
+                final var chunk = chunker.drain(true);
+                published.set(published.get().then(() -> publish(source, method, chunk)).
+                        whenException(e -> LOGGER.warn("Failed to publish streamed batch: {}", e.getMessage())));
+            });
+        } else {
+            BatchRunner.create(queries, batchMaxConcurrent, this::query, _ -> {
+            }).run().whenResult(items -> publish(source, method, Map.of(Constants.Batch.ITEMS, items)));
         }
     }
 
-    private <T> void publish(final String source, final String method, final T data) {
+    private static List<Integer> toInts(final Object values) {
+        return ((List<?>) values).stream().map(value -> ((Number) value).intValue()).toList();
+    }
+
+    /**
+     * Streams the rows to the source as ordered chunks with sequence numbers, the last one marking the end, each
+     * chunk's rows in the requested format.
+     */
+    private void publishChunks(final String source, final String method,
+                               final StreamSupplier<Map<String, Object>> rows, final ColumnarCodec.Format format) {
+        rows.streamTo(ChunkedResponseConsumer.create(chunk -> publish(source, method, encodeChunk(chunk, format)),
+                        chunkRows, chunkBytes)).
+                whenException(e -> LOGGER.warn("Failed to stream {} response: {}", method, e.getMessage()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> encodeChunk(final Map<String, Object> chunk, final ColumnarCodec.Format format) {
+        chunk.computeIfPresent(Constants.Chunks.ROWS, (_, rows) -> format.encode((List<Map<String, Object>>) rows));
+        return chunk;
+    }
+
+    private <T> Promise<Void> publish(final String source, final String method, final T data) {
         final var command = Message.Command.of(Message.Type.RESPONSE, Constants.Source.COLLECTOR, method);
-        switch (source) {
+        return switch (source) {
             case Constants.Source.CHATBOT -> chatbotPublisher.publish(
                     AmqpConfig.getAmqpCryptoScoutExchange(),
                     AmqpConfig.getAmqpChatbotRoutingKey(),
                     Message.of(command, data)
             );
 
-            default -> LOGGER.warn("Unknown source for response: {}", source);
-        }
+            default -> {
+                LOGGER.warn("Unknown source for response: {}", source);
+                yield Promise.complete();
+            }
+        };
     }
 
     private final class InternalStreamConsumer extends AbstractStreamConsumer<byte[]> {
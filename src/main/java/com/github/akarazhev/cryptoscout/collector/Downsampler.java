@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_60M_MS;
+
+/**
+ * Reduces a range to about a requested number of points, so the cost of a chart request does not grow with the
+ * length of its range.
+ * <p>
+ * OHLCV series are bucketed in the database: {@link #bucketMs} picks a bucket width giving at most the requested
+ * number of buckets, and {@link #sourceIntervalMs} the coarsest kline table the buckets can be built from, so the rows
+ * scanned stay a small multiple of the points. Line series are reduced here with MinMaxLTTB: while the rows are read
+ * once, in any order, the range is split into twice as many time slots as points and each slot keeps only its lowest
+ * and highest row; Largest-Triangle-Three-Buckets then picks the points from those candidates. Memory and the work
+ * after the scan depend on the point count only.
+ */
+final class Downsampler {
+    // Bybit kline intervals from the finest to the coarsest; each divides the next ones
+    private static final long[] KLINE_INTERVALS_MS = {
+            INTERVAL_1M_MS, INTERVAL_5M_MS, INTERVAL_15M_MS, INTERVAL_60M_MS, INTERVAL_240M_MS, INTERVAL_1D_MS
+    };
+    // Time slots per point of the preselection
+    private static final int SLOTS_PER_POINT = 2;
+
+    private final long fromMs;
+    private final long spanMs;
+    private final int points;
+    private final String timeColumn;
+    private final String valueColumn;
+    private final Candidate[] lows;
+    private final Candidate[] highs;
+    private Candidate first;
+    private Candidate last;
+
+    private record Candidate(long timeMs, double value, Map<String, Object> row) {
+    }
+
+    /**
+     * LTTB over the rows between {@code from} and {@code to} inclusive, with the time and value of a row read from the
+     * given columns.
+     */
+    static Downsampler create(final OffsetDateTime from, final OffsetDateTime to, final int points,
+                              final String timeColumn, final String valueColumn) {
+        return new Downsampler(from, to, points, timeColumn, valueColumn);
+    }
+
+    private Downsampler(final OffsetDateTime from, final OffsetDateTime to, final int points,
+                        final String timeColumn, final String valueColumn) {
+        checkPoints(points);
+        this.fromMs = from.toInstant().toEpochMilli();
+        final var toMs = to.toInstant().toEpochMilli();
+        if (toMs < fromMs) {
+            throw new IllegalArgumentException("Range ends before it starts: " + from + " - " + to);
+        }
+
+        this.spanMs = toMs - fromMs + 1;
+        this.points = points;
+        this.timeColumn = timeColumn;
+        this.valueColumn = valueColumn;
+        final var slots = (int) Math.min((long) points * SLOTS_PER_POINT, spanMs);
+        this.lows = new Candidate[slots];
+        this.highs = new Candidate[slots];
+    }
+
+    /**
+     * Width of the buckets that split the range into at most {@code points} bars, a multiple of the source interval
+     * and never finer than {@code intervalMs}.
+     */
+    static long bucketMs(final long intervalMs, final OffsetDateTime from, final OffsetDateTime to, final int points) {
+        checkPoints(points);
+        final var spanMs = to.toInstant().toEpochMilli() - from.toInstant().toEpochMilli() + 1;
+        final var widthMs = Math.max(intervalMs, Math.ceilDiv(Math.max(1L, spanMs), points));
+        var sourceMs = INTERVAL_1M_MS;
+        for (final var klineIntervalMs : KLINE_INTERVALS_MS) {
+            if (klineIntervalMs <= widthMs) {
+                sourceMs = klineIntervalMs;
+            }
+        }
+
+        return Math.ceilDiv(widthMs, sourceMs) * sourceMs;
+    }
+
+    /**
+     * The coarsest kline interval dividing the bucket, whose table the buckets are aggregated from.
+     */
+    static long sourceIntervalMs(final long bucketMs) {
+        if (bucketMs < INTERVAL_1M_MS) {
+            throw new IllegalArgumentException("Bucket must span at least one minute, got: " + bucketMs + " ms");
+        }
+
+        var sourceMs = INTERVAL_1M_MS;
+        for (final var intervalMs : KLINE_INTERVALS_MS) {
+            if (intervalMs <= bucketMs && bucketMs % intervalMs == 0) {
+                sourceMs = intervalMs;
+            }
+        }
+
+        return sourceMs;
+    }
+
+    static boolean isKlineInterval(final long intervalMs) {
+        for (final var klineIntervalMs : KLINE_INTERVALS_MS) {
+            if (klineIntervalMs == intervalMs) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void checkPoints(final int points) {
+        if (points < 2) {
+            throw new IllegalArgumentException("Downsampling needs at least 2 points, got: " + points);
+        }
+    }
+
+    /**
+     * Offers a row; rows outside the range or without a value are skipped.
+     */
+    void add(final Map<String, Object> row) {
+        if (!(row.get(valueColumn) instanceof Number number) || Double.isNaN(number.doubleValue())) {
+            return;
+        }
+
+        final var timeMs = toEpochMs(row.get(timeColumn));
+        final var offsetMs = timeMs - fromMs;
+        if (offsetMs < 0 || offsetMs >= spanMs) {
+            return;
+        }
+
+        final var candidate = new Candidate(timeMs, number.doubleValue(), row);
+        final var slot = Math.min(lows.length - 1, (int) ((double) offsetMs / spanMs * lows.length));
+        if (lows[slot] == null || candidate.value < lows[slot].value) {
+            lows[slot] = candidate;
+        }
+
+        if (highs[slot] == null || candidate.value > highs[slot].value) {
+            highs[slot] = candidate;
+        }
+
+        if (first == null || timeMs < first.timeMs) {
+            first = candidate;
+        }
+
+        if (last == null || timeMs >= last.timeMs) {
+            last = candidate;
+        }
+    }
+
+    /**
+     * The selected rows in time order, at most the requested number of points.
+     */
+    List<Map<String, Object>> finish() {
+        final var candidates = new ArrayList<Candidate>(lows.length * 2 + 2);
+        if (first != null) {
+            candidates.add(first);
+        }
+
+        for (var i = 0; i < lows.length; i++) {
+            addCandidate(candidates, lows[i]);
+            if (highs[i] != lows[i]) {
+                addCandidate(candidates, highs[i]);
+            }
+        }
+
+        if (last != null && last != first) {
+            candidates.add(last);
+        }
+
+        candidates.sort(Comparator.comparingLong(Candidate::timeMs));
+        final var selected = new ArrayList<Map<String, Object>>(Math.min(points, candidates.size()));
+        if (candidates.size() <= points) {
+            for (final var candidate : candidates) {
+                selected.add(candidate.row);
+            }
+
+            return selected;
+        }
+
+        selected.add(candidates.getFirst().row);
+        final var n = candidates.size();
+        // Candidates between the first and the last one, spread over points - 2 buckets
+        final var every = (double) (n - 2) / (points - 2);
+        var a = candidates.getFirst();
+        for (var i = 0; i < points - 2; i++) {
+            final var rangeStart = (int) Math.floor(i * every) + 1;
+            final var rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            final var nextStart = rangeEnd;
+            final var nextEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            var avgTime = 0.0;
+            var avgValue = 0.0;
+            for (var j = nextStart; j < nextEnd; j++) {
+                avgTime += candidates.get(j).timeMs;
+                avgValue += candidates.get(j).value;
+            }
+
+            final var nextCount = nextEnd - nextStart;
+            avgTime /= nextCount;
+            avgValue /= nextCount;
+
+            Candidate picked = null;
+            var maxArea = -1.0;
+            for (var j = rangeStart; j < rangeEnd; j++) {
+                final var b = candidates.get(j);
+                final var area = Math.abs((a.timeMs - avgTime) * (b.value - a.value) -
+                        (a.timeMs - b.timeMs) * (avgValue - a.value));
+                if (area > maxArea) {
+                    maxArea = area;
+                    picked = b;
+                }
+            }
+
+            selected.add(picked.row);
+            a = picked;
+        }
+
+        selected.add(candidates.getLast().row);
+        return selected;
+    }
+
+    private void addCandidate(final List<Candidate> candidates, final Candidate candidate) {
+        if (candidate != null && candidate != first && candidate != last) {
+            candidates.add(candidate);
+        }
+    }
+
+    private static long toEpochMs(final Object time) {
+        return switch (time) {
+            case OffsetDateTime odt -> odt.toInstant().toEpochMilli();
+            case Instant instant -> instant.toEpochMilli();
+            case Date date -> date.getTime();
+            case Number number -> number.longValue();
+            case null, default -> throw new IllegalArgumentException("Unsupported time value: " + time);
+        };
+    }
+}
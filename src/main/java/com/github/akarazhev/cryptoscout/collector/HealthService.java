@@ -33,7 +33,9 @@ import io.activej.reactor.nio.NioReactor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 
@@ -42,6 +44,9 @@ import static com.github.akarazhev.cryptoscout.collector.Constants.Health.AMQP;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Health.CONNECTION_TIMEOUT_SECONDS;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Health.DATABASE;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Health.ERROR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Health.LAG_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Health.NAME;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Health.REPLICAS;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Health.STATUS;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Health.STATUS_DOWN;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Health.STATUS_UP;
@@ -71,6 +76,7 @@ public final class HealthService extends AbstractReactive {
             health.put(STATUS, STATUS_UP);
 
             final var dbHealth = checkDatabase();
+            dbHealth.put(REPLICAS, checkReplicas());
             health.put(DATABASE, dbHealth);
 
             final var amqpHealth = checkAmqp();
@@ -102,6 +108,26 @@ public final class HealthService extends AbstractReactive {
         return dbHealth;
     }
 
+    /**
+     * Replicas do not affect the overall status: reads fall back to the primary while a replica is down or lagging.
+     */
+    private List<Map<String, Object>> checkReplicas() {
+        final var replicas = new ArrayList<Map<String, Object>>();
+        for (final var status : collectorDataSource.checkReplicas()) {
+            final var replicaHealth = new LinkedHashMap<String, Object>();
+            replicaHealth.put(NAME, status.name());
+            replicaHealth.put(STATUS, status.up() ? STATUS_UP : STATUS_DOWN);
+            replicaHealth.put(LAG_MS, status.lagMs());
+            if (status.error() != null) {
+                replicaHealth.put(ERROR, status.error());
+            }
+
+            replicas.add(replicaHealth);
+        }
+
+        return replicas;
+    }
+
     private Map<String, Object> checkAmqp() {
         final var amqpHealth = new LinkedHashMap<String, Object>();
         try (final var connection = connectionFactory.newConnection(HEALTH_CHECK_CLIENT_NAME)) {
@@ -0,0 +1,482 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import com.github.akarazhev.cryptoscout.config.ServerConfig;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import io.activej.bytebuf.ByteBuf;
+import io.activej.csp.consumer.ChannelConsumer;
+import io.activej.csp.queue.ChannelZeroBuffer;
+import io.activej.datastream.supplier.StreamSupplier;
+import io.activej.datastream.supplier.StreamSuppliers;
+import io.activej.http.HttpHeaders;
+import io.activej.http.HttpRequest;
+import io.activej.http.HttpResponse;
+import io.activej.promise.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.ERROR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.LAST;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.ROWS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.SEQ;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.DEPTH;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.FGI;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.FROM;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.GZIP;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.HTTP_BAD_REQUEST;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.HTTP_INTERNAL_ERROR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.HTTP_NOT_MODIFIED;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.HTTP_OK;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.HTTP_SERVICE_UNAVAILABLE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.HTTP_TOO_MANY_REQUESTS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.INDICATORS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.INTERVAL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.JSON_CONTENT_TYPE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.KLINES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.LIQUIDATIONS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.ORDER_BOOKS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.TICKERS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.TO;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.TRADES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Http.TYPE;
+import static io.activej.bytebuf.ByteBufStrings.wrapUtf8;
+
+/**
+ * HTTP query API over the methods of {@link DataService}, so internal dashboards read without a broker round trip.
+ * Range endpoints answer with a JSON array of rows written to the body in chunks as they are read: order books and
+ * public trades straight from a server-side cursor, the others from the coalesced and cached results.
+ * <p>
+ * A range that ended more than {@code jdbc.cache.closed-grace-ms} ago rarely changes, so its response carries an ETag
+ * digested from the rows read, and a request whose {@code If-None-Match} holds it is answered with 304 instead of the
+ * body. The digest follows the content, so a bar backfilled into the range changes the ETag; order books and public
+ * trades stream from the cursor before their rows are known and carry none. Bodies are gzip-compressed for clients
+ * that accept it. Each endpoint serves at most
+ * {@code server.api.<endpoint>.max-concurrent} requests at once, a streamed one until its body is written, and
+ * answers the others with 429.
+ * <p>
+ * Not thread-safe: it is used from the reactor thread.
+ */
+public final class HttpQueryService {
+    private final static Logger LOGGER = LoggerFactory.getLogger(HttpQueryService.class);
+    private final DataService dataService;
+    private final Map<String, Limit> limits = new LinkedHashMap<>();
+    private final int chunkRows;
+    private final int chunkBytes;
+    private final long closedGraceMs;
+    private final LongSupplier clock;
+
+    private record Query(String method, List<Object> args, long toMs) {
+    }
+
+    private final static class Limit {
+        private final int maxConcurrent;
+        private int active;
+
+        private Limit(final int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        private boolean tryAcquire() {
+            if (active >= maxConcurrent) {
+                return false;
+            }
+
+            active++;
+            return true;
+        }
+
+        private void release() {
+            active--;
+        }
+    }
+
+    public static HttpQueryService create(final DataService dataService) {
+        return new HttpQueryService(dataService, System::currentTimeMillis);
+    }
+
+    private HttpQueryService(final DataService dataService, final LongSupplier clock) {
+        this.dataService = dataService;
+        this.clock = clock;
+        this.chunkRows = JdbcConfig.getStreamChunkRows();
+        this.chunkBytes = JdbcConfig.getStreamChunkBytes();
+        this.closedGraceMs = JdbcConfig.getCacheClosedGraceMs();
+        for (final var endpoint : List.of(KLINES, TICKERS, ORDER_BOOKS, TRADES, LIQUIDATIONS, FGI, INDICATORS)) {
+            limits.put(endpoint, new Limit(ServerConfig.getApiMaxConcurrent(endpoint)));
+        }
+    }
+
+    /**
+     * Klines of a Bybit symbol: {@code type}, {@code symbol}, {@code interval} (1s, 5s, 15s, 1m, 5m, 15m, 60m,
+     * 240m or 1d), {@code from} and {@code to}.
+     */
+    public Promise<HttpResponse> getKlines(final HttpRequest request) {
+        return serve(KLINES, request, () -> {
+            final var interval = required(request, INTERVAL);
+            final var method = switch (interval) {
+                case "1s" -> Constants.Method.BYBIT_GET_KLINE_1S;
+                case "5s" -> Constants.Method.BYBIT_GET_KLINE_5S;
+                case "15s" -> Constants.Method.BYBIT_GET_KLINE_15S;
+                case "1m" -> Constants.Method.BYBIT_GET_KLINE_1M;
+                case "5m" -> Constants.Method.BYBIT_GET_KLINE_5M;
+                case "15m" -> Constants.Method.BYBIT_GET_KLINE_15M;
+                case "60m" -> Constants.Method.BYBIT_GET_KLINE_60M;
+                case "240m" -> Constants.Method.BYBIT_GET_KLINE_240M;
+                case "1d" -> Constants.Method.BYBIT_GET_KLINE_1D;
+                default -> throw new IllegalArgumentException("Unsupported interval: " + interval);
+            };
+            return range(method, request, type(request), required(request, SYMBOL));
+        });
+    }
+
+    /**
+     * Tickers of a Bybit symbol: {@code type}, {@code symbol}, {@code from} and {@code to}.
+     */
+    public Promise<HttpResponse> getTickers(final HttpRequest request) {
+        return serve(TICKERS, request, () ->
+                range(Constants.Method.BYBIT_GET_TICKER, request, type(request), required(request, SYMBOL)));
+    }
+
+    /**
+     * Order books of a Bybit symbol: {@code type}, {@code symbol}, {@code depth} (1, 50, 200 or 1000), {@code from}
+     * and {@code to}.
+     */
+    public Promise<HttpResponse> getOrderBooks(final HttpRequest request) {
+        return serve(ORDER_BOOKS, request, () -> {
+            final var depth = required(request, DEPTH);
+            final var method = switch (depth) {
+                case "1" -> Constants.Method.BYBIT_GET_ORDER_BOOK_1;
+                case "50" -> Constants.Method.BYBIT_GET_ORDER_BOOK_50;
+                case "200" -> Constants.Method.BYBIT_GET_ORDER_BOOK_200;
+                case "1000" -> Constants.Method.BYBIT_GET_ORDER_BOOK_1000;
+                default -> throw new IllegalArgumentException("Unsupported depth: " + depth);
+            };
+            return range(method, request, type(request), required(request, SYMBOL));
+        });
+    }
+
+    /**
+     * Public trades of a Bybit symbol: {@code type}, {@code symbol}, {@code from} and {@code to}.
+     */
+    public Promise<HttpResponse> getTrades(final HttpRequest request) {
+        return serve(TRADES, request, () ->
+                range(Constants.Method.BYBIT_GET_PUBLIC_TRADE, request, type(request), required(request, SYMBOL)));
+    }
+
+    /**
+     * Linear liquidations of a symbol: {@code symbol}, {@code from} and {@code to}.
+     */
+    public Promise<HttpResponse> getLiquidations(final HttpRequest request) {
+        return serve(LIQUIDATIONS, request, () ->
+                range(Constants.Method.BYBIT_GET_ALL_LIQUIDATION, request, required(request, SYMBOL)));
+    }
+
+    /**
+     * Fear and greed index: {@code from} and {@code to}.
+     */
+    public Promise<HttpResponse> getFgi(final HttpRequest request) {
+        return serve(FGI, request, () -> range(Constants.Method.CRYPTO_SCOUT_GET_FGI, request));
+    }
+
+    /**
+     * Provisional indicators of the open bars of a symbol: {@code symbol}; never closed, so without an ETag.
+     */
+    public Promise<HttpResponse> getIndicators(final HttpRequest request) {
+        return serve(INDICATORS, request, () -> new Query(Constants.Method.BYBIT_GET_PROVISIONAL_INDICATORS,
+                List.of(required(request, SYMBOL)), Long.MAX_VALUE));
+    }
+
+    private Promise<HttpResponse> serve(final String endpoint, final HttpRequest request,
+                                        final Supplier<Query> parser) {
+        final Query query;
+        try {
+            query = parser.get();
+        } catch (final IllegalArgumentException e) {
+            return error(HTTP_BAD_REQUEST, e.getMessage()).toPromise();
+        }
+
+        final var limit = limits.get(endpoint);
+        if (!limit.tryAcquire()) {
+            return error(HTTP_TOO_MANY_REQUESTS, "Too many concurrent " + endpoint + " requests").toPromise();
+        }
+
+        final var gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        final var tagged = isClosed(query.toMs(), clock.getAsLong(), closedGraceMs);
+        final var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        try {
+            final var rows = dataService.stream(query.method(), query.args());
+            if (rows != null) {
+                return Promise.of(streamed(rows, null, gzip, limit));
+            }
+
+            return dataService.query(query.method(), query.args()).map((data, e) -> {
+                if (e == null) {
+                    return ok(data, tagged, ifNoneMatch, gzip, limit);
+                }
+
+                limit.release();
+                LOGGER.warn("Failed to answer {} request: {}", endpoint, e.getMessage());
+                return error(switch (e) {
+                    case IllegalArgumentException _ -> HTTP_BAD_REQUEST;
+                    case RejectedExecutionException _ -> HTTP_SERVICE_UNAVAILABLE;
+                    default -> HTTP_INTERNAL_ERROR;
+                }, e.getMessage()).build();
+            });
+        } catch (final IllegalArgumentException e) {
+            limit.release();
+            return error(HTTP_BAD_REQUEST, e.getMessage()).toPromise();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpResponse ok(final Object data, final boolean tagged, final String ifNoneMatch, final boolean gzip,
+                            final Limit limit) {
+        if (data instanceof List<?> list) {
+            final var rows = (List<Map<String, Object>>) list;
+            final var etag = tagged ? etag(rows, chunkRows) : null;
+            if (etag != null && matches(ifNoneMatch, etag)) {
+                limit.release();
+                return notModified(etag);
+            }
+
+            return streamed(StreamSuppliers.ofIterable(rows), etag, gzip, limit);
+        }
+
+        limit.release();
+        final var json = JsonUtils.object2Json(data);
+        final var etag = tagged ? etag(json) : null;
+        if (etag != null && matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        return response(etag, gzip).withJson(json).build();
+    }
+
+    /**
+     * Writes the rows to the body as a JSON array in chunks; the stream is suspended until the client took the last
+     * chunk, and a failed read aborts the body, which the client sees as a truncated response.
+     */
+    private HttpResponse streamed(final StreamSupplier<Map<String, Object>> rows, final String etag,
+                                  final boolean gzip, final Limit limit) {
+        final var body = new ChannelZeroBuffer<ByteBuf>();
+        final var consumer = body.getConsumer();
+        rows.streamTo(ChunkedResponseConsumer.create(chunk -> write(consumer, chunk), chunkRows, chunkBytes)).
+                whenComplete(limit::release);
+        return response(etag, gzip).
+                withHeader(HttpHeaders.CONTENT_TYPE, JSON_CONTENT_TYPE).
+                withBodyStream(body.getSupplier()).
+                build();
+    }
+
+    private static HttpResponse.Builder response(final String etag, final boolean gzip) {
+        final var builder = HttpResponse.ofCode(HTTP_OK);
+        if (etag != null) {
+            builder.withHeader(HttpHeaders.ETAG, etag);
+        }
+
+        if (gzip) {
+            builder.withBodyGzipCompression();
+        }
+
+        return builder;
+    }
+
+    private static HttpResponse notModified(final String etag) {
+        return HttpResponse.ofCode(HTTP_NOT_MODIFIED).withHeader(HttpHeaders.ETAG, etag).build();
+    }
+
+    private static HttpResponse.Builder error(final int code, final String message) {
+        return HttpResponse.ofCode(code).withJson(JsonUtils.object2Json(Map.of(ERROR, String.valueOf(message))));
+    }
+
+    private static Promise<Void> write(final ChannelConsumer<ByteBuf> body, final Map<String, Object> chunk) {
+        if (chunk.containsKey(ERROR)) {
+            body.closeEx(new IllegalStateException((String) chunk.get(ERROR)));
+            return Promise.complete();
+        }
+
+        final var json = encodeChunk(chunk);
+        final var written = json.isEmpty() ? Promise.complete() : body.accept(wrapUtf8(json));
+        return Boolean.TRUE.equals(chunk.get(LAST)) ? written.then(body::acceptEndOfStream) : written;
+    }
+
+    /**
+     * Encodes the rows of a response chunk as its part of one JSON array: the first chunk opens it, the last closes
+     * it and the others continue it.
+     */
+    @SuppressWarnings("unchecked")
+    static String encodeChunk(final Map<String, Object> chunk) {
+        final var rows = (List<Map<String, Object>>) chunk.get(ROWS);
+        final var first = ((Number) chunk.get(SEQ)).longValue() == 0;
+        final var json = new StringBuilder();
+        if (first) {
+            json.append('[');
+        }
+
+        if (!rows.isEmpty()) {
+            final var array = JsonUtils.object2Json(rows);
+            if (!first) {
+                json.append(',');
+            }
+
+            json.append(array, 1, array.length() - 1);
+        }
+
+        if (Boolean.TRUE.equals(chunk.get(LAST))) {
+            json.append(']');
+        }
+
+        return json.toString();
+    }
+
+    /**
+     * Weak ETag of rows: a digest of their JSON, encoded {@code sliceRows} rows at a time so that the body is never
+     * held as one string. Weak, as it holds whatever the content encoding.
+     */
+    static String etag(final List<Map<String, Object>> rows, final int sliceRows) {
+        final var digest = sha256();
+        for (var i = 0; i < rows.size(); i += sliceRows) {
+            final var slice = rows.subList(i, Math.min(i + sliceRows, rows.size()));
+            digest.update(JsonUtils.object2Json(slice).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return weakEtag(digest);
+    }
+
+    /**
+     * Weak ETag of a JSON body other than rows.
+     */
+    static String etag(final String json) {
+        final var digest = sha256();
+        digest.update(json.getBytes(StandardCharsets.UTF_8));
+        return weakEtag(digest);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String weakEtag(final MessageDigest digest) {
+        return "W/\"" + HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), 16)) + '"';
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header holds the ETag, compared weakly as it is for GET requests.
+     */
+    static boolean matches(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        final var opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (final var tag : ifNoneMatch.split(",")) {
+            final var value = tag.trim();
+            if (value.equals("*") || value.equals(opaque) || value.equals("W/" + opaque)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+
+        return false;
+    }
+
+    static boolean isClosed(final long toMs, final long nowMs, final long closedGraceMs) {
+        return toMs <= nowMs - closedGraceMs;
+    }
+
+    /**
+     * Parses a time given in epoch milliseconds or as an ISO-8601 date-time with an offset.
+     */
+    static long parseTime(final String value) {
+        try {
+            return value.chars().allMatch(Character::isDigit) ? Long.parseLong(value) :
+                    OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (final NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time: " + value);
+        }
+    }
+
+    private static Query range(final String method, final HttpRequest request, final Object... leading) {
+        final var from = parseTime(required(request, FROM));
+        final var to = parseTime(required(request, TO));
+        if (from > to) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        final var args = new ArrayList<Object>(Arrays.asList(leading));
+        args.add(from);
+        args.add(to);
+        return new Query(method, args, to);
+    }
+
+    private static String type(final HttpRequest request) {
+        return BybitStreamService.Type.valueOf(required(request, TYPE).toUpperCase(Locale.ROOT)).name();
+    }
+
+    private static String required(final HttpRequest request, final String name) {
+        final var value = request.getQueryParameter(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing query parameter: " + name);
+        }
+
+        return value;
+    }
+}
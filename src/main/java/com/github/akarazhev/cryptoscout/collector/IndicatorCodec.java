@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.PROVISIONAL;
+
+/**
+ * Compact binary encoding of an indicator update, as published to the TA stream.
+ * <p>
+ * Layout, big-endian: a version byte, a flags byte ({@code 1} = provisional), the market and the symbol as modified
+ * UTF-8 strings, the interval and the bar start time in epoch milliseconds, the bar OHLCV as five doubles, then a
+ * 32-bit mask of the indicators that are defined followed by their values in {@link #INDICATORS} order, as doubles,
+ * and the circulating supply as a long when its bit ({@link #CIRCULATING_SUPPLY_BIT}) is set. An update with every
+ * indicator defined takes under 300 bytes.
+ */
+final class IndicatorCodec {
+    static final byte VERSION = 1;
+    static final String CONTENT_TYPE = "application/vnd.crypto-scout.indicators.v1";
+
+    // Keys of the indicators as in AnalysisResult#toMap, in mask bit order
+    static final String[] INDICATORS = {
+        "sma_50", "sma_100", "sma_200", "ema_50", "ema_100", "ema_200",
+        "rsi_14", "stochastic_14",
+        "macd_line", "macd_signal", "macd_histogram",
+        "bb_middle", "bb_upper", "bb_lower", "bb_width", "bb_percent_b",
+        "atr_14", "std_dev_20",
+        "vwap", "volume_sma_20",
+        "market_cap", "market_cap_to_volume"
+    };
+    static final int CIRCULATING_SUPPLY_BIT = INDICATORS.length;
+
+    private static final int PROVISIONAL_FLAG = 1;
+
+    private IndicatorCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    static byte[] encode(final CalculatorRegistry.Key key, final TechnicalAnalysisCalculator.OhlcvPoint point,
+                         final TechnicalAnalysisCalculator.AnalysisResult result, final boolean provisional) {
+        final var values = new Double[]{
+            result.sma50(), result.sma100(), result.sma200(), result.ema50(), result.ema100(), result.ema200(),
+            result.rsi14(), result.stochastic14(),
+            result.macdLine(), result.macdSignal(), result.macdHistogram(),
+            result.bbMiddle(), result.bbUpper(), result.bbLower(), result.bbWidth(), result.bbPercentB(),
+            result.atr14(), result.stdDev20(),
+            result.vwap(), result.volumeSma20(),
+            result.marketCap(), result.marketCapToVolume()
+        };
+        var mask = 0;
+        for (var i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+
+        final var circulatingSupply = result.circulatingSupply();
+        if (circulatingSupply != null) {
+            mask |= 1 << CIRCULATING_SUPPLY_BIT;
+        }
+
+        final var bytes = new ByteArrayOutputStream(128 + Integer.bitCount(mask) * Double.BYTES);
+        try (final var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(provisional ? PROVISIONAL_FLAG : 0);
+            out.writeUTF(key.market());
+            out.writeUTF(key.symbol());
+            out.writeLong(key.intervalMs());
+            out.writeLong(point.timestamp().toInstant().toEpochMilli());
+            out.writeDouble(point.open());
+            out.writeDouble(point.high());
+            out.writeDouble(point.low());
+            out.writeDouble(point.close());
+            out.writeDouble(point.volume());
+            out.writeInt(mask);
+            for (final var value : values) {
+                if (value != null) {
+                    out.writeDouble(value);
+                }
+            }
+
+            if (circulatingSupply != null) {
+                out.writeLong(circulatingSupply);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an update into the row {@link TechnicalAnalysisCalculator.AnalysisResult#toMap} gives, without the
+     * undefined indicators, plus its market, interval and provisional flag.
+     *
+     * @throws IllegalArgumentException if the update is malformed or of another version
+     */
+    static Map<String, Object> decode(final byte[] body) {
+        final var map = new HashMap<String, Object>();
+        try (final var in = new DataInputStream(new ByteArrayInputStream(body))) {
+            final var version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported indicator encoding version: " + version);
+            }
+
+            map.put(PROVISIONAL, (in.readByte() & PROVISIONAL_FLAG) != 0);
+            map.put(MARKET, in.readUTF());
+            map.put("symbol", in.readUTF());
+            map.put(INTERVAL_MS, in.readLong());
+            map.put("timestamp", OffsetDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC));
+            map.put("open_price", in.readDouble());
+            map.put("high_price", in.readDouble());
+            map.put("low_price", in.readDouble());
+            map.put("close_price", in.readDouble());
+            map.put("volume", in.readDouble());
+            final var mask = in.readInt();
+            for (var i = 0; i < INDICATORS.length; i++) {
+                if ((mask & 1 << i) != 0) {
+                    map.put(INDICATORS[i], in.readDouble());
+                }
+            }
+
+            if ((mask & 1 << CIRCULATING_SUPPLY_BIT) != 0) {
+                map.put("circulating_supply", in.readLong());
+            }
+
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Indicator update has trailing bytes");
+            }
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Malformed indicator update: " + e.getMessage(), e);
+        }
+
+        return map;
+    }
+}
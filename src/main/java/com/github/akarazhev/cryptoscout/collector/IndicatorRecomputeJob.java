@@ -0,0 +1,284 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Recompute.PROGRESS_INTERVAL_MS;
+
+/**
+ * Rebuilds indicator tables from the stored klines, e.g. after an indicator definition changed.
+ * <p>
+ * Every (series, symbol) pair is one task on a fork-join pool: it streams the whole kline history of the symbol
+ * through a cursor into a fresh calculator and writes the rows in batches, each batch together with the symbol's
+ * checkpoint. A resumed run replays the history again, so the calculator state is exact, but only writes the bars
+ * after the checkpoint.
+ */
+public final class IndicatorRecomputeJob {
+    private final static Logger LOGGER = LoggerFactory.getLogger(IndicatorRecomputeJob.class);
+    private final Store store;
+    private final int parallelism;
+    private final int fetchSize;
+    private final int batchSize;
+
+    /**
+     * Kline reads, indicator writes and checkpoints of the job.
+     */
+    interface Store {
+        List<String> getSymbols(final String klineTable) throws Exception;
+
+        long streamKlines(final String klineTable, final String symbol, final int fetchSize,
+                          final AnalystRepository.KlineConsumer consumer) throws Exception;
+
+        OffsetDateTime getCheckpoint(final String indicatorsTable, final String symbol) throws Exception;
+
+        void save(final String indicatorsTable, final String symbol, final List<Map<String, Object>> indicators,
+                  final OffsetDateTime lastTime) throws Exception;
+
+        void deleteCheckpoints(final String indicatorsTable) throws Exception;
+    }
+
+    public record Summary(int symbols, int failed, long bars, long rows, long elapsedMs) {
+
+        public double barsPerSecond() {
+            return elapsedMs > 0 ? bars * 1000.0 / elapsedMs : bars;
+        }
+    }
+
+    public static IndicatorRecomputeJob create(final AnalystRepository analystRepository) {
+        return new IndicatorRecomputeJob(new RepositoryStore(analystRepository), JdbcConfig.getRecomputeParallelism(),
+                JdbcConfig.getRecomputeFetchSize(), JdbcConfig.getAnalystBatchSize());
+    }
+
+    static IndicatorRecomputeJob create(final Store store, final int parallelism, final int fetchSize,
+                                        final int batchSize) {
+        return new IndicatorRecomputeJob(store, parallelism, fetchSize, batchSize);
+    }
+
+    private IndicatorRecomputeJob(final Store store, final int parallelism, final int fetchSize,
+                                  final int batchSize) {
+        this.store = store;
+        this.parallelism = parallelism;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Recomputes the given indicators tables, or every table when none is given. With {@code fresh} the checkpoints
+     * of the tables are dropped first and every row is rewritten; otherwise each symbol resumes after its
+     * checkpoint. A failed symbol is logged and counted, and does not stop the others.
+     */
+    public Summary run(final List<String> indicatorsTables, final boolean fresh) throws Exception {
+        final var series = indicatorsTables.isEmpty() ? IndicatorSeries.ALL :
+                indicatorsTables.stream().map(IndicatorSeries::ofIndicatorsTable).toList();
+        if (fresh) {
+            for (final var s : series) {
+                store.deleteCheckpoints(s.indicatorsTable());
+            }
+        }
+
+        final var tasks = new ArrayList<Task>();
+        for (final var s : series) {
+            for (final var symbol : store.getSymbols(s.klineTable())) {
+                tasks.add(new Task(s, symbol));
+            }
+        }
+
+        // The finest intervals have the longest histories: start them first so they do not trail at the end
+        tasks.sort(Comparator.comparingLong(t -> t.series().intervalMs()));
+        LOGGER.info("Recomputing {} symbols of {} indicator tables on {} threads", tasks.size(), series.size(),
+                parallelism);
+
+        final var progress = new Progress(tasks.size());
+        final var calls = new ArrayList<Callable<Long>>(tasks.size());
+        for (final var task : tasks) {
+            calls.add(() -> recompute(task, progress));
+        }
+
+        var failed = 0;
+        try (final var pool = new ForkJoinPool(parallelism)) {
+            final var futures = pool.invokeAll(calls);
+            for (var i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (final ExecutionException e) {
+                    failed++;
+                    LOGGER.error("Failed to recompute {} of {}", tasks.get(i).symbol(),
+                            tasks.get(i).series().indicatorsTable(), e.getCause());
+                }
+            }
+        }
+
+        final var summary = new Summary(tasks.size(), failed, progress.bars.sum(), progress.rows.sum(),
+                System.currentTimeMillis() - progress.startMs);
+        LOGGER.info("Recomputed {} symbols ({} failed): {} bars, {} rows in {} ms, {} bars/s", summary.symbols(),
+                summary.failed(), summary.bars(), summary.rows(), summary.elapsedMs(),
+                Math.round(summary.barsPerSecond()));
+        return summary;
+    }
+
+    private long recompute(final Task task, final Progress progress) throws Exception {
+        final var series = task.series();
+        final var checkpoint = store.getCheckpoint(series.indicatorsTable(), task.symbol());
+        final var run = new SymbolRun(series, task.symbol(), checkpoint, progress);
+        final var bars = store.streamKlines(series.klineTable(), task.symbol(), fetchSize, run);
+        run.flush();
+        progress.done.incrementAndGet();
+        progress.report();
+        LOGGER.debug("Recomputed {} of {}: {} bars, {} rows after {}", task.symbol(), series.indicatorsTable(),
+                bars, run.written, checkpoint);
+        return bars;
+    }
+
+    private record Task(IndicatorSeries series, String symbol) {
+    }
+
+    private final class SymbolRun implements AnalystRepository.KlineConsumer {
+        private final IndicatorSeries series;
+        private final String symbol;
+        private final OffsetDateTime checkpoint;
+        private final Progress progress;
+        private final TechnicalAnalysisCalculator calculator;
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private OffsetDateTime lastTime;
+        private long written;
+
+        private SymbolRun(final IndicatorSeries series, final String symbol, final OffsetDateTime checkpoint,
+                          final Progress progress) {
+            this.series = series;
+            this.symbol = symbol;
+            this.checkpoint = checkpoint;
+            this.progress = progress;
+            this.calculator = TechnicalAnalysisCalculator.create(series.config());
+        }
+
+        @Override
+        public void accept(final OffsetDateTime time, final double open, final double high, final double low,
+                           final double close, final double volume, final double marketCap,
+                           final long circulatingSupply) throws Exception {
+            final TechnicalAnalysisCalculator.OhlcvPoint point;
+            try {
+                point = new TechnicalAnalysisCalculator.OhlcvPoint(time, open, high, low, close, volume, marketCap,
+                        circulatingSupply);
+            } catch (final IllegalStateException e) {
+                LOGGER.warn("Skip invalid OHLCV bar of {} at {}: {}", symbol, time, e.getMessage());
+                return;
+            }
+
+            final var result = calculator.addOhlcv(point);
+            progress.bars.increment();
+            if (checkpoint != null && !time.isAfter(checkpoint)) {
+                return;
+            }
+
+            rows.add(result.toMap(symbol, time, point));
+            lastTime = time;
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws Exception {
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            store.save(series.indicatorsTable(), symbol, rows, lastTime);
+            written += rows.size();
+            progress.rows.add(rows.size());
+            rows.clear();
+            progress.report();
+        }
+    }
+
+    private static final class Progress {
+        private final long startMs = System.currentTimeMillis();
+        private final AtomicLong nextReportMs = new AtomicLong(startMs + PROGRESS_INTERVAL_MS);
+        private final LongAdder bars = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicInteger done = new AtomicInteger();
+        private final int symbols;
+
+        private Progress(final int symbols) {
+            this.symbols = symbols;
+        }
+
+        private void report() {
+            final var nowMs = System.currentTimeMillis();
+            final var next = nextReportMs.get();
+            if (nowMs < next || !nextReportMs.compareAndSet(next, nowMs + PROGRESS_INTERVAL_MS)) {
+                return;
+            }
+
+            final var bars = this.bars.sum();
+            LOGGER.info("Recompute progress: {}/{} symbols, {} bars, {} rows, {} bars/s", done.get(), symbols, bars,
+                    rows.sum(), bars * 1000 / Math.max(1, nowMs - startMs));
+        }
+    }
+
+    private record RepositoryStore(AnalystRepository repository) implements Store {
+
+        @Override
+        public List<String> getSymbols(final String klineTable) throws Exception {
+            return repository.getKlineSymbols(klineTable);
+        }
+
+        @Override
+        public long streamKlines(final String klineTable, final String symbol, final int fetchSize,
+                                 final AnalystRepository.KlineConsumer consumer) throws Exception {
+            return repository.streamKlines(klineTable, symbol, fetchSize, consumer);
+        }
+
+        @Override
+        public OffsetDateTime getCheckpoint(final String indicatorsTable, final String symbol) throws Exception {
+            return repository.getRecomputeCheckpoint(indicatorsTable, symbol);
+        }
+
+        @Override
+        public void save(final String indicatorsTable, final String symbol, final List<Map<String, Object>> indicators,
+                         final OffsetDateTime lastTime) throws Exception {
+            repository.saveRecomputedIndicators(indicatorsTable, symbol, indicators, lastTime);
+        }
+
+        @Override
+        public void deleteCheckpoints(final String indicatorsTable) throws Exception {
+            repository.deleteRecomputeCheckpoints(indicatorsTable);
+        }
+    }
+}
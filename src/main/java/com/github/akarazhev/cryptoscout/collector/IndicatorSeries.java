@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET_CMC;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET_LINEAR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET_SPOT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.INTERVAL_1W_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_60M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_15M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_1D_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_1M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_240M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_5M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_60M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_15M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_1D_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_1M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_240M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_5M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_60M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.CMC_KLINE_1W_INDICATORS_TABLE;
+
+/**
+ * A kline series the analyst computes indicators for: the kline table it reads, the indicators table it writes and
+ * the calculator configuration. Shared by the live {@link AnalystService} and the {@link IndicatorRecomputeJob}.
+ */
+record IndicatorSeries(String market, long intervalMs, String klineTable, String indicatorsTable,
+                       TechnicalAnalysisCalculator.Config config) {
+    // Bars the CMC calculator keeps: enough for the 200-period averages
+    static final int CMC_MAX_PERIOD = 250;
+
+    // Calculator with all technical indicators enabled and the market fundamentals of CMC quotes
+    private static final TechnicalAnalysisCalculator.Config CMC_CONFIG = TechnicalAnalysisCalculator.Config.builder()
+            .maxPeriod(CMC_MAX_PERIOD)
+            .enableRsi(true)
+            .enableStochastic(true)
+            .enableMacd(true)
+            .enableBollinger(true)
+            .enableAtr(true)
+            .enableStdDev(true)
+            .enableVwap(true)
+            .enableVolumeSma(true)
+            .includeMarketFundamentals(true)
+            .build();
+    private static final TechnicalAnalysisCalculator.Config BYBIT_CONFIG = TechnicalAnalysisCalculator.Config.builder()
+            .enableRsi(true)
+            .enableStochastic(true)
+            .enableMacd(true)
+            .enableBollinger(true)
+            .enableAtr(true)
+            .enableStdDev(true)
+            .enableVwap(true)
+            .enableVolumeSma(true)
+            .build();
+
+    static final IndicatorSeries CMC_1W = new IndicatorSeries(MARKET_CMC, INTERVAL_1W_MS, CMC_KLINE_1W_TABLE,
+            CMC_KLINE_1W_INDICATORS_TABLE, CMC_CONFIG);
+
+    // Bybit kline tables and the indicator tables their series are written to
+    static final List<IndicatorSeries> BYBIT = List.of(
+            bybit(MARKET_SPOT, INTERVAL_1M_MS, SPOT_KLINE_1M_TABLE, SPOT_KLINE_1M_INDICATORS_TABLE),
+            bybit(MARKET_SPOT, INTERVAL_5M_MS, SPOT_KLINE_5M_TABLE, SPOT_KLINE_5M_INDICATORS_TABLE),
+            bybit(MARKET_SPOT, INTERVAL_15M_MS, SPOT_KLINE_15M_TABLE, SPOT_KLINE_15M_INDICATORS_TABLE),
+            bybit(MARKET_SPOT, INTERVAL_60M_MS, SPOT_KLINE_60M_TABLE, SPOT_KLINE_60M_INDICATORS_TABLE),
+            bybit(MARKET_SPOT, INTERVAL_240M_MS, SPOT_KLINE_240M_TABLE, SPOT_KLINE_240M_INDICATORS_TABLE),
+            bybit(MARKET_SPOT, INTERVAL_1D_MS, SPOT_KLINE_1D_TABLE, SPOT_KLINE_1D_INDICATORS_TABLE),
+            bybit(MARKET_LINEAR, INTERVAL_1M_MS, LINEAR_KLINE_1M_TABLE, LINEAR_KLINE_1M_INDICATORS_TABLE),
+            bybit(MARKET_LINEAR, INTERVAL_5M_MS, LINEAR_KLINE_5M_TABLE, LINEAR_KLINE_5M_INDICATORS_TABLE),
+            bybit(MARKET_LINEAR, INTERVAL_15M_MS, LINEAR_KLINE_15M_TABLE, LINEAR_KLINE_15M_INDICATORS_TABLE),
+            bybit(MARKET_LINEAR, INTERVAL_60M_MS, LINEAR_KLINE_60M_TABLE, LINEAR_KLINE_60M_INDICATORS_TABLE),
+            bybit(MARKET_LINEAR, INTERVAL_240M_MS, LINEAR_KLINE_240M_TABLE, LINEAR_KLINE_240M_INDICATORS_TABLE),
+            bybit(MARKET_LINEAR, INTERVAL_1D_MS, LINEAR_KLINE_1D_TABLE, LINEAR_KLINE_1D_INDICATORS_TABLE)
+    );
+
+    static final List<IndicatorSeries> ALL = Stream.concat(Stream.of(CMC_1W), BYBIT.stream()).toList();
+    private static final Map<String, IndicatorSeries> BY_KLINE_TABLE = BYBIT.stream()
+            .collect(Collectors.toUnmodifiableMap(IndicatorSeries::klineTable, Function.identity()));
+
+    static IndicatorSeries of(final String market, final long intervalMs) {
+        return ALL.stream()
+                .filter(s -> s.market().equals(market) && s.intervalMs() == intervalMs)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported series: " + market + "/" + intervalMs));
+    }
+
+    // The Bybit series of a kline table, or null for tables the analyst does not follow
+    static IndicatorSeries ofKlineTable(final String klineTable) {
+        return BY_KLINE_TABLE.get(klineTable);
+    }
+
+    static IndicatorSeries ofIndicatorsTable(final String indicatorsTable) {
+        return ALL.stream()
+                .filter(s -> s.indicatorsTable().equals(indicatorsTable))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported indicators table: " + indicatorsTable));
+    }
+
+    boolean isCmc() {
+        return MARKET_CMC.equals(market);
+    }
+
+    private static IndicatorSeries bybit(final String market, final long intervalMs, final String klineTable,
+                                         final String indicatorsTable) {
+        return new IndicatorSeries(market, intervalMs, klineTable, indicatorsTable, BYBIT_CONFIG);
+    }
+}
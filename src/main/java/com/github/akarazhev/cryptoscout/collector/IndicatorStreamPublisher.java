@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.rabbitmq.stream.ConfirmationStatus;
+import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.Producer;
+import io.activej.async.service.ReactiveService;
+import io.activej.promise.Promise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Amqp.TA_BATCH_DELAY_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Amqp.TA_BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Amqp.TA_ENQUEUE_TIMEOUT_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Amqp.TA_MAX_UNCONFIRMED;
+
+/**
+ * Publishes indicator updates to the TA stream in the {@link IndicatorCodec} encoding.
+ * <p>
+ * Sends never wait for the broker: the producer batches messages and confirms them asynchronously, and a send only
+ * blocks, briefly, once the unconfirmed messages reach the in-flight limit. Updates that cannot be enqueued or are not
+ * confirmed are counted and dropped; the stream is a push feed next to the indicator tables, which stay the record.
+ * Until the publisher is started, and after it is stopped, updates are dropped silently.
+ */
+public final class IndicatorStreamPublisher extends AbstractReactive implements ReactiveService {
+    private final static Logger LOGGER = LoggerFactory.getLogger(IndicatorStreamPublisher.class);
+    private final Executor executor;
+    private final String stream;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile Environment environment;
+    private volatile Producer producer;
+
+    public static IndicatorStreamPublisher create(final NioReactor reactor, final Executor executor) {
+        return new IndicatorStreamPublisher(reactor, executor);
+    }
+
+    private IndicatorStreamPublisher(final NioReactor reactor, final Executor executor) {
+        super(reactor);
+        this.executor = executor;
+        this.stream = AmqpConfig.getAmqpBybitTaStream();
+    }
+
+    @Override
+    public Promise<Void> start() {
+        return Promise.ofBlocking(executor, () -> {
+            try {
+                environment = AmqpConfig.getEnvironment();
+                producer = environment.producerBuilder()
+                        .stream(stream)
+                        .batchSize(TA_BATCH_SIZE)
+                        .batchPublishingDelay(Duration.ofMillis(TA_BATCH_DELAY_MS))
+                        .maxUnconfirmedMessages(TA_MAX_UNCONFIRMED)
+                        .enqueueTimeout(Duration.ofMillis(TA_ENQUEUE_TIMEOUT_MS))
+                        .build();
+                LOGGER.info("IndicatorStreamPublisher started for stream: {}", stream);
+            } catch (final Exception ex) {
+                LOGGER.error("Failed to start IndicatorStreamPublisher for stream: {}", stream, ex);
+                throw new RuntimeException(ex);
+            }
+        });
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        return Promise.ofBlocking(executor, () -> {
+            final var current = producer;
+            producer = null;
+            try {
+                if (current != null) {
+                    current.close();
+                }
+            } catch (final Exception ex) {
+                LOGGER.warn("Error closing TA stream producer", ex);
+            } finally {
+                try {
+                    if (environment != null) {
+                        environment.close();
+                        environment = null;
+                    }
+                } catch (final Exception ex) {
+                    LOGGER.warn("Error closing TA stream environment", ex);
+                }
+            }
+
+            LOGGER.info("IndicatorStreamPublisher stopped: {} updates published, {} failed", published.sum(),
+                    failed.sum());
+        });
+    }
+
+    /**
+     * Publishes the indicators of a bar; safe to call from any thread.
+     */
+    void publish(final CalculatorRegistry.Key key, final TechnicalAnalysisCalculator.OhlcvPoint point,
+                 final TechnicalAnalysisCalculator.AnalysisResult result, final boolean provisional) {
+        final var current = producer;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            final var message = current.messageBuilder()
+                    .addData(IndicatorCodec.encode(key, point, result, provisional))
+                    .properties().contentType(IndicatorCodec.CONTENT_TYPE).messageBuilder()
+                    .build();
+            current.send(message, this::onConfirmation);
+        } catch (final Exception ex) {
+            failed.increment();
+            LOGGER.warn("Failed to publish indicators of {} to {}: {}", key, stream, ex.getMessage());
+        }
+    }
+
+    private void onConfirmation(final ConfirmationStatus status) {
+        if (status.isConfirmed()) {
+            published.increment();
+        } else {
+            failed.increment();
+            LOGGER.debug("Indicator update not confirmed by {}: code {}", stream, status.getCode());
+        }
+    }
+}
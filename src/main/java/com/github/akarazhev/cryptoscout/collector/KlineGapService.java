@@ -0,0 +1,342 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.KlineGapRepository;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import io.activej.async.service.ReactiveService;
+import io.activej.jmx.api.attribute.JmxAttribute;
+import io.activej.jmx.api.attribute.JmxOperation;
+import io.activej.promise.Promise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.jmx.ReactiveJmxBean;
+import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.FROM;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.HORIZON_BARS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.INTERVAL_1W_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.MISSING_BARS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.TABLE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.TO;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_60M_MS;
+import static com.github.akarazhev.cryptoscout.collector.PayloadParser.forKline;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
+
+/**
+ * Detects missing bars in the kline tables and backfills them.
+ * <p>
+ * The tracker is seeded from the database on start and fed by the stream consumer as klines arrive. Every check
+ * interval the gaps it reports are reconciled against the database, so bars saved by another path are not reported,
+ * and the remaining gaps are published over JMX and HTTP. Backfills run one at a time on the blocking executor, at
+ * most a few per check and not more often than the cooldown per gap, so they never compete with live ingestion for
+ * more than one connection.
+ */
+public final class KlineGapService extends AbstractReactive implements ReactiveService, ReactiveJmxBean {
+    private final static Logger LOGGER = LoggerFactory.getLogger(KlineGapService.class);
+    private final Executor executor;
+    private final KlineGapRepository klineGapRepository;
+    private final KlineBackfillSource klineBackfillSource;
+    private final KlineGapTracker tracker = KlineGapTracker.create();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean checkInProgress = new AtomicBoolean(false);
+    private final Map<String, Long> lastBackfills = new HashMap<>();
+    private final long checkIntervalMs;
+    private final boolean backfillEnabled;
+    private final int maxBackfillsPerRun;
+    private final long backfillCooldownMs;
+    private volatile List<Map<String, Object>> gaps = List.of();
+    private long backfillRuns;
+    private long backfilledKlines;
+    private long backfillFailures;
+
+    public static KlineGapService create(final NioReactor reactor, final Executor executor,
+                                         final KlineGapRepository klineGapRepository,
+                                         final KlineBackfillSource klineBackfillSource) {
+        return new KlineGapService(reactor, executor, klineGapRepository, klineBackfillSource);
+    }
+
+    private KlineGapService(final NioReactor reactor, final Executor executor,
+                            final KlineGapRepository klineGapRepository,
+                            final KlineBackfillSource klineBackfillSource) {
+        super(reactor);
+        this.executor = executor;
+        this.klineGapRepository = klineGapRepository;
+        this.klineBackfillSource = klineBackfillSource;
+        this.checkIntervalMs = JdbcConfig.getGapsCheckIntervalMs();
+        this.backfillEnabled = JdbcConfig.getGapsBackfillEnabled();
+        this.maxBackfillsPerRun = JdbcConfig.getGapsMaxBackfillsPerRun();
+        this.backfillCooldownMs = JdbcConfig.getGapsBackfillCooldownMs();
+        final var graceMs = JdbcConfig.getGapsGraceMs();
+        tracker.register(SPOT_KLINE_1M_TABLE, INTERVAL_1M_MS, graceMs);
+        tracker.register(SPOT_KLINE_5M_TABLE, INTERVAL_5M_MS, graceMs);
+        tracker.register(SPOT_KLINE_15M_TABLE, INTERVAL_15M_MS, graceMs);
+        tracker.register(SPOT_KLINE_60M_TABLE, INTERVAL_60M_MS, graceMs);
+        tracker.register(SPOT_KLINE_240M_TABLE, INTERVAL_240M_MS, graceMs);
+        tracker.register(SPOT_KLINE_1D_TABLE, INTERVAL_1D_MS, graceMs);
+        tracker.register(LINEAR_KLINE_1M_TABLE, INTERVAL_1M_MS, graceMs);
+        tracker.register(LINEAR_KLINE_5M_TABLE, INTERVAL_5M_MS, graceMs);
+        tracker.register(LINEAR_KLINE_15M_TABLE, INTERVAL_15M_MS, graceMs);
+        tracker.register(LINEAR_KLINE_60M_TABLE, INTERVAL_60M_MS, graceMs);
+        tracker.register(LINEAR_KLINE_240M_TABLE, INTERVAL_240M_MS, graceMs);
+        tracker.register(LINEAR_KLINE_1D_TABLE, INTERVAL_1D_MS, graceMs);
+        // CMC publishes a bar once the next one has started, so allow a full bar on top of the grace period
+        tracker.register(CMC_KLINE_1D_TABLE, INTERVAL_1D_MS, INTERVAL_1D_MS + graceMs);
+        tracker.register(CMC_KLINE_1W_TABLE, INTERVAL_1W_MS, INTERVAL_1W_MS + graceMs);
+    }
+
+    @Override
+    public Promise<Void> start() {
+        running.set(true);
+        Promise.ofBlocking(executor, this::seed)
+                .whenComplete((_, ex) -> {
+                    if (ex != null) {
+                        LOGGER.warn("Failed to seed kline gap tracker, relying on ingested klines", ex);
+                    }
+
+                    if (running.get()) {
+                        reactor.delayBackground(checkIntervalMs, this::scheduledCheck);
+                    }
+                });
+        return Promise.complete();
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        running.set(false);
+        return Promise.complete();
+    }
+
+    /**
+     * Marks the bar of a confirmed kline as present; other payloads are ignored.
+     */
+    public void onPayload(final Payload<Map<String, Object>> payload) {
+        forKline(payload.getSource(), payload.getData(), tracker::mark);
+    }
+
+    public List<Map<String, Object>> getGaps() {
+        return gaps;
+    }
+
+    /**
+     * Reconciles the gaps against the database, publishes them and backfills those that are due.
+     */
+    public Promise<List<Map<String, Object>>> checkGaps() {
+        return Promise.ofBlocking(executor, this::reconcile)
+                .then(found -> {
+                    gaps = found;
+                    if (!found.isEmpty()) {
+                        LOGGER.warn("Detected {} kline gaps, {} bars missing", found.size(), getMissingBars());
+                    }
+
+                    return backfill(found).map(_ -> found);
+                });
+    }
+
+    @JmxAttribute
+    public int getGapCount() {
+        return gaps.size();
+    }
+
+    @JmxAttribute
+    public long getMissingBars() {
+        var missing = 0L;
+        for (final var gap : gaps) {
+            missing += (Long) gap.get(MISSING_BARS);
+        }
+
+        return missing;
+    }
+
+    @JmxAttribute
+    public String getGapSummary() {
+        final var summary = new StringBuilder();
+        for (final var gap : gaps) {
+            summary.append(gap.get(TABLE)).append(' ').append(gap.get(SYMBOL)).append(' ')
+                    .append(gap.get(FROM)).append("..").append(gap.get(TO)).append('\n');
+        }
+
+        return summary.toString();
+    }
+
+    @JmxAttribute
+    public long getBackfillRuns() {
+        return backfillRuns;
+    }
+
+    @JmxAttribute
+    public long getBackfilledKlines() {
+        return backfilledKlines;
+    }
+
+    @JmxAttribute
+    public long getBackfillFailures() {
+        return backfillFailures;
+    }
+
+    @JmxOperation
+    public void checkGapsNow() {
+        checkGaps().whenException(ex -> LOGGER.error("Failed to check kline gaps", ex));
+    }
+
+    private void seed() throws Exception {
+        final var now = System.currentTimeMillis();
+        for (final var table : tracker.getTables()) {
+            final var from = toUtc(now - HORIZON_BARS * tracker.getIntervalMs(table));
+            final var barStarts = klineGapRepository.getBarStarts(table, from, toUtc(now));
+            for (final var entry : barStarts.entrySet()) {
+                for (final var start : entry.getValue()) {
+                    tracker.mark(table, entry.getKey(), start.toInstant().toEpochMilli());
+                }
+            }
+        }
+    }
+
+    private List<Map<String, Object>> reconcile() throws Exception {
+        final var now = System.currentTimeMillis();
+        for (final var gap : tracker.findGaps(now)) {
+            final var table = (String) gap.get(TABLE);
+            final var symbol = (String) gap.get(SYMBOL);
+            final var starts = klineGapRepository.getBarStarts(table, symbol, (OffsetDateTime) gap.get(FROM),
+                    (OffsetDateTime) gap.get(TO));
+            for (final var start : starts) {
+                tracker.mark(table, symbol, start.toInstant().toEpochMilli());
+            }
+        }
+
+        return tracker.findGaps(now);
+    }
+
+    private Promise<Void> backfill(final List<Map<String, Object>> found) {
+        final var keys = new HashSet<String>();
+        for (final var gap : found) {
+            keys.add(getKey(gap));
+        }
+
+        lastBackfills.keySet().retainAll(keys);
+        if (!backfillEnabled) {
+            return Promise.complete();
+        }
+
+        final var now = System.currentTimeMillis();
+        final var due = new ArrayList<Map<String, Object>>();
+        for (final var gap : found) {
+            if (due.size() >= maxBackfillsPerRun) {
+                break;
+            }
+
+            final var key = getKey(gap);
+            final var last = lastBackfills.get(key);
+            if (last == null || now - last >= backfillCooldownMs) {
+                lastBackfills.put(key, now);
+                due.add(gap);
+            }
+        }
+
+        var promise = Promise.complete();
+        for (final var gap : due) {
+            promise = promise.then(() -> backfill(gap));
+        }
+
+        return promise;
+    }
+
+    private Promise<Void> backfill(final Map<String, Object> gap) {
+        final var table = (String) gap.get(TABLE);
+        final var symbol = (String) gap.get(SYMBOL);
+        return Promise.ofBlocking(executor, () -> klineBackfillSource.backfill(table, symbol,
+                        (Long) gap.get(INTERVAL_MS), (OffsetDateTime) gap.get(FROM), (OffsetDateTime) gap.get(TO)))
+                .map((count, ex) -> {
+                    backfillRuns++;
+                    if (ex != null) {
+                        backfillFailures++;
+                        LOGGER.warn("Failed to backfill {} {} from {} to {}", table, symbol, gap.get(FROM),
+                                gap.get(TO), ex);
+                    } else {
+                        backfilledKlines += count;
+                    }
+
+                    return null;
+                });
+    }
+
+    private void scheduledCheck() {
+        if (!running.get() || checkInProgress.getAndSet(true)) {
+            return;
+        }
+
+        checkGaps().whenComplete((_, ex) -> {
+            if (ex != null) {
+                LOGGER.error("Failed to check kline gaps", ex);
+            }
+
+            checkInProgress.set(false);
+            if (running.get()) {
+                reactor.delayBackground(checkIntervalMs, this::scheduledCheck);
+            }
+        });
+    }
+
+    private static String getKey(final Map<String, Object> gap) {
+        return gap.get(TABLE) + ":" + gap.get(SYMBOL) + ":" + gap.get(FROM);
+    }
+
+    private static OffsetDateTime toUtc(final long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.FROM;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.HORIZON_BARS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.MISSING_BARS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.TABLE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.TO;
+
+/**
+ * Tracks which bars of a kline table have been seen, per symbol, in a ring bitmap of {@code HORIZON_BARS} bars.
+ * <p>
+ * Bars are marked as they are ingested or read back from the database. A bar is expected once it has ended at least
+ * the table's grace period ago; expected bars that are not marked, from the first bar seen for the symbol onwards,
+ * are reported as gaps. Bar boundaries are aligned to the first bar seen for the table, so tables whose bars do not
+ * start on epoch multiples of the interval (e.g. weekly bars) are handled as well.
+ */
+final class KlineGapTracker {
+    private static final int WORDS = HORIZON_BARS / Long.SIZE;
+    private final Map<String, Table> tables = new HashMap<>();
+
+    static KlineGapTracker create() {
+        return new KlineGapTracker();
+    }
+
+    private KlineGapTracker() {
+    }
+
+    synchronized void register(final String table, final long intervalMs, final long graceMs) {
+        if (intervalMs <= 0 || graceMs < 0) {
+            throw new IllegalArgumentException("Invalid interval or grace period for " + table);
+        }
+
+        tables.putIfAbsent(table, new Table(intervalMs, graceMs));
+    }
+
+    synchronized List<String> getTables() {
+        return List.copyOf(tables.keySet());
+    }
+
+    synchronized long getIntervalMs(final String table) {
+        final var state = tables.get(table);
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown table: " + table);
+        }
+
+        return state.intervalMs;
+    }
+
+    /**
+     * Marks the bar starting at the given time as present. Bars of unregistered tables are ignored.
+     */
+    synchronized void mark(final String table, final String symbol, final long startMs) {
+        final var state = tables.get(table);
+        if (state == null) {
+            return;
+        }
+
+        if (state.alignmentMs == Long.MIN_VALUE) {
+            state.alignmentMs = Math.floorMod(startMs, state.intervalMs);
+        }
+
+        state.bitmaps.computeIfAbsent(symbol, k -> new Bitmap()).mark(state.toBar(startMs));
+    }
+
+    /**
+     * Returns the runs of missing bars as of the given time, one map per table, symbol and run.
+     */
+    synchronized List<Map<String, Object>> findGaps(final long nowMs) {
+        final var gaps = new ArrayList<Map<String, Object>>();
+        for (final var tableEntry : tables.entrySet()) {
+            final var state = tableEntry.getValue();
+            if (state.alignmentMs == Long.MIN_VALUE) {
+                continue;
+            }
+
+            final var lastExpectedBar = state.toBar(nowMs - state.graceMs) - 1;
+            for (final var symbolEntry : state.bitmaps.entrySet()) {
+                final var bitmap = symbolEntry.getValue();
+                bitmap.advance(lastExpectedBar);
+                var runStart = Long.MIN_VALUE;
+                for (var bar = Math.max(bitmap.firstBar, bitmap.headBar - HORIZON_BARS + 1); bar <= lastExpectedBar;
+                     bar++) {
+                    if (!bitmap.isMarked(bar)) {
+                        if (runStart == Long.MIN_VALUE) {
+                            runStart = bar;
+                        }
+                    } else if (runStart != Long.MIN_VALUE) {
+                        gaps.add(toGap(tableEntry.getKey(), symbolEntry.getKey(), state, runStart, bar - 1));
+                        runStart = Long.MIN_VALUE;
+                    }
+                }
+
+                if (runStart != Long.MIN_VALUE) {
+                    gaps.add(toGap(tableEntry.getKey(), symbolEntry.getKey(), state, runStart, lastExpectedBar));
+                }
+            }
+        }
+
+        return gaps;
+    }
+
+    private static Map<String, Object> toGap(final String table, final String symbol, final Table state,
+                                             final long fromBar, final long toBar) {
+        final var gap = new HashMap<String, Object>();
+        gap.put(TABLE, table);
+        gap.put(SYMBOL, symbol);
+        gap.put(INTERVAL_MS, state.intervalMs);
+        gap.put(FROM, toUtc(state.toStartMs(fromBar)));
+        gap.put(TO, toUtc(state.toStartMs(toBar)));
+        gap.put(MISSING_BARS, toBar - fromBar + 1);
+        return gap;
+    }
+
+    private static OffsetDateTime toUtc(final long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static final class Table {
+        private final long intervalMs;
+        private final long graceMs;
+        private final Map<String, Bitmap> bitmaps = new HashMap<>();
+        private long alignmentMs = Long.MIN_VALUE;
+
+        private Table(final long intervalMs, final long graceMs) {
+            this.intervalMs = intervalMs;
+            this.graceMs = graceMs;
+        }
+
+        private long toBar(final long timeMs) {
+            return Math.floorDiv(timeMs - alignmentMs, intervalMs);
+        }
+
+        private long toStartMs(final long bar) {
+            return bar * intervalMs + alignmentMs;
+        }
+    }
+
+    /**
+     * Ring of {@code HORIZON_BARS} bits ending at {@code headBar}; slots are cleared as the head moves forward.
+     */
+    private static final class Bitmap {
+        private final long[] words = new long[WORDS];
+        private long firstBar = Long.MAX_VALUE;
+        private long headBar = Long.MIN_VALUE;
+
+        private void mark(final long bar) {
+            if (headBar == Long.MIN_VALUE) {
+                headBar = bar;
+            } else if (bar > headBar) {
+                advance(bar);
+            } else if (bar <= headBar - HORIZON_BARS) {
+                return; // older than the horizon
+            }
+
+            if (bar < firstBar) {
+                firstBar = bar;
+            }
+
+            final var slot = (int) Math.floorMod(bar, (long) HORIZON_BARS);
+            words[slot >>> 6] |= 1L << slot;
+        }
+
+        private void advance(final long bar) {
+            if (bar <= headBar) {
+                return;
+            }
+
+            if (bar - headBar >= HORIZON_BARS) {
+                Arrays.fill(words, 0L);
+            } else {
+                for (var b = headBar + 1; b <= bar; b++) {
+                    final var slot = (int) Math.floorMod(b, (long) HORIZON_BARS);
+                    words[slot >>> 6] &= ~(1L << slot);
+                }
+            }
+
+            headBar = bar;
+        }
+
+        private boolean isMarked(final long bar) {
+            if (bar > headBar || bar <= headBar - HORIZON_BARS) {
+                return false;
+            }
+
+            final var slot = (int) Math.floorMod(bar, (long) HORIZON_BARS);
+            return (words[slot >>> 6] & (1L << slot)) != 0;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.INTERVAL_60M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.PRICE_TOLERANCE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.KlineRollup.VOLUME_TOLERANCE;
+import static com.github.akarazhev.cryptoscout.collector.PayloadParser.toEpochMillis;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CLOSE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CONFIRM;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.END;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.HIGH;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LOW;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.OPEN;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.START;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TURNOVER;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.VOLUME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TOPIC_FIELD;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_1;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_15;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_240;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_5;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_60;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_D;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getFirstRow;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getSymbol;
+import static com.github.akarazhev.jcryptolib.util.ValueUtils.toDouble;
+
+/**
+ * Rolls confirmed 1m klines of a single market up into 5m, 15m, 60m, 240m and 1d klines.
+ * <p>
+ * Every symbol keeps one primitive accumulator per interval. A derived bar is complete once all of its minutes have
+ * been seen; bars with missing minutes are dropped and counted as incomplete. Derived bars are emitted in the same
+ * payload shape as Bybit kline messages, so they are stored by the regular kline save path.
+ * <p>
+ * In derived-only mode complete bars are emitted right away. Otherwise they are held back until the Bybit bar of the
+ * same symbol and start arrives: the two are cross-checked and the derived one is discarded. A derived bar whose Bybit
+ * counterpart has not arrived once the 1m clock has passed its end by the grace period fills the gap.
+ */
+final class KlineRollupAggregator {
+    private final static Logger LOGGER = LoggerFactory.getLogger(KlineRollupAggregator.class);
+    private static final long[] INTERVALS_MS =
+            {INTERVAL_5M_MS, INTERVAL_15M_MS, INTERVAL_60M_MS, INTERVAL_240M_MS, INTERVAL_1D_MS};
+    private static final String[] TOPICS = {KLINE_5, KLINE_15, KLINE_60, KLINE_240, KLINE_D};
+    private final boolean derivedOnly;
+    private final long graceMs;
+    private final Map<String, Accumulator[]> accumulators = new HashMap<>();
+    private final List<List<Map<String, Object>>> derivedBars = new ArrayList<>(INTERVALS_MS.length);
+    private final List<Map<BarKey, Map<String, Object>>> pendingDerived = new ArrayList<>(INTERVALS_MS.length);
+    private final List<Map<BarKey, double[]>> pendingBybit = new ArrayList<>(INTERVALS_MS.length);
+    private long clockMs = Long.MIN_VALUE;
+    private long incompleteBars;
+    private long mismatches;
+    private long gapFills;
+
+    static KlineRollupAggregator create(final boolean derivedOnly, final long graceMs) {
+        return new KlineRollupAggregator(derivedOnly, graceMs);
+    }
+
+    private KlineRollupAggregator(final boolean derivedOnly, final long graceMs) {
+        if (graceMs < 0) {
+            throw new IllegalArgumentException("Grace period must not be negative: " + graceMs);
+        }
+
+        this.derivedOnly = derivedOnly;
+        this.graceMs = graceMs;
+        for (var i = 0; i < INTERVALS_MS.length; i++) {
+            derivedBars.add(new ArrayList<>());
+            pendingDerived.add(new HashMap<>());
+            pendingBybit.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Feeds confirmed 1m kline payloads (as received from the Bybit stream) into the accumulators.
+     */
+    synchronized void addKlines(final List<Map<String, Object>> klines) {
+        for (final var kline : klines) {
+            final var topic = (String) kline.get(TOPIC_FIELD);
+            final var row = getFirstRow(DATA, kline);
+            final var values = row == null ? null : toValues(row);
+            if (topic == null || values == null) {
+                continue; // skip malformed rows
+            }
+
+            addKline(topic, toEpochMillis(row.get(START)), values);
+        }
+
+        expirePending();
+    }
+
+    /**
+     * Cross-checks Bybit's own confirmed klines of the given interval against the derived ones.
+     */
+    synchronized void checkKlines(final long intervalMs, final List<Map<String, Object>> klines) {
+        if (derivedOnly) {
+            return;
+        }
+
+        final var index = indexOf(intervalMs);
+        for (final var kline : klines) {
+            final var topic = (String) kline.get(TOPIC_FIELD);
+            final var row = getFirstRow(DATA, kline);
+            final var values = row == null ? null : toValues(row);
+            if (topic == null || values == null) {
+                continue; // skip malformed rows
+            }
+
+            final var key = new BarKey(getSymbol(topic), toEpochMillis(row.get(START)));
+            final var derived = pendingDerived.get(index).remove(key);
+            if (derived == null) {
+                pendingBybit.get(index).put(key, values);
+            } else {
+                compare(key, intervalMs, toValues(getFirstRow(DATA, derived)), values);
+            }
+        }
+    }
+
+    /**
+     * Returns the derived klines of the given interval that are ready to be stored, oldest first. They stay in the
+     * aggregator and are returned again until {@link #removeDerivedKlines} forgets them once saved.
+     */
+    synchronized List<Map<String, Object>> getDerivedKlines(final long intervalMs) {
+        return List.copyOf(derivedBars.get(indexOf(intervalMs)));
+    }
+
+    /**
+     * Forgets the first {@code count} derived klines of the given interval, as returned by {@link #getDerivedKlines}.
+     */
+    synchronized void removeDerivedKlines(final long intervalMs, final int count) {
+        derivedBars.get(indexOf(intervalMs)).subList(0, count).clear();
+    }
+
+    /**
+     * Returns and forgets the derived klines of the given interval that are ready to be stored.
+     */
+    synchronized List<Map<String, Object>> drainDerivedKlines(final long intervalMs) {
+        final var index = indexOf(intervalMs);
+        final var bars = derivedBars.get(index);
+        if (bars.isEmpty()) {
+            return List.of();
+        }
+
+        derivedBars.set(index, new ArrayList<>());
+        return bars;
+    }
+
+    synchronized long getIncompleteBars() {
+        return incompleteBars;
+    }
+
+    synchronized long getMismatches() {
+        return mismatches;
+    }
+
+    synchronized long getGapFills() {
+        return gapFills;
+    }
+
+    private void addKline(final String topic, final long startMs, final double[] values) {
+        final var symbol = getSymbol(topic);
+        var symbolAccumulators = accumulators.get(symbol);
+        if (symbolAccumulators == null) {
+            symbolAccumulators = new Accumulator[INTERVALS_MS.length];
+            for (var i = 0; i < INTERVALS_MS.length; i++) {
+                symbolAccumulators[i] = new Accumulator();
+            }
+
+            accumulators.put(symbol, symbolAccumulators);
+        }
+
+        for (var i = 0; i < INTERVALS_MS.length; i++) {
+            final var intervalMs = INTERVALS_MS[i];
+            final var accumulator = symbolAccumulators[i];
+            final var barStartMs = Math.floorDiv(startMs, intervalMs) * intervalMs;
+            if (startMs <= accumulator.lastStartMs) {
+                continue; // duplicate or out of order minute
+            }
+
+            if (accumulator.isOpen() && barStartMs > accumulator.startMs) {
+                accumulator.reset();
+                incompleteBars++;
+            }
+
+            accumulator.add(barStartMs, startMs, values);
+            if (accumulator.minutes == intervalMs / INTERVAL_1M_MS) {
+                emit(i, new BarKey(symbol, barStartMs), accumulator.close(toTopic(topic, i), intervalMs));
+            }
+        }
+
+        if (startMs + INTERVAL_1M_MS > clockMs) {
+            clockMs = startMs + INTERVAL_1M_MS;
+        }
+    }
+
+    private void emit(final int index, final BarKey key, final Map<String, Object> bar) {
+        if (derivedOnly) {
+            derivedBars.get(index).add(bar);
+            return;
+        }
+
+        final var bybit = pendingBybit.get(index).remove(key);
+        if (bybit == null) {
+            pendingDerived.get(index).put(key, bar);
+        } else {
+            compare(key, INTERVALS_MS[index], toValues(getFirstRow(DATA, bar)), bybit);
+        }
+    }
+
+    private void expirePending() {
+        for (var i = 0; i < INTERVALS_MS.length; i++) {
+            final var intervalMs = INTERVALS_MS[i];
+            final var ready = derivedBars.get(i);
+            pendingDerived.get(i).entrySet().removeIf(entry -> {
+                if (entry.getKey().startMs() + intervalMs + graceMs <= clockMs) {
+                    ready.add(entry.getValue());
+                    gapFills++;
+                    return true;
+                }
+
+                return false;
+            });
+            pendingBybit.get(i).keySet().removeIf(key -> key.startMs() + intervalMs + graceMs <= clockMs);
+        }
+    }
+
+    private void compare(final BarKey key, final long intervalMs, final double[] derived, final double[] bybit) {
+        for (var i = 0; i < Accumulator.VALUES_COUNT; i++) {
+            final var tolerance = i < Accumulator.VOLUME_INDEX ? PRICE_TOLERANCE : VOLUME_TOLERANCE;
+            if (Math.abs(derived[i] - bybit[i]) > tolerance * Math.max(1.0, Math.abs(bybit[i]))) {
+                mismatches++;
+                LOGGER.warn("Derived {}ms kline of {} at {} differs from Bybit: derived {}, bybit {}", intervalMs,
+                        key.symbol(), key.startMs(), Arrays.toString(derived), Arrays.toString(bybit));
+                return;
+            }
+        }
+    }
+
+    private static int indexOf(final long intervalMs) {
+        for (var i = 0; i < INTERVALS_MS.length; i++) {
+            if (INTERVALS_MS[i] == intervalMs) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown interval: " + intervalMs);
+    }
+
+    private static String toTopic(final String topic, final int index) {
+        return topic.startsWith(KLINE_1) ? TOPICS[index] + topic.substring(KLINE_1.length()) : topic;
+    }
+
+    /**
+     * Reads open, high, low, close, volume and turnover of a kline row, or returns null when any is missing.
+     */
+    private static double[] toValues(final Map<String, Object> row) {
+        final var start = row.get(START);
+        final var open = toDouble(row.get(OPEN));
+        final var high = toDouble(row.get(HIGH));
+        final var low = toDouble(row.get(LOW));
+        final var close = toDouble(row.get(CLOSE));
+        final var volume = toDouble(row.get(VOLUME));
+        final var turnover = toDouble(row.get(TURNOVER));
+        if (start == null || open == null || high == null || low == null || close == null || volume == null ||
+                turnover == null) {
+            return null;
+        }
+
+        return new double[]{open, high, low, close, volume, turnover};
+    }
+
+    private record BarKey(String symbol, long startMs) {
+    }
+
+    private static final class Accumulator {
+        private static final int VOLUME_INDEX = 4;
+        private static final int VALUES_COUNT = 6;
+        private long startMs = Long.MIN_VALUE;
+        private long lastStartMs = Long.MIN_VALUE;
+        private int minutes;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+        private double volume;
+        private double turnover;
+
+        private boolean isOpen() {
+            return startMs != Long.MIN_VALUE;
+        }
+
+        private void add(final long barStartMs, final long minuteStartMs, final double[] values) {
+            if (!isOpen()) {
+                startMs = barStartMs;
+                open = values[0];
+                high = values[1];
+                low = values[2];
+            } else {
+                if (values[1] > high) {
+                    high = values[1];
+                }
+
+                if (values[2] < low) {
+                    low = values[2];
+                }
+            }
+
+            close = values[3];
+            volume += values[4];
+            turnover += values[5];
+            lastStartMs = minuteStartMs;
+            minutes++;
+        }
+
+        private Map<String, Object> close(final String topic, final long intervalMs) {
+            final var row = new HashMap<String, Object>();
+            row.put(START, startMs);
+            row.put(END, startMs + intervalMs - 1);
+            row.put(OPEN, open);
+            row.put(HIGH, high);
+            row.put(LOW, low);
+            row.put(CLOSE, close);
+            row.put(VOLUME, volume);
+            row.put(TURNOVER, turnover);
+            row.put(CONFIRM, true);
+
+            final var kline = new HashMap<String, Object>();
+            kline.put(TOPIC_FIELD, topic);
+            kline.put(DATA, List.of(row));
+            reset();
+            return kline;
+        }
+
+        private void reset() {
+            startMs = Long.MIN_VALUE;
+            minutes = 0;
+            volume = 0;
+            turnover = 0;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.AS_OF;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.BUCKET_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.BUY_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.BUY_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.CLOSE_GRACE_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.SELL_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.SELL_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.SUFFIX_1H;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.SUFFIX_1M;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.SUFFIX_5M;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.WINDOW_1H_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.WINDOW_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.WINDOW_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Liquidations.WINDOW_SLOTS;
+import static com.github.akarazhev.cryptoscout.collector.PayloadParser.forEachTrade;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUCKET_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SYMBOL;
+
+/**
+ * Aggregates linear all-liquidation events per symbol.
+ * <p>
+ * Each symbol keeps rolling count and notional sums over the last 1m, 5m and 1h in fixed-size ring buffers, so the
+ * current values are read in constant time without touching the raw table. In addition, events are bucketed per
+ * minute; a bucket is closed when a later event of the same symbol arrives or when the market clock (the latest
+ * event time seen) has passed the bucket end by {@code CLOSE_GRACE_MS}. Events older than the open bucket are counted
+ * as late and only feed the rolling windows. Position side {@code Buy} means a long position was liquidated.
+ */
+final class LiquidationAggregator {
+    private final Map<String, SymbolState> states = new HashMap<>();
+    private List<Map<String, Object>> closedBuckets = new ArrayList<>();
+    private long clockMs = Long.MIN_VALUE;
+    private long lateEvents;
+
+    static LiquidationAggregator create() {
+        return new LiquidationAggregator();
+    }
+
+    private LiquidationAggregator() {
+    }
+
+    /**
+     * Feeds all-liquidation snapshots (as received from the Bybit stream). Their rows share the public trade layout,
+     * with the side being the liquidated position side.
+     */
+    synchronized void addLiquidations(final List<Map<String, Object>> allLiquidations) {
+        forEachTrade(allLiquidations, this::addLiquidation);
+        closeIdle();
+    }
+
+    synchronized void addLiquidation(final String symbol, final long timeMs, final double price, final double size,
+                                     final boolean buy) {
+        final var state = states.computeIfAbsent(symbol, k -> new SymbolState());
+        final var notional = price * size;
+        state.window1m.add(timeMs, notional, buy);
+        state.window5m.add(timeMs, notional, buy);
+        state.window1h.add(timeMs, notional, buy);
+
+        final var bucketMs = Math.floorDiv(timeMs, BUCKET_MS) * BUCKET_MS;
+        final var bucket = state.bucket;
+        if (bucket.isOpen() && bucketMs < bucket.startMs) {
+            lateEvents++;
+        } else {
+            if (bucket.isOpen() && bucketMs > bucket.startMs) {
+                closedBuckets.add(bucket.close(symbol));
+            }
+
+            bucket.add(bucketMs, size, notional, buy);
+        }
+
+        if (timeMs > clockMs) {
+            clockMs = timeMs;
+        }
+    }
+
+    /**
+     * Returns and forgets the minute buckets closed so far.
+     */
+    synchronized List<Map<String, Object>> drainClosedBuckets() {
+        if (closedBuckets.isEmpty()) {
+            return List.of();
+        }
+
+        final var buckets = closedBuckets;
+        closedBuckets = new ArrayList<>();
+        return buckets;
+    }
+
+    /**
+     * Returns the minute buckets closed so far without forgetting them, so that buckets whose save fails are saved
+     * with the next batch; {@link #removeClosedBuckets} forgets them once saved.
+     */
+    synchronized List<Map<String, Object>> getClosedBuckets() {
+        return List.copyOf(closedBuckets);
+    }
+
+    /**
+     * Forgets the first {@code count} closed buckets, as returned by {@link #getClosedBuckets}.
+     */
+    synchronized void removeClosedBuckets(final int count) {
+        closedBuckets.subList(0, count).clear();
+    }
+
+    /**
+     * Returns the rolling 1m/5m/1h counts and notionals of a symbol as of the given time, or an empty map when no
+     * liquidation of the symbol has been seen yet.
+     */
+    synchronized Map<String, Object> getWindows(final String symbol, final long nowMs) {
+        final var state = states.get(symbol);
+        return state == null ? Map.of() : state.snapshot(symbol, Math.max(nowMs, clockMs));
+    }
+
+    /**
+     * Returns the rolling windows of every known symbol as of the given time.
+     */
+    synchronized List<Map<String, Object>> getWindows(final long nowMs) {
+        final var asOfMs = Math.max(nowMs, clockMs);
+        final var windows = new ArrayList<Map<String, Object>>(states.size());
+        for (final var entry : states.entrySet()) {
+            windows.add(entry.getValue().snapshot(entry.getKey(), asOfMs));
+        }
+
+        return windows;
+    }
+
+    synchronized long getLateEvents() {
+        return lateEvents;
+    }
+
+    private void closeIdle() {
+        if (clockMs == Long.MIN_VALUE) {
+            return;
+        }
+
+        for (final var entry : states.entrySet()) {
+            final var bucket = entry.getValue().bucket;
+            if (bucket.isOpen() && bucket.startMs + BUCKET_MS + CLOSE_GRACE_MS <= clockMs) {
+                closedBuckets.add(bucket.close(entry.getKey()));
+            }
+        }
+    }
+
+    private static OffsetDateTime toUtc(final long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static final class SymbolState {
+        private final RollingWindow window1m = new RollingWindow(WINDOW_1M_MS);
+        private final RollingWindow window5m = new RollingWindow(WINDOW_5M_MS);
+        private final RollingWindow window1h = new RollingWindow(WINDOW_1H_MS);
+        private final Bucket bucket = new Bucket();
+
+        private Map<String, Object> snapshot(final String symbol, final long asOfMs) {
+            final var snapshot = new HashMap<String, Object>();
+            snapshot.put(SYMBOL, symbol);
+            snapshot.put(AS_OF, toUtc(asOfMs));
+            window1m.putTo(snapshot, SUFFIX_1M, asOfMs);
+            window5m.putTo(snapshot, SUFFIX_5M, asOfMs);
+            window1h.putTo(snapshot, SUFFIX_1H, asOfMs);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Ring of {@code WINDOW_SLOTS} slots covering the last window. Running sums are adjusted as slots are added and
+     * expired, so both updates and reads are O(1) amortized.
+     */
+    private static final class RollingWindow {
+        private final long slotMs;
+        private final long[] buyCounts = new long[WINDOW_SLOTS];
+        private final long[] sellCounts = new long[WINDOW_SLOTS];
+        private final double[] buyNotionals = new double[WINDOW_SLOTS];
+        private final double[] sellNotionals = new double[WINDOW_SLOTS];
+        private long headSlot = Long.MIN_VALUE;
+        private long buyCount;
+        private long sellCount;
+        private double buyNotional;
+        private double sellNotional;
+
+        private RollingWindow(final long windowMs) {
+            this.slotMs = windowMs / WINDOW_SLOTS;
+        }
+
+        private void add(final long timeMs, final double notional, final boolean buy) {
+            final var slot = Math.floorDiv(timeMs, slotMs);
+            advance(slot);
+            if (slot <= headSlot - WINDOW_SLOTS) {
+                return; // older than the window
+            }
+
+            final var index = (int) Math.floorMod(slot, (long) WINDOW_SLOTS);
+            if (buy) {
+                buyCounts[index]++;
+                buyNotionals[index] += notional;
+                buyCount++;
+                buyNotional += notional;
+            } else {
+                sellCounts[index]++;
+                sellNotionals[index] += notional;
+                sellCount++;
+                sellNotional += notional;
+            }
+        }
+
+        private void advance(final long slot) {
+            if (headSlot == Long.MIN_VALUE || slot - headSlot >= WINDOW_SLOTS) {
+                clear();
+                headSlot = slot;
+                return;
+            }
+
+            while (headSlot < slot) {
+                headSlot++;
+                final var index = (int) Math.floorMod(headSlot, (long) WINDOW_SLOTS);
+                buyCount -= buyCounts[index];
+                sellCount -= sellCounts[index];
+                buyNotional -= buyNotionals[index];
+                sellNotional -= sellNotionals[index];
+                buyCounts[index] = 0;
+                sellCounts[index] = 0;
+                buyNotionals[index] = 0;
+                sellNotionals[index] = 0;
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(buyCounts, 0);
+            Arrays.fill(sellCounts, 0);
+            Arrays.fill(buyNotionals, 0);
+            Arrays.fill(sellNotionals, 0);
+            buyCount = 0;
+            sellCount = 0;
+            buyNotional = 0;
+            sellNotional = 0;
+        }
+
+        private void putTo(final Map<String, Object> snapshot, final String suffix, final long asOfMs) {
+            advance(Math.floorDiv(asOfMs, slotMs));
+            snapshot.put(BUY_COUNT + suffix, buyCount);
+            snapshot.put(BUY_NOTIONAL + suffix, Math.max(0, buyNotional));
+            snapshot.put(SELL_COUNT + suffix, sellCount);
+            snapshot.put(SELL_NOTIONAL + suffix, Math.max(0, sellNotional));
+        }
+    }
+
+    private static final class Bucket {
+        private long startMs = Long.MIN_VALUE;
+        private long buyCount;
+        private double buySize;
+        private double buyNotional;
+        private long sellCount;
+        private double sellSize;
+        private double sellNotional;
+
+        private boolean isOpen() {
+            return startMs != Long.MIN_VALUE;
+        }
+
+        private void add(final long bucketStartMs, final double size, final double notional, final boolean buy) {
+            startMs = bucketStartMs;
+            if (buy) {
+                buyCount++;
+                buySize += size;
+                buyNotional += notional;
+            } else {
+                sellCount++;
+                sellSize += size;
+                sellNotional += notional;
+            }
+        }
+
+        private Map<String, Object> close(final String symbol) {
+            final var bucket = new HashMap<String, Object>();
+            bucket.put(LIQ_SYMBOL, symbol);
+            bucket.put(LIQ_BUCKET_TIME, toUtc(startMs));
+            bucket.put(LIQ_BUY_COUNT, buyCount);
+            bucket.put(LIQ_BUY_SIZE, buySize);
+            bucket.put(LIQ_BUY_NOTIONAL, buyNotional);
+            bucket.put(LIQ_SELL_COUNT, sellCount);
+            bucket.put(LIQ_SELL_SIZE, sellSize);
+            bucket.put(LIQ_SELL_NOTIONAL, sellNotional);
+
+            startMs = Long.MIN_VALUE;
+            buyCount = 0;
+            buySize = 0;
+            buyNotional = 0;
+            sellCount = 0;
+            sellSize = 0;
+            sellNotional = 0;
+            return bucket;
+        }
+    }
+}
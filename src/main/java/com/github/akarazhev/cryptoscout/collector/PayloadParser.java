@@ -24,18 +24,76 @@
 
 package com.github.akarazhev.cryptoscout.collector;
 
+import com.github.akarazhev.jcryptolib.stream.Source;
+
 import java.util.List;
 import java.util.Map;
 
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.A;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.B;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CLOSE;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CONFIRM;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.HIGH;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LOW;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.OPEN;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.P;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SIDE;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SNAPSHOT;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.START;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SYMBOL_NAME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.T;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TYPE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.V;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.VOLUME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TOPIC_FIELD;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_1;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_15;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_240;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_5;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_60;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_D;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.QUOTES;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.SYMBOL;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.TIME_OPEN;
 import static com.github.akarazhev.jcryptolib.util.ParserUtils.getFirstRow;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getRows;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getSymbol;
+import static com.github.akarazhev.jcryptolib.util.TimeUtils.toOdt;
+import static com.github.akarazhev.jcryptolib.util.ValueUtils.toDouble;
 
 public final class PayloadParser {
+    private static final String BUY = "Buy";
+
+    @FunctionalInterface
+    public interface TradeConsumer {
+        void accept(final String symbol, final long timeMs, final double price, final double size, final boolean buy);
+    }
+
+    @FunctionalInterface
+    public interface KlineConsumer {
+        void accept(final String table, final String symbol, final long startMs);
+    }
+
+    @FunctionalInterface
+    public interface KlineBarConsumer {
+        void accept(final String table, final String symbol, final long startMs, final double open, final double high,
+                    final double low, final double close, final double volume);
+    }
 
     public static boolean isKlineConfirmed(final Map<String, Object> payload) {
         final var row = getFirstRow(DATA, payload);
@@ -63,4 +121,122 @@ public final class PayloadParser {
         final var a = asks == null ? 0 : asks.size();
         return b + a;
     }
+
+    /**
+     * Walks the rows of public trade snapshots, skipping malformed rows, and passes each trade as primitives.
+     */
+    public static void forEachTrade(final List<Map<String, Object>> publicTrades, final TradeConsumer consumer) {
+        for (final var trade : publicTrades) {
+            final var rows = getRows(DATA, trade);
+            if (rows == null) {
+                continue;
+            }
+
+            for (final var row : rows) {
+                final var symbol = (String) row.get(SYMBOL_NAME);
+                final var tradeTime = row.get(T);
+                final var price = toDouble(row.get(P));
+                final var size = toDouble(row.get(V));
+                final var takerSide = (String) row.get(SIDE);
+                if (symbol == null || tradeTime == null || price == null || size == null || takerSide == null) {
+                    continue; // skip malformed rows
+                }
+
+                consumer.accept(symbol, toEpochMillis(tradeTime), price, size, BUY.equals(takerSide));
+            }
+        }
+    }
+
+    public static long toEpochMillis(final Object time) {
+        return time instanceof Number number ? number.longValue() : toOdt(time).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Passes the target table, symbol and start time of a confirmed Bybit kline or a CMC kline; other payloads and
+     * malformed klines are ignored.
+     */
+    public static void forKline(final Source source, final Map<String, Object> data, final KlineConsumer consumer) {
+        if (Source.PMST.equals(source) || Source.PML.equals(source)) {
+            final var topic = (String) data.get(TOPIC_FIELD);
+            final var row = getFirstRow(DATA, data);
+            if (topic == null || row == null || row.get(START) == null || !isKlineConfirmed(data)) {
+                return;
+            }
+
+            final var table = getBybitKlineTable(Source.PMST.equals(source), topic);
+            if (table != null) {
+                consumer.accept(table, getSymbol(topic), toEpochMillis(row.get(START)));
+            }
+        } else if (Source.BTC_USD_1D.equals(source) || Source.BTC_USD_1W.equals(source)) {
+            final var symbol = (String) data.get(SYMBOL);
+            final var row = getFirstRow(QUOTES, data);
+            if (symbol == null || row == null || row.get(TIME_OPEN) == null) {
+                return;
+            }
+
+            consumer.accept(Source.BTC_USD_1D.equals(source) ? CMC_KLINE_1D_TABLE : CMC_KLINE_1W_TABLE, symbol,
+                    toEpochMillis(row.get(TIME_OPEN)));
+        }
+    }
+
+    /**
+     * Passes the target table, symbol, start time and OHLCV of a confirmed Bybit kline; other payloads and malformed
+     * klines are ignored.
+     */
+    public static void forKlineBar(final Source source, final Map<String, Object> data,
+                                   final KlineBarConsumer consumer) {
+        forBybitKlineBar(source, data, true, consumer);
+    }
+
+    /**
+     * Passes the target table, symbol, start time and OHLCV so far of an unconfirmed Bybit kline, the bar still
+     * forming; other payloads and malformed klines are ignored.
+     */
+    public static void forFormingKlineBar(final Source source, final Map<String, Object> data,
+                                          final KlineBarConsumer consumer) {
+        forBybitKlineBar(source, data, false, consumer);
+    }
+
+    private static void forBybitKlineBar(final Source source, final Map<String, Object> data, final boolean confirmed,
+                                         final KlineBarConsumer consumer) {
+        if (!Source.PMST.equals(source) && !Source.PML.equals(source)) {
+            return;
+        }
+
+        final var topic = (String) data.get(TOPIC_FIELD);
+        final var row = getFirstRow(DATA, data);
+        if (topic == null || row == null || row.get(START) == null || isKlineConfirmed(data) != confirmed) {
+            return;
+        }
+
+        final var table = getBybitKlineTable(Source.PMST.equals(source), topic);
+        final var open = toDouble(row.get(OPEN));
+        final var high = toDouble(row.get(HIGH));
+        final var low = toDouble(row.get(LOW));
+        final var close = toDouble(row.get(CLOSE));
+        final var volume = toDouble(row.get(VOLUME));
+        if (table == null || open == null || high == null || low == null || close == null || volume == null) {
+            return;
+        }
+
+        consumer.accept(table, getSymbol(topic), toEpochMillis(row.get(START)), open, high, low, close, volume);
+    }
+
+    private static String getBybitKlineTable(final boolean spot, final String topic) {
+        if (topic.contains(KLINE_1)) {
+            return spot ? SPOT_KLINE_1M_TABLE : LINEAR_KLINE_1M_TABLE;
+        } else if (topic.contains(KLINE_5)) {
+            return spot ? SPOT_KLINE_5M_TABLE : LINEAR_KLINE_5M_TABLE;
+        } else if (topic.contains(KLINE_15)) {
+            return spot ? SPOT_KLINE_15M_TABLE : LINEAR_KLINE_15M_TABLE;
+        } else if (topic.contains(KLINE_60)) {
+            return spot ? SPOT_KLINE_60M_TABLE : LINEAR_KLINE_60M_TABLE;
+        } else if (topic.contains(KLINE_240)) {
+            return spot ? SPOT_KLINE_240M_TABLE : LINEAR_KLINE_240M_TABLE;
+        } else if (topic.contains(KLINE_D)) {
+            return spot ? SPOT_KLINE_1D_TABLE : LINEAR_KLINE_1D_TABLE;
+        }
+
+        return null;
+    }
 }
@@ -0,0 +1,286 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import io.activej.promise.Promise;
+import io.activej.promise.Promises;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.ESTIMATED_BYTES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.EVICTIONS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.HITS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.HIT_RATE;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.MISSES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.ROWS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.ROW_OVERHEAD_BYTES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.SEGMENTS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Cache.VALUE_BYTES;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.END;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.START;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.TIMESTAMP;
+
+/**
+ * Read-through cache of kline range queries, split into time segments aligned to a fixed number of bars.
+ * <p>
+ * A range is answered from the segments it overlaps: cached segments are reused, runs of missing ones are read with
+ * one query each and split up, and the rows are stitched together and trimmed to the range with the predicate of the
+ * repositories ({@code start >= from AND end <= to}). Overlapping queries thereby share their segments.
+ * <p>
+ * A segment is closed once its end is older than the grace period and it holds all of its bars: closed bars never
+ * change, so it stays until the row bound evicts it as the least recently used. Any other segment, the open tail or
+ * one with missing bars that a backfill may still fill, expires after a short TTL. Segments entirely in the future are
+ * never read.
+ * <p>
+ * Not thread-safe: it is used from the reactor thread, which also completes the loads.
+ */
+public final class RangeCache {
+    private final boolean enabled;
+    private final int maxRows;
+    private final int segmentBars;
+    private final long tailTtlMs;
+    private final long closedGraceMs;
+    private final LongSupplier clock;
+    private final LinkedHashMap<SegmentKey, Segment> segments = new LinkedHashMap<>(16, 0.75f, true);
+    private long rows;
+    private long estimatedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * A cached series: the bar interval and the row columns holding the bar start and end, which are the same column
+     * for series keyed by a single timestamp.
+     */
+    record Dataset(String name, long intervalMs, String startColumn, String endColumn) {
+
+        static Dataset bybitKlines(final BybitStreamService.Type type, final long intervalMs) {
+            return new Dataset(type.name() + ':' + intervalMs, intervalMs, START, END);
+        }
+
+        static Dataset cmcKlines(final long intervalMs) {
+            return new Dataset("CMC:" + intervalMs, intervalMs, TIMESTAMP, TIMESTAMP);
+        }
+    }
+
+    /**
+     * Reads the rows of a range from the repository.
+     */
+    @FunctionalInterface
+    interface Loader {
+        Promise<List<Map<String, Object>>> load(final String symbol, final OffsetDateTime from,
+                                                final OffsetDateTime to);
+    }
+
+    private record SegmentKey(String dataset, String symbol, long start) {
+    }
+
+    private record Segment(List<Map<String, Object>> rows, long expiresAt, long bytes) {
+    }
+
+    public static RangeCache create() {
+        return new RangeCache(JdbcConfig.isCacheEnabled(), JdbcConfig.getCacheMaxRows(),
+                JdbcConfig.getCacheSegmentBars(), JdbcConfig.getCacheTailTtlMs(), JdbcConfig.getCacheClosedGraceMs(),
+                System::currentTimeMillis);
+    }
+
+    static RangeCache create(final int maxRows, final int segmentBars, final long tailTtlMs, final long closedGraceMs,
+                             final LongSupplier clock) {
+        return new RangeCache(true, maxRows, segmentBars, tailTtlMs, closedGraceMs, clock);
+    }
+
+    private RangeCache(final boolean enabled, final int maxRows, final int segmentBars, final long tailTtlMs,
+                       final long closedGraceMs, final LongSupplier clock) {
+        this.enabled = enabled;
+        this.maxRows = maxRows;
+        this.segmentBars = segmentBars;
+        this.tailTtlMs = tailTtlMs;
+        this.closedGraceMs = closedGraceMs;
+        this.clock = clock;
+    }
+
+    Promise<List<Map<String, Object>>> get(final Dataset dataset, final String symbol, final OffsetDateTime from,
+                                           final OffsetDateTime to, final Loader loader) {
+        if (!enabled || from == null || to == null || from.isAfter(to)) {
+            return loader.load(symbol, from, to);
+        }
+
+        final var fromMs = from.toInstant().toEpochMilli();
+        final var toMs = to.toInstant().toEpochMilli();
+        final var segmentMs = dataset.intervalMs() * segmentBars;
+        final var now = clock.getAsLong();
+        final var first = Math.floorDiv(fromMs, segmentMs) * segmentMs;
+        // Segments starting after now hold no bars yet
+        final var last = Math.floorDiv(Math.min(toMs, now), segmentMs) * segmentMs;
+        final var found = new HashMap<Long, List<Map<String, Object>>>();
+        final var loads = new ArrayList<Promise<Void>>();
+        var runStart = -1L;
+        for (var start = first; start <= last; start += segmentMs) {
+            final var cached = lookup(new SegmentKey(dataset.name(), symbol, start), now);
+            if (cached != null) {
+                found.put(start, cached);
+                if (runStart >= 0) {
+                    loads.add(loadRun(dataset, symbol, runStart, start, segmentMs, loader, found));
+                    runStart = -1L;
+                }
+            } else if (runStart < 0) {
+                runStart = start;
+            }
+        }
+
+        if (runStart >= 0) {
+            loads.add(loadRun(dataset, symbol, runStart, last + segmentMs, segmentMs, loader, found));
+        }
+
+        return Promises.all(loads).map(_ -> {
+            final var result = new ArrayList<Map<String, Object>>();
+            for (var start = first; start <= last; start += segmentMs) {
+                final var segment = found.get(start);
+                if (segment == null) {
+                    continue;
+                }
+
+                for (final var row : segment) {
+                    final var rowStart = toEpochMs(row.get(dataset.startColumn()));
+                    final var rowEnd = toEpochMs(row.get(dataset.endColumn()));
+                    if (rowStart != null && rowEnd != null && rowStart >= fromMs && rowEnd <= toMs) {
+                        result.add(row);
+                    }
+                }
+            }
+
+            return result;
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        final var lookups = hits + misses;
+        final var stats = new LinkedHashMap<String, Object>();
+        stats.put(HITS, hits);
+        stats.put(MISSES, misses);
+        stats.put(HIT_RATE, lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put(SEGMENTS, segments.size());
+        stats.put(ROWS, rows);
+        stats.put(ESTIMATED_BYTES, estimatedBytes);
+        stats.put(EVICTIONS, evictions);
+        return stats;
+    }
+
+    private List<Map<String, Object>> lookup(final SegmentKey key, final long now) {
+        final var segment = segments.get(key);
+        if (segment != null && segment.expiresAt() > now) {
+            hits++;
+            return segment.rows();
+        }
+
+        if (segment != null) {
+            remove(key);
+        }
+
+        misses++;
+        return null;
+    }
+
+    // Reads the segments [runStart, runEnd) with one query and caches each of them
+    private Promise<Void> loadRun(final Dataset dataset, final String symbol, final long runStart, final long runEnd,
+                                  final long segmentMs, final Loader loader,
+                                  final Map<Long, List<Map<String, Object>>> found) {
+        return loader.load(symbol, toOdt(runStart), toOdt(runEnd)).map(loaded -> {
+            for (var start = runStart; start < runEnd; start += segmentMs) {
+                found.put(start, new ArrayList<>());
+            }
+
+            for (final var row : loaded) {
+                final var rowStart = toEpochMs(row.get(dataset.startColumn()));
+                if (rowStart != null && rowStart >= runStart && rowStart < runEnd) {
+                    found.get(Math.floorDiv(rowStart, segmentMs) * segmentMs).add(row);
+                }
+            }
+
+            final var now = clock.getAsLong();
+            for (var start = runStart; start < runEnd; start += segmentMs) {
+                final var segmentRows = found.get(start);
+                final var closed = start + segmentMs + closedGraceMs <= now && segmentRows.size() >= segmentBars;
+                put(new SegmentKey(dataset.name(), symbol, start), segmentRows,
+                        closed ? Long.MAX_VALUE : now + tailTtlMs);
+            }
+
+            return null;
+        });
+    }
+
+    private void put(final SegmentKey key, final List<Map<String, Object>> segmentRows, final long expiresAt) {
+        if (segmentRows.size() > maxRows) {
+            return;
+        }
+
+        remove(key);
+        final var columns = segmentRows.isEmpty() ? 0 : segmentRows.getFirst().size();
+        final var bytes = segmentRows.size() * (ROW_OVERHEAD_BYTES + columns * VALUE_BYTES);
+        segments.put(key, new Segment(List.copyOf(segmentRows), expiresAt, bytes));
+        rows += segmentRows.size();
+        estimatedBytes += bytes;
+        final var iterator = segments.entrySet().iterator();
+        while (rows > maxRows && iterator.hasNext()) {
+            final var eldest = iterator.next().getValue();
+            iterator.remove();
+            rows -= eldest.rows().size();
+            estimatedBytes -= eldest.bytes();
+            evictions++;
+        }
+    }
+
+    private void remove(final SegmentKey key) {
+        final var segment = segments.remove(key);
+        if (segment != null) {
+            rows -= segment.rows().size();
+            estimatedBytes -= segment.bytes();
+        }
+    }
+
+    private static OffsetDateTime toOdt(final long epochMs) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneOffset.UTC);
+    }
+
+    private static Long toEpochMs(final Object value) {
+        return switch (value) {
+            case OffsetDateTime odt -> odt.toInstant().toEpochMilli();
+            case Instant instant -> instant.toEpochMilli();
+            case Date date -> date.getTime();
+            case Number number -> number.longValue();
+            case null, default -> null;
+        };
+    }
+}
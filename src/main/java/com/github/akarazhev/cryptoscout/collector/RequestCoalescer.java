@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import io.activej.promise.Promise;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Coalescing.COALESCED;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Coalescing.IN_FLIGHT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Coalescing.QUERIES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Coalescing.REQUESTS;
+
+/**
+ * Single-flight deduplication of identical requests: while a call keyed by its method and arguments is pending, the
+ * same request attaches to its promise instead of issuing another query, and every caller gets the one result.
+ * <p>
+ * Arguments are normalized before they are compared, so times given with different offsets for the same instant
+ * match. A call is forgotten as soon as it completes: results are not cached here, the range cache does that.
+ * <p>
+ * Not thread-safe: it is used from the reactor thread, which also completes the calls.
+ */
+public final class RequestCoalescer {
+    private final Map<Key, Promise<?>> inFlight = new HashMap<>();
+    private long requests;
+    private long coalesced;
+
+    private record Key(String method, List<Object> args) {
+    }
+
+    public static RequestCoalescer create() {
+        return new RequestCoalescer();
+    }
+
+    private RequestCoalescer() {
+    }
+
+    /**
+     * Returns the pending promise of an identical request, or the one of the call made for this request otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    <T> Promise<T> get(final String method, final List<?> args, final Supplier<Promise<T>> call) {
+        requests++;
+        final var key = new Key(method, normalize(args));
+        final var pending = (Promise<T>) inFlight.get(key);
+        if (pending != null) {
+            coalesced++;
+            return pending;
+        }
+
+        final var promise = call.get();
+        if (!promise.isComplete()) {
+            inFlight.put(key, promise);
+            promise.whenComplete(() -> inFlight.remove(key));
+        }
+
+        return promise;
+    }
+
+    public Map<String, Object> getStats() {
+        final var stats = new LinkedHashMap<String, Object>();
+        stats.put(REQUESTS, requests);
+        stats.put(COALESCED, coalesced);
+        stats.put(QUERIES, requests - coalesced);
+        stats.put(IN_FLIGHT, inFlight.size());
+        return stats;
+    }
+
+    private static List<Object> normalize(final List<?> args) {
+        final var normalized = new ArrayList<>(args.size());
+        for (final var arg : args) {
+            normalized.add(switch (arg) {
+                case OffsetDateTime time -> time.toInstant();
+                case Instant time -> time;
+                case Number number when number.doubleValue() == number.longValue() -> number.longValue();
+                case Number number -> number.doubleValue();
+                case List<?> values -> normalize(values);
+                case null, default -> arg;
+            });
+        }
+
+        return normalized;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.ERROR;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.KEY_OVERHEAD_BYTES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.LAST;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.NUMBER_BYTES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.OTHER_BYTES;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.ROWS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.SEQ;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Chunks.TIME_BYTES;
+
+/**
+ * Cuts a stream of rows into response chunks of at most {@code maxRows} rows or about {@code maxBytes} of JSON.
+ * Every chunk carries its sequence number from 0 and whether it is the last one, which is the end marker a client
+ * waits for; a failed stream ends with a last chunk that holds the error instead of rows.
+ */
+final class ResponseChunker {
+    private final int maxRows;
+    private final long maxBytes;
+    private List<Map<String, Object>> rows = new ArrayList<>();
+    private long bytes;
+    private long seq;
+
+    static ResponseChunker create(final int maxRows, final long maxBytes) {
+        return new ResponseChunker(maxRows, maxBytes);
+    }
+
+    private ResponseChunker(final int maxRows, final long maxBytes) {
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Adds a row and returns whether the chunk is full and should be drained.
+     */
+    boolean add(final Map<String, Object> row) {
+        rows.add(row);
+        for (final var entry : row.entrySet()) {
+            bytes += entry.getKey().length() + KEY_OVERHEAD_BYTES + estimateBytes(entry.getValue());
+        }
+
+        return rows.size() >= maxRows || bytes >= maxBytes;
+    }
+
+    Map<String, Object> drain(final boolean last) {
+        final var chunk = new LinkedHashMap<String, Object>();
+        chunk.put(SEQ, seq++);
+        chunk.put(ROWS, rows);
+        chunk.put(LAST, last);
+        rows = new ArrayList<>();
+        bytes = 0;
+        return chunk;
+    }
+
+    Map<String, Object> fail(final String error) {
+        rows.clear();
+        final var chunk = drain(true);
+        chunk.put(ERROR, error);
+        return chunk;
+    }
+
+    private static long estimateBytes(final Object value) {
+        return switch (value) {
+            case String text -> text.length() + 2L;
+            case Number _ -> NUMBER_BYTES;
+            case Temporal _ -> TIME_BYTES;
+            case Date _ -> TIME_BYTES;
+            case Collection<?> values -> {
+                var total = 2L;
+                for (final var element : values) {
+                    total += estimateBytes(element) + 1;
+                }
+
+                yield total;
+            }
+
+            case null, default -> OTHER_BYTES;
+        };
+    }
+}
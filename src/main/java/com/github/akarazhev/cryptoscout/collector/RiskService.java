@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.RiskRepository;
+import com.github.akarazhev.cryptoscout.collector.db.RiskRepository.BtcRisk;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import com.github.akarazhev.jcryptolib.stream.OffsetPayload;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import io.activej.async.service.ReactiveService;
+import io.activej.promise.Promise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Risk.SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.CLOSE;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.QUOTE;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.QUOTES;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.TIMESTAMP;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getFirstRow;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getRow;
+import static com.github.akarazhev.jcryptolib.util.TimeUtils.toOdt;
+import static com.github.akarazhev.jcryptolib.util.ValueUtils.toBigDecimal;
+
+/**
+ * Keeps the BTC risk model current with the CMC daily and weekly klines of the crypto-scout stream and writes the
+ * risk tables in batches, together with the stream offset.
+ * <p>
+ * On start the model is replayed from the stored klines, and the risks of the bars after the last stored risk are
+ * written, so a restart neither loses state nor leaves a hole in the risk tables.
+ */
+public final class RiskService extends AbstractReactive implements ReactiveService {
+    private final static Logger LOGGER = LoggerFactory.getLogger(RiskService.class);
+    private final Executor executor;
+    private final RiskRepository riskRepository;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int fetchSize;
+    private final Queue<OffsetPayload<Map<String, Object>>> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushInProgress = new AtomicBoolean(false);
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private BtcRiskModel model = BtcRiskModel.create();
+
+    // A weekly close held while the daily closes are replayed
+    private record Close(long timeMs, double close) {
+    }
+
+    public static RiskService create(final NioReactor reactor, final Executor executor,
+                                     final RiskRepository riskRepository) {
+        return new RiskService(reactor, executor, riskRepository);
+    }
+
+    private RiskService(final NioReactor reactor, final Executor executor, final RiskRepository riskRepository) {
+        super(reactor);
+        this.executor = executor;
+        this.riskRepository = riskRepository;
+        this.batchSize = JdbcConfig.getCryptoScoutBatchSize();
+        this.flushIntervalMs = JdbcConfig.getCryptoScoutFlushIntervalMs();
+        this.fetchSize = JdbcConfig.getRecomputeFetchSize();
+    }
+
+    @Override
+    public Promise<Void> start() {
+        // Live bars are only applied once the model is replayed, older bars would be ignored after a newer one
+        return Promise.ofBlocking(executor, this::warmUp)
+                .whenResult(_ -> {
+                    running.set(true);
+                    reactor.delayBackground(flushIntervalMs, this::scheduledFlush);
+                });
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        running.set(false);
+        return flush();
+    }
+
+    public Promise<Void> save(final Payload<Map<String, Object>> payload, final long offset) {
+        if (!Provider.CMC.equals(payload.getProvider()) ||
+                !(Source.BTC_USD_1D.equals(payload.getSource()) || Source.BTC_USD_1W.equals(payload.getSource()))) {
+            return Promise.complete();
+        }
+
+        buffer.add(OffsetPayload.of(payload, offset));
+        if (running.get() && buffer.size() >= batchSize) {
+            return flush();
+        }
+
+        return Promise.complete();
+    }
+
+    private void scheduledFlush() {
+        if (!running.get() || flushInProgress.getAndSet(true)) {
+            return;
+        }
+        flush().whenComplete((_, _) -> {
+            flushInProgress.set(false);
+            if (running.get()) {
+                reactor.delayBackground(flushIntervalMs, this::scheduledFlush);
+            }
+        });
+    }
+
+    private Promise<Void> flush() {
+        if (buffer.isEmpty()) {
+            return Promise.complete();
+        }
+
+        return Promise.ofBlocking(executor, this::process);
+    }
+
+    // Drains the buffer under the lock, so overlapping flushes never apply bars out of order
+    private synchronized void process() throws SQLException {
+        var maxOffset = -1L;
+        final var risks = new ArrayList<BtcRisk>();
+        while (true) {
+            final var item = buffer.poll();
+            if (item == null) {
+                break;
+            }
+
+            final var payload = item.payload();
+            final var risk = update(Source.BTC_USD_1W.equals(payload.getSource()), payload.getData());
+            if (risk != null) {
+                risks.add(risk);
+            }
+
+            if (item.offset() > maxOffset) {
+                maxOffset = item.offset();
+            }
+        }
+
+        if (maxOffset >= 0) {
+            final var count = riskRepository.saveRisks(risks, maxOffset);
+            LOGGER.info("Save {} BTC risks (tx) and updated offset {}", count, maxOffset);
+        }
+    }
+
+    private BtcRisk update(final boolean weekly, final Map<String, Object> data) {
+        final var row = getFirstRow(QUOTES, data);
+        if (row == null) {
+            return null;
+        }
+
+        final var quote = getRow(QUOTE, row);
+        if (quote == null) {
+            return null;
+        }
+
+        final var close = toBigDecimal(quote.get(CLOSE));
+        final var timestamp = quote.get(TIMESTAMP);
+        if (close == null || timestamp == null) {
+            return null;
+        }
+
+        final var timeMs = toOdt(timestamp).toInstant().toEpochMilli();
+        return weekly ? model.onWeekly(timeMs, close.doubleValue()) : model.onDaily(timeMs, close.doubleValue());
+    }
+
+    private synchronized void warmUp() {
+        try {
+            final var lastRiskTime = riskRepository.getLastRiskTime();
+            final var weeklyCloses = new ArrayList<Close>();
+            riskRepository.streamCloses(CMC_KLINE_1W_TABLE, SYMBOL, fetchSize,
+                    (time, close) -> weeklyCloses.add(new Close(time.toInstant().toEpochMilli(), close)));
+            // Weekly closes go first on a shared timestamp, so the daily risk at it sees the updated weekly average
+            final var backfill = new ArrayList<BtcRisk>();
+            final var next = new int[1];
+            final var days = riskRepository.streamCloses(CMC_KLINE_1D_TABLE, SYMBOL, fetchSize, (time, close) -> {
+                final var timeMs = time.toInstant().toEpochMilli();
+                for (; next[0] < weeklyCloses.size() && weeklyCloses.get(next[0]).timeMs() <= timeMs; next[0]++) {
+                    final var weekly = weeklyCloses.get(next[0]);
+                    backfill(model.onWeekly(weekly.timeMs(), weekly.close()), lastRiskTime, backfill);
+                }
+
+                backfill(model.onDaily(timeMs, close), lastRiskTime, backfill);
+            });
+            for (; next[0] < weeklyCloses.size(); next[0]++) {
+                final var weekly = weeklyCloses.get(next[0]);
+                backfill(model.onWeekly(weekly.timeMs(), weekly.close()), lastRiskTime, backfill);
+            }
+
+            riskRepository.saveRisks(backfill, -1L);
+            LOGGER.info("BTC risk model replayed {} daily and {} weekly closes, ready: {}", days, weeklyCloses.size(),
+                    model.isReady());
+        } catch (final Exception ex) {
+            // A partly replayed model would normalize against a truncated history
+            model = BtcRiskModel.create();
+            LOGGER.warn("Failed to replay the BTC risk model, starting from live bars", ex);
+        }
+    }
+
+    private void backfill(final BtcRisk risk, final OffsetDateTime lastRiskTime, final List<BtcRisk> backfill)
+            throws Exception {
+        if (risk == null || (lastRiskTime != null && !risk.timestamp().isAfter(lastRiskTime))) {
+            return;
+        }
+
+        backfill.add(risk);
+        if (backfill.size() >= batchSize) {
+            riskRepository.saveRisks(backfill, -1L);
+            backfill.clear();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Analyst.MARKET;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Signals.ANY;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Signals.CONDITION;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Signals.LEFT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Signals.RIGHT;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Signals.RULE;
+
+/**
+ * Evaluates signal rules on every confirmed indicator update.
+ * <p>
+ * A rule compares two operands, each an indicator, a bar price or a number, and fires on the bar where its comparison
+ * starts to hold: {@code ema_50 crosses_above ema_200} fires on the golden cross, {@code rsi_14 > 70} when the RSI
+ * enters the overbought zone. Rules are written one per line as
+ * <pre>
+ * name market symbol interval left op right
+ * </pre>
+ * where market, symbol and interval ({@code 1m}, {@code 4h}, {@code 1d}, {@code 1w}...) may be {@code *}, and op is
+ * one of {@code >}, {@code >=}, {@code <}, {@code <=}, {@code crosses_above} or {@code crosses_below}; blank lines and
+ * lines starting with {@code #} are skipped.
+ * <p>
+ * The rules are compiled once into operand accessors and, on the first update of a series, narrowed to the rules of
+ * that series. The only state kept per series is two bits per rule: whether the comparison held on the last bar and
+ * whether it could be evaluated at all. A rule does not fire on the first bar it is evaluated on, nor when an operand
+ * becomes defined, so a restart or a warm-up never replays old crossings.
+ * <p>
+ * A series is evaluated on the shard thread of its calculator, which confines its state; series of different shards
+ * are evaluated concurrently.
+ */
+final class SignalEngine {
+    private final List<Rule> rules;
+    private final Map<CalculatorRegistry.Key, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * A signal rule, compiled.
+     */
+    record Rule(String name, String market, String symbol, long intervalMs, Operand left, Comparison comparison,
+                Operand right, String condition) {
+
+        boolean matches(final CalculatorRegistry.Key key) {
+            return (market == null || market.equals(key.market())) &&
+                    (symbol == null || symbol.equals(key.symbol())) &&
+                    (intervalMs == 0 || intervalMs == key.intervalMs());
+        }
+    }
+
+    /**
+     * A rule that fired on a bar, with the operand values it fired on.
+     */
+    record Signal(String rule, CalculatorRegistry.Key key, OffsetDateTime timestamp, String condition, double left,
+                  double right, double closePrice) {
+
+        Map<String, Object> toMap() {
+            final var map = new HashMap<String, Object>();
+            map.put(RULE, rule);
+            map.put(MARKET, key.market());
+            map.put("symbol", key.symbol());
+            map.put(INTERVAL_MS, key.intervalMs());
+            map.put("timestamp", timestamp);
+            map.put(CONDITION, condition);
+            map.put(LEFT, left);
+            map.put(RIGHT, right);
+            map.put("close_price", closePrice);
+            return map;
+        }
+    }
+
+    /**
+     * The value of an operand on a bar, or NaN when it is not defined yet.
+     */
+    @FunctionalInterface
+    interface Operand {
+        double value(final TechnicalAnalysisCalculator.OhlcvPoint point,
+                     final TechnicalAnalysisCalculator.AnalysisResult result);
+    }
+
+    enum Comparison {
+        ABOVE, AT_OR_ABOVE, BELOW, AT_OR_BELOW;
+
+        boolean test(final double left, final double right) {
+            return switch (this) {
+                case ABOVE -> left > right;
+                case AT_OR_ABOVE -> left >= right;
+                case BELOW -> left < right;
+                case AT_OR_BELOW -> left <= right;
+            };
+        }
+    }
+
+    // The rules of a series and their bits: bit i of holding is the last outcome of rule i, of known whether it had one
+    private static final class Series {
+        private final Rule[] rules;
+        private final long[] holding;
+        private final long[] known;
+
+        private Series(final Rule[] rules) {
+            this.rules = rules;
+            this.holding = new long[(rules.length + 63) >>> 6];
+            this.known = new long[holding.length];
+        }
+    }
+
+    static SignalEngine create(final List<Rule> rules) {
+        return new SignalEngine(rules);
+    }
+
+    private SignalEngine(final List<Rule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    int getRuleCount() {
+        return rules.size();
+    }
+
+    /**
+     * Evaluates the rules of the series on its latest confirmed bar; called on the shard thread of the series.
+     *
+     * @return The signals fired on the bar, usually none
+     */
+    List<Signal> evaluate(final CalculatorRegistry.Key key, final TechnicalAnalysisCalculator.OhlcvPoint point,
+                          final TechnicalAnalysisCalculator.AnalysisResult result) {
+        if (rules.isEmpty()) {
+            return List.of();
+        }
+
+        final var state = series.computeIfAbsent(key, this::match);
+        List<Signal> signals = null;
+        for (var i = 0; i < state.rules.length; i++) {
+            final var rule = state.rules[i];
+            final var word = i >>> 6;
+            final var bit = 1L << i;
+            final var left = rule.left().value(point, result);
+            final var right = rule.right().value(point, result);
+            if (Double.isNaN(left) || Double.isNaN(right)) {
+                state.known[word] &= ~bit;
+                continue;
+            }
+
+            final var holds = rule.comparison().test(left, right);
+            final var fires = holds && (state.known[word] & bit) != 0 && (state.holding[word] & bit) == 0;
+            state.known[word] |= bit;
+            state.holding[word] = holds ? state.holding[word] | bit : state.holding[word] & ~bit;
+            if (fires) {
+                if (signals == null) {
+                    signals = new ArrayList<>(1);
+                }
+
+                signals.add(new Signal(rule.name(), key, point.timestamp(), rule.condition(), left, right,
+                        point.close()));
+            }
+        }
+
+        return signals == null ? List.of() : signals;
+    }
+
+    /**
+     * Drops the state of a series whose calculator was evicted; called on the shard thread of the series. A series
+     * that resumes starts without a previous outcome, like its reloaded calculator.
+     */
+    void forget(final CalculatorRegistry.Key key) {
+        series.remove(key);
+    }
+
+    private Series match(final CalculatorRegistry.Key key) {
+        return new Series(rules.stream().filter(rule -> rule.matches(key)).toArray(Rule[]::new));
+    }
+
+    /**
+     * Compiles rule lines.
+     *
+     * @throws IllegalArgumentException if a line is not a valid rule, naming the line
+     */
+    static List<Rule> parse(final List<String> lines) {
+        final var rules = new ArrayList<Rule>();
+        for (var i = 0; i < lines.size(); i++) {
+            final var line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            try {
+                rules.add(parseRule(line));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid signal rule on line " + (i + 1) + ": " + e.getMessage(),
+                        e);
+            }
+        }
+
+        return rules;
+    }
+
+    private static Rule parseRule(final String line) {
+        final var tokens = line.split("\\s+");
+        if (tokens.length != 7) {
+            throw new IllegalArgumentException("expected 'name market symbol interval left op right', got: " + line);
+        }
+
+        final var comparison = switch (tokens[5]) {
+            case ">", "crosses_above" -> Comparison.ABOVE;
+            case ">=" -> Comparison.AT_OR_ABOVE;
+            case "<", "crosses_below" -> Comparison.BELOW;
+            case "<=" -> Comparison.AT_OR_BELOW;
+            default -> throw new IllegalArgumentException("unknown operator: " + tokens[5]);
+        };
+        return new Rule(tokens[0], any(tokens[1]), any(tokens[2]), parseInterval(tokens[3]), parseOperand(tokens[4]),
+                comparison, parseOperand(tokens[6]), tokens[4] + " " + tokens[5] + " " + tokens[6]);
+    }
+
+    private static String any(final String token) {
+        return ANY.equals(token) ? null : token;
+    }
+
+    // Interval in milliseconds, 0 for any
+    private static long parseInterval(final String token) {
+        if (ANY.equals(token)) {
+            return 0L;
+        }
+
+        final long unitMs = switch (token.charAt(token.length() - 1)) {
+            case 'm' -> 60_000L;
+            case 'h' -> 3_600_000L;
+            case 'd' -> 86_400_000L;
+            case 'w' -> 604_800_000L;
+            default -> throw new IllegalArgumentException("unknown interval: " + token);
+        };
+        try {
+            final var count = Long.parseLong(token.substring(0, token.length() - 1));
+            if (count <= 0) {
+                throw new IllegalArgumentException("interval must be positive: " + token);
+            }
+
+            return count * unitMs;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("unknown interval: " + token, e);
+        }
+    }
+
+    private static Operand parseOperand(final String token) {
+        return switch (token) {
+            case "open_price" -> (p, _) -> p.open();
+            case "high_price" -> (p, _) -> p.high();
+            case "low_price" -> (p, _) -> p.low();
+            case "close_price" -> (p, _) -> p.close();
+            case "volume" -> (p, _) -> p.volume();
+            case "sma_50" -> (_, r) -> value(r.sma50());
+            case "sma_100" -> (_, r) -> value(r.sma100());
+            case "sma_200" -> (_, r) -> value(r.sma200());
+            case "ema_50" -> (_, r) -> value(r.ema50());
+            case "ema_100" -> (_, r) -> value(r.ema100());
+            case "ema_200" -> (_, r) -> value(r.ema200());
+            case "rsi_14" -> (_, r) -> value(r.rsi14());
+            case "stochastic_14" -> (_, r) -> value(r.stochastic14());
+            case "macd_line" -> (_, r) -> value(r.macdLine());
+            case "macd_signal" -> (_, r) -> value(r.macdSignal());
+            case "macd_histogram" -> (_, r) -> value(r.macdHistogram());
+            case "bb_middle" -> (_, r) -> value(r.bbMiddle());
+            case "bb_upper" -> (_, r) -> value(r.bbUpper());
+            case "bb_lower" -> (_, r) -> value(r.bbLower());
+            case "bb_width" -> (_, r) -> value(r.bbWidth());
+            case "bb_percent_b" -> (_, r) -> value(r.bbPercentB());
+            case "atr_14" -> (_, r) -> value(r.atr14());
+            case "std_dev_20" -> (_, r) -> value(r.stdDev20());
+            case "vwap" -> (_, r) -> value(r.vwap());
+            case "volume_sma_20" -> (_, r) -> value(r.volumeSma20());
+            case "market_cap" -> (_, r) -> value(r.marketCap());
+            case "market_cap_to_volume" -> (_, r) -> value(r.marketCapToVolume());
+            default -> {
+                final double constant;
+                try {
+                    constant = Double.parseDouble(token);
+                } catch (final NumberFormatException e) {
+                    throw new IllegalArgumentException("unknown operand: " + token, e);
+                }
+
+                if (!Double.isFinite(constant)) {
+                    throw new IllegalArgumentException("operand must be finite: " + token);
+                }
+
+                yield (_, _) -> constant;
+            }
+        };
+    }
+
+    private static double value(final Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
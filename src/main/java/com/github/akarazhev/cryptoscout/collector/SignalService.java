@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import com.github.akarazhev.jcryptolib.stream.Message;
+import io.activej.promise.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Evaluates the configured signal rules ({@code jdbc.analyst.signal-rules}) with a {@link SignalEngine} and publishes
+ * the signals that fire to the chatbot over the {@link AmqpPublisher}, so bots get events pushed instead of polling
+ * the indicator tables. Without rules nothing is evaluated.
+ */
+public final class SignalService {
+    private final static Logger LOGGER = LoggerFactory.getLogger(SignalService.class);
+    private final SignalEngine engine;
+    private final AmqpPublisher chatbotPublisher;
+
+    public static SignalService create(final AmqpPublisher chatbotPublisher) {
+        return new SignalService(SignalEngine.create(loadRules(JdbcConfig.getAnalystSignalRules())), chatbotPublisher);
+    }
+
+    static SignalService create(final SignalEngine engine, final AmqpPublisher chatbotPublisher) {
+        return new SignalService(engine, chatbotPublisher);
+    }
+
+    private SignalService(final SignalEngine engine, final AmqpPublisher chatbotPublisher) {
+        this.engine = engine;
+        this.chatbotPublisher = chatbotPublisher;
+        LOGGER.info("SignalService evaluates {} rules", engine.getRuleCount());
+    }
+
+    /**
+     * Evaluates the rules on a confirmed bar; called on the shard thread of the series.
+     */
+    List<SignalEngine.Signal> evaluate(final CalculatorRegistry.Key key,
+                                       final TechnicalAnalysisCalculator.OhlcvPoint point,
+                                       final TechnicalAnalysisCalculator.AnalysisResult result) {
+        return engine.evaluate(key, point, result);
+    }
+
+    /**
+     * Drops the rule state of a series whose calculator was evicted; called on the shard thread of the series.
+     */
+    void forget(final CalculatorRegistry.Key key) {
+        engine.forget(key);
+    }
+
+    /**
+     * Publishes signals as one message; called on the reactor. A failed publish is logged and the signals dropped.
+     */
+    void publish(final List<SignalEngine.Signal> signals) {
+        if (signals.isEmpty()) {
+            return;
+        }
+
+        final var command = Message.Command.of(Message.Type.RESPONSE, Constants.Source.COLLECTOR,
+                Constants.Method.ANALYST_SIGNALS);
+        final var message = Message.of(command, signals.stream().map(SignalEngine.Signal::toMap).toList());
+        chatbotPublisher.publish(AmqpConfig.getAmqpCryptoScoutExchange(), AmqpConfig.getAmqpChatbotRoutingKey(),
+                        message)
+                .whenException(e -> LOGGER.warn("Failed to publish {} signals: {}", signals.size(), e.getMessage()));
+    }
+
+    private static List<SignalEngine.Rule> loadRules(final String path) {
+        if (path.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            return SignalEngine.parse(Files.readAllLines(Path.of(path)));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read signal rules from " + path, e);
+        }
+    }
+}
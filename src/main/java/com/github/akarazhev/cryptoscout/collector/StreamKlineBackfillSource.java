@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.BybitLinearRepository;
+import com.github.akarazhev.cryptoscout.collector.db.BybitSpotRepository;
+import com.github.akarazhev.cryptoscout.collector.db.CryptoScoutRepository;
+import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import com.rabbitmq.stream.OffsetSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.BACKFILL_SLACK_MS;
+import static com.github.akarazhev.cryptoscout.collector.PayloadParser.forKline;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
+
+/**
+ * Backfills klines by replaying the stream they were originally published to.
+ * <p>
+ * Confirmed klines are published when their bar closes, so the stream is read from shortly before the close of the
+ * first missing bar until shortly after the close of the last one, or until the read timeout. Matching klines are
+ * saved through the regular repository methods, which ignore bars that already exist.
+ */
+public final class StreamKlineBackfillSource implements KlineBackfillSource {
+    private final static Logger LOGGER = LoggerFactory.getLogger(StreamKlineBackfillSource.class);
+    private final Map<String, KlineSaver> savers;
+    private final long timeoutMs;
+
+    @FunctionalInterface
+    private interface KlineSaver {
+        int save(final List<Map<String, Object>> klines, final long offset) throws SQLException;
+    }
+
+    public static StreamKlineBackfillSource create(final BybitSpotRepository spotRepository,
+                                                   final BybitLinearRepository linearRepository,
+                                                   final CryptoScoutRepository cryptoScoutRepository) {
+        return new StreamKlineBackfillSource(spotRepository, linearRepository, cryptoScoutRepository);
+    }
+
+    private StreamKlineBackfillSource(final BybitSpotRepository spotRepository,
+                                      final BybitLinearRepository linearRepository,
+                                      final CryptoScoutRepository cryptoScoutRepository) {
+        this.savers = Map.ofEntries(
+                Map.entry(SPOT_KLINE_1M_TABLE, spotRepository::saveKline1m),
+                Map.entry(SPOT_KLINE_5M_TABLE, spotRepository::saveKline5m),
+                Map.entry(SPOT_KLINE_15M_TABLE, spotRepository::saveKline15m),
+                Map.entry(SPOT_KLINE_60M_TABLE, spotRepository::saveKline60m),
+                Map.entry(SPOT_KLINE_240M_TABLE, spotRepository::saveKline240m),
+                Map.entry(SPOT_KLINE_1D_TABLE, spotRepository::saveKline1d),
+                Map.entry(LINEAR_KLINE_1M_TABLE, linearRepository::saveKline1m),
+                Map.entry(LINEAR_KLINE_5M_TABLE, linearRepository::saveKline5m),
+                Map.entry(LINEAR_KLINE_15M_TABLE, linearRepository::saveKline15m),
+                Map.entry(LINEAR_KLINE_60M_TABLE, linearRepository::saveKline60m),
+                Map.entry(LINEAR_KLINE_240M_TABLE, linearRepository::saveKline240m),
+                Map.entry(LINEAR_KLINE_1D_TABLE, linearRepository::saveKline1d),
+                Map.entry(CMC_KLINE_1D_TABLE, cryptoScoutRepository::saveKline1d),
+                Map.entry(CMC_KLINE_1W_TABLE, cryptoScoutRepository::saveKline1w)
+        );
+        this.timeoutMs = JdbcConfig.getGapsBackfillTimeoutMs();
+    }
+
+    @Override
+    public int backfill(final String table, final String symbol, final long intervalMs, final OffsetDateTime from,
+                        final OffsetDateTime to) throws Exception {
+        final var saver = savers.get(table);
+        if (saver == null) {
+            throw new IllegalArgumentException("Unsupported kline table: " + table);
+        }
+
+        final var fromMs = from.toInstant().toEpochMilli();
+        final var toMs = to.toInstant().toEpochMilli();
+        final var stopMs = toMs + intervalMs + BACKFILL_SLACK_MS;
+        final var stream = CMC_KLINE_1D_TABLE.equals(table) || CMC_KLINE_1W_TABLE.equals(table) ?
+                AmqpConfig.getAmqpCryptoScoutStream() : AmqpConfig.getAmqpBybitStream();
+        final var klines = new HashMap<Long, Map<String, Object>>();
+        final var maxOffset = new long[]{-1L};
+        final var done = new CountDownLatch(1);
+        try (final var environment = AmqpConfig.getEnvironment()) {
+            final var consumer = environment.consumerBuilder()
+                    .stream(stream)
+                    .noTrackingStrategy()
+                    .offset(OffsetSpecification.timestamp(fromMs + intervalMs - BACKFILL_SLACK_MS))
+                    .messageHandler((context, message) -> {
+                        if (context.timestamp() > stopMs) {
+                            done.countDown();
+                            return;
+                        }
+
+                        final Payload<Map<String, Object>> payload;
+                        try {
+                            payload = toPayload(message.getBodyAsBinary());
+                        } catch (final Exception ex) {
+                            return; // not a payload, nothing to backfill
+                        }
+
+                        forKline(payload.getSource(), payload.getData(), (t, s, startMs) -> {
+                            if (table.equals(t) && symbol.equals(s) && startMs >= fromMs && startMs <= toMs) {
+                                synchronized (klines) {
+                                    klines.putIfAbsent(startMs, payload.getData());
+                                    maxOffset[0] = Math.max(maxOffset[0], context.offset());
+                                }
+                            }
+                        });
+                    })
+                    .build();
+            try {
+                if (!done.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("Backfill of {} {} timed out after {} ms", table, symbol, timeoutMs);
+                }
+            } finally {
+                consumer.close();
+            }
+        }
+
+        final List<Map<String, Object>> found;
+        final long offset;
+        synchronized (klines) {
+            found = new ArrayList<>(klines.values());
+            offset = maxOffset[0];
+        }
+
+        if (found.isEmpty()) {
+            return 0;
+        }
+
+        saver.save(found, offset);
+        LOGGER.info("Backfilled {} klines of {} {} from stream {}", found.size(), table, symbol, stream);
+        return found.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Payload<Map<String, Object>> toPayload(final byte[] body) throws Exception {
+        return JsonUtils.bytes2Object(body, Payload.class);
+    }
+}
@@ -52,6 +52,8 @@ public final class StreamService extends AbstractReactive implements ReactiveSer
     private final AnalystService analystService;
     private final BybitStreamService bybitStreamService;
     private final CryptoScoutService cryptoScoutService;
+    private final RiskService riskService;
+    private final KlineGapService klineGapService;
     private volatile Environment environment;
     private volatile Consumer cryptoScoutConsumer;
     private volatile Consumer bybitStreamConsumer;
@@ -62,22 +64,28 @@ public final class StreamService extends AbstractReactive implements ReactiveSer
                                        final StreamOffsetsRepository streamOffsetsRepository,
                                        final AnalystService analystService,
                                        final BybitStreamService bybitStreamService,
-                                       final CryptoScoutService cryptoScoutService) {
+                                       final CryptoScoutService cryptoScoutService,
+                                       final RiskService riskService,
+                                       final KlineGapService klineGapService) {
         return new StreamService(reactor, executor, streamOffsetsRepository, analystService, bybitStreamService,
-                cryptoScoutService);
+                cryptoScoutService, riskService, klineGapService);
     }
 
     private StreamService(final NioReactor reactor, final Executor executor,
                           final StreamOffsetsRepository streamOffsetsRepository,
                           final AnalystService analystService,
                           final BybitStreamService bybitStreamService,
-                          final CryptoScoutService cryptoScoutService) {
+                          final CryptoScoutService cryptoScoutService,
+                          final RiskService riskService,
+                          final KlineGapService klineGapService) {
         super(reactor);
         this.executor = executor;
         this.streamOffsetsRepository = streamOffsetsRepository;
         this.analystService = analystService;
         this.bybitStreamService = bybitStreamService;
         this.cryptoScoutService = cryptoScoutService;
+        this.riskService = riskService;
+        this.klineGapService = klineGapService;
     }
 
     @Override
@@ -149,9 +157,15 @@ public final class StreamService extends AbstractReactive implements ReactiveSer
             return;
         }
 
+        klineGapService.onPayload(payload);
         reactor.execute(() -> analystService.save(payload, context.offset())
                 .whenException(ex -> LOGGER.error("Failed to save stream message from {}", type.name(), ex)));
 
+        if (type == StreamType.CRYPTO_SCOUT) {
+            reactor.execute(() -> riskService.save(payload, context.offset())
+                    .whenException(ex -> LOGGER.error("Failed to save stream message from {}", type.name(), ex)));
+        }
+
         reactor.execute(() -> (switch (type) {
             case CRYPTO_SCOUT -> cryptoScoutService.save(payload, context.offset());
             case BYBIT_STREAM -> bybitStreamService.save(payload, context.offset());
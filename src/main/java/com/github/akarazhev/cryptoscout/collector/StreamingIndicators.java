@@ -0,0 +1,322 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Primitive building blocks for indicators that are updated one bar at a time in O(1).
+ * <p>
+ * Each block writes its complete state with {@code writeTo} and reads it back into a block of the same shape with
+ * {@code readFrom}, so a restored block continues bit for bit where the saved one stopped. {@code copyFrom} does the
+ * same in memory, without allocating, to evaluate a bar on a copy.
+ */
+final class StreamingIndicators {
+    private StreamingIndicators() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sliding window of the last {@code capacity} values with its mean and population variance.
+     * <p>
+     * The mean and the sum of squared deviations are maintained with Welford's update, extended to replace the evicted
+     * value once the window is full. Both are recomputed from the buffer every time the ring wraps, which bounds the
+     * rounding drift of the running updates at an amortized O(1) cost.
+     */
+    static final class RollingWindow {
+        private final double[] values;
+        private int head;
+        private int count;
+        private double mean;
+        private double m2;
+
+        RollingWindow(final int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Window capacity must be positive, got: " + capacity);
+            }
+
+            this.values = new double[capacity];
+        }
+
+        void add(final double value) {
+            if (count < values.length) {
+                count++;
+                final var delta = value - mean;
+                mean += delta / count;
+                m2 += delta * (value - mean);
+            } else {
+                final var evicted = values[head];
+                final var previousMean = mean;
+                mean += (value - evicted) / count;
+                m2 += (value - evicted) * (value - mean + evicted - previousMean);
+            }
+
+            values[head] = value;
+            head = (head + 1) % values.length;
+            if (head == 0) {
+                recompute();
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        boolean isFull() {
+            return count == values.length;
+        }
+
+        double mean() {
+            return mean;
+        }
+
+        double sum() {
+            return mean * count;
+        }
+
+        double variance() {
+            return count == 0 ? 0.0 : Math.max(0.0, m2 / count);
+        }
+
+        double stdDev() {
+            return Math.sqrt(variance());
+        }
+
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeInt(values.length);
+            out.writeInt(head);
+            out.writeInt(count);
+            out.writeDouble(mean);
+            out.writeDouble(m2);
+            for (final var value : values) {
+                out.writeDouble(value);
+            }
+        }
+
+        void readFrom(final DataInput in) throws IOException {
+            checkShape("Window capacity", values.length, in.readInt());
+            head = in.readInt();
+            count = in.readInt();
+            mean = in.readDouble();
+            m2 = in.readDouble();
+            for (var i = 0; i < values.length; i++) {
+                values[i] = in.readDouble();
+            }
+        }
+
+        void copyFrom(final RollingWindow other) {
+            if (other.values.length != values.length) {
+                throw new IllegalArgumentException("Window capacity mismatch: expected " + values.length + ", got " +
+                    other.values.length);
+            }
+
+            System.arraycopy(other.values, 0, values, 0, values.length);
+            head = other.head;
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+        }
+
+        private void recompute() {
+            var sum = 0.0;
+            for (var i = 0; i < count; i++) {
+                sum += values[i];
+            }
+
+            mean = sum / count;
+            var squares = 0.0;
+            for (var i = 0; i < count; i++) {
+                final var delta = values[i] - mean;
+                squares += delta * delta;
+            }
+
+            m2 = squares;
+        }
+    }
+
+    /**
+     * Exponential average seeded with the first value: {@code avg += alpha * (value - avg)}. With
+     * {@code alpha = 2 / (n + 1)} this is the EMA, with {@code alpha = 1 / n} Wilder's smoothing used by RSI and ATR.
+     */
+    static final class ExponentialAverage {
+        private final double alpha;
+        private double value;
+        private boolean seeded;
+
+        private ExponentialAverage(final double alpha) {
+            this.alpha = alpha;
+        }
+
+        static ExponentialAverage ema(final int period) {
+            return new ExponentialAverage(2.0 / (period + 1));
+        }
+
+        static ExponentialAverage wilder(final int period) {
+            return new ExponentialAverage(1.0 / period);
+        }
+
+        double add(final double sample) {
+            if (seeded) {
+                value += alpha * (sample - value);
+            } else {
+                value = sample;
+                seeded = true;
+            }
+
+            return value;
+        }
+
+        double value() {
+            return value;
+        }
+
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeDouble(alpha);
+            out.writeBoolean(seeded);
+            out.writeDouble(value);
+        }
+
+        void readFrom(final DataInput in) throws IOException {
+            final var savedAlpha = in.readDouble();
+            if (savedAlpha != alpha) {
+                throw new IOException("Smoothing factor mismatch: expected " + alpha + ", got " + savedAlpha);
+            }
+
+            seeded = in.readBoolean();
+            value = in.readDouble();
+        }
+
+        void copyFrom(final ExponentialAverage other) {
+            if (other.alpha != alpha) {
+                throw new IllegalArgumentException("Smoothing factor mismatch: expected " + alpha + ", got " +
+                    other.alpha);
+            }
+
+            seeded = other.seeded;
+            value = other.value;
+        }
+    }
+
+    /**
+     * Highest or lowest of the last {@code period} values, kept in a monotonic deque so every update is amortized O(1).
+     */
+    static final class RollingExtreme {
+        private final int period;
+        private final boolean highest;
+        private final long[] indices;
+        private final double[] values;
+        private int first;
+        private int size;
+        private long next;
+
+        private RollingExtreme(final int period, final boolean highest) {
+            if (period <= 0) {
+                throw new IllegalArgumentException("Period must be positive, got: " + period);
+            }
+
+            this.period = period;
+            this.highest = highest;
+            this.indices = new long[period];
+            this.values = new double[period];
+        }
+
+        static RollingExtreme highest(final int period) {
+            return new RollingExtreme(period, true);
+        }
+
+        static RollingExtreme lowest(final int period) {
+            return new RollingExtreme(period, false);
+        }
+
+        double add(final double value) {
+            final var index = next++;
+            if (size > 0 && indices[first] <= index - period) {
+                first = (first + 1) % period;
+                size--;
+            }
+
+            while (size > 0 && dominates(value, values[(first + size - 1) % period])) {
+                size--;
+            }
+
+            final var slot = (first + size) % period;
+            indices[slot] = index;
+            values[slot] = value;
+            size++;
+            return values[first];
+        }
+
+        double value() {
+            return values[first];
+        }
+
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeInt(period);
+            out.writeInt(first);
+            out.writeInt(size);
+            out.writeLong(next);
+            for (var i = 0; i < period; i++) {
+                out.writeLong(indices[i]);
+                out.writeDouble(values[i]);
+            }
+        }
+
+        void readFrom(final DataInput in) throws IOException {
+            checkShape("Period", period, in.readInt());
+            first = in.readInt();
+            size = in.readInt();
+            next = in.readLong();
+            for (var i = 0; i < period; i++) {
+                indices[i] = in.readLong();
+                values[i] = in.readDouble();
+            }
+        }
+
+        void copyFrom(final RollingExtreme other) {
+            if (other.period != period || other.highest != highest) {
+                throw new IllegalArgumentException("Extreme shape mismatch: expected " + period + ", got " +
+                    other.period);
+            }
+
+            System.arraycopy(other.indices, 0, indices, 0, period);
+            System.arraycopy(other.values, 0, values, 0, period);
+            first = other.first;
+            size = other.size;
+            next = other.next;
+        }
+
+        private boolean dominates(final double value, final double other) {
+            return highest ? value >= other : value <= other;
+        }
+    }
+
+    private static void checkShape(final String name, final int expected, final int actual) throws IOException {
+        if (expected != actual) {
+            throw new IOException(name + " mismatch: expected " + expected + ", got " + actual);
+        }
+    }
+}
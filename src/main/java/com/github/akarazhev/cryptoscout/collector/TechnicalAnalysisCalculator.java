@@ -24,7 +24,13 @@
 
 package com.github.akarazhev.cryptoscout.collector;
 
-import java.time.Duration;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,80 +39,81 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.ta4j.core.BarSeries;
-import org.ta4j.core.BaseBarSeriesBuilder;
-import org.ta4j.core.Indicator;
-import org.ta4j.core.indicators.ATRIndicator;
-import org.ta4j.core.indicators.MACDIndicator;
-import org.ta4j.core.indicators.RSIIndicator;
-import org.ta4j.core.indicators.StochasticOscillatorKIndicator;
-import org.ta4j.core.indicators.averages.EMAIndicator;
-import org.ta4j.core.indicators.averages.SMAIndicator;
-import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
-import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
-import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.indicators.helpers.VolumeIndicator;
-import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
-import org.ta4j.core.indicators.volume.VWAPIndicator;
-import org.ta4j.core.num.DecimalNumFactory;
-import org.ta4j.core.num.Num;
+
+import com.github.akarazhev.cryptoscout.collector.StreamingIndicators.ExponentialAverage;
+import com.github.akarazhev.cryptoscout.collector.StreamingIndicators.RollingExtreme;
+import com.github.akarazhev.cryptoscout.collector.StreamingIndicators.RollingWindow;
 
 /**
- * Thread-safe stateful calculator for technical indicators using ta4j library.
+ * Stateful calculator for technical indicators.
  * Supports OHLCV data, multiple technical indicators, and market fundamentals.
+ * Not thread-safe: a calculator is confined to a single writer, see {@link CalculatorRegistry}.
  * Maintains backward compatibility with the original MovingAverageCalculator API.
+ * <p>
+ * Every indicator is updated incrementally on primitive doubles as bars are added, so adding a bar costs O(1)
+ * regardless of the history kept. Values follow the ta4j definitions the calculator was originally built on:
+ * EMAs and Wilder averages are seeded with the first bar, Bollinger Bands are centred on the close and use the
+ * population standard deviation, and VWAP uses the typical price over a 20-bar window.
  */
 final class TechnicalAnalysisCalculator {
     private static final Logger LOGGER = LoggerFactory.getLogger(TechnicalAnalysisCalculator.class);
 
     private static final int DEFAULT_MAX_PERIOD = 200;
-    private static final Duration DEFAULT_DURATION = Duration.ofDays(7);
     private static final int RSI_PERIOD = 14;
     private static final int MACD_FAST = 12;
     private static final int MACD_SLOW = 26;
     private static final int MACD_SIGNAL = 9;
     private static final int BB_PERIOD = 20;
+    private static final double BB_K = 2.0;
     private static final int ATR_PERIOD = 14;
     private static final int STOCHASTIC_PERIOD = 14;
     private static final int VOLUME_SMA_PERIOD = 20;
+    private static final int VWAP_PERIOD = 20;
+    // Leading marker and format version of a saved state
+    private static final int STATE_VERSION = 0x54410001;
 
     private final Config config;
-    private final BarSeries barSeries;
-
-    // Core indicators (always present)
-    private final ClosePriceIndicator closePriceIndicator;
-    private final SMAIndicator sma50Indicator;
-    private final SMAIndicator sma100Indicator;
-    private final SMAIndicator sma200Indicator;
-    private final EMAIndicator ema50Indicator;
-    private final EMAIndicator ema100Indicator;
-    private final EMAIndicator ema200Indicator;
+    private final int maxSize;
+    private long totalBars;
+    private Instant lastEndTime;
+    private double lastClose;
+    private double lastTypicalPrice;
+
+    // Core indicators
+    private final RollingWindow sma50;
+    private final RollingWindow sma100;
+    private final RollingWindow sma200;
+    private final ExponentialAverage ema50;
+    private final ExponentialAverage ema100;
+    private final ExponentialAverage ema200;
 
     // Momentum indicators (optional)
-    private final RSIIndicator rsiIndicator;
-    private final StochasticOscillatorKIndicator stochasticIndicator;
+    private final ExponentialAverage rsiGain;
+    private final ExponentialAverage rsiLoss;
+    private final RollingExtreme stochasticHigh;
+    private final RollingExtreme stochasticLow;
 
     // Trend indicators (optional)
-    private final MACDIndicator macdIndicator;
-    private final SMAIndicator macdSignalIndicator;
-    private final BollingerBandsMiddleIndicator bbMiddleIndicator;
-    private final BollingerBandsUpperIndicator bbUpperIndicator;
-    private final BollingerBandsLowerIndicator bbLowerIndicator;
+    private final ExponentialAverage macdFast;
+    private final ExponentialAverage macdSlow;
+    private final RollingWindow macdSignal;
+    private final RollingWindow closeWindow;
 
     // Volatility indicators (optional)
-    private final ATRIndicator atrIndicator;
-    private final StandardDeviationIndicator stdDevIndicator;
+    private final ExponentialAverage atr;
 
     // Volume indicators (optional)
-    private final VolumeIndicator volumeIndicator;
-    private final VWAPIndicator vwapIndicator;
-    private final SMAIndicator volumeSmaIndicator;
+    private final RollingWindow vwapPriceVolume;
+    private final RollingWindow vwapVolume;
+    private final RollingWindow volumeSma;
 
     // Market fundamentals (tracked but not calculated)
     private double lastMarketCap;
     private long lastCirculatingSupply;
 
+    // Copy of the state the forming bar is evaluated on, see previewOhlcv
+    private TechnicalAnalysisCalculator scratch;
+
     /**
      * Configuration for enabling/disabling specific indicators.
      * Use the builder pattern for easy configuration.
@@ -688,66 +695,40 @@ final class TechnicalAnalysisCalculator {
 
     private TechnicalAnalysisCalculator(final Config config) {
         this.config = config != null ? config : Config.builder().build();
-        final var maxSize = Math.max(this.config.maxPeriod(), DEFAULT_MAX_PERIOD);
-
-        this.barSeries = new BaseBarSeriesBuilder()
-            .withMaxBarCount(maxSize)
-            .withName("MA_Calculator")
-            .withNumFactory(DecimalNumFactory.getInstance())
-            .build();
+        this.maxSize = Math.max(this.config.maxPeriod(), DEFAULT_MAX_PERIOD);
 
-        LOGGER.info("TechnicalAnalysisCalculator initialized with maxPeriod={}", this.config.maxPeriod());
+        LOGGER.debug("TechnicalAnalysisCalculator initialized with maxPeriod={}", this.config.maxPeriod());
 
-        // Core indicators (always initialized)
-        this.closePriceIndicator = new ClosePriceIndicator(barSeries);
-        this.sma50Indicator = this.config.enableSma() ? new SMAIndicator(closePriceIndicator, 50) : null;
-        this.sma100Indicator = this.config.enableSma() ? new SMAIndicator(closePriceIndicator, 100) : null;
-        this.sma200Indicator = this.config.enableSma() ? new SMAIndicator(closePriceIndicator, 200) : null;
-        this.ema50Indicator = this.config.enableEma() ? new EMAIndicator(closePriceIndicator, 50) : null;
-        this.ema100Indicator = this.config.enableEma() ? new EMAIndicator(closePriceIndicator, 100) : null;
-        this.ema200Indicator = this.config.enableEma() ? new EMAIndicator(closePriceIndicator, 200) : null;
+        // Core indicators
+        this.sma50 = this.config.enableSma() ? new RollingWindow(50) : null;
+        this.sma100 = this.config.enableSma() ? new RollingWindow(100) : null;
+        this.sma200 = this.config.enableSma() ? new RollingWindow(200) : null;
+        this.ema50 = this.config.enableEma() ? ExponentialAverage.ema(50) : null;
+        this.ema100 = this.config.enableEma() ? ExponentialAverage.ema(100) : null;
+        this.ema200 = this.config.enableEma() ? ExponentialAverage.ema(200) : null;
 
         // Momentum indicators
-        this.rsiIndicator = this.config.enableRsi() ? new RSIIndicator(closePriceIndicator, RSI_PERIOD) : null;
-        this.stochasticIndicator = this.config.enableStochastic()
-            ? new StochasticOscillatorKIndicator(barSeries, STOCHASTIC_PERIOD)
-            : null;
+        this.rsiGain = this.config.enableRsi() ? ExponentialAverage.wilder(RSI_PERIOD) : null;
+        this.rsiLoss = this.config.enableRsi() ? ExponentialAverage.wilder(RSI_PERIOD) : null;
+        this.stochasticHigh = this.config.enableStochastic() ? RollingExtreme.highest(STOCHASTIC_PERIOD) : null;
+        this.stochasticLow = this.config.enableStochastic() ? RollingExtreme.lowest(STOCHASTIC_PERIOD) : null;
 
         // Trend indicators
-        this.macdIndicator = this.config.enableMacd()
-            ? new MACDIndicator(closePriceIndicator, MACD_FAST, MACD_SLOW)
-            : null;
-        this.macdSignalIndicator = this.config.enableMacd()
-            ? new SMAIndicator(macdIndicator, MACD_SIGNAL)
-            : null;
-        // Bollinger Bands - need stdDev for upper/lower bands
-        final StandardDeviationIndicator bbStdDev = this.config.enableBollinger()
-            ? new StandardDeviationIndicator(closePriceIndicator, BB_PERIOD)
-            : null;
-        this.bbMiddleIndicator = this.config.enableBollinger()
-            ? new BollingerBandsMiddleIndicator(closePriceIndicator)
-            : null;
-        this.bbUpperIndicator = this.config.enableBollinger()
-            ? new BollingerBandsUpperIndicator(bbMiddleIndicator, bbStdDev)
-            : null;
-        this.bbLowerIndicator = this.config.enableBollinger()
-            ? new BollingerBandsLowerIndicator(bbMiddleIndicator, bbStdDev)
+        this.macdFast = this.config.enableMacd() ? ExponentialAverage.ema(MACD_FAST) : null;
+        this.macdSlow = this.config.enableMacd() ? ExponentialAverage.ema(MACD_SLOW) : null;
+        this.macdSignal = this.config.enableMacd() ? new RollingWindow(MACD_SIGNAL) : null;
+        // Bollinger Bands and the standard deviation share the close window
+        this.closeWindow = this.config.enableBollinger() || this.config.enableStdDev()
+            ? new RollingWindow(BB_PERIOD)
             : null;
 
         // Volatility indicators
-        this.atrIndicator = this.config.enableAtr() ? new ATRIndicator(barSeries, ATR_PERIOD) : null;
-        this.stdDevIndicator = this.config.enableStdDev()
-            ? new StandardDeviationIndicator(closePriceIndicator, BB_PERIOD)
-            : null;
+        this.atr = this.config.enableAtr() ? ExponentialAverage.wilder(ATR_PERIOD) : null;
 
         // Volume indicators
-        this.volumeIndicator = (this.config.enableVwap() || this.config.enableVolumeSma())
-            ? new VolumeIndicator(barSeries)
-            : null;
-        this.vwapIndicator = this.config.enableVwap() ? new VWAPIndicator(barSeries, BB_PERIOD) : null;
-        this.volumeSmaIndicator = this.config.enableVolumeSma()
-            ? new SMAIndicator(volumeIndicator, VOLUME_SMA_PERIOD)
-            : null;
+        this.vwapPriceVolume = this.config.enableVwap() ? new RollingWindow(VWAP_PERIOD) : null;
+        this.vwapVolume = this.config.enableVwap() ? new RollingWindow(VWAP_PERIOD) : null;
+        this.volumeSma = this.config.enableVolumeSma() ? new RollingWindow(VOLUME_SMA_PERIOD) : null;
 
         // Initialize market fundamentals
         this.lastMarketCap = 0.0;
@@ -760,13 +741,13 @@ final class TechnicalAnalysisCalculator {
      *
      * @param historicalData List of maps containing historical price data
      */
-    synchronized void initialize(final List<Map<String, Object>> historicalData) {
+    void initialize(final List<Map<String, Object>> historicalData) {
         if (historicalData == null || historicalData.isEmpty()) {
             LOGGER.warn("Initialize called with null or empty historical data");
             return;
         }
 
-        LOGGER.info("Initializing calculator with {} historical data points", historicalData.size());
+        LOGGER.debug("Initializing calculator with {} historical data points", historicalData.size());
 
         final var sorted = historicalData.stream()
             .sorted(Comparator.comparing(m -> {
@@ -798,7 +779,7 @@ final class TechnicalAnalysisCalculator {
             }
         }
 
-        LOGGER.info("Calculator initialized with {} data points from historical data", barSeries.getBarCount());
+        LOGGER.debug("Calculator initialized with {} data points from historical data", getBarCount());
     }
 
     private static <T> T requireType(final Object value, final String fieldName, final Class<T> type) {
@@ -831,13 +812,13 @@ final class TechnicalAnalysisCalculator {
      *
      * @param historicalData List of OHLCV data points
      */
-    synchronized void initializeWithOhlcv(final List<OhlcvPoint> historicalData) {
+    void initializeWithOhlcv(final List<OhlcvPoint> historicalData) {
         if (historicalData == null || historicalData.isEmpty()) {
             LOGGER.warn("InitializeWithOhlcv called with null or empty historical data");
             return;
         }
 
-        LOGGER.info("Initializing calculator with {} OHLCV data points", historicalData.size());
+        LOGGER.debug("Initializing calculator with {} OHLCV data points", historicalData.size());
 
         final var sorted = historicalData.stream()
             .sorted(Comparator.comparing(p -> p.timestamp()))
@@ -848,7 +829,7 @@ final class TechnicalAnalysisCalculator {
                    point.volume(), point.marketCap(), point.circulatingSupply());
         }
 
-        LOGGER.info("Calculator initialized with {} data points from OHLCV data", barSeries.getBarCount());
+        LOGGER.debug("Calculator initialized with {} data points from OHLCV data", getBarCount());
     }
 
     /**
@@ -859,7 +840,7 @@ final class TechnicalAnalysisCalculator {
      * @param close The closing price
      * @return Moving averages calculated from the data
      */
-    synchronized MovingAverages addPrice(final OffsetDateTime timestamp, final double close) {
+    MovingAverages addPrice(final OffsetDateTime timestamp, final double close) {
         addBar(timestamp, close, close, close, close, 0.0, 0.0, 0L);
         return computeMovingAverages();
     }
@@ -870,35 +851,264 @@ final class TechnicalAnalysisCalculator {
      * @param point The OHLCV data point to add
      * @return Complete analysis result with all indicators
      */
-    synchronized AnalysisResult addOhlcv(final OhlcvPoint point) {
+    AnalysisResult addOhlcv(final OhlcvPoint point) {
         addBar(point.timestamp(), point.open(), point.high(), point.low(), point.close(),
                point.volume(), point.marketCap(), point.circulatingSupply());
         return computeAnalysisResult();
     }
 
+    /**
+     * Evaluates the indicators as if the given forming bar closed now, leaving the calculator as it was. The state is
+     * copied into a scratch calculator kept for the next preview, so a preview costs a copy of the indicator windows
+     * rather than a replay of the bars; previews of successive updates of the same bar can follow each other freely.
+     *
+     * @param point The forming bar
+     * @return Complete analysis result with all indicators, as {@link #addOhlcv} would return it for the bar
+     * @throws IllegalArgumentException if the bar is not after the last bar added
+     */
+    AnalysisResult previewOhlcv(final OhlcvPoint point) {
+        if (scratch == null) {
+            scratch = new TechnicalAnalysisCalculator(config);
+        }
+
+        scratch.copyFrom(this);
+        return scratch.addOhlcv(point);
+    }
+
     /**
      * Gets the current number of data points in the calculator.
      *
      * @return The number of data points
      */
-    synchronized int getDataCount() {
-        return barSeries.getBarCount();
+    int getDataCount() {
+        return getBarCount();
+    }
+
+    /**
+     * Gets the end time of the last bar added.
+     *
+     * @return The end time, or null when no bar was added
+     */
+    Instant getLastEndTime() {
+        return lastEndTime;
+    }
+
+    /**
+     * Saves the complete state of the calculator: the indicator windows and accumulators, the last bar and the
+     * configuration it was built with. A few kilobytes at most, whatever the number of bars seen.
+     *
+     * @return The serialized state
+     */
+    byte[] saveState() {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new DataOutputStream(bytes)) {
+            out.writeInt(STATE_VERSION);
+            out.writeInt(getConfigFlags(config));
+            out.writeInt(maxSize);
+            out.writeLong(totalBars);
+            out.writeBoolean(lastEndTime != null);
+            if (lastEndTime != null) {
+                out.writeLong(lastEndTime.getEpochSecond());
+                out.writeInt(lastEndTime.getNano());
+            }
+
+            out.writeDouble(lastClose);
+            out.writeDouble(lastTypicalPrice);
+            out.writeDouble(lastMarketCap);
+            out.writeLong(lastCirculatingSupply);
+            for (final var window : getWindows()) {
+                if (window != null) {
+                    window.writeTo(out);
+                }
+            }
+
+            for (final var average : getAverages()) {
+                if (average != null) {
+                    average.writeTo(out);
+                }
+            }
+
+            if (stochasticHigh != null) {
+                stochasticHigh.writeTo(out);
+                stochasticLow.writeTo(out);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores a calculator from a state saved by {@link #saveState()} without replaying any bar.
+     *
+     * @param config The configuration the state was saved with
+     * @param state The serialized state
+     * @return A calculator that continues exactly where the saved one stopped
+     * @throws IllegalArgumentException if the state is malformed or was saved with another configuration
+     */
+    static TechnicalAnalysisCalculator restoreState(final Config config, final byte[] state) {
+        final var calculator = new TechnicalAnalysisCalculator(config);
+        try (final var in = new DataInputStream(new ByteArrayInputStream(state))) {
+            if (in.readInt() != STATE_VERSION) {
+                throw new IllegalArgumentException("Unsupported calculator state version");
+            }
+
+            if (in.readInt() != getConfigFlags(calculator.config) || in.readInt() != calculator.maxSize) {
+                throw new IllegalArgumentException("Calculator state was saved with another configuration");
+            }
+
+            calculator.totalBars = in.readLong();
+            calculator.lastEndTime = in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+            calculator.lastClose = in.readDouble();
+            calculator.lastTypicalPrice = in.readDouble();
+            calculator.lastMarketCap = in.readDouble();
+            calculator.lastCirculatingSupply = in.readLong();
+            for (final var window : calculator.getWindows()) {
+                if (window != null) {
+                    window.readFrom(in);
+                }
+            }
+
+            for (final var average : calculator.getAverages()) {
+                if (average != null) {
+                    average.readFrom(in);
+                }
+            }
+
+            if (calculator.stochasticHigh != null) {
+                calculator.stochasticHigh.readFrom(in);
+                calculator.stochasticLow.readFrom(in);
+            }
+
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Calculator state has trailing bytes");
+            }
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Malformed calculator state: " + e.getMessage(), e);
+        }
+
+        return calculator;
+    }
+
+    private void copyFrom(final TechnicalAnalysisCalculator other) {
+        totalBars = other.totalBars;
+        lastEndTime = other.lastEndTime;
+        lastClose = other.lastClose;
+        lastTypicalPrice = other.lastTypicalPrice;
+        lastMarketCap = other.lastMarketCap;
+        lastCirculatingSupply = other.lastCirculatingSupply;
+        final var windows = getWindows();
+        final var otherWindows = other.getWindows();
+        for (var i = 0; i < windows.length; i++) {
+            if (windows[i] != null) {
+                windows[i].copyFrom(otherWindows[i]);
+            }
+        }
+
+        final var averages = getAverages();
+        final var otherAverages = other.getAverages();
+        for (var i = 0; i < averages.length; i++) {
+            if (averages[i] != null) {
+                averages[i].copyFrom(otherAverages[i]);
+            }
+        }
+
+        if (stochasticHigh != null) {
+            stochasticHigh.copyFrom(other.stochasticHigh);
+            stochasticLow.copyFrom(other.stochasticLow);
+        }
+    }
+
+    // The state blocks in their serialized order; disabled indicators are null
+    private RollingWindow[] getWindows() {
+        return new RollingWindow[]{sma50, sma100, sma200, macdSignal, closeWindow, vwapPriceVolume, vwapVolume,
+                volumeSma};
+    }
+
+    private ExponentialAverage[] getAverages() {
+        return new ExponentialAverage[]{ema50, ema100, ema200, rsiGain, rsiLoss, macdFast, macdSlow, atr};
+    }
+
+    private static int getConfigFlags(final Config config) {
+        final var flags = new boolean[]{config.enableSma(), config.enableEma(), config.enableRsi(),
+                config.enableStochastic(), config.enableMacd(), config.enableBollinger(), config.enableAtr(),
+                config.enableStdDev(), config.enableVwap(), config.enableVolumeSma(),
+                config.includeMarketFundamentals()};
+        var bits = 0;
+        for (var i = 0; i < flags.length; i++) {
+            if (flags[i]) {
+                bits |= 1 << i;
+            }
+        }
+
+        return bits;
+    }
+
+    private int getBarCount() {
+        return (int) Math.min(totalBars, maxSize);
     }
 
     private void addBar(final OffsetDateTime timestamp, final double open, final double high,
                         final double low, final double close, final double volume,
                         final double marketCap, final long circulatingSupply) {
-        final var instant = timestamp.toInstant();
-        final var bar = barSeries.barBuilder()
-            .timePeriod(DEFAULT_DURATION)
-            .endTime(instant)
-            .openPrice(open)
-            .highPrice(high)
-            .lowPrice(low)
-            .closePrice(close)
-            .volume(volume)
-            .build();
-        barSeries.addBar(bar);
+        final var endTime = timestamp.toInstant();
+        if (lastEndTime != null && !endTime.isAfter(lastEndTime)) {
+            throw new IllegalArgumentException(String.format(
+                "Cannot add a bar with end time %s that is not after the series end time %s", endTime, lastEndTime));
+        }
+
+        final var first = totalBars == 0;
+        if (sma50 != null) {
+            sma50.add(close);
+            sma100.add(close);
+            sma200.add(close);
+        }
+
+        if (ema50 != null) {
+            ema50.add(close);
+            ema100.add(close);
+            ema200.add(close);
+        }
+
+        if (rsiGain != null) {
+            final var change = first ? 0.0 : close - lastClose;
+            rsiGain.add(Math.max(change, 0.0));
+            rsiLoss.add(Math.max(-change, 0.0));
+        }
+
+        if (stochasticHigh != null) {
+            stochasticHigh.add(high);
+            stochasticLow.add(low);
+        }
+
+        if (macdFast != null) {
+            macdSignal.add(macdFast.add(close) - macdSlow.add(close));
+        }
+
+        if (closeWindow != null) {
+            closeWindow.add(close);
+        }
+
+        if (atr != null) {
+            final var range = high - low;
+            atr.add(first ? range : Math.max(range, Math.max(Math.abs(high - lastClose), Math.abs(lastClose - low))));
+        }
+
+        final var typicalPrice = (high + low + close) / 3.0;
+        if (vwapPriceVolume != null) {
+            vwapPriceVolume.add(typicalPrice * volume);
+            vwapVolume.add(volume);
+        }
+
+        if (volumeSma != null) {
+            volumeSma.add(volume);
+        }
+
+        totalBars++;
+        lastEndTime = endTime;
+        lastClose = close;
+        lastTypicalPrice = typicalPrice;
 
         // Track market fundamentals
         this.lastMarketCap = marketCap;
@@ -906,66 +1116,89 @@ final class TechnicalAnalysisCalculator {
     }
 
     private MovingAverages computeMovingAverages() {
-        final var lastIndex = barSeries.getEndIndex();
-
-        final var sma50 = getIndicatorValue(sma50Indicator, lastIndex, 50);
-        final var sma100 = getIndicatorValue(sma100Indicator, lastIndex, 100);
-        final var sma200 = getIndicatorValue(sma200Indicator, lastIndex, 200);
-        final var ema50 = getIndicatorValue(ema50Indicator, lastIndex, 50);
-        final var ema100 = getIndicatorValue(ema100Indicator, lastIndex, 100);
-        final var ema200 = getIndicatorValue(ema200Indicator, lastIndex, 200);
-
-        return new MovingAverages(sma50, sma100, sma200, ema50, ema100, ema200);
+        return new MovingAverages(mean(sma50), mean(sma100), mean(sma200),
+            value(ema50, 50), value(ema100, 100), value(ema200, 200));
     }
 
     private AnalysisResult computeAnalysisResult() {
-        final var lastIndex = barSeries.getEndIndex();
+        final var barCount = getBarCount();
 
         // Moving averages
-        final var sma50 = getIndicatorValue(sma50Indicator, lastIndex, 50);
-        final var sma100 = getIndicatorValue(sma100Indicator, lastIndex, 100);
-        final var sma200 = getIndicatorValue(sma200Indicator, lastIndex, 200);
-        final var ema50 = getIndicatorValue(ema50Indicator, lastIndex, 50);
-        final var ema100 = getIndicatorValue(ema100Indicator, lastIndex, 100);
-        final var ema200 = getIndicatorValue(ema200Indicator, lastIndex, 200);
+        final var sma50Value = mean(sma50);
+        final var sma100Value = mean(sma100);
+        final var sma200Value = mean(sma200);
+        final var ema50Value = value(ema50, 50);
+        final var ema100Value = value(ema100, 100);
+        final var ema200Value = value(ema200, 200);
 
         // Momentum
-        final var rsi14 = getIndicatorValue(rsiIndicator, lastIndex, RSI_PERIOD);
-        final var stochastic14 = getIndicatorValue(stochasticIndicator, lastIndex, STOCHASTIC_PERIOD);
+        Double rsi14 = null;
+        if (rsiGain != null && barCount >= RSI_PERIOD) {
+            final var averageGain = rsiGain.value();
+            final var averageLoss = rsiLoss.value();
+            if (averageLoss == 0.0) {
+                rsi14 = averageGain == 0.0 ? 0.0 : 100.0;
+            } else {
+                rsi14 = 100.0 - 100.0 / (1.0 + averageGain / averageLoss);
+            }
+        }
 
-        // MACD
+        Double stochastic14 = null;
+        if (stochasticHigh != null && barCount >= STOCHASTIC_PERIOD) {
+            final var highest = stochasticHigh.value();
+            final var lowest = stochasticLow.value();
+            stochastic14 = highest == lowest ? Double.NaN : (lastClose - lowest) / (highest - lowest) * 100.0;
+        }
+
+        // MACD: the line needs the slow EMA period, the signal (SMA of the line) only its own
         Double macdLine = null;
-        Double macdSignal = null;
+        Double macdSignalValue = null;
         Double macdHistogram = null;
-        if (macdIndicator != null && macdSignalIndicator != null) {
-            macdLine = getIndicatorValue(macdIndicator, lastIndex, MACD_SLOW);
-            macdSignal = getIndicatorValue(macdSignalIndicator, lastIndex, MACD_SIGNAL);
-            if (macdLine != null && macdSignal != null) {
-                macdHistogram = macdLine - macdSignal;
+        if (macdFast != null) {
+            macdLine = barCount >= MACD_SLOW ? macdFast.value() - macdSlow.value() : null;
+            macdSignalValue = barCount >= MACD_SIGNAL ? macdSignal.mean() : null;
+            if (macdLine != null && macdSignalValue != null) {
+                macdHistogram = macdLine - macdSignalValue;
             }
         }
 
         // Bollinger Bands
-        final var bbMiddle = getIndicatorValue(bbMiddleIndicator, lastIndex, BB_PERIOD);
-        final var bbUpper = getIndicatorValue(bbUpperIndicator, lastIndex, BB_PERIOD);
-        final var bbLower = getIndicatorValue(bbLowerIndicator, lastIndex, BB_PERIOD);
+        Double bbMiddle = null;
+        Double bbUpper = null;
+        Double bbLower = null;
+        if (config.enableBollinger() && barCount >= BB_PERIOD) {
+            final var width = BB_K * closeWindow.stdDev();
+            bbMiddle = lastClose;
+            bbUpper = lastClose + width;
+            bbLower = lastClose - width;
+        }
 
         // Volatility
-        final var atr14 = getIndicatorValue(atrIndicator, lastIndex, ATR_PERIOD);
-        final var stdDev20 = getIndicatorValue(stdDevIndicator, lastIndex, BB_PERIOD);
+        final var atr14 = atr != null && barCount >= ATR_PERIOD ? atr.value() : null;
+        final var stdDev20 = config.enableStdDev() && barCount >= BB_PERIOD ? closeWindow.stdDev() : null;
 
         // Volume
-        final var vwap = getIndicatorValue(vwapIndicator, lastIndex, 1);
-        final var volumeSma20 = getIndicatorValue(volumeSmaIndicator, lastIndex, VOLUME_SMA_PERIOD);
+        Double vwap = null;
+        if (vwapPriceVolume != null) {
+            // The first bar has no window to weight, so its typical price is used as is
+            final var volume = vwapVolume.mean();
+            if (totalBars == 1) {
+                vwap = lastTypicalPrice;
+            } else {
+                vwap = volume == 0.0 ? Double.NaN : vwapPriceVolume.mean() / volume;
+            }
+        }
+
+        final var volumeSma20 = volumeSma != null && barCount >= VOLUME_SMA_PERIOD ? volumeSma.mean() : null;
 
         // Market fundamentals (use last known values)
         final var marketCap = config.includeMarketFundamentals() ? lastMarketCap : null;
         final var circulatingSupply = config.includeMarketFundamentals() ? lastCirculatingSupply : null;
 
         return new AnalysisResult(
-            sma50, sma100, sma200, ema50, ema100, ema200,
+            sma50Value, sma100Value, sma200Value, ema50Value, ema100Value, ema200Value,
             rsi14, stochastic14,
-            macdLine, macdSignal, macdHistogram,
+            macdLine, macdSignalValue, macdHistogram,
             bbMiddle, bbUpper, bbLower,
             atr14, stdDev20,
             vwap, volumeSma20,
@@ -973,15 +1206,11 @@ final class TechnicalAnalysisCalculator {
         );
     }
 
-    private Double getIndicatorValue(final Indicator<Num> indicator, final int index, final int period) {
-        if (indicator == null || barSeries.getBarCount() < period) {
-            return null;
-        }
-        try {
-            return indicator.getValue(index).doubleValue();
-        } catch (final Exception e) {
-            LOGGER.warn("Failed to get indicator value at index {} for period {}: {}", index, period, e.getMessage());
-            return null;
-        }
+    private static Double mean(final RollingWindow window) {
+        return window != null && window.isFull() ? window.mean() : null;
+    }
+
+    private Double value(final ExponentialAverage average, final int period) {
+        return average != null && getBarCount() >= period ? average.value() : null;
     }
 }
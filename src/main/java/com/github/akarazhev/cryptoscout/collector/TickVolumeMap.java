@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from a price tick index to buy and sell volume, backed by primitive arrays.
+ * <p>
+ * Not thread-safe; owned by a single aggregator. {@link #clear()} keeps the allocated capacity so the map can be
+ * reused bar after bar without garbage.
+ */
+final class TickVolumeMap {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private double[] buyVolumes;
+    private double[] sellVolumes;
+    private int size;
+    private int mask;
+
+    TickVolumeMap() {
+        this(MIN_CAPACITY);
+    }
+
+    TickVolumeMap(final int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    void add(final long tick, final double volume, final boolean buy) {
+        if (tick == EMPTY) {
+            throw new IllegalArgumentException("Tick index out of range: " + tick);
+        }
+
+        var index = indexOf(tick);
+        if (keys[index] == EMPTY) {
+            if (size + 1 > keys.length * LOAD_FACTOR) {
+                rehash(keys.length << 1);
+                index = indexOf(tick);
+            }
+
+            keys[index] = tick;
+            size++;
+        }
+
+        if (buy) {
+            buyVolumes[index] += volume;
+        } else {
+            sellVolumes[index] += volume;
+        }
+    }
+
+    double getBuyVolume(final long tick) {
+        final var index = indexOf(tick);
+        return keys[index] == EMPTY ? 0d : buyVolumes[index];
+    }
+
+    double getSellVolume(final long tick) {
+        final var index = indexOf(tick);
+        return keys[index] == EMPTY ? 0d : sellVolumes[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(buyVolumes, 0d);
+            Arrays.fill(sellVolumes, 0d);
+            size = 0;
+        }
+    }
+
+    /**
+     * Returns the occupied tick indexes in ascending order.
+     */
+    long[] sortedTicks() {
+        final var ticks = new long[size];
+        var count = 0;
+        for (final var key : keys) {
+            if (key != EMPTY) {
+                ticks[count++] = key;
+            }
+        }
+
+        Arrays.sort(ticks);
+        return ticks;
+    }
+
+    private int indexOf(final long tick) {
+        var index = mix(tick) & mask;
+        while (keys[index] != EMPTY && keys[index] != tick) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private void rehash(final int capacity) {
+        final var oldKeys = keys;
+        final var oldBuyVolumes = buyVolumes;
+        final var oldSellVolumes = sellVolumes;
+        allocate(capacity);
+        for (var i = 0; i < oldKeys.length; i++) {
+            final var key = oldKeys[i];
+            if (key != EMPTY) {
+                final var index = indexOf(key);
+                keys[index] = key;
+                buyVolumes[index] = oldBuyVolumes[i];
+                sellVolumes[index] = oldSellVolumes[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        buyVolumes = new double[capacity];
+        sellVolumes = new double[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final var capacity = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    private static int mix(final long key) {
+        final var hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
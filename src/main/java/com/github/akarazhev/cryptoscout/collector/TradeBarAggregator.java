@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.CLOSE_GRACE_MS;
+import static com.github.akarazhev.cryptoscout.collector.PayloadParser.forEachTrade;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_BUY_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SELL_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TRADE_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TURNOVER;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VWAP;
+
+/**
+ * Builds fixed-interval OHLCV bars from public trades of a single market.
+ * <p>
+ * Every symbol keeps one primitive accumulator per interval. A bar is closed when a trade of the same symbol falls
+ * into a later bucket, or when the market clock (the latest trade time seen) has passed the bar end by
+ * {@code CLOSE_GRACE_MS}, so quiet symbols do not hold their last bar back. Trades older than the open bar are
+ * counted as late and dropped. Closed bars are kept until the caller drains them or removes them once saved.
+ */
+final class TradeBarAggregator {
+    private final long[] intervalsMs;
+    private final List<List<Map<String, Object>>> closedBars;
+    private final Map<String, Accumulator[]> accumulators = new HashMap<>();
+    private long clockMs = Long.MIN_VALUE;
+    private long lateTrades;
+
+    static TradeBarAggregator create(final long... intervalsMs) {
+        return new TradeBarAggregator(intervalsMs);
+    }
+
+    private TradeBarAggregator(final long... intervalsMs) {
+        if (intervalsMs == null || intervalsMs.length == 0) {
+            throw new IllegalArgumentException("At least one interval is required");
+        }
+
+        for (final var intervalMs : intervalsMs) {
+            if (intervalMs <= 0) {
+                throw new IllegalArgumentException("Interval must be positive: " + intervalMs);
+            }
+        }
+
+        this.intervalsMs = intervalsMs.clone();
+        this.closedBars = new ArrayList<>(intervalsMs.length);
+        for (var i = 0; i < intervalsMs.length; i++) {
+            closedBars.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Feeds public trade snapshots (as received from the Bybit stream) into the accumulators.
+     */
+    synchronized void addTrades(final List<Map<String, Object>> publicTrades) {
+        forEachTrade(publicTrades, this::addTrade);
+        closeIdle();
+    }
+
+    synchronized void addTrade(final String symbol, final long timeMs, final double price, final double size,
+                               final boolean buy) {
+        var symbolAccumulators = accumulators.get(symbol);
+        if (symbolAccumulators == null) {
+            symbolAccumulators = new Accumulator[intervalsMs.length];
+            for (var i = 0; i < intervalsMs.length; i++) {
+                symbolAccumulators[i] = new Accumulator();
+            }
+
+            accumulators.put(symbol, symbolAccumulators);
+        }
+
+        var late = false;
+        for (var i = 0; i < intervalsMs.length; i++) {
+            final var intervalMs = intervalsMs[i];
+            final var accumulator = symbolAccumulators[i];
+            final var startMs = Math.floorDiv(timeMs, intervalMs) * intervalMs;
+            if (accumulator.isOpen()) {
+                if (startMs < accumulator.startMs) {
+                    late = true;
+                    continue;
+                }
+
+                if (startMs > accumulator.startMs) {
+                    closedBars.get(i).add(accumulator.close(symbol, intervalMs));
+                }
+            }
+
+            accumulator.add(startMs, price, size, buy);
+        }
+
+        if (late) {
+            lateTrades++;
+        }
+
+        if (timeMs > clockMs) {
+            clockMs = timeMs;
+        }
+    }
+
+    /**
+     * Returns and forgets the bars closed so far for the given interval.
+     */
+    synchronized List<Map<String, Object>> drainClosedBars(final long intervalMs) {
+        final var index = indexOf(intervalMs);
+        final var bars = closedBars.get(index);
+        if (bars.isEmpty()) {
+            return List.of();
+        }
+
+        closedBars.set(index, new ArrayList<>());
+        return bars;
+    }
+
+    /**
+     * Returns the bars closed so far for the given interval without forgetting them, so that bars whose save fails
+     * are saved with the next batch; {@link #removeClosedBars} forgets them once saved.
+     */
+    synchronized List<Map<String, Object>> getClosedBars(final long intervalMs) {
+        return List.copyOf(closedBars.get(indexOf(intervalMs)));
+    }
+
+    /**
+     * Forgets the first {@code count} bars closed for the given interval, as returned by {@link #getClosedBars}.
+     */
+    synchronized void removeClosedBars(final long intervalMs, final int count) {
+        closedBars.get(indexOf(intervalMs)).subList(0, count).clear();
+    }
+
+    synchronized long getLateTrades() {
+        return lateTrades;
+    }
+
+    synchronized int getSymbolsCount() {
+        return accumulators.size();
+    }
+
+    private void closeIdle() {
+        if (clockMs == Long.MIN_VALUE) {
+            return;
+        }
+
+        for (final var entry : accumulators.entrySet()) {
+            final var symbolAccumulators = entry.getValue();
+            for (var i = 0; i < intervalsMs.length; i++) {
+                final var accumulator = symbolAccumulators[i];
+                if (accumulator.isOpen() && accumulator.startMs + intervalsMs[i] + CLOSE_GRACE_MS <= clockMs) {
+                    closedBars.get(i).add(accumulator.close(entry.getKey(), intervalsMs[i]));
+                }
+            }
+        }
+    }
+
+    private int indexOf(final long intervalMs) {
+        for (var i = 0; i < intervalsMs.length; i++) {
+            if (intervalsMs[i] == intervalMs) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown interval: " + intervalMs);
+    }
+
+    private static OffsetDateTime toUtc(final long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static final class Accumulator {
+        private long startMs = Long.MIN_VALUE;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+        private double volume;
+        private double turnover;
+        private double buyVolume;
+        private double sellVolume;
+        private long tradeCount;
+
+        private boolean isOpen() {
+            return startMs != Long.MIN_VALUE;
+        }
+
+        private void add(final long barStartMs, final double price, final double size, final boolean buy) {
+            if (!isOpen()) {
+                startMs = barStartMs;
+                open = price;
+                high = price;
+                low = price;
+            } else {
+                if (price > high) {
+                    high = price;
+                }
+
+                if (price < low) {
+                    low = price;
+                }
+            }
+
+            close = price;
+            volume += size;
+            turnover += price * size;
+            if (buy) {
+                buyVolume += size;
+            } else {
+                sellVolume += size;
+            }
+
+            tradeCount++;
+        }
+
+        private Map<String, Object> close(final String symbol, final long intervalMs) {
+            final var bar = new HashMap<String, Object>();
+            bar.put(BAR_SYMBOL, symbol);
+            bar.put(BAR_START_TIME, toUtc(startMs));
+            bar.put(BAR_END_TIME, toUtc(startMs + intervalMs - 1));
+            bar.put(BAR_OPEN_PRICE, open);
+            bar.put(BAR_CLOSE_PRICE, close);
+            bar.put(BAR_HIGH_PRICE, high);
+            bar.put(BAR_LOW_PRICE, low);
+            bar.put(BAR_VOLUME, volume);
+            bar.put(BAR_TURNOVER, turnover);
+            bar.put(BAR_VWAP, volume > 0 ? turnover / volume : close);
+            bar.put(BAR_TRADE_COUNT, tradeCount);
+            bar.put(BAR_BUY_VOLUME, buyVolume);
+            bar.put(BAR_SELL_VOLUME, sellVolume);
+
+            startMs = Long.MIN_VALUE;
+            volume = 0;
+            turnover = 0;
+            buyVolume = 0;
+            sellVolume = 0;
+            tradeCount = 0;
+            return bar;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels on {@code jdk.incubator.vector}, at the preferred lane count of the platform. Loaded only when the
+ * module is resolved; tails shorter than a vector fall back to scalar code.
+ */
+final class VectorKernels implements BatchIndicators.Kernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void addScaled(final double[] a, final int aFrom, final double[] b, final int bFrom, final double scale,
+                          final double[] out, final int outFrom, final int length) {
+        final var bound = SPECIES.loopBound(length);
+        var i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, aFrom + i)
+                .add(DoubleVector.fromArray(SPECIES, b, bFrom + i))
+                .mul(scale)
+                .intoArray(out, outFrom + i);
+        }
+
+        for (; i < length; i++) {
+            out[outFrom + i] = (a[aFrom + i] + b[bFrom + i]) * scale;
+        }
+    }
+
+    @Override
+    public void bands(final double[] center, final double[] width, final double k, final double[] upper,
+                      final double[] lower, final int from, final int to) {
+        final var bound = from + SPECIES.loopBound(to - from);
+        var i = from;
+        for (; i < bound; i += SPECIES.length()) {
+            final var centers = DoubleVector.fromArray(SPECIES, center, i);
+            final var offsets = DoubleVector.fromArray(SPECIES, width, i).mul(k);
+            centers.add(offsets).intoArray(upper, i);
+            centers.sub(offsets).intoArray(lower, i);
+        }
+
+        for (; i < to; i++) {
+            final var offset = k * width[i];
+            upper[i] = center[i] + offset;
+            lower[i] = center[i] - offset;
+        }
+    }
+
+    @Override
+    public void trueRange(final double[] high, final double[] low, final double[] close, final double[] out) {
+        final var length = out.length - 1;
+        final var bound = SPECIES.loopBound(length);
+        var i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final var highs = DoubleVector.fromArray(SPECIES, high, i + 1);
+            final var lows = DoubleVector.fromArray(SPECIES, low, i + 1);
+            final var previous = DoubleVector.fromArray(SPECIES, close, i);
+            highs.sub(lows)
+                .max(highs.sub(previous).abs())
+                .max(previous.sub(lows).abs())
+                .intoArray(out, i + 1);
+        }
+
+        for (var j = i + 1; j < out.length; j++) {
+            final var previous = close[j - 1];
+            final var range = high[j] - low[j];
+            out[j] = Math.max(range, Math.max(Math.abs(high[j] - previous), Math.abs(previous - low[j])));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.CLOSE_GRACE_MS;
+import static com.github.akarazhev.cryptoscout.collector.PayloadParser.forEachTrade;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_BUY_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_DELTA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_POC_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_PRICE_TICKS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SELL_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_TICK_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_VOLUME;
+
+/**
+ * Builds per-bar volume-at-price footprints from public trades of a single market.
+ * <p>
+ * Trade size is bucketed by price tick index ({@code floor(price / tickSize)}) and taker side into a primitive
+ * {@link TickVolumeMap} per symbol. Bars close the same way as in {@link TradeBarAggregator}. A closed bar is emitted
+ * as sorted parallel arrays of tick indexes and buy/sell volumes, plus the total volume, delta and point of control.
+ */
+final class VolumeProfileAggregator {
+    // Absorbs binary rounding so that a price sitting exactly on a tick is not floored into the tick below
+    private static final double TICK_EPSILON = 1e-9;
+    private final long intervalMs;
+    private final double defaultTickSize;
+    private final Map<String, Double> tickSizes;
+    private final Map<String, Profile> profiles = new HashMap<>();
+    private List<Map<String, Object>> closedProfiles = new ArrayList<>();
+    private long clockMs = Long.MIN_VALUE;
+    private long lateTrades;
+
+    static VolumeProfileAggregator create(final long intervalMs, final double defaultTickSize,
+                                          final Map<String, Double> tickSizes) {
+        return new VolumeProfileAggregator(intervalMs, defaultTickSize, tickSizes);
+    }
+
+    private VolumeProfileAggregator(final long intervalMs, final double defaultTickSize,
+                                    final Map<String, Double> tickSizes) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + intervalMs);
+        }
+
+        if (!(defaultTickSize > 0)) {
+            throw new IllegalArgumentException("Tick size must be positive: " + defaultTickSize);
+        }
+
+        this.intervalMs = intervalMs;
+        this.defaultTickSize = defaultTickSize;
+        this.tickSizes = Map.copyOf(tickSizes);
+    }
+
+    synchronized void addTrades(final List<Map<String, Object>> publicTrades) {
+        forEachTrade(publicTrades, this::addTrade);
+        closeIdle();
+    }
+
+    synchronized void addTrade(final String symbol, final long timeMs, final double price, final double size,
+                               final boolean buy) {
+        var profile = profiles.get(symbol);
+        if (profile == null) {
+            profile = new Profile(tickSizes.getOrDefault(symbol, defaultTickSize));
+            profiles.put(symbol, profile);
+        }
+
+        final var startMs = Math.floorDiv(timeMs, intervalMs) * intervalMs;
+        if (profile.isOpen()) {
+            if (startMs < profile.startMs) {
+                lateTrades++;
+                return;
+            }
+
+            if (startMs > profile.startMs) {
+                closedProfiles.add(profile.close(symbol, intervalMs));
+            }
+        }
+
+        if (!profile.isOpen()) {
+            profile.startMs = startMs;
+        }
+
+        profile.levels.add((long) Math.floor(price / profile.tickSize + TICK_EPSILON), size, buy);
+        if (timeMs > clockMs) {
+            clockMs = timeMs;
+        }
+    }
+
+    synchronized List<Map<String, Object>> drainClosedProfiles() {
+        if (closedProfiles.isEmpty()) {
+            return List.of();
+        }
+
+        final var drained = closedProfiles;
+        closedProfiles = new ArrayList<>();
+        return drained;
+    }
+
+    /**
+     * Returns the profiles closed so far without forgetting them, so that profiles whose save fails are saved with
+     * the next batch; {@link #removeClosedProfiles} forgets them once saved.
+     */
+    synchronized List<Map<String, Object>> getClosedProfiles() {
+        return List.copyOf(closedProfiles);
+    }
+
+    /**
+     * Forgets the first {@code count} closed profiles, as returned by {@link #getClosedProfiles}.
+     */
+    synchronized void removeClosedProfiles(final int count) {
+        closedProfiles.subList(0, count).clear();
+    }
+
+    synchronized long getLateTrades() {
+        return lateTrades;
+    }
+
+    private void closeIdle() {
+        if (clockMs == Long.MIN_VALUE) {
+            return;
+        }
+
+        for (final var entry : profiles.entrySet()) {
+            final var profile = entry.getValue();
+            if (profile.isOpen() && profile.startMs + intervalMs + CLOSE_GRACE_MS <= clockMs) {
+                closedProfiles.add(profile.close(entry.getKey(), intervalMs));
+            }
+        }
+    }
+
+    private static OffsetDateTime toUtc(final long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static final class Profile {
+        private final double tickSize;
+        private final TickVolumeMap levels = new TickVolumeMap();
+        private long startMs = Long.MIN_VALUE;
+
+        private Profile(final double tickSize) {
+            this.tickSize = tickSize;
+        }
+
+        private boolean isOpen() {
+            return startMs != Long.MIN_VALUE;
+        }
+
+        private Map<String, Object> close(final String symbol, final long intervalMs) {
+            final var ticks = levels.sortedTicks();
+            final var buyVolumes = new double[ticks.length];
+            final var sellVolumes = new double[ticks.length];
+            var volume = 0d;
+            var delta = 0d;
+            var pocTick = ticks.length > 0 ? ticks[0] : 0L;
+            var pocVolume = -1d;
+            for (var i = 0; i < ticks.length; i++) {
+                buyVolumes[i] = levels.getBuyVolume(ticks[i]);
+                sellVolumes[i] = levels.getSellVolume(ticks[i]);
+                final var levelVolume = buyVolumes[i] + sellVolumes[i];
+                volume += levelVolume;
+                delta += buyVolumes[i] - sellVolumes[i];
+                if (levelVolume > pocVolume) {
+                    pocVolume = levelVolume;
+                    pocTick = ticks[i];
+                }
+            }
+
+            final var profile = new HashMap<String, Object>();
+            profile.put(PROFILE_SYMBOL, symbol);
+            profile.put(PROFILE_START_TIME, toUtc(startMs));
+            profile.put(PROFILE_END_TIME, toUtc(startMs + intervalMs - 1));
+            profile.put(PROFILE_TICK_SIZE, tickSize);
+            profile.put(PROFILE_PRICE_TICKS, ticks);
+            profile.put(PROFILE_BUY_VOLUMES, buyVolumes);
+            profile.put(PROFILE_SELL_VOLUMES, sellVolumes);
+            profile.put(PROFILE_VOLUME, volume);
+            profile.put(PROFILE_DELTA, delta);
+            profile.put(PROFILE_POC_PRICE, pocTick * tickSize);
+
+            startMs = Long.MIN_VALUE;
+            levels.clear();
+            return profile;
+        }
+    }
+}
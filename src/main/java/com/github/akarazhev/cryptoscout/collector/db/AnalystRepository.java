@@ -32,14 +32,69 @@ import io.activej.reactor.AbstractReactive;
 import io.activej.reactor.nio.NioReactor;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.KLINE_1W_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.BYBIT_INDICATORS_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LAST_INDICATOR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LAST_INDICATOR_TIME_SELECT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_15M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_1D_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_1M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_240M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_5M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.LINEAR_KLINE_60M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_15M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_1D_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_1M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_240M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_5M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.BybitIndicators.SPOT_KLINE_60M_INDICATORS_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.SELECTED_DATA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.SELECTED_LAST_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.SELECTED_STREAM_OFFSET;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_DATA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_LAST_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_MARKET;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_SELECT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_STREAM_OFFSET;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CalculatorStates.STATE_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.TIME_CLOSE;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.TIME_HIGH;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.TIME_LOW;
@@ -52,6 +107,7 @@ import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1w
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.BB_WIDTH;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.CIRCULATING_SUPPLY;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.CMC_KLINE_1W_INDICATORS_TABLE;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.EMA_100;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.EMA_200;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.EMA_50;
@@ -97,6 +153,36 @@ import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1w
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.VOLUME_SMA_20;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.CmcKline1wIndicators.VWAP;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Offsets.STREAM_OFFSETS_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.BYBIT_KLINE_STREAM_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.BYBIT_KLINE_STREAM_BY_SYMBOL_RANGE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.CHECKPOINTS_DELETE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.CHECKPOINT_LAST_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.CHECKPOINT_SELECT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.CHECKPOINT_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.CHECKPOINT_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.CHECKPOINT_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.CMC_KLINE_1W_STREAM_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.KLINE_SYMBOLS_SELECT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_CIRCULATING_SUPPLY;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_CLOSE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_FROM;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_HIGH;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_LOW;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_MARKET_CAP;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_OPEN;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_TO;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Recompute.STREAM_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TURNOVER;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VOLUME;
 import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.fetchRangeBySymbol;
 import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.updateOffset;
 import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.CLOSE;
@@ -109,16 +195,63 @@ import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.VOLUME;
 import static com.github.akarazhev.jcryptolib.util.ValueUtils.toDouble;
 
 public final class AnalystRepository extends AbstractReactive implements ReactiveService {
+    // Bybit kline tables and their range selects; table names are never taken from the caller
+    private static final Map<String, String> KLINE_SELECTS = Map.ofEntries(
+            Map.entry(SPOT_KLINE_1M_TABLE, SPOT_KLINE_1M_SELECT_BY_SYMBOL),
+            Map.entry(SPOT_KLINE_5M_TABLE, SPOT_KLINE_5M_SELECT_BY_SYMBOL),
+            Map.entry(SPOT_KLINE_15M_TABLE, SPOT_KLINE_15M_SELECT_BY_SYMBOL),
+            Map.entry(SPOT_KLINE_60M_TABLE, SPOT_KLINE_60M_SELECT_BY_SYMBOL),
+            Map.entry(SPOT_KLINE_240M_TABLE, SPOT_KLINE_240M_SELECT_BY_SYMBOL),
+            Map.entry(SPOT_KLINE_1D_TABLE, SPOT_KLINE_1D_SELECT_BY_SYMBOL),
+            Map.entry(LINEAR_KLINE_1M_TABLE, LINEAR_KLINE_1M_SELECT_BY_SYMBOL),
+            Map.entry(LINEAR_KLINE_5M_TABLE, LINEAR_KLINE_5M_SELECT_BY_SYMBOL),
+            Map.entry(LINEAR_KLINE_15M_TABLE, LINEAR_KLINE_15M_SELECT_BY_SYMBOL),
+            Map.entry(LINEAR_KLINE_60M_TABLE, LINEAR_KLINE_60M_SELECT_BY_SYMBOL),
+            Map.entry(LINEAR_KLINE_240M_TABLE, LINEAR_KLINE_240M_SELECT_BY_SYMBOL),
+            Map.entry(LINEAR_KLINE_1D_TABLE, LINEAR_KLINE_1D_SELECT_BY_SYMBOL)
+    );
+    private static final Set<String> INDICATORS_TABLES = Set.of(
+            SPOT_KLINE_1M_INDICATORS_TABLE, SPOT_KLINE_5M_INDICATORS_TABLE, SPOT_KLINE_15M_INDICATORS_TABLE,
+            SPOT_KLINE_60M_INDICATORS_TABLE, SPOT_KLINE_240M_INDICATORS_TABLE, SPOT_KLINE_1D_INDICATORS_TABLE,
+            LINEAR_KLINE_1M_INDICATORS_TABLE, LINEAR_KLINE_5M_INDICATORS_TABLE, LINEAR_KLINE_15M_INDICATORS_TABLE,
+            LINEAR_KLINE_60M_INDICATORS_TABLE, LINEAR_KLINE_240M_INDICATORS_TABLE, LINEAR_KLINE_1D_INDICATORS_TABLE
+    );
+    private final CollectorDataSource collectorDataSource;
     private final DataSource dataSource;
     private final int batchSize;
     private final String stream;
 
+    // Sets the parameters of a kline cursor query
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(final PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Receives the bars of a kline table in bar order; Bybit bars have no market fundamentals and pass zeros.
+     */
+    @FunctionalInterface
+    public interface KlineConsumer {
+        void accept(final OffsetDateTime time, final double open, final double high, final double low,
+                    final double close, final double volume, final double marketCap, final long circulatingSupply)
+                throws Exception;
+    }
+
+    /**
+     * Saved state of the calculator of a series, with the time of its last bar and, for stream-fed series, the stream
+     * offset of that bar ({@code -1} when it has none).
+     */
+    public record CalculatorState(String market, String symbol, long intervalMs, OffsetDateTime lastTime,
+                                  long offset, byte[] data) {
+    }
+
     public static AnalystRepository create(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
         return new AnalystRepository(reactor, collectorDataSource);
     }
 
     private AnalystRepository(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
         super(reactor);
+        this.collectorDataSource = collectorDataSource;
         this.dataSource = collectorDataSource.getDataSource();
         this.batchSize = JdbcConfig.getAnalystBatchSize();
         this.stream = AmqpConfig.getAmqpCryptoScoutStream();
@@ -136,7 +269,7 @@ public final class AnalystRepository extends AbstractReactive implements Reactiv
 
     public List<Map<String, Object>> getIndicators(final String symbol, final OffsetDateTime from,
                                                           final OffsetDateTime to) throws SQLException {
-        return fetchRangeBySymbol(dataSource, INDICATORS_SELECT_BY_SYMBOL_RANGE, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), INDICATORS_SELECT_BY_SYMBOL_RANGE, symbol, from, to,
                 SYMBOL, TIMESTAMP, CLOSE_PRICE, SMA_50, SMA_100, SMA_200, EMA_50, EMA_100, EMA_200,
                 RSI_14, STOCHASTIC_14, MACD_LINE, MACD_SIGNAL, MACD_HISTOGRAM,
                 BB_MIDDLE, BB_UPPER, BB_LOWER, BB_WIDTH, BB_PERCENT_B,
@@ -146,111 +279,127 @@ public final class AnalystRepository extends AbstractReactive implements Reactiv
 
     public List<Map<String, Object>> getKlines(final String symbol, final OffsetDateTime from,
                                                final OffsetDateTime to) throws SQLException {
-        return fetchRangeBySymbol(dataSource, KLINE_1W_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), CMC_KLINE_1W_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, TIME_OPEN, TIME_CLOSE, TIME_HIGH, TIME_LOW,
                 OPEN, HIGH, LOW, CLOSE, VOLUME, MARKET_CAP, CIRCULATING_SUPPLY, TIMESTAMP);
     }
 
+    /**
+     * Returns the klines of a Bybit kline table for the symbol within the range, keyed by column name.
+     */
+    public List<Map<String, Object>> getBybitKlines(final String table, final String symbol,
+                                                    final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return fetchRangeBySymbol(reader(to), getKlineSelect(table), symbol, from, to,
+                BAR_SYMBOL, BAR_START_TIME, BAR_END_TIME, BAR_OPEN_PRICE, BAR_CLOSE_PRICE, BAR_HIGH_PRICE,
+                BAR_LOW_PRICE, BAR_VOLUME, BAR_TURNOVER);
+    }
+
     public int saveIndicators(final List<Map<String, Object>> indicators, final long offset) throws SQLException {
+        final int count;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                count = addIndicators(c, CMC_KLINE_1W_INDICATORS_TABLE, indicators);
+                updateOffset(psOffset, stream, offset);
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Saves indicator rows of Bybit klines in one transaction, batched per table. The stream offset is not touched:
+     * Bybit offsets belong to the kline writer, and the rows missing past the last stored one are recomputed from the
+     * stored klines when the calculator of their series is loaded again.
+     */
+    public int saveBybitIndicators(final Map<String, List<Map<String, Object>>> indicatorsByTable)
+            throws SQLException {
         var count = 0;
         try (final var c = dataSource.getConnection()) {
             final var oldAutoCommit = c.getAutoCommit();
             c.setAutoCommit(false);
-            try (final var ps = c.prepareStatement(INDICATORS_INSERT);
-                 final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
-                for (final var indicator : indicators) {
-                    final var symbol = (String) indicator.get(SYMBOL);
-                    final var timestamp = indicator.get(TIMESTAMP);
-                    final var closePrice = toDouble(indicator.get(CLOSE_PRICE));
-
-                    if (symbol == null || timestamp == null || closePrice == null) {
-                        continue;
-                    }
+            try {
+                for (final var entry : indicatorsByTable.entrySet()) {
+                    count += addIndicators(c, getIndicatorsTable(entry.getKey()), entry.getValue());
+                }
 
-                    // Moving Averages
-                    final var sma50 = toDouble(indicator.get(SMA_50));
-                    final var sma100 = toDouble(indicator.get(SMA_100));
-                    final var sma200 = toDouble(indicator.get(SMA_200));
-                    final var ema50 = toDouble(indicator.get(EMA_50));
-                    final var ema100 = toDouble(indicator.get(EMA_100));
-                    final var ema200 = toDouble(indicator.get(EMA_200));
-
-                    // Momentum
-                    final var rsi14 = toDouble(indicator.get(RSI_14));
-                    final var stochastic14 = toDouble(indicator.get(STOCHASTIC_14));
-
-                    // MACD
-                    final var macdLine = toDouble(indicator.get(MACD_LINE));
-                    final var macdSignal = toDouble(indicator.get(MACD_SIGNAL));
-                    final var macdHistogram = toDouble(indicator.get(MACD_HISTOGRAM));
-
-                    // Bollinger Bands
-                    final var bbMiddle = toDouble(indicator.get(BB_MIDDLE));
-                    final var bbUpper = toDouble(indicator.get(BB_UPPER));
-                    final var bbLower = toDouble(indicator.get(BB_LOWER));
-                    final var bbWidth = toDouble(indicator.get(BB_WIDTH));
-                    final var bbPercentB = toDouble(indicator.get(BB_PERCENT_B));
-
-                    // Volatility
-                    final var atr14 = toDouble(indicator.get(ATR_14));
-                    final var stdDev20 = toDouble(indicator.get(STD_DEV_20));
-
-                    // Volume
-                    final var vwap = toDouble(indicator.get(VWAP));
-                    final var volumeSma20 = toDouble(indicator.get(VOLUME_SMA_20));
-
-                    // Market Fundamentals
-                    final var marketCap = toDouble(indicator.get(MARKET_CAP));
-                    final var circulatingSupply = indicator.get(CIRCULATING_SUPPLY) instanceof Number ?
-                            ((Number) indicator.get(CIRCULATING_SUPPLY)).longValue() : null;
-                    final var marketCapToVolume = toDouble(indicator.get(MARKET_CAP_TO_VOLUME));
-
-                    // Set parameters
-                    ps.setString(IND_SYMBOL, symbol);
-                    ps.setObject(IND_TIMESTAMP, timestamp);
-                    ps.setDouble(IND_CLOSE_PRICE, closePrice);
-
-                    // Moving Averages
-                    setDoubleOrNull(ps, IND_SMA_50, sma50);
-                    setDoubleOrNull(ps, IND_SMA_100, sma100);
-                    setDoubleOrNull(ps, IND_SMA_200, sma200);
-                    setDoubleOrNull(ps, IND_EMA_50, ema50);
-                    setDoubleOrNull(ps, IND_EMA_100, ema100);
-                    setDoubleOrNull(ps, IND_EMA_200, ema200);
-
-                    // Momentum
-                    setDoubleOrNull(ps, IND_RSI_14, rsi14);
-                    setDoubleOrNull(ps, IND_STOCHASTIC_14, stochastic14);
-
-                    // MACD
-                    setDoubleOrNull(ps, IND_MACD_LINE, macdLine);
-                    setDoubleOrNull(ps, IND_MACD_SIGNAL, macdSignal);
-                    setDoubleOrNull(ps, IND_MACD_HISTOGRAM, macdHistogram);
-
-                    // Bollinger Bands
-                    setDoubleOrNull(ps, IND_BB_MIDDLE, bbMiddle);
-                    setDoubleOrNull(ps, IND_BB_UPPER, bbUpper);
-                    setDoubleOrNull(ps, IND_BB_LOWER, bbLower);
-                    setDoubleOrNull(ps, IND_BB_WIDTH, bbWidth);
-                    setDoubleOrNull(ps, IND_BB_PERCENT_B, bbPercentB);
-
-                    // Volatility
-                    setDoubleOrNull(ps, IND_ATR_14, atr14);
-                    setDoubleOrNull(ps, IND_STD_DEV_20, stdDev20);
-
-                    // Volume
-                    setDoubleOrNull(ps, IND_VWAP, vwap);
-                    setDoubleOrNull(ps, IND_VOLUME_SMA_20, volumeSma20);
-
-                    // Market Fundamentals
-                    setDoubleOrNull(ps, IND_MARKET_CAP, marketCap);
-                    if (circulatingSupply != null) {
-                        ps.setLong(IND_CIRCULATING_SUPPLY, circulatingSupply);
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the start time of the last bar of the symbol in a Bybit indicators table, or null when it has none.
+     */
+    public OffsetDateTime getLastIndicatorTime(final String indicatorsTable, final String symbol)
+            throws SQLException {
+        final var sql = String.format(LAST_INDICATOR_TIME_SELECT, getIndicatorsTable(indicatorsTable));
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(sql)) {
+            ps.setString(LAST_INDICATOR_SYMBOL, symbol);
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? rs.getObject(1, OffsetDateTime.class) : null;
+            }
+        }
+    }
+
+    /**
+     * Returns the saved calculator state of the series, or null when none was saved.
+     */
+    public CalculatorState getCalculatorState(final String market, final String symbol, final long intervalMs)
+            throws SQLException {
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(STATE_SELECT)) {
+            ps.setString(STATE_MARKET, market);
+            ps.setString(STATE_SYMBOL, symbol);
+            ps.setLong(STATE_INTERVAL_MS, intervalMs);
+            try (final var rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+
+                final var offset = rs.getLong(SELECTED_STREAM_OFFSET);
+                return new CalculatorState(market, symbol, intervalMs,
+                        rs.getObject(SELECTED_LAST_TIME, OffsetDateTime.class), rs.wasNull() ? -1L : offset,
+                        rs.getBytes(SELECTED_DATA));
+            }
+        }
+    }
+
+    /**
+     * Saves calculator states in one batched transaction; a state older than the saved one is ignored.
+     */
+    public int saveCalculatorStates(final List<CalculatorState> states) throws SQLException {
+        var count = 0;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var ps = c.prepareStatement(STATE_UPSERT)) {
+                for (final var state : states) {
+                    ps.setString(STATE_MARKET, state.market());
+                    ps.setString(STATE_SYMBOL, state.symbol());
+                    ps.setLong(STATE_INTERVAL_MS, state.intervalMs());
+                    ps.setObject(STATE_LAST_TIME, state.lastTime());
+                    if (state.offset() >= 0) {
+                        ps.setLong(STATE_STREAM_OFFSET, state.offset());
                     } else {
-                        ps.setNull(IND_CIRCULATING_SUPPLY, Types.BIGINT);
+                        ps.setNull(STATE_STREAM_OFFSET, Types.BIGINT);
                     }
-                    setDoubleOrNull(ps, IND_MARKET_CAP_TO_VOLUME, marketCapToVolume);
 
+                    ps.setBytes(STATE_DATA, state.data());
                     ps.addBatch();
                     if (++count % batchSize == 0) {
                         ps.executeBatch();
@@ -258,7 +407,6 @@ public final class AnalystRepository extends AbstractReactive implements Reactiv
                 }
 
                 ps.executeBatch();
-                updateOffset(psOffset, stream, offset);
                 c.commit();
             } catch (final Exception ex) {
                 c.rollback();
@@ -270,6 +418,274 @@ public final class AnalystRepository extends AbstractReactive implements Reactiv
         return count;
     }
 
+    /**
+     * Returns the symbols present in a kline table.
+     */
+    public List<String> getKlineSymbols(final String klineTable) throws SQLException {
+        final var symbols = new ArrayList<String>();
+        final var sql = String.format(KLINE_SYMBOLS_SELECT, getStreamedKlineTable(klineTable));
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(sql);
+             final var rs = ps.executeQuery()) {
+            while (rs.next()) {
+                symbols.add(rs.getString(1));
+            }
+        }
+
+        return symbols;
+    }
+
+    /**
+     * Streams the whole history of a symbol in bar order through a server-side cursor, fetching the given number of
+     * rows per round trip, so memory stays flat however long the history is. Returns the number of bars passed on.
+     */
+    public long streamKlines(final String klineTable, final String symbol, final int fetchSize,
+                             final KlineConsumer consumer) throws Exception {
+        final var cmc = CMC_KLINE_1W_TABLE.equals(klineTable);
+        final var sql = cmc ? CMC_KLINE_1W_STREAM_BY_SYMBOL :
+                String.format(BYBIT_KLINE_STREAM_BY_SYMBOL, getStreamedKlineTable(klineTable));
+        return streamKlines(sql, cmc, fetchSize, consumer, ps -> ps.setString(STREAM_SYMBOL, symbol));
+    }
+
+    /**
+     * Streams the bars of a Bybit symbol from the given time, inclusive, to the other, exclusive, like
+     * {@link #streamKlines(String, String, int, KlineConsumer)}.
+     */
+    public long streamBybitKlines(final String klineTable, final String symbol, final OffsetDateTime from,
+                                  final OffsetDateTime to, final int fetchSize, final KlineConsumer consumer)
+            throws Exception {
+        if (CMC_KLINE_1W_TABLE.equals(klineTable)) {
+            throw new IllegalArgumentException("Not a Bybit kline table: " + klineTable);
+        }
+
+        final var sql = String.format(BYBIT_KLINE_STREAM_BY_SYMBOL_RANGE, getStreamedKlineTable(klineTable));
+        return streamKlines(sql, false, fetchSize, consumer, ps -> {
+            ps.setString(STREAM_SYMBOL, symbol);
+            ps.setObject(STREAM_FROM, from);
+            ps.setObject(STREAM_TO, to);
+        });
+    }
+
+    private long streamKlines(final String sql, final boolean cmc, final int fetchSize, final KlineConsumer consumer,
+                              final StatementBinder binder) throws Exception {
+        var count = 0L;
+        try (final var c = dataSource.getConnection()) {
+            // The driver only keeps a cursor open inside a transaction
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                binder.bind(ps);
+                try (final var rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        final var time = rs.getObject(STREAM_TIME, OffsetDateTime.class);
+                        final var open = rs.getDouble(STREAM_OPEN);
+                        final var high = rs.getDouble(STREAM_HIGH);
+                        final var low = rs.getDouble(STREAM_LOW);
+                        final var close = rs.getDouble(STREAM_CLOSE);
+                        if (time == null || rs.wasNull()) {
+                            continue;
+                        }
+
+                        consumer.accept(time, open, high, low, close, rs.getDouble(STREAM_VOLUME),
+                                cmc ? rs.getDouble(STREAM_MARKET_CAP) : 0.0,
+                                cmc ? rs.getLong(STREAM_CIRCULATING_SUPPLY) : 0L);
+                        count++;
+                    }
+                }
+
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the time of the last bar the recompute job wrote for the symbol, or null when it has not written any.
+     */
+    public OffsetDateTime getRecomputeCheckpoint(final String indicatorsTable, final String symbol)
+            throws SQLException {
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(CHECKPOINT_SELECT)) {
+            ps.setString(CHECKPOINT_TABLE, getRecomputedIndicatorsTable(indicatorsTable));
+            ps.setString(CHECKPOINT_SYMBOL, symbol);
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? rs.getObject(1, OffsetDateTime.class) : null;
+            }
+        }
+    }
+
+    /**
+     * Saves recomputed indicator rows of a symbol and moves its checkpoint to the given bar time in one transaction,
+     * so a resumed job never skips rows it has not written. The stream offsets are not touched.
+     */
+    public int saveRecomputedIndicators(final String indicatorsTable, final String symbol,
+                                        final List<Map<String, Object>> indicators,
+                                        final OffsetDateTime lastTime) throws SQLException {
+        final int count;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var psCheckpoint = c.prepareStatement(CHECKPOINT_UPSERT)) {
+                count = addIndicators(c, getRecomputedIndicatorsTable(indicatorsTable), indicators);
+                psCheckpoint.setString(CHECKPOINT_TABLE, indicatorsTable);
+                psCheckpoint.setString(CHECKPOINT_SYMBOL, symbol);
+                psCheckpoint.setObject(CHECKPOINT_LAST_TIME, lastTime);
+                psCheckpoint.executeUpdate();
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops the recompute checkpoints of an indicators table, so the next run rewrites every row.
+     */
+    public int deleteRecomputeCheckpoints(final String indicatorsTable) throws SQLException {
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(CHECKPOINTS_DELETE)) {
+            ps.setString(CHECKPOINT_TABLE, getRecomputedIndicatorsTable(indicatorsTable));
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Upserts indicator rows into an indicators table in batches on the caller's transaction; the CMC table also
+     * takes the market fundamentals.
+     */
+    private int addIndicators(final Connection c, final String table, final List<Map<String, Object>> indicators)
+            throws SQLException {
+        final var cmc = CMC_KLINE_1W_INDICATORS_TABLE.equals(table);
+        var count = 0;
+        final var sql = cmc ? INDICATORS_INSERT : String.format(BYBIT_INDICATORS_UPSERT, table);
+        try (final var ps = c.prepareStatement(sql)) {
+            for (final var indicator : indicators) {
+                if (!setIndicators(ps, indicator)) {
+                    continue;
+                }
+
+                if (cmc) {
+                    setMarketFundamentals(ps, indicator);
+                }
+
+                ps.addBatch();
+                if (++count % batchSize == 0) {
+                    ps.executeBatch();
+                }
+            }
+
+            ps.executeBatch();
+        }
+        return count;
+    }
+
+    private void setMarketFundamentals(final PreparedStatement ps, final Map<String, Object> indicator)
+            throws SQLException {
+        final var marketCap = toDouble(indicator.get(MARKET_CAP));
+        final var circulatingSupply = indicator.get(CIRCULATING_SUPPLY) instanceof Number ?
+                ((Number) indicator.get(CIRCULATING_SUPPLY)).longValue() : null;
+        final var marketCapToVolume = toDouble(indicator.get(MARKET_CAP_TO_VOLUME));
+
+        setDoubleOrNull(ps, IND_MARKET_CAP, marketCap);
+        if (circulatingSupply != null) {
+            ps.setLong(IND_CIRCULATING_SUPPLY, circulatingSupply);
+        } else {
+            ps.setNull(IND_CIRCULATING_SUPPLY, Types.BIGINT);
+        }
+        setDoubleOrNull(ps, IND_MARKET_CAP_TO_VOLUME, marketCapToVolume);
+    }
+
+    /**
+     * Binds the symbol, time, close price and technical indicators shared by all indicator tables; returns false for
+     * rows missing one of the key columns.
+     */
+    private boolean setIndicators(final PreparedStatement ps, final Map<String, Object> indicator)
+            throws SQLException {
+        final var symbol = (String) indicator.get(SYMBOL);
+        final var timestamp = indicator.get(TIMESTAMP);
+        final var closePrice = toDouble(indicator.get(CLOSE_PRICE));
+        if (symbol == null || timestamp == null || closePrice == null) {
+            return false;
+        }
+
+        ps.setString(IND_SYMBOL, symbol);
+        ps.setObject(IND_TIMESTAMP, timestamp);
+        ps.setDouble(IND_CLOSE_PRICE, closePrice);
+
+        // Moving Averages
+        setDoubleOrNull(ps, IND_SMA_50, toDouble(indicator.get(SMA_50)));
+        setDoubleOrNull(ps, IND_SMA_100, toDouble(indicator.get(SMA_100)));
+        setDoubleOrNull(ps, IND_SMA_200, toDouble(indicator.get(SMA_200)));
+        setDoubleOrNull(ps, IND_EMA_50, toDouble(indicator.get(EMA_50)));
+        setDoubleOrNull(ps, IND_EMA_100, toDouble(indicator.get(EMA_100)));
+        setDoubleOrNull(ps, IND_EMA_200, toDouble(indicator.get(EMA_200)));
+
+        // Momentum
+        setDoubleOrNull(ps, IND_RSI_14, toDouble(indicator.get(RSI_14)));
+        setDoubleOrNull(ps, IND_STOCHASTIC_14, toDouble(indicator.get(STOCHASTIC_14)));
+
+        // MACD
+        setDoubleOrNull(ps, IND_MACD_LINE, toDouble(indicator.get(MACD_LINE)));
+        setDoubleOrNull(ps, IND_MACD_SIGNAL, toDouble(indicator.get(MACD_SIGNAL)));
+        setDoubleOrNull(ps, IND_MACD_HISTOGRAM, toDouble(indicator.get(MACD_HISTOGRAM)));
+
+        // Bollinger Bands
+        setDoubleOrNull(ps, IND_BB_MIDDLE, toDouble(indicator.get(BB_MIDDLE)));
+        setDoubleOrNull(ps, IND_BB_UPPER, toDouble(indicator.get(BB_UPPER)));
+        setDoubleOrNull(ps, IND_BB_LOWER, toDouble(indicator.get(BB_LOWER)));
+        setDoubleOrNull(ps, IND_BB_WIDTH, toDouble(indicator.get(BB_WIDTH)));
+        setDoubleOrNull(ps, IND_BB_PERCENT_B, toDouble(indicator.get(BB_PERCENT_B)));
+
+        // Volatility
+        setDoubleOrNull(ps, IND_ATR_14, toDouble(indicator.get(ATR_14)));
+        setDoubleOrNull(ps, IND_STD_DEV_20, toDouble(indicator.get(STD_DEV_20)));
+
+        // Volume
+        setDoubleOrNull(ps, IND_VWAP, toDouble(indicator.get(VWAP)));
+        setDoubleOrNull(ps, IND_VOLUME_SMA_20, toDouble(indicator.get(VOLUME_SMA_20)));
+        return true;
+    }
+
+    private static String getKlineSelect(final String table) {
+        final var sql = KLINE_SELECTS.get(table);
+        if (sql == null) {
+            throw new IllegalArgumentException("Unsupported kline table: " + table);
+        }
+
+        return sql;
+    }
+
+    private static String getStreamedKlineTable(final String table) {
+        if (!CMC_KLINE_1W_TABLE.equals(table) && !KLINE_SELECTS.containsKey(table)) {
+            throw new IllegalArgumentException("Unsupported kline table: " + table);
+        }
+
+        return table;
+    }
+
+    private static String getRecomputedIndicatorsTable(final String table) {
+        return CMC_KLINE_1W_INDICATORS_TABLE.equals(table) ? table : getIndicatorsTable(table);
+    }
+
+    private static String getIndicatorsTable(final String table) {
+        if (!INDICATORS_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Unsupported indicators table: " + table);
+        }
+
+        return table;
+    }
+
     private void setDoubleOrNull(final PreparedStatement ps, final int index, final Double value)
             throws SQLException {
         if (value == null || Double.isNaN(value)) {
@@ -278,4 +694,11 @@ public final class AnalystRepository extends AbstractReactive implements Reactiv
             ps.setDouble(index, value);
         }
     }
+
+    /**
+     * Pool a range read ending at {@code to} runs on; writes always use the primary.
+     */
+    private DataSource reader(final OffsetDateTime to) {
+        return collectorDataSource.getReadDataSource(to);
+    }
 }
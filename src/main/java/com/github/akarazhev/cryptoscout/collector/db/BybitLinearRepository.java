@@ -69,6 +69,12 @@ import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINE
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_PUBLIC_TRADE_SYMBOL;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_PUBLIC_TRADE_TAKER_SIDE;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_PUBLIC_TRADE_TRADE_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_TABLE;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_INSERT;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_INSERT;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_INSERT;
@@ -124,8 +130,91 @@ import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINE
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_TICKERS_TIMESTAMP;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_TICKERS_TURNOVER_24H;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_TICKERS_VOLUME_24H;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Downsampling.KLINE_BUCKETS_SELECT_BY_SYMBOL;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Offsets.STREAM_OFFSETS_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_60M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TURNOVER;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VWAP;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TRADE_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_BUY_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SELL_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.LINEAR_KLINE_1S_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.LINEAR_KLINE_1S_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.LINEAR_KLINE_5S_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.LINEAR_KLINE_5S_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.LINEAR_KLINE_15S_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.LINEAR_KLINE_15S_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_TURNOVER;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_VWAP;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_TRADE_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_BUY_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_SELL_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_TICK_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_PRICE_TICKS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_BUY_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SELL_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_DELTA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_POC_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.LINEAR_VOLUME_PROFILE_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.LINEAR_VOLUME_PROFILE_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_TICK_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_PRICE_TICKS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_BUY_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_SELL_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_DELTA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_POC_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LINEAR_LIQUIDATION_1M_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LINEAR_LIQUIDATION_1M_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_BUCKET_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_BUY_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_BUY_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_BUY_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_SELL_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_SELL_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_SELL_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQUIDATION_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUCKET_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.createBigintArray;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.createDoubleArray;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.fetchBucketsBySymbol;
 import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.fetchRangeBySymbol;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.openRangeBySymbol;
 import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.updateOffset;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CLOSE;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
@@ -189,9 +278,27 @@ import static com.github.akarazhev.jcryptolib.util.ValueUtils.toBoolean;
 import static com.github.akarazhev.jcryptolib.util.ValueUtils.toDouble;
 
 public final class BybitLinearRepository extends AbstractReactive implements ReactiveService {
+    // Bucketed selects of the kline tables by interval; table names are never taken from the caller
+    private static final Map<Long, String> KLINE_BUCKET_SELECTS = Map.of(
+            INTERVAL_1M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(LINEAR_KLINE_1M_TABLE),
+            INTERVAL_5M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(LINEAR_KLINE_5M_TABLE),
+            INTERVAL_15M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(LINEAR_KLINE_15M_TABLE),
+            INTERVAL_60M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(LINEAR_KLINE_60M_TABLE),
+            INTERVAL_240M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(LINEAR_KLINE_240M_TABLE),
+            INTERVAL_1D_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(LINEAR_KLINE_1D_TABLE)
+    );
+    private final CollectorDataSource collectorDataSource;
     private final DataSource dataSource;
     private final int batchSize;
     private final String stream;
+    private final int fetchSize;
+    private final TailStore kline1mTail = TailStore.klines(INTERVAL_1M_MS);
+    private final TailStore kline5mTail = TailStore.klines(INTERVAL_5M_MS);
+    private final TailStore kline15mTail = TailStore.klines(INTERVAL_15M_MS);
+    private final TailStore kline60mTail = TailStore.klines(INTERVAL_60M_MS);
+    private final TailStore kline240mTail = TailStore.klines(INTERVAL_240M_MS);
+    private final TailStore kline1dTail = TailStore.klines(INTERVAL_1D_MS);
+    private final TailStore publicTradeTail = TailStore.publicTrades();
 
     public static BybitLinearRepository create(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
         return new BybitLinearRepository(reactor, collectorDataSource);
@@ -199,9 +306,11 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
 
     private BybitLinearRepository(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
         super(reactor);
+        this.collectorDataSource = collectorDataSource;
         this.dataSource = collectorDataSource.getDataSource();
         this.batchSize = JdbcConfig.getBybitBatchSize();
         this.stream = AmqpConfig.getAmqpBybitStream();
+        this.fetchSize = JdbcConfig.getStreamFetchSize();
     }
 
     @Override
@@ -215,27 +324,27 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
     }
 
     public int saveKline1m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, LINEAR_KLINE_1M_INSERT);
+        return saveKlines(klines, offset, LINEAR_KLINE_1M_INSERT, kline1mTail);
     }
 
     public int saveKline5m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, LINEAR_KLINE_5M_INSERT);
+        return saveKlines(klines, offset, LINEAR_KLINE_5M_INSERT, kline5mTail);
     }
 
     public int saveKline15m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, LINEAR_KLINE_15M_INSERT);
+        return saveKlines(klines, offset, LINEAR_KLINE_15M_INSERT, kline15mTail);
     }
 
     public int saveKline60m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, LINEAR_KLINE_60M_INSERT);
+        return saveKlines(klines, offset, LINEAR_KLINE_60M_INSERT, kline60mTail);
     }
 
     public int saveKline240m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, LINEAR_KLINE_240M_INSERT);
+        return saveKlines(klines, offset, LINEAR_KLINE_240M_INSERT, kline240mTail);
     }
 
     public int saveKline1d(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, LINEAR_KLINE_1D_INSERT);
+        return saveKlines(klines, offset, LINEAR_KLINE_1D_INSERT, kline1dTail);
     }
 
     public int saveTicker(final List<Map<String, Object>> tickers, final long offset) throws SQLException {
@@ -404,43 +513,43 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
 
     public List<Map<String, Object>> getKline1m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_KLINE_1M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline1mTail, reader(to), LINEAR_KLINE_1M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline5m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_KLINE_5M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline5mTail, reader(to), LINEAR_KLINE_5M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline15m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_KLINE_15M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline15mTail, reader(to), LINEAR_KLINE_15M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline60m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_KLINE_60M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline60mTail, reader(to), LINEAR_KLINE_60M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline240m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_KLINE_240M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline240mTail, reader(to), LINEAR_KLINE_240M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline1d(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_KLINE_1D_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline1dTail, reader(to), LINEAR_KLINE_1D_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getTicker(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_TICKERS_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), LINEAR_TICKERS_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, TS, TICK_DIRECTION, PRICE_24H_PCNT, LAST_PRICE, PREV_PRICE_24H, HIGH_PRICE_24H,
                 LOW_PRICE_24H, PREV_PRICE_1H, MARK_PRICE, INDEX_PRICE, OPEN_INTEREST, OPEN_INTEREST_VALUE, TURNOVER_24H,
                 VOLUME_24H, FUNDING_INTERVAL_HOUR, FUNDING_CAP, NEXT_FUNDING_TIME, FUNDING_RATE, BID1_PRICE, BID1_SIZE,
@@ -448,6 +557,32 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
                 BASIS_RATE_YEAR, PRE_OPEN_PRICE, PRE_QTY, CUR_PRE_LISTING_PHASE);
     }
 
+    public RowCursor openTicker(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), LINEAR_TICKERS_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL, TS, TICK_DIRECTION, PRICE_24H_PCNT, LAST_PRICE, PREV_PRICE_24H, HIGH_PRICE_24H,
+                LOW_PRICE_24H, PREV_PRICE_1H, MARK_PRICE, INDEX_PRICE, OPEN_INTEREST, OPEN_INTEREST_VALUE, TURNOVER_24H,
+                VOLUME_24H, FUNDING_INTERVAL_HOUR, FUNDING_CAP, NEXT_FUNDING_TIME, FUNDING_RATE, BID1_PRICE, BID1_SIZE,
+                ASK1_PRICE, ASK1_SIZE, DELIVERY_TIME, BASIS_RATE, DELIVERY_FEE_RATE, PREDICTED_DELIVERY_PRICE, BASIS,
+                BASIS_RATE_YEAR, PRE_OPEN_PRICE, PRE_QTY, CUR_PRE_LISTING_PHASE);
+    }
+
+    /**
+     * Klines of the {@code intervalMs} table aggregated into buckets of {@code bucketMs}, a multiple of the interval.
+     */
+    public List<Map<String, Object>> getKlineBuckets(final long intervalMs, final String symbol,
+                                                     final OffsetDateTime from, final OffsetDateTime to,
+                                                     final long bucketMs) throws SQLException {
+        final var sql = KLINE_BUCKET_SELECTS.get(intervalMs);
+        if (sql == null || bucketMs < intervalMs || bucketMs % intervalMs != 0) {
+            throw new IllegalArgumentException(
+                    "Unsupported kline buckets: " + bucketMs + " ms of " + intervalMs + " ms");
+        }
+
+        return fetchBucketsBySymbol(reader(to), sql, bucketMs, symbol, from, to,
+                SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
+    }
+
     public int savePublicTrade(final List<Map<String, Object>> trades, final long offset) throws SQLException {
         var count = 0;
         try (final var c = dataSource.getConnection()) {
@@ -455,6 +590,7 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
             c.setAutoCommit(false);
             try (final var ps = c.prepareStatement(LINEAR_PUBLIC_TRADE_INSERT);
                  final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                final var tailRows = publicTradeTail.batch();
                 for (final var trade : trades) {
                     final var rows = getRows(DATA, trade);
                     if (rows != null) {
@@ -479,6 +615,7 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
                             ps.setString(LINEAR_PUBLIC_TRADE_TAKER_SIDE, takerSide);
                             ps.setBoolean(LINEAR_PUBLIC_TRADE_IS_BLOCK_TRADE, isBlock);
                             ps.setBoolean(LINEAR_PUBLIC_TRADE_IS_RPI, isRpi);
+                            tailRows.add(symbol, toOdt(tradeTime), price, size, takerSide, isBlock, isRpi);
 
                             ps.addBatch();
                             if (++count % batchSize == 0) {
@@ -491,6 +628,7 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
                 ps.executeBatch();
                 updateOffset(psOffset, stream, offset);
                 c.commit();
+                tailRows.publish();
             } catch (final Exception ex) {
                 c.rollback();
                 throw ex;
@@ -504,37 +642,67 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
 
     public List<Map<String, Object>> getPublicTrade(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_PUBLIC_TRADE_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(publicTradeTail, reader(to), LINEAR_PUBLIC_TRADE_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, T, P, V, SIDE, BT, RPI);
     }
 
     public List<Map<String, Object>> getOrderBook1(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_ORDER_BOOK_1_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_1_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
     public List<Map<String, Object>> getOrderBook50(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_ORDER_BOOK_50_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_50_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
     public List<Map<String, Object>> getOrderBook200(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_ORDER_BOOK_200_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_200_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
     public List<Map<String, Object>> getOrderBook1000(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_ORDER_BOOK_1000_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_1000_SELECT_BY_SYMBOL, symbol, from, to,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openOrderBook1(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_1_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
+    public RowCursor openOrderBook50(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_50_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openOrderBook200(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_200_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openOrderBook1000(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), LINEAR_ORDER_BOOK_1000_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openPublicTrade(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(publicTradeTail, reader(to), LINEAR_PUBLIC_TRADE_SELECT_BY_SYMBOL, symbol, from, to,
+                fetchSize, SYMBOL_NAME, T, P, V, SIDE, BT, RPI);
+    }
+
     public List<Map<String, Object>> getAllLiquidation(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, LINEAR_ALL_LIQUIDATION_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), LINEAR_ALL_LIQUIDATION_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, T, SIDE, V, P);
     }
 
@@ -606,14 +774,141 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
         return count;
     }
 
-    private int saveKlines(final List<Map<String, Object>> klines, final long offset, final String insertSql)
+    public int saveKline1s(final List<Map<String, Object>> bars, final long offset) throws SQLException {
+        return saveTradeBars(bars, offset, LINEAR_KLINE_1S_INSERT);
+    }
+
+    public int saveKline5s(final List<Map<String, Object>> bars, final long offset) throws SQLException {
+        return saveTradeBars(bars, offset, LINEAR_KLINE_5S_INSERT);
+    }
+
+    public int saveKline15s(final List<Map<String, Object>> bars, final long offset) throws SQLException {
+        return saveTradeBars(bars, offset, LINEAR_KLINE_15S_INSERT);
+    }
+
+    public List<Map<String, Object>> getKline1s(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
+        return fetchRangeBySymbol(reader(to), LINEAR_KLINE_1S_SELECT_BY_SYMBOL, symbol, from, to,
+                BAR_SYMBOL, BAR_START_TIME, BAR_END_TIME, BAR_OPEN_PRICE, BAR_CLOSE_PRICE, BAR_HIGH_PRICE, BAR_LOW_PRICE,
+                BAR_VOLUME, BAR_TURNOVER, BAR_VWAP, BAR_TRADE_COUNT, BAR_BUY_VOLUME, BAR_SELL_VOLUME);
+    }
+
+    public List<Map<String, Object>> getKline5s(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return fetchRangeBySymbol(reader(to), LINEAR_KLINE_5S_SELECT_BY_SYMBOL, symbol, from, to,
+                BAR_SYMBOL, BAR_START_TIME, BAR_END_TIME, BAR_OPEN_PRICE, BAR_CLOSE_PRICE, BAR_HIGH_PRICE, BAR_LOW_PRICE,
+                BAR_VOLUME, BAR_TURNOVER, BAR_VWAP, BAR_TRADE_COUNT, BAR_BUY_VOLUME, BAR_SELL_VOLUME);
+    }
+
+    public List<Map<String, Object>> getKline15s(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return fetchRangeBySymbol(reader(to), LINEAR_KLINE_15S_SELECT_BY_SYMBOL, symbol, from, to,
+                BAR_SYMBOL, BAR_START_TIME, BAR_END_TIME, BAR_OPEN_PRICE, BAR_CLOSE_PRICE, BAR_HIGH_PRICE, BAR_LOW_PRICE,
+                BAR_VOLUME, BAR_TURNOVER, BAR_VWAP, BAR_TRADE_COUNT, BAR_BUY_VOLUME, BAR_SELL_VOLUME);
+    }
+
+    public int saveVolumeProfiles(final List<Map<String, Object>> profiles, final long offset) throws SQLException {
+        var count = 0;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var ps = c.prepareStatement(LINEAR_VOLUME_PROFILE_INSERT);
+                 final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                for (final var profile : profiles) {
+                    ps.setString(VOLUME_PROFILE_SYMBOL, (String) profile.get(PROFILE_SYMBOL));
+                    ps.setObject(VOLUME_PROFILE_START_TIME, profile.get(PROFILE_START_TIME));
+                    ps.setObject(VOLUME_PROFILE_END_TIME, profile.get(PROFILE_END_TIME));
+                    ps.setDouble(VOLUME_PROFILE_TICK_SIZE, (Double) profile.get(PROFILE_TICK_SIZE));
+                    ps.setArray(VOLUME_PROFILE_PRICE_TICKS,
+                            createBigintArray(c, (long[]) profile.get(PROFILE_PRICE_TICKS)));
+                    ps.setArray(VOLUME_PROFILE_BUY_VOLUMES,
+                            createDoubleArray(c, (double[]) profile.get(PROFILE_BUY_VOLUMES)));
+                    ps.setArray(VOLUME_PROFILE_SELL_VOLUMES,
+                            createDoubleArray(c, (double[]) profile.get(PROFILE_SELL_VOLUMES)));
+                    ps.setDouble(VOLUME_PROFILE_VOLUME, (Double) profile.get(PROFILE_VOLUME));
+                    ps.setDouble(VOLUME_PROFILE_DELTA, (Double) profile.get(PROFILE_DELTA));
+                    ps.setDouble(VOLUME_PROFILE_POC_PRICE, (Double) profile.get(PROFILE_POC_PRICE));
+
+                    ps.addBatch();
+                    if (++count % batchSize == 0) {
+                        ps.executeBatch();
+                    }
+                }
+
+                ps.executeBatch();
+                updateOffset(psOffset, stream, offset);
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+
+    public List<Map<String, Object>> getVolumeProfile(final String symbol, final OffsetDateTime from,
+                                                      final OffsetDateTime to) throws SQLException {
+        return fetchRangeBySymbol(reader(to), LINEAR_VOLUME_PROFILE_SELECT_BY_SYMBOL, symbol, from, to,
+                PROFILE_SYMBOL, PROFILE_START_TIME, PROFILE_END_TIME, PROFILE_TICK_SIZE, PROFILE_PRICE_TICKS,
+                PROFILE_BUY_VOLUMES, PROFILE_SELL_VOLUMES, PROFILE_VOLUME, PROFILE_DELTA, PROFILE_POC_PRICE);
+    }
+
+    public int saveLiquidation1m(final List<Map<String, Object>> buckets, final long offset) throws SQLException {
+        var count = 0;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var ps = c.prepareStatement(LINEAR_LIQUIDATION_1M_INSERT);
+                 final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                for (final var bucket : buckets) {
+                    ps.setString(LIQUIDATION_SYMBOL, (String) bucket.get(LIQ_SYMBOL));
+                    ps.setObject(LIQUIDATION_BUCKET_TIME, bucket.get(LIQ_BUCKET_TIME));
+                    ps.setLong(LIQUIDATION_BUY_COUNT, (Long) bucket.get(LIQ_BUY_COUNT));
+                    ps.setDouble(LIQUIDATION_BUY_SIZE, (Double) bucket.get(LIQ_BUY_SIZE));
+                    ps.setDouble(LIQUIDATION_BUY_NOTIONAL, (Double) bucket.get(LIQ_BUY_NOTIONAL));
+                    ps.setLong(LIQUIDATION_SELL_COUNT, (Long) bucket.get(LIQ_SELL_COUNT));
+                    ps.setDouble(LIQUIDATION_SELL_SIZE, (Double) bucket.get(LIQ_SELL_SIZE));
+                    ps.setDouble(LIQUIDATION_SELL_NOTIONAL, (Double) bucket.get(LIQ_SELL_NOTIONAL));
+
+                    ps.addBatch();
+                    if (++count % batchSize == 0) {
+                        ps.executeBatch();
+                    }
+                }
+
+                ps.executeBatch();
+                updateOffset(psOffset, stream, offset);
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+
+    public List<Map<String, Object>> getLiquidation1m(final String symbol, final OffsetDateTime from,
+                                                      final OffsetDateTime to) throws SQLException {
+        return fetchRangeBySymbol(reader(to), LINEAR_LIQUIDATION_1M_SELECT_BY_SYMBOL, symbol, from, to,
+                LIQ_SYMBOL, LIQ_BUCKET_TIME, LIQ_BUY_COUNT, LIQ_BUY_SIZE, LIQ_BUY_NOTIONAL, LIQ_SELL_COUNT,
+                LIQ_SELL_SIZE, LIQ_SELL_NOTIONAL);
+    }
+
+    private int saveKlines(final List<Map<String, Object>> klines, final long offset, final String insertSql,
+                           final TailStore tail) throws SQLException {
         var count = 0;
         try (final var c = dataSource.getConnection()) {
             final var oldAutoCommit = c.getAutoCommit();
             c.setAutoCommit(false);
             try (final var ps = c.prepareStatement(insertSql);
                  final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                final var tailRows = tail.batch();
                 for (final var kline : klines) {
                     final var row = getFirstRow(DATA, kline);
                     if (row == null) {
@@ -644,6 +939,7 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
                     ps.setDouble(LINEAR_KLINE_LOW_PRICE, low);
                     ps.setDouble(LINEAR_KLINE_VOLUME, volume);
                     ps.setDouble(LINEAR_KLINE_TURNOVER, turnover);
+                    tailRows.add(symbol, toOdt(start), toOdt(end), open, close, high, low, volume, turnover);
 
                     ps.addBatch();
                     if (++count % batchSize == 0) {
@@ -654,6 +950,7 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
                 ps.executeBatch();
                 updateOffset(psOffset, stream, offset);
                 c.commit();
+                tailRows.publish();
             } catch (final Exception ex) {
                 c.rollback();
                 throw ex;
@@ -733,4 +1030,54 @@ public final class BybitLinearRepository extends AbstractReactive implements Rea
 
         return count;
     }
+
+    private int saveTradeBars(final List<Map<String, Object>> bars, final long offset, final String insertSql)
+            throws SQLException {
+        var count = 0;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var ps = c.prepareStatement(insertSql);
+                 final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                for (final var bar : bars) {
+                    ps.setString(TRADE_BAR_SYMBOL, (String) bar.get(BAR_SYMBOL));
+                    ps.setObject(TRADE_BAR_START_TIME, bar.get(BAR_START_TIME));
+                    ps.setObject(TRADE_BAR_END_TIME, bar.get(BAR_END_TIME));
+                    ps.setDouble(TRADE_BAR_OPEN_PRICE, (Double) bar.get(BAR_OPEN_PRICE));
+                    ps.setDouble(TRADE_BAR_CLOSE_PRICE, (Double) bar.get(BAR_CLOSE_PRICE));
+                    ps.setDouble(TRADE_BAR_HIGH_PRICE, (Double) bar.get(BAR_HIGH_PRICE));
+                    ps.setDouble(TRADE_BAR_LOW_PRICE, (Double) bar.get(BAR_LOW_PRICE));
+                    ps.setDouble(TRADE_BAR_VOLUME, (Double) bar.get(BAR_VOLUME));
+                    ps.setDouble(TRADE_BAR_TURNOVER, (Double) bar.get(BAR_TURNOVER));
+                    ps.setDouble(TRADE_BAR_VWAP, (Double) bar.get(BAR_VWAP));
+                    ps.setLong(TRADE_BAR_TRADE_COUNT, (Long) bar.get(BAR_TRADE_COUNT));
+                    ps.setDouble(TRADE_BAR_BUY_VOLUME, (Double) bar.get(BAR_BUY_VOLUME));
+                    ps.setDouble(TRADE_BAR_SELL_VOLUME, (Double) bar.get(BAR_SELL_VOLUME));
+
+                    ps.addBatch();
+                    if (++count % batchSize == 0) {
+                        ps.executeBatch();
+                    }
+                }
+
+                ps.executeBatch();
+                updateOffset(psOffset, stream, offset);
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Pool a range read ending at {@code to} runs on; writes always use the primary.
+     */
+    private DataSource reader(final OffsetDateTime to) {
+        return collectorDataSource.getReadDataSource(to);
+    }
 }
@@ -39,6 +39,12 @@ import java.util.Map;
 
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.ASK;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.BID;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_TABLE;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_SELECT_BY_SYMBOL;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_INSERT;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_INSERT;
@@ -93,8 +99,73 @@ import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_TICKERS_TIMESTAMP;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_TICKERS_TURNOVER_24H;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_TICKERS_VOLUME_24H;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Downsampling.KLINE_BUCKETS_SELECT_BY_SYMBOL;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Offsets.STREAM_OFFSETS_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_15M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_1D_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_1M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_240M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_5M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Tail.INTERVAL_60M_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TURNOVER;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VWAP;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TRADE_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_BUY_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SELL_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.SPOT_KLINE_1S_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.SPOT_KLINE_1S_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.SPOT_KLINE_5S_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.SPOT_KLINE_5S_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.SPOT_KLINE_15S_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.SPOT_KLINE_15S_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_TURNOVER;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_VWAP;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_TRADE_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_BUY_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.TRADE_BAR_SELL_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_TICK_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_PRICE_TICKS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_BUY_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SELL_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_DELTA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_POC_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.SPOT_VOLUME_PROFILE_INSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.SPOT_VOLUME_PROFILE_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_TICK_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_PRICE_TICKS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_BUY_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_SELL_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_DELTA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.VOLUME_PROFILE_POC_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.createBigintArray;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.createDoubleArray;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.fetchBucketsBySymbol;
 import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.fetchRangeBySymbol;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.openRangeBySymbol;
 import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.updateOffset;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.A;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.B;
@@ -135,9 +206,28 @@ import static com.github.akarazhev.jcryptolib.util.ValueUtils.toBoolean;
 import static com.github.akarazhev.jcryptolib.util.ValueUtils.toDouble;
 
 public final class BybitSpotRepository extends AbstractReactive implements ReactiveService {
+    // Bucketed selects of the kline tables by interval; table names are never taken from the caller
+    private static final Map<Long, String> KLINE_BUCKET_SELECTS = Map.of(
+            INTERVAL_1M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(SPOT_KLINE_1M_TABLE),
+            INTERVAL_5M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(SPOT_KLINE_5M_TABLE),
+            INTERVAL_15M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(SPOT_KLINE_15M_TABLE),
+            INTERVAL_60M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(SPOT_KLINE_60M_TABLE),
+            INTERVAL_240M_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(SPOT_KLINE_240M_TABLE),
+            INTERVAL_1D_MS, KLINE_BUCKETS_SELECT_BY_SYMBOL.formatted(SPOT_KLINE_1D_TABLE)
+    );
+    private final CollectorDataSource collectorDataSource;
     private final DataSource dataSource;
     private final int batchSize;
     private final String stream;
+    private final int fetchSize;
+    private final TailStore kline1mTail = TailStore.klines(INTERVAL_1M_MS);
+    private final TailStore kline5mTail = TailStore.klines(INTERVAL_5M_MS);
+    private final TailStore kline15mTail = TailStore.klines(INTERVAL_15M_MS);
+    private final TailStore kline60mTail = TailStore.klines(INTERVAL_60M_MS);
+    private final TailStore kline240mTail = TailStore.klines(INTERVAL_240M_MS);
+    private final TailStore kline1dTail = TailStore.klines(INTERVAL_1D_MS);
+    private final TailStore tickerTail = TailStore.spotTickers();
+    private final TailStore publicTradeTail = TailStore.publicTrades();
 
     public static BybitSpotRepository create(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
         return new BybitSpotRepository(reactor, collectorDataSource);
@@ -145,9 +235,11 @@ public final class BybitSpotRepository extends AbstractReactive implements React
 
     private BybitSpotRepository(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
         super(reactor);
+        this.collectorDataSource = collectorDataSource;
         this.dataSource = collectorDataSource.getDataSource();
         this.batchSize = JdbcConfig.getBybitBatchSize();
         this.stream = AmqpConfig.getAmqpBybitStream();
+        this.fetchSize = JdbcConfig.getStreamFetchSize();
     }
 
     @Override
@@ -161,27 +253,27 @@ public final class BybitSpotRepository extends AbstractReactive implements React
     }
 
     public int saveKline1m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, SPOT_KLINE_1M_INSERT);
+        return saveKlines(klines, offset, SPOT_KLINE_1M_INSERT, kline1mTail);
     }
 
     public int saveKline5m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, SPOT_KLINE_5M_INSERT);
+        return saveKlines(klines, offset, SPOT_KLINE_5M_INSERT, kline5mTail);
     }
 
     public int saveKline15m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, SPOT_KLINE_15M_INSERT);
+        return saveKlines(klines, offset, SPOT_KLINE_15M_INSERT, kline15mTail);
     }
 
     public int saveKline60m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, SPOT_KLINE_60M_INSERT);
+        return saveKlines(klines, offset, SPOT_KLINE_60M_INSERT, kline60mTail);
     }
 
     public int saveKline240m(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, SPOT_KLINE_240M_INSERT);
+        return saveKlines(klines, offset, SPOT_KLINE_240M_INSERT, kline240mTail);
     }
 
     public int saveKline1d(final List<Map<String, Object>> klines, final long offset) throws SQLException {
-        return saveKlines(klines, offset, SPOT_KLINE_1D_INSERT);
+        return saveKlines(klines, offset, SPOT_KLINE_1D_INSERT, kline1dTail);
     }
 
     public int saveTicker(final List<Map<String, Object>> tickers, final long offset) throws SQLException {
@@ -191,6 +283,7 @@ public final class BybitSpotRepository extends AbstractReactive implements React
             c.setAutoCommit(false);
             try (final var ps = c.prepareStatement(SPOT_TICKERS_INSERT);
                  final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                final var tailRows = tickerTail.batch();
                 for (final var ticker : tickers) {
                     final var row = getRow(DATA, ticker);
                     if (row == null) {
@@ -222,6 +315,8 @@ public final class BybitSpotRepository extends AbstractReactive implements React
                     ps.setDouble(SPOT_TICKERS_VOLUME_24H, volume24h);
                     ps.setDouble(SPOT_TICKERS_TURNOVER_24H, turnover24h);
                     ps.setDouble(SPOT_TICKERS_PRICE_24H_PCNT, price24hPcnt);
+                    tailRows.add(symbol, toOdt(timestamp), lastPrice, highPrice24h, lowPrice24h, prevPrice24h,
+                            volume24h, turnover24h, price24hPcnt);
 
                     ps.addBatch();
                     if (++count % batchSize == 0) {
@@ -232,6 +327,7 @@ public final class BybitSpotRepository extends AbstractReactive implements React
                 ps.executeBatch();
                 updateOffset(psOffset, stream, offset);
                 c.commit();
+                tailRows.publish();
             } catch (final Exception ex) {
                 c.rollback();
                 throw ex;
@@ -245,47 +341,70 @@ public final class BybitSpotRepository extends AbstractReactive implements React
 
     public List<Map<String, Object>> getKline1m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_KLINE_1M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline1mTail, reader(to), SPOT_KLINE_1M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline5m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_KLINE_5M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline5mTail, reader(to), SPOT_KLINE_5M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline15m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_KLINE_15M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline15mTail, reader(to), SPOT_KLINE_15M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline60m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_KLINE_60M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline60mTail, reader(to), SPOT_KLINE_60M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline240m(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_KLINE_240M_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline240mTail, reader(to), SPOT_KLINE_240M_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getKline1d(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_KLINE_1D_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(kline1dTail, reader(to), SPOT_KLINE_1D_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
     }
 
     public List<Map<String, Object>> getTicker(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_TICKERS_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(tickerTail, reader(to), SPOT_TICKERS_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, TS, LAST_PRICE, HIGH_PRICE_24H, LOW_PRICE_24H, PREV_PRICE_24H, VOLUME_24H,
                 TURNOVER_24H, PRICE_24H_PCNT);
     }
 
+    public RowCursor openTicker(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(tickerTail, reader(to), SPOT_TICKERS_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL, TS, LAST_PRICE, HIGH_PRICE_24H, LOW_PRICE_24H, PREV_PRICE_24H, VOLUME_24H,
+                TURNOVER_24H, PRICE_24H_PCNT);
+    }
+
+    /**
+     * Klines of the {@code intervalMs} table aggregated into buckets of {@code bucketMs}, a multiple of the interval.
+     */
+    public List<Map<String, Object>> getKlineBuckets(final long intervalMs, final String symbol,
+                                                     final OffsetDateTime from, final OffsetDateTime to,
+                                                     final long bucketMs) throws SQLException {
+        final var sql = KLINE_BUCKET_SELECTS.get(intervalMs);
+        if (sql == null || bucketMs < intervalMs || bucketMs % intervalMs != 0) {
+            throw new IllegalArgumentException(
+                    "Unsupported kline buckets: " + bucketMs + " ms of " + intervalMs + " ms");
+        }
+
+        return fetchBucketsBySymbol(reader(to), sql, bucketMs, symbol, from, to,
+                SYMBOL, START, END, OPEN, CLOSE, HIGH, LOW, VOLUME, TURNOVER);
+    }
+
     public int savePublicTrade(final List<Map<String, Object>> trades, final long offset) throws SQLException {
         var count = 0;
         try (final var c = dataSource.getConnection()) {
@@ -293,6 +412,7 @@ public final class BybitSpotRepository extends AbstractReactive implements React
             c.setAutoCommit(false);
             try (final var ps = c.prepareStatement(SPOT_PUBLIC_TRADE_INSERT);
                  final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                final var tailRows = publicTradeTail.batch();
                 for (final var trade : trades) {
                     final var rows = getRows(DATA, trade);
                     if (rows != null) {
@@ -317,6 +437,7 @@ public final class BybitSpotRepository extends AbstractReactive implements React
                             ps.setString(SPOT_PUBLIC_TRADE_TAKER_SIDE, takerSide);
                             ps.setBoolean(SPOT_PUBLIC_TRADE_IS_BLOCK_TRADE, isBlock);
                             ps.setBoolean(SPOT_PUBLIC_TRADE_IS_RPI, isRpi);
+                            tailRows.add(symbol, toOdt(tradeTime), price, size, takerSide, isBlock, isRpi);
 
                             ps.addBatch();
                             if (++count % batchSize == 0) {
@@ -329,6 +450,7 @@ public final class BybitSpotRepository extends AbstractReactive implements React
                 ps.executeBatch();
                 updateOffset(psOffset, stream, offset);
                 c.commit();
+                tailRows.publish();
             } catch (final Exception ex) {
                 c.rollback();
                 throw ex;
@@ -358,42 +480,155 @@ public final class BybitSpotRepository extends AbstractReactive implements React
 
     public List<Map<String, Object>> getPublicTrade(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_PUBLIC_TRADE_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(publicTradeTail, reader(to), SPOT_PUBLIC_TRADE_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, T, P, V, SIDE, BT, RPI);
     }
 
     public List<Map<String, Object>> getOrderBook1(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_ORDER_BOOK_1_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), SPOT_ORDER_BOOK_1_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
     public List<Map<String, Object>> getOrderBook50(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_ORDER_BOOK_50_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), SPOT_ORDER_BOOK_50_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
     public List<Map<String, Object>> getOrderBook200(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_ORDER_BOOK_200_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), SPOT_ORDER_BOOK_200_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
     public List<Map<String, Object>> getOrderBook1000(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, SPOT_ORDER_BOOK_1000_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), SPOT_ORDER_BOOK_1000_SELECT_BY_SYMBOL, symbol, from, to,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openOrderBook1(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), SPOT_ORDER_BOOK_1_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openOrderBook50(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), SPOT_ORDER_BOOK_50_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openOrderBook200(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), SPOT_ORDER_BOOK_200_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
+                SYMBOL_NAME, CTS, SIDE, P, V);
+    }
+
+    public RowCursor openOrderBook1000(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return openRangeBySymbol(reader(to), SPOT_ORDER_BOOK_1000_SELECT_BY_SYMBOL, symbol, from, to, fetchSize,
                 SYMBOL_NAME, CTS, SIDE, P, V);
     }
 
-    private int saveKlines(final List<Map<String, Object>> klines, final long offset, final String insertSql)
+    public RowCursor openPublicTrade(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
+        return openRangeBySymbol(publicTradeTail, reader(to), SPOT_PUBLIC_TRADE_SELECT_BY_SYMBOL, symbol, from, to,
+                fetchSize, SYMBOL_NAME, T, P, V, SIDE, BT, RPI);
+    }
+
+    public int saveKline1s(final List<Map<String, Object>> bars, final long offset) throws SQLException {
+        return saveTradeBars(bars, offset, SPOT_KLINE_1S_INSERT);
+    }
+
+    public int saveKline5s(final List<Map<String, Object>> bars, final long offset) throws SQLException {
+        return saveTradeBars(bars, offset, SPOT_KLINE_5S_INSERT);
+    }
+
+    public int saveKline15s(final List<Map<String, Object>> bars, final long offset) throws SQLException {
+        return saveTradeBars(bars, offset, SPOT_KLINE_15S_INSERT);
+    }
+
+    public List<Map<String, Object>> getKline1s(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return fetchRangeBySymbol(reader(to), SPOT_KLINE_1S_SELECT_BY_SYMBOL, symbol, from, to,
+                BAR_SYMBOL, BAR_START_TIME, BAR_END_TIME, BAR_OPEN_PRICE, BAR_CLOSE_PRICE, BAR_HIGH_PRICE, BAR_LOW_PRICE,
+                BAR_VOLUME, BAR_TURNOVER, BAR_VWAP, BAR_TRADE_COUNT, BAR_BUY_VOLUME, BAR_SELL_VOLUME);
+    }
+
+    public List<Map<String, Object>> getKline5s(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return fetchRangeBySymbol(reader(to), SPOT_KLINE_5S_SELECT_BY_SYMBOL, symbol, from, to,
+                BAR_SYMBOL, BAR_START_TIME, BAR_END_TIME, BAR_OPEN_PRICE, BAR_CLOSE_PRICE, BAR_HIGH_PRICE, BAR_LOW_PRICE,
+                BAR_VOLUME, BAR_TURNOVER, BAR_VWAP, BAR_TRADE_COUNT, BAR_BUY_VOLUME, BAR_SELL_VOLUME);
+    }
+
+    public List<Map<String, Object>> getKline15s(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return fetchRangeBySymbol(reader(to), SPOT_KLINE_15S_SELECT_BY_SYMBOL, symbol, from, to,
+                BAR_SYMBOL, BAR_START_TIME, BAR_END_TIME, BAR_OPEN_PRICE, BAR_CLOSE_PRICE, BAR_HIGH_PRICE, BAR_LOW_PRICE,
+                BAR_VOLUME, BAR_TURNOVER, BAR_VWAP, BAR_TRADE_COUNT, BAR_BUY_VOLUME, BAR_SELL_VOLUME);
+    }
+
+    public int saveVolumeProfiles(final List<Map<String, Object>> profiles, final long offset) throws SQLException {
+        var count = 0;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var ps = c.prepareStatement(SPOT_VOLUME_PROFILE_INSERT);
+                 final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                for (final var profile : profiles) {
+                    ps.setString(VOLUME_PROFILE_SYMBOL, (String) profile.get(PROFILE_SYMBOL));
+                    ps.setObject(VOLUME_PROFILE_START_TIME, profile.get(PROFILE_START_TIME));
+                    ps.setObject(VOLUME_PROFILE_END_TIME, profile.get(PROFILE_END_TIME));
+                    ps.setDouble(VOLUME_PROFILE_TICK_SIZE, (Double) profile.get(PROFILE_TICK_SIZE));
+                    ps.setArray(VOLUME_PROFILE_PRICE_TICKS,
+                            createBigintArray(c, (long[]) profile.get(PROFILE_PRICE_TICKS)));
+                    ps.setArray(VOLUME_PROFILE_BUY_VOLUMES,
+                            createDoubleArray(c, (double[]) profile.get(PROFILE_BUY_VOLUMES)));
+                    ps.setArray(VOLUME_PROFILE_SELL_VOLUMES,
+                            createDoubleArray(c, (double[]) profile.get(PROFILE_SELL_VOLUMES)));
+                    ps.setDouble(VOLUME_PROFILE_VOLUME, (Double) profile.get(PROFILE_VOLUME));
+                    ps.setDouble(VOLUME_PROFILE_DELTA, (Double) profile.get(PROFILE_DELTA));
+                    ps.setDouble(VOLUME_PROFILE_POC_PRICE, (Double) profile.get(PROFILE_POC_PRICE));
+
+                    ps.addBatch();
+                    if (++count % batchSize == 0) {
+                        ps.executeBatch();
+                    }
+                }
+
+                ps.executeBatch();
+                updateOffset(psOffset, stream, offset);
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+
+    public List<Map<String, Object>> getVolumeProfile(final String symbol, final OffsetDateTime from,
+                                                      final OffsetDateTime to) throws SQLException {
+        return fetchRangeBySymbol(reader(to), SPOT_VOLUME_PROFILE_SELECT_BY_SYMBOL, symbol, from, to,
+                PROFILE_SYMBOL, PROFILE_START_TIME, PROFILE_END_TIME, PROFILE_TICK_SIZE, PROFILE_PRICE_TICKS,
+                PROFILE_BUY_VOLUMES, PROFILE_SELL_VOLUMES, PROFILE_VOLUME, PROFILE_DELTA, PROFILE_POC_PRICE);
+    }
+
+    private int saveKlines(final List<Map<String, Object>> klines, final long offset, final String insertSql,
+                           final TailStore tail) throws SQLException {
         var count = 0;
         try (final var c = dataSource.getConnection()) {
             final var oldAutoCommit = c.getAutoCommit();
             c.setAutoCommit(false);
             try (final var ps = c.prepareStatement(insertSql);
                  final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                final var tailRows = tail.batch();
                 for (final var kline : klines) {
                     final var row = getFirstRow(DATA, kline);
                     if (row == null) {
@@ -424,6 +659,7 @@ public final class BybitSpotRepository extends AbstractReactive implements React
                     ps.setDouble(SPOT_KLINE_LOW_PRICE, low);
                     ps.setDouble(SPOT_KLINE_VOLUME, volume);
                     ps.setDouble(SPOT_KLINE_TURNOVER, turnover);
+                    tailRows.add(symbol, toOdt(start), toOdt(end), open, close, high, low, volume, turnover);
 
                     ps.addBatch();
                     if (++count % batchSize == 0) {
@@ -434,6 +670,7 @@ public final class BybitSpotRepository extends AbstractReactive implements React
                 ps.executeBatch();
                 updateOffset(psOffset, stream, offset);
                 c.commit();
+                tailRows.publish();
             } catch (final Exception ex) {
                 c.rollback();
                 throw ex;
@@ -513,4 +750,54 @@ public final class BybitSpotRepository extends AbstractReactive implements React
 
         return count;
     }
+
+    private int saveTradeBars(final List<Map<String, Object>> bars, final long offset, final String insertSql)
+            throws SQLException {
+        var count = 0;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var ps = c.prepareStatement(insertSql);
+                 final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                for (final var bar : bars) {
+                    ps.setString(TRADE_BAR_SYMBOL, (String) bar.get(BAR_SYMBOL));
+                    ps.setObject(TRADE_BAR_START_TIME, bar.get(BAR_START_TIME));
+                    ps.setObject(TRADE_BAR_END_TIME, bar.get(BAR_END_TIME));
+                    ps.setDouble(TRADE_BAR_OPEN_PRICE, (Double) bar.get(BAR_OPEN_PRICE));
+                    ps.setDouble(TRADE_BAR_CLOSE_PRICE, (Double) bar.get(BAR_CLOSE_PRICE));
+                    ps.setDouble(TRADE_BAR_HIGH_PRICE, (Double) bar.get(BAR_HIGH_PRICE));
+                    ps.setDouble(TRADE_BAR_LOW_PRICE, (Double) bar.get(BAR_LOW_PRICE));
+                    ps.setDouble(TRADE_BAR_VOLUME, (Double) bar.get(BAR_VOLUME));
+                    ps.setDouble(TRADE_BAR_TURNOVER, (Double) bar.get(BAR_TURNOVER));
+                    ps.setDouble(TRADE_BAR_VWAP, (Double) bar.get(BAR_VWAP));
+                    ps.setLong(TRADE_BAR_TRADE_COUNT, (Long) bar.get(BAR_TRADE_COUNT));
+                    ps.setDouble(TRADE_BAR_BUY_VOLUME, (Double) bar.get(BAR_BUY_VOLUME));
+                    ps.setDouble(TRADE_BAR_SELL_VOLUME, (Double) bar.get(BAR_SELL_VOLUME));
+
+                    ps.addBatch();
+                    if (++count % batchSize == 0) {
+                        ps.executeBatch();
+                    }
+                }
+
+                ps.executeBatch();
+                updateOffset(psOffset, stream, offset);
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Pool a range read ending at {@code to} runs on; writes always use the primary.
+     */
+    private DataSource reader(final OffsetDateTime to) {
+        return collectorDataSource.getReadDataSource(to);
+    }
 }
@@ -30,13 +30,45 @@ import io.activej.async.service.ReactiveService;
 import io.activej.promise.Promise;
 import io.activej.reactor.AbstractReactive;
 import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Replicas.LAG_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Replicas.REPLAY_LAG_SELECT;
 
 public final class CollectorDataSource extends AbstractReactive implements ReactiveService {
+    private final static Logger LOGGER = LoggerFactory.getLogger(CollectorDataSource.class);
     private final Executor executor;
     private final HikariDataSource dataSource;
+    private final List<Replica> replicas;
+    private final ReplicaRouter router;
+    private final long checkIntervalMs;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Outcome of the last replay lag check of a read replica; the lag is -1 while it is unknown.
+     */
+    public record ReplicaStatus(String name, boolean up, long lagMs, String error) {
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile ReplicaStatus status;
+
+        private Replica(final String name, final HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.status = new ReplicaStatus(name, false, -1, "Not checked yet");
+        }
+    }
 
     public static CollectorDataSource create(final NioReactor reactor, final Executor executor) {
         return new CollectorDataSource(reactor, executor);
@@ -46,20 +78,117 @@ public final class CollectorDataSource extends AbstractReactive implements React
         super(reactor);
         this.executor = executor;
         dataSource = new HikariDataSource(JdbcConfig.getHikariConfig());
+        final var urls = JdbcConfig.getReplicaUrls();
+        replicas = new ArrayList<>(urls.size());
+        for (var i = 0; i < urls.size(); i++) {
+            final var config = JdbcConfig.getReplicaHikariConfig(urls.get(i), i);
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+
+        router = ReplicaRouter.create(replicas.size(), JdbcConfig.getReplicaFreshnessMarginMs());
+        checkIntervalMs = JdbcConfig.getReplicaCheckIntervalMs();
     }
 
     @Override
     public Promise<Void> start() {
+        running.set(true);
+        if (!replicas.isEmpty()) {
+            scheduledCheck();
+        }
+
         return Promise.complete();
     }
 
+    /**
+     * The primary pool, used for writes and for reads that must see the latest commits.
+     */
     public DataSource getDataSource() {
         return dataSource;
     }
 
+    /**
+     * The pool to read a range ending at {@code to} from: a replica that has replayed past it, else the primary.
+     */
+    public DataSource getReadDataSource(final OffsetDateTime to) {
+        if (replicas.isEmpty() || to == null) {
+            return dataSource;
+        }
+
+        final var replica = router.route(to.toInstant().toEpochMilli());
+        return replica == ReplicaRouter.PRIMARY ? dataSource : replicas.get(replica).dataSource;
+    }
+
+    /**
+     * Statuses of the read replicas as of their last check.
+     */
+    public List<ReplicaStatus> getReplicaStatuses() {
+        final var statuses = new ArrayList<ReplicaStatus>(replicas.size());
+        for (final var replica : replicas) {
+            statuses.add(replica.status);
+        }
+
+        return statuses;
+    }
+
+    /**
+     * Measures the replay lag of every replica and updates the routing with it. Blocks, so it runs on the executor.
+     */
+    public List<ReplicaStatus> checkReplicas() {
+        for (var i = 0; i < replicas.size(); i++) {
+            checkReplica(i);
+        }
+
+        return getReplicaStatuses();
+    }
+
+    private void checkReplica(final int index) {
+        final var replica = replicas.get(index);
+        final var checkedAtMs = System.currentTimeMillis();
+        try (final var c = replica.dataSource.getConnection();
+             final var ps = c.prepareStatement(REPLAY_LAG_SELECT);
+             final var rs = ps.executeQuery()) {
+            final var lag = rs.next() ? rs.getObject(LAG_MS) : null;
+            if (lag instanceof Number number) {
+                final var lagMs = Math.max(0L, number.longValue());
+                router.update(index, checkedAtMs - lagMs);
+                replica.status = new ReplicaStatus(replica.name, true, lagMs, null);
+            } else {
+                router.markDown(index);
+                replica.status = new ReplicaStatus(replica.name, true, -1, "No transaction replayed yet");
+            }
+        } catch (final Exception ex) {
+            LOGGER.debug("Replay lag check of {} failed", replica.name, ex);
+            router.markDown(index);
+            replica.status = new ReplicaStatus(replica.name, false, -1, ex.getMessage());
+        }
+    }
+
+    private void scheduledCheck() {
+        if (!running.get()) {
+            return;
+        }
+
+        Promise.ofBlocking(executor, this::checkReplicas).whenComplete((_, ex) -> {
+            if (ex != null) {
+                LOGGER.error("Failed to check read replicas", ex);
+            }
+
+            if (running.get()) {
+                reactor.delayBackground(checkIntervalMs, this::scheduledCheck);
+            }
+        });
+    }
+
     @Override
     public Promise<Void> stop() {
+        running.set(false);
         return Promise.ofBlocking(executor, () -> {
+            for (final var replica : replicas) {
+                if (replica.dataSource.isRunning()) {
+                    replica.dataSource.close();
+                }
+            }
+
             if (dataSource.isRunning()) {
                 dataSource.close();
             }
@@ -414,6 +414,151 @@ public final class Constants {
         static final int LINEAR_ALL_LIQUIDATION_BANKRUPTCY_PRICE = 5;
     }
 
+    public final static class TradeBars {
+        private TradeBars() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit sub-minute klines built from public trades
+        public static final String SPOT_KLINE_1S_TABLE = "crypto_scout.bybit_spot_kline_1s";
+        public static final String SPOT_KLINE_5S_TABLE = "crypto_scout.bybit_spot_kline_5s";
+        public static final String SPOT_KLINE_15S_TABLE = "crypto_scout.bybit_spot_kline_15s";
+        public static final String LINEAR_KLINE_1S_TABLE = "crypto_scout.bybit_linear_kline_1s";
+        public static final String LINEAR_KLINE_5S_TABLE = "crypto_scout.bybit_linear_kline_5s";
+        public static final String LINEAR_KLINE_15S_TABLE = "crypto_scout.bybit_linear_kline_15s";
+
+        // Column names
+        public static final String BAR_SYMBOL = "symbol";
+        public static final String BAR_START_TIME = "start_time";
+        public static final String BAR_END_TIME = "end_time";
+        public static final String BAR_OPEN_PRICE = "open_price";
+        public static final String BAR_CLOSE_PRICE = "close_price";
+        public static final String BAR_HIGH_PRICE = "high_price";
+        public static final String BAR_LOW_PRICE = "low_price";
+        public static final String BAR_VOLUME = "volume";
+        public static final String BAR_TURNOVER = "turnover";
+        public static final String BAR_VWAP = "vwap";
+        public static final String BAR_TRADE_COUNT = "trade_count";
+        public static final String BAR_BUY_VOLUME = "buy_volume";
+        public static final String BAR_SELL_VOLUME = "sell_volume";
+
+        private static final String COLUMNS = "symbol, start_time, end_time, open_price, close_price, high_price, " +
+                "low_price, volume, turnover, vwap, trade_count, buy_volume, sell_volume";
+        private static final String VALUES = " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (symbol, start_time) DO NOTHING";
+        private static final String RANGE = " WHERE symbol = ? AND start_time >= ? AND end_time <= ?";
+
+        // Trade bars: identical schema across intervals and markets
+        static final String SPOT_KLINE_1S_INSERT = "INSERT INTO " + SPOT_KLINE_1S_TABLE + "(" + COLUMNS + ")" + VALUES;
+        static final String SPOT_KLINE_1S_SELECT_BY_SYMBOL = "SELECT " + COLUMNS + " FROM " + SPOT_KLINE_1S_TABLE + RANGE;
+        static final String SPOT_KLINE_5S_INSERT = "INSERT INTO " + SPOT_KLINE_5S_TABLE + "(" + COLUMNS + ")" + VALUES;
+        static final String SPOT_KLINE_5S_SELECT_BY_SYMBOL = "SELECT " + COLUMNS + " FROM " + SPOT_KLINE_5S_TABLE + RANGE;
+        static final String SPOT_KLINE_15S_INSERT = "INSERT INTO " + SPOT_KLINE_15S_TABLE + "(" + COLUMNS + ")" + VALUES;
+        static final String SPOT_KLINE_15S_SELECT_BY_SYMBOL = "SELECT " + COLUMNS + " FROM " + SPOT_KLINE_15S_TABLE + RANGE;
+        static final String LINEAR_KLINE_1S_INSERT = "INSERT INTO " + LINEAR_KLINE_1S_TABLE + "(" + COLUMNS + ")" + VALUES;
+        static final String LINEAR_KLINE_1S_SELECT_BY_SYMBOL = "SELECT " + COLUMNS + " FROM " + LINEAR_KLINE_1S_TABLE + RANGE;
+        static final String LINEAR_KLINE_5S_INSERT = "INSERT INTO " + LINEAR_KLINE_5S_TABLE + "(" + COLUMNS + ")" + VALUES;
+        static final String LINEAR_KLINE_5S_SELECT_BY_SYMBOL = "SELECT " + COLUMNS + " FROM " + LINEAR_KLINE_5S_TABLE + RANGE;
+        static final String LINEAR_KLINE_15S_INSERT = "INSERT INTO " + LINEAR_KLINE_15S_TABLE + "(" + COLUMNS + ")" + VALUES;
+        static final String LINEAR_KLINE_15S_SELECT_BY_SYMBOL = "SELECT " + COLUMNS + " FROM " + LINEAR_KLINE_15S_TABLE + RANGE;
+        static final int TRADE_BAR_SYMBOL = 1;
+        static final int TRADE_BAR_START_TIME = 2;
+        static final int TRADE_BAR_END_TIME = 3;
+        static final int TRADE_BAR_OPEN_PRICE = 4;
+        static final int TRADE_BAR_CLOSE_PRICE = 5;
+        static final int TRADE_BAR_HIGH_PRICE = 6;
+        static final int TRADE_BAR_LOW_PRICE = 7;
+        static final int TRADE_BAR_VOLUME = 8;
+        static final int TRADE_BAR_TURNOVER = 9;
+        static final int TRADE_BAR_VWAP = 10;
+        static final int TRADE_BAR_TRADE_COUNT = 11;
+        static final int TRADE_BAR_BUY_VOLUME = 12;
+        static final int TRADE_BAR_SELL_VOLUME = 13;
+    }
+
+    public final static class VolumeProfile {
+        private VolumeProfile() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit volume profile (footprint) bars built from public trades
+        public static final String SPOT_VOLUME_PROFILE_TABLE = "crypto_scout.bybit_spot_volume_profile";
+        public static final String LINEAR_VOLUME_PROFILE_TABLE = "crypto_scout.bybit_linear_volume_profile";
+
+        // Column names
+        public static final String PROFILE_SYMBOL = "symbol";
+        public static final String PROFILE_START_TIME = "start_time";
+        public static final String PROFILE_END_TIME = "end_time";
+        public static final String PROFILE_TICK_SIZE = "tick_size";
+        public static final String PROFILE_PRICE_TICKS = "price_ticks";
+        public static final String PROFILE_BUY_VOLUMES = "buy_volumes";
+        public static final String PROFILE_SELL_VOLUMES = "sell_volumes";
+        public static final String PROFILE_VOLUME = "volume";
+        public static final String PROFILE_DELTA = "delta";
+        public static final String PROFILE_POC_PRICE = "poc_price";
+
+        // Volume profile: identical schema across markets
+        static final String SPOT_VOLUME_PROFILE_INSERT = "INSERT INTO " + SPOT_VOLUME_PROFILE_TABLE +
+                "(symbol, start_time, end_time, tick_size, price_ticks, buy_volumes, sell_volumes, volume, delta, " +
+                "poc_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (symbol, start_time) DO NOTHING";
+        static final String SPOT_VOLUME_PROFILE_SELECT_BY_SYMBOL =
+                "SELECT symbol, start_time, end_time, tick_size, price_ticks, buy_volumes, sell_volumes, volume, " +
+                        "delta, poc_price FROM " + SPOT_VOLUME_PROFILE_TABLE +
+                        " WHERE symbol = ? AND start_time >= ? AND end_time <= ?";
+        static final String LINEAR_VOLUME_PROFILE_INSERT = "INSERT INTO " + LINEAR_VOLUME_PROFILE_TABLE +
+                "(symbol, start_time, end_time, tick_size, price_ticks, buy_volumes, sell_volumes, volume, delta, " +
+                "poc_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (symbol, start_time) DO NOTHING";
+        static final String LINEAR_VOLUME_PROFILE_SELECT_BY_SYMBOL =
+                "SELECT symbol, start_time, end_time, tick_size, price_ticks, buy_volumes, sell_volumes, volume, " +
+                        "delta, poc_price FROM " + LINEAR_VOLUME_PROFILE_TABLE +
+                        " WHERE symbol = ? AND start_time >= ? AND end_time <= ?";
+        static final int VOLUME_PROFILE_SYMBOL = 1;
+        static final int VOLUME_PROFILE_START_TIME = 2;
+        static final int VOLUME_PROFILE_END_TIME = 3;
+        static final int VOLUME_PROFILE_TICK_SIZE = 4;
+        static final int VOLUME_PROFILE_PRICE_TICKS = 5;
+        static final int VOLUME_PROFILE_BUY_VOLUMES = 6;
+        static final int VOLUME_PROFILE_SELL_VOLUMES = 7;
+        static final int VOLUME_PROFILE_VOLUME = 8;
+        static final int VOLUME_PROFILE_DELTA = 9;
+        static final int VOLUME_PROFILE_POC_PRICE = 10;
+    }
+
+    public final static class LiquidationBuckets {
+        private LiquidationBuckets() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit linear liquidations bucketed per minute (Buy = long positions, Sell = short positions)
+        public static final String LINEAR_LIQUIDATION_1M_TABLE = "crypto_scout.bybit_linear_liquidation_1m";
+
+        // Column names
+        public static final String LIQ_SYMBOL = "symbol";
+        public static final String LIQ_BUCKET_TIME = "bucket_time";
+        public static final String LIQ_BUY_COUNT = "buy_count";
+        public static final String LIQ_BUY_SIZE = "buy_size";
+        public static final String LIQ_BUY_NOTIONAL = "buy_notional";
+        public static final String LIQ_SELL_COUNT = "sell_count";
+        public static final String LIQ_SELL_SIZE = "sell_size";
+        public static final String LIQ_SELL_NOTIONAL = "sell_notional";
+
+        static final String LINEAR_LIQUIDATION_1M_INSERT = "INSERT INTO " + LINEAR_LIQUIDATION_1M_TABLE +
+                "(symbol, bucket_time, buy_count, buy_size, buy_notional, sell_count, sell_size, sell_notional) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (symbol, bucket_time) DO NOTHING";
+        static final String LINEAR_LIQUIDATION_1M_SELECT_BY_SYMBOL =
+                "SELECT symbol, bucket_time, buy_count, buy_size, buy_notional, sell_count, sell_size, " +
+                        "sell_notional FROM " + LINEAR_LIQUIDATION_1M_TABLE +
+                        " WHERE symbol = ? AND bucket_time >= ? AND bucket_time <= ?";
+        static final int LIQUIDATION_SYMBOL = 1;
+        static final int LIQUIDATION_BUCKET_TIME = 2;
+        static final int LIQUIDATION_BUY_COUNT = 3;
+        static final int LIQUIDATION_BUY_SIZE = 4;
+        static final int LIQUIDATION_BUY_NOTIONAL = 5;
+        static final int LIQUIDATION_SELL_COUNT = 6;
+        static final int LIQUIDATION_SELL_SIZE = 7;
+        static final int LIQUIDATION_SELL_NOTIONAL = 8;
+    }
+
     public final static class CmcKline1wIndicators {
         private CmcKline1wIndicators() {
             throw new UnsupportedOperationException();
@@ -521,6 +666,227 @@ public final class Constants {
         static final int IND_MARKET_CAP_TO_VOLUME = 26;
     }
 
+    public final static class BybitIndicators {
+        private BybitIndicators() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit kline indicators: one table per market and interval, identical schema
+        public static final String SPOT_KLINE_1M_INDICATORS_TABLE = "crypto_scout.bybit_spot_kline_1m_indicators";
+        public static final String SPOT_KLINE_5M_INDICATORS_TABLE = "crypto_scout.bybit_spot_kline_5m_indicators";
+        public static final String SPOT_KLINE_15M_INDICATORS_TABLE = "crypto_scout.bybit_spot_kline_15m_indicators";
+        public static final String SPOT_KLINE_60M_INDICATORS_TABLE = "crypto_scout.bybit_spot_kline_60m_indicators";
+        public static final String SPOT_KLINE_240M_INDICATORS_TABLE = "crypto_scout.bybit_spot_kline_240m_indicators";
+        public static final String SPOT_KLINE_1D_INDICATORS_TABLE = "crypto_scout.bybit_spot_kline_1d_indicators";
+        public static final String LINEAR_KLINE_1M_INDICATORS_TABLE = "crypto_scout.bybit_linear_kline_1m_indicators";
+        public static final String LINEAR_KLINE_5M_INDICATORS_TABLE = "crypto_scout.bybit_linear_kline_5m_indicators";
+        public static final String LINEAR_KLINE_15M_INDICATORS_TABLE =
+                "crypto_scout.bybit_linear_kline_15m_indicators";
+        public static final String LINEAR_KLINE_60M_INDICATORS_TABLE =
+                "crypto_scout.bybit_linear_kline_60m_indicators";
+        public static final String LINEAR_KLINE_240M_INDICATORS_TABLE =
+                "crypto_scout.bybit_linear_kline_240m_indicators";
+        public static final String LINEAR_KLINE_1D_INDICATORS_TABLE = "crypto_scout.bybit_linear_kline_1d_indicators";
+
+        // Start time of the last bar with indicators of a symbol: %s is the indicators table
+        static final String LAST_INDICATOR_TIME_SELECT = "SELECT max(start_time) FROM %s WHERE symbol = ?";
+        static final int LAST_INDICATOR_SYMBOL = 1;
+
+        // Upsert into an indicators table: %s is the table; parameter indices follow CmcKline1wIndicators.IND_*
+        // up to IND_VOLUME_SMA_20, with the bar start time in place of the timestamp
+        static final String BYBIT_INDICATORS_UPSERT = "INSERT INTO %s " +
+                "(symbol, start_time, close_price, sma_50, sma_100, sma_200, ema_50, ema_100, ema_200, " +
+                "rsi_14, stochastic_14, macd_line, macd_signal, macd_histogram, " +
+                "bb_middle, bb_upper, bb_lower, bb_width, bb_percent_b, " +
+                "atr_14, std_dev_20, vwap, volume_sma_20) VALUES " +
+                "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (symbol, start_time) DO UPDATE SET " +
+                "close_price = EXCLUDED.close_price, " +
+                "sma_50 = EXCLUDED.sma_50, sma_100 = EXCLUDED.sma_100, sma_200 = EXCLUDED.sma_200, " +
+                "ema_50 = EXCLUDED.ema_50, ema_100 = EXCLUDED.ema_100, ema_200 = EXCLUDED.ema_200, " +
+                "rsi_14 = EXCLUDED.rsi_14, stochastic_14 = EXCLUDED.stochastic_14, " +
+                "macd_line = EXCLUDED.macd_line, macd_signal = EXCLUDED.macd_signal, " +
+                "macd_histogram = EXCLUDED.macd_histogram, " +
+                "bb_middle = EXCLUDED.bb_middle, bb_upper = EXCLUDED.bb_upper, bb_lower = EXCLUDED.bb_lower, " +
+                "bb_width = EXCLUDED.bb_width, bb_percent_b = EXCLUDED.bb_percent_b, " +
+                "atr_14 = EXCLUDED.atr_14, std_dev_20 = EXCLUDED.std_dev_20, " +
+                "vwap = EXCLUDED.vwap, volume_sma_20 = EXCLUDED.volume_sma_20";
+    }
+
+    public final static class Risk {
+        private Risk() {
+            throw new UnsupportedOperationException();
+        }
+
+        // BTC risk-to-price grid per bar
+        public static final String BTC_PRICE_RISK_TABLE = "crypto_scout.btc_price_risk";
+
+        // BTC current risk per bar
+        public static final String BTC_RISK_PRICE_TABLE = "crypto_scout.btc_risk_price";
+
+        // Risk rows are derived, so a recomputed bar replaces the stored one
+        static final String BTC_PRICE_RISK_UPSERT = "INSERT INTO " + BTC_PRICE_RISK_TABLE +
+                "(timestamp, risk, price_of_price_risk, price_of_composite_risk) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (timestamp, risk) DO UPDATE SET " +
+                "price_of_price_risk = EXCLUDED.price_of_price_risk, " +
+                "price_of_composite_risk = EXCLUDED.price_of_composite_risk";
+        static final int PRICE_RISK_TIMESTAMP = 1;
+        static final int PRICE_RISK_RISK = 2;
+        static final int PRICE_RISK_PRICE_OF_PRICE_RISK = 3;
+        static final int PRICE_RISK_PRICE_OF_COMPOSITE_RISK = 4;
+
+        static final String BTC_RISK_PRICE_UPSERT = "INSERT INTO " + BTC_RISK_PRICE_TABLE +
+                "(timestamp, price, price_risk, composite_risk) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (timestamp) DO UPDATE SET " +
+                "price = EXCLUDED.price, price_risk = EXCLUDED.price_risk, composite_risk = EXCLUDED.composite_risk";
+        static final String BTC_RISK_PRICE_LAST_TIME_SELECT = "SELECT MAX(timestamp) FROM " + BTC_RISK_PRICE_TABLE;
+        static final int RISK_PRICE_TIMESTAMP = 1;
+        static final int RISK_PRICE_PRICE = 2;
+        static final int RISK_PRICE_PRICE_RISK = 3;
+        static final int RISK_PRICE_COMPOSITE_RISK = 4;
+
+        // Closes of a symbol in bar order, read through a cursor: %s is the CMC kline table
+        static final String CMC_CLOSE_STREAM_BY_SYMBOL = "SELECT timestamp, close FROM %s WHERE symbol = ? " +
+                "ORDER BY timestamp";
+        static final int CLOSE_STREAM_SYMBOL = 1;
+        static final int CLOSE_STREAM_TIME = 1;
+        static final int CLOSE_STREAM_CLOSE = 2;
+    }
+
+    public final static class CalculatorStates {
+        private CalculatorStates() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Saved indicator calculator state per market, symbol and interval
+        public static final String CALCULATOR_STATES_TABLE = "crypto_scout.analyst_calculator_states";
+
+        static final String STATE_SELECT = "SELECT last_time, stream_offset, state FROM " + CALCULATOR_STATES_TABLE +
+                " WHERE market = ? AND symbol = ? AND interval_ms = ?";
+        // A state never replaces a newer one, e.g. when a stale shard flushes late
+        static final String STATE_UPSERT = "INSERT INTO " + CALCULATOR_STATES_TABLE +
+                "(market, symbol, interval_ms, last_time, stream_offset, state) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (market, symbol, interval_ms) DO UPDATE SET " +
+                "last_time = EXCLUDED.last_time, stream_offset = EXCLUDED.stream_offset, state = EXCLUDED.state, " +
+                "updated_at = NOW() WHERE analyst_calculator_states.last_time <= EXCLUDED.last_time";
+        static final int STATE_MARKET = 1;
+        static final int STATE_SYMBOL = 2;
+        static final int STATE_INTERVAL_MS = 3;
+        static final int STATE_LAST_TIME = 4;
+        static final int STATE_STREAM_OFFSET = 5;
+        static final int STATE_DATA = 6;
+        static final int SELECTED_LAST_TIME = 1;
+        static final int SELECTED_STREAM_OFFSET = 2;
+        static final int SELECTED_DATA = 3;
+    }
+
+    public final static class Recompute {
+        private Recompute() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Last bar written per indicators table and symbol by the recompute job
+        public static final String RECOMPUTE_CHECKPOINTS_TABLE = "crypto_scout.indicator_recompute_checkpoints";
+
+        // Symbols of a kline table: %s is the table
+        static final String KLINE_SYMBOLS_SELECT = "SELECT DISTINCT symbol FROM %s ORDER BY symbol";
+        // Whole history of a symbol in bar order, read through a cursor
+        static final String CMC_KLINE_1W_STREAM_BY_SYMBOL =
+                "SELECT timestamp, open, high, low, close, volume, market_cap, circulating_supply FROM " +
+                        Cmc.CMC_KLINE_1W_TABLE + " WHERE symbol = ? ORDER BY timestamp";
+        // %s is the Bybit kline table
+        static final String BYBIT_KLINE_STREAM_BY_SYMBOL =
+                "SELECT start_time, open_price, high_price, low_price, close_price, volume FROM %s " +
+                        "WHERE symbol = ? ORDER BY start_time";
+        // Bars of a symbol from a time, inclusive, to another, exclusive: %s is the Bybit kline table
+        static final String BYBIT_KLINE_STREAM_BY_SYMBOL_RANGE =
+                "SELECT start_time, open_price, high_price, low_price, close_price, volume FROM %s " +
+                        "WHERE symbol = ? AND start_time >= ? AND start_time < ? ORDER BY start_time";
+        static final int STREAM_SYMBOL = 1;
+        static final int STREAM_FROM = 2;
+        static final int STREAM_TO = 3;
+        static final int STREAM_TIME = 1;
+        static final int STREAM_OPEN = 2;
+        static final int STREAM_HIGH = 3;
+        static final int STREAM_LOW = 4;
+        static final int STREAM_CLOSE = 5;
+        static final int STREAM_VOLUME = 6;
+        static final int STREAM_MARKET_CAP = 7;
+        static final int STREAM_CIRCULATING_SUPPLY = 8;
+
+        static final String CHECKPOINT_SELECT = "SELECT last_time FROM " + RECOMPUTE_CHECKPOINTS_TABLE +
+                " WHERE indicators_table = ? AND symbol = ?";
+        static final String CHECKPOINT_UPSERT = "INSERT INTO " + RECOMPUTE_CHECKPOINTS_TABLE +
+                "(indicators_table, symbol, last_time) VALUES (?, ?, ?) " +
+                "ON CONFLICT (indicators_table, symbol) DO UPDATE SET " +
+                "last_time = EXCLUDED.last_time, updated_at = NOW()";
+        static final String CHECKPOINTS_DELETE = "DELETE FROM " + RECOMPUTE_CHECKPOINTS_TABLE +
+                " WHERE indicators_table = ?";
+        static final int CHECKPOINT_TABLE = 1;
+        static final int CHECKPOINT_SYMBOL = 2;
+        static final int CHECKPOINT_LAST_TIME = 3;
+    }
+
+    public final static class Gaps {
+        private Gaps() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit kline bar start column
+        static final String START_TIME = "start_time";
+
+        // Bar starts of a kline table: %1$s is the bar start column, %2$s the table
+        static final String BAR_STARTS_SELECT = "SELECT symbol, %1$s FROM %2$s WHERE %1$s >= ? AND %1$s <= ?";
+        static final String BAR_STARTS_SELECT_BY_SYMBOL =
+                "SELECT symbol, %1$s FROM %2$s WHERE symbol = ? AND %1$s >= ? AND %1$s <= ?";
+        static final int STARTS_SYMBOL = 1;
+        static final int STARTS_TIME = 2;
+    }
+
+    public final static class Tail {
+        private Tail() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Kline intervals, the retained window of a kline table is its retention bars times the interval
+        static final long INTERVAL_1M_MS = 60_000L;
+        static final long INTERVAL_5M_MS = 300_000L;
+        static final long INTERVAL_15M_MS = 900_000L;
+        static final long INTERVAL_60M_MS = 3_600_000L;
+        static final long INTERVAL_240M_MS = 14_400_000L;
+        static final long INTERVAL_1D_MS = 86_400_000L;
+    }
+
+    public final static class Downsampling {
+        private Downsampling() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit klines of a symbol aggregated into time buckets of the given seconds: %s is the kline table
+        static final String KLINE_BUCKETS_SELECT_BY_SYMBOL = "SELECT symbol, " +
+                "time_bucket(make_interval(secs => ?), start_time) AS bucket, max(end_time), " +
+                "first(open_price, start_time), last(close_price, start_time), max(high_price), min(low_price), " +
+                "sum(volume), sum(turnover) FROM %s WHERE symbol = ? AND start_time >= ? AND end_time <= ? " +
+                "GROUP BY symbol, bucket ORDER BY bucket";
+        static final int BUCKET_SECONDS = 1;
+        static final int BUCKET_SYMBOL = 2;
+        static final int BUCKET_FROM = 3;
+        static final int BUCKET_TO = 4;
+    }
+
+    public final static class Replicas {
+        private Replicas() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Replay lag of a standby in milliseconds: 0 when it is not in recovery or has replayed all it received, null
+        // before it has replayed a transaction
+        static final String REPLAY_LAG_SELECT = "SELECT CASE WHEN NOT pg_is_in_recovery() OR " +
+                "pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+                "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+        static final int LAG_MS = 1;
+    }
+
     public final static class Offsets {
         private Offsets() {
             throw new UnsupportedOperationException();
@@ -531,7 +897,8 @@ public final class Constants {
 
         // Stream offsets
         static final String STREAM_OFFSETS_UPSERT = "INSERT INTO crypto_scout.stream_offsets(stream, \"offset\") VALUES " +
-                "(?, ?) ON CONFLICT (stream) DO UPDATE SET \"offset\" = EXCLUDED.\"offset\", updated_at = NOW()";
+                "(?, ?) ON CONFLICT (stream) DO UPDATE SET " +
+                "\"offset\" = GREATEST(stream_offsets.\"offset\", EXCLUDED.\"offset\"), updated_at = NOW()";
         static final String STREAM_OFFSETS_SELECT = "SELECT \"offset\" FROM " + STREAM_OFFSETS_TABLE +
                 " WHERE stream = ?";
         static final int CURRENT_OFFSET = 1;
@@ -91,6 +91,7 @@ import static com.github.akarazhev.jcryptolib.util.TimeUtils.toOdt;
 import static com.github.akarazhev.jcryptolib.util.ValueUtils.toBigDecimal;
 
 public final class CryptoScoutRepository extends AbstractReactive implements ReactiveService {
+    private final CollectorDataSource collectorDataSource;
     private final DataSource dataSource;
     private final int batchSize;
     private final String stream;
@@ -101,6 +102,7 @@ public final class CryptoScoutRepository extends AbstractReactive implements Rea
 
     private CryptoScoutRepository(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
         super(reactor);
+        this.collectorDataSource = collectorDataSource;
         this.dataSource = collectorDataSource.getDataSource();
         this.batchSize = JdbcConfig.getCryptoScoutBatchSize();
         this.stream = AmqpConfig.getAmqpCryptoScoutStream();
@@ -160,7 +162,7 @@ public final class CryptoScoutRepository extends AbstractReactive implements Rea
 
     public List<Map<String, Object>> getFgi(final OffsetDateTime from, final OffsetDateTime to) throws SQLException {
         final var results = new ArrayList<Map<String, Object>>();
-        try (final var c = dataSource.getConnection();
+        try (final var c = reader(to).getConnection();
              final var ps = c.prepareStatement(FGI_SELECT)) {
             ps.setObject(FROM, from);
             ps.setObject(TO, to);
@@ -252,7 +254,7 @@ public final class CryptoScoutRepository extends AbstractReactive implements Rea
 
     public List<Map<String, Object>> getKline1d(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, CMC_KLINE_1D_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), CMC_KLINE_1D_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, TIME_OPEN, TIME_CLOSE, TIME_HIGH, TIME_LOW,
                 OPEN, HIGH, LOW, CLOSE, VOLUME, MARKET_CAP2, CIRCULATING_SUPPLY, TIMESTAMP);
     }
@@ -331,8 +333,15 @@ public final class CryptoScoutRepository extends AbstractReactive implements Rea
 
     public List<Map<String, Object>> getKline1w(final String symbol, final OffsetDateTime from, final OffsetDateTime to)
             throws SQLException {
-        return fetchRangeBySymbol(dataSource, CMC_KLINE_1W_SELECT_BY_SYMBOL, symbol, from, to,
+        return fetchRangeBySymbol(reader(to), CMC_KLINE_1W_SELECT_BY_SYMBOL, symbol, from, to,
                 SYMBOL, TIME_OPEN, TIME_CLOSE, TIME_HIGH, TIME_LOW,
                 OPEN, HIGH, LOW, CLOSE, VOLUME, MARKET_CAP2, CIRCULATING_SUPPLY, TIMESTAMP);
     }
+
+    /**
+     * Pool a range read ending at {@code to} runs on; writes always use the primary.
+     */
+    private DataSource reader(final OffsetDateTime to) {
+        return collectorDataSource.getReadDataSource(to);
+    }
 }
@@ -25,14 +25,22 @@
 package com.github.akarazhev.cryptoscout.collector.db;
 
 import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Downsampling.BUCKET_FROM;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Downsampling.BUCKET_SECONDS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Downsampling.BUCKET_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Downsampling.BUCKET_TO;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.FROM_WITH_SYMBOL;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.SYMBOL;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Offsets.LAST_OFFSET;
@@ -40,6 +48,9 @@ import static com.github.akarazhev.cryptoscout.collector.db.Constants.Offsets.ST
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.TO_WITH_SYMBOL;
 
 final class DBUtils {
+    // SQL array element types
+    private static final String BIGINT = "int8";
+    private static final String DOUBLE = "float8";
 
     static List<Map<String, Object>> fetchRangeBySymbol(final DataSource dataSource, final String sql, final String symbol,
                                                         final OffsetDateTime from, final OffsetDateTime to,
@@ -52,12 +63,42 @@ final class DBUtils {
             ps.setObject(TO_WITH_SYMBOL, to);
             try (final var rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    final var row = new HashMap<String, Object>();
-                    for (var i = 0; i < columns.length; i++) {
-                        row.put(columns[i], rs.getObject(i + 1));
-                    }
+                    results.add(readRow(rs, columns));
+                }
+            }
+        }
 
-                    results.add(row);
+        return results;
+    }
+
+    /**
+     * Answers the range from the in-memory tail when it covers it, otherwise from the database.
+     */
+    static List<Map<String, Object>> fetchRangeBySymbol(final TailStore tail, final DataSource dataSource,
+                                                        final String sql, final String symbol,
+                                                        final OffsetDateTime from, final OffsetDateTime to,
+                                                        final String... columns) throws SQLException {
+        final var rows = tail.get(symbol, from, to);
+        return rows != null ? rows : fetchRangeBySymbol(dataSource, sql, symbol, from, to, columns);
+    }
+
+    /**
+     * Reads the range aggregated into buckets of {@code bucketMs}, one row per bucket in time order.
+     */
+    static List<Map<String, Object>> fetchBucketsBySymbol(final DataSource dataSource, final String sql,
+                                                          final long bucketMs, final String symbol,
+                                                          final OffsetDateTime from, final OffsetDateTime to,
+                                                          final String... columns) throws SQLException {
+        final var results = new ArrayList<Map<String, Object>>();
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(sql)) {
+            ps.setDouble(BUCKET_SECONDS, bucketMs / 1000.0);
+            ps.setString(BUCKET_SYMBOL, symbol);
+            ps.setObject(BUCKET_FROM, from);
+            ps.setObject(BUCKET_TO, to);
+            try (final var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(readRow(rs, columns));
                 }
             }
         }
@@ -65,9 +106,129 @@ final class DBUtils {
         return results;
     }
 
+    /**
+     * Opens a server-side cursor over the range: the statement is forward-only and runs in its own transaction, which
+     * the driver needs to fetch {@code fetchSize} rows per round trip instead of the whole result.
+     */
+    static RowCursor openRangeBySymbol(final DataSource dataSource, final String sql, final String symbol,
+                                       final OffsetDateTime from, final OffsetDateTime to, final int fetchSize,
+                                       final String... columns) throws SQLException {
+        final var c = dataSource.getConnection();
+        final var oldAutoCommit = c.getAutoCommit();
+        try {
+            c.setAutoCommit(false);
+            final var ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            try {
+                ps.setFetchSize(fetchSize);
+                ps.setString(SYMBOL, symbol);
+                ps.setObject(FROM_WITH_SYMBOL, from);
+                ps.setObject(TO_WITH_SYMBOL, to);
+                return new JdbcRowCursor(c, oldAutoCommit, ps, ps.executeQuery(), columns);
+            } catch (final SQLException ex) {
+                ps.close();
+                throw ex;
+            }
+        } catch (final SQLException ex) {
+            try (c) {
+                c.rollback();
+                c.setAutoCommit(oldAutoCommit);
+            }
+
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens the range from the in-memory tail when it covers it, otherwise from the database.
+     */
+    static RowCursor openRangeBySymbol(final TailStore tail, final DataSource dataSource, final String sql,
+                                       final String symbol, final OffsetDateTime from, final OffsetDateTime to,
+                                       final int fetchSize, final String... columns) throws SQLException {
+        final var rows = tail.get(symbol, from, to);
+        return rows != null ? RowCursor.of(rows) :
+                openRangeBySymbol(dataSource, sql, symbol, from, to, fetchSize, columns);
+    }
+
     static void updateOffset(final PreparedStatement ps, final String stream, final long offset) throws SQLException {
         ps.setString(STREAM, stream);
         ps.setLong(LAST_OFFSET, offset);
         ps.executeUpdate();
     }
+
+    static Array createBigintArray(final Connection c, final long[] values) throws SQLException {
+        final var boxed = new Long[values.length];
+        for (var i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+
+        return c.createArrayOf(BIGINT, boxed);
+    }
+
+    static Array createDoubleArray(final Connection c, final double[] values) throws SQLException {
+        final var boxed = new Double[values.length];
+        for (var i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+
+        return c.createArrayOf(DOUBLE, boxed);
+    }
+
+    private static Map<String, Object> readRow(final ResultSet rs, final String... columns) throws SQLException {
+        final var row = new HashMap<String, Object>();
+        for (var i = 0; i < columns.length; i++) {
+            final var value = rs.getObject(i + 1);
+            row.put(columns[i], value instanceof Array array ? toList(array) : value);
+        }
+
+        return row;
+    }
+
+    private static List<Object> toList(final Array array) throws SQLException {
+        try {
+            return Arrays.asList((Object[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+
+    private static final class JdbcRowCursor implements RowCursor {
+        private final Connection connection;
+        private final boolean oldAutoCommit;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private final String[] columns;
+        private boolean exhausted;
+
+        private JdbcRowCursor(final Connection connection, final boolean oldAutoCommit,
+                              final PreparedStatement statement, final ResultSet resultSet, final String... columns) {
+            this.connection = connection;
+            this.oldAutoCommit = oldAutoCommit;
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.columns = columns;
+        }
+
+        @Override
+        public List<Map<String, Object>> next(final int maxRows) throws SQLException {
+            final var rows = new ArrayList<Map<String, Object>>(Math.min(maxRows, 1024));
+            while (!exhausted && rows.size() < maxRows) {
+                if (resultSet.next()) {
+                    rows.add(readRow(resultSet, columns));
+                } else {
+                    exhausted = true;
+                }
+            }
+
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (connection; statement; resultSet) {
+                // Read-only, ending the transaction just releases the cursor
+                connection.rollback();
+                connection.setAutoCommit(oldAutoCommit);
+            }
+        }
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector.db;
+
+import io.activej.async.service.ReactiveService;
+import io.activej.promise.Promise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.nio.NioReactor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.LINEAR_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_15M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_1M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_240M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_5M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_KLINE_60M_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.TIME_OPEN;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Gaps.BAR_STARTS_SELECT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Gaps.BAR_STARTS_SELECT_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Gaps.START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Gaps.STARTS_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Gaps.STARTS_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.FROM;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.FROM_WITH_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.TO;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Range.TO_WITH_SYMBOL;
+
+/**
+ * Reads the bar start times of the kline tables, which is all the gap tracker needs to reconcile against the database.
+ */
+public final class KlineGapRepository extends AbstractReactive implements ReactiveService {
+    // Kline tables and their bar start columns; table names are never taken from the caller
+    private static final Map<String, String> START_COLUMNS = Map.ofEntries(
+            Map.entry(SPOT_KLINE_1M_TABLE, START_TIME),
+            Map.entry(SPOT_KLINE_5M_TABLE, START_TIME),
+            Map.entry(SPOT_KLINE_15M_TABLE, START_TIME),
+            Map.entry(SPOT_KLINE_60M_TABLE, START_TIME),
+            Map.entry(SPOT_KLINE_240M_TABLE, START_TIME),
+            Map.entry(SPOT_KLINE_1D_TABLE, START_TIME),
+            Map.entry(LINEAR_KLINE_1M_TABLE, START_TIME),
+            Map.entry(LINEAR_KLINE_5M_TABLE, START_TIME),
+            Map.entry(LINEAR_KLINE_15M_TABLE, START_TIME),
+            Map.entry(LINEAR_KLINE_60M_TABLE, START_TIME),
+            Map.entry(LINEAR_KLINE_240M_TABLE, START_TIME),
+            Map.entry(LINEAR_KLINE_1D_TABLE, START_TIME),
+            Map.entry(CMC_KLINE_1D_TABLE, TIME_OPEN),
+            Map.entry(CMC_KLINE_1W_TABLE, TIME_OPEN)
+    );
+    private final DataSource dataSource;
+
+    public static KlineGapRepository create(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
+        return new KlineGapRepository(reactor, collectorDataSource);
+    }
+
+    private KlineGapRepository(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
+        super(reactor);
+        this.dataSource = collectorDataSource.getDataSource();
+    }
+
+    @Override
+    public Promise<Void> start() {
+        return Promise.complete();
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        return Promise.complete();
+    }
+
+    /**
+     * Returns the bar start times within the range, inclusive, grouped by symbol.
+     */
+    public Map<String, List<OffsetDateTime>> getBarStarts(final String table, final OffsetDateTime from,
+                                                          final OffsetDateTime to) throws SQLException {
+        final var results = new HashMap<String, List<OffsetDateTime>>();
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(String.format(BAR_STARTS_SELECT, getStartColumn(table), table))) {
+            ps.setObject(FROM, from);
+            ps.setObject(TO, to);
+            try (final var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.computeIfAbsent(rs.getString(STARTS_SYMBOL), k -> new ArrayList<>())
+                            .add(rs.getObject(STARTS_TIME, OffsetDateTime.class));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the bar start times of the symbol within the range, inclusive.
+     */
+    public List<OffsetDateTime> getBarStarts(final String table, final String symbol, final OffsetDateTime from,
+                                             final OffsetDateTime to) throws SQLException {
+        final var results = new ArrayList<OffsetDateTime>();
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(String.format(BAR_STARTS_SELECT_BY_SYMBOL, getStartColumn(table),
+                     table))) {
+            ps.setString(SYMBOL, symbol);
+            ps.setObject(FROM_WITH_SYMBOL, from);
+            ps.setObject(TO_WITH_SYMBOL, to);
+            try (final var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(rs.getObject(STARTS_TIME, OffsetDateTime.class));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    private static String getStartColumn(final String table) {
+        final var column = START_COLUMNS.get(table);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported kline table: " + table);
+        }
+
+        return column;
+    }
+}
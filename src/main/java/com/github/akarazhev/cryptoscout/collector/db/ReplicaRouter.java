@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector.db;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Picks the read replica a range read runs on. A replica is eligible once it has replayed the primary's writes up
+ * to the end of the range plus a margin; reads are spread round-robin over the eligible ones, and when none is
+ * fresh enough the read stays on the primary.
+ */
+final class ReplicaRouter {
+    static final int PRIMARY = -1;
+    // Replayed-to time of a replica that has not passed a check yet, so it is never eligible
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final long freshnessMarginMs;
+    private final AtomicLongArray replayedToMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    static ReplicaRouter create(final int replicas, final long freshnessMarginMs) {
+        return new ReplicaRouter(replicas, freshnessMarginMs);
+    }
+
+    private ReplicaRouter(final int replicas, final long freshnessMarginMs) {
+        this.freshnessMarginMs = freshnessMarginMs;
+        this.replayedToMs = new AtomicLongArray(replicas);
+        for (var i = 0; i < replicas; i++) {
+            replayedToMs.set(i, UNKNOWN);
+        }
+    }
+
+    int size() {
+        return replayedToMs.length();
+    }
+
+    /**
+     * Records that the replica has replayed every write committed on the primary up to {@code epochMs}.
+     */
+    void update(final int replica, final long epochMs) {
+        replayedToMs.set(replica, epochMs);
+    }
+
+    /**
+     * Takes the replica out of rotation until its next successful check.
+     */
+    void markDown(final int replica) {
+        replayedToMs.set(replica, UNKNOWN);
+    }
+
+    /**
+     * Returns the replica to read a range ending at {@code toMs} from, or {@link #PRIMARY}.
+     */
+    int route(final long toMs) {
+        final var size = replayedToMs.length();
+        if (size == 0 || toMs > Long.MAX_VALUE - freshnessMarginMs) {
+            return PRIMARY;
+        }
+
+        final var requiredMs = toMs + freshnessMarginMs;
+        final var start = Math.floorMod(next.getAndIncrement(), size);
+        for (var i = 0; i < size; i++) {
+            final var replica = (start + i) % size;
+            final var replayed = replayedToMs.get(replica);
+            if (replayed != UNKNOWN && replayed >= requiredMs) {
+                return replica;
+            }
+        }
+
+        return PRIMARY;
+    }
+}
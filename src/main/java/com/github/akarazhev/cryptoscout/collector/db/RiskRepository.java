@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector.db;
+
+import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+import io.activej.async.service.ReactiveService;
+import io.activej.promise.Promise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.nio.NioReactor;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1D_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Cmc.CMC_KLINE_1W_TABLE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Offsets.STREAM_OFFSETS_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.BTC_PRICE_RISK_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.BTC_RISK_PRICE_LAST_TIME_SELECT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.BTC_RISK_PRICE_UPSERT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.CLOSE_STREAM_CLOSE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.CLOSE_STREAM_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.CLOSE_STREAM_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.CMC_CLOSE_STREAM_BY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.PRICE_RISK_PRICE_OF_COMPOSITE_RISK;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.PRICE_RISK_PRICE_OF_PRICE_RISK;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.PRICE_RISK_RISK;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.PRICE_RISK_TIMESTAMP;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.RISK_PRICE_COMPOSITE_RISK;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.RISK_PRICE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.RISK_PRICE_PRICE_RISK;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.Risk.RISK_PRICE_TIMESTAMP;
+import static com.github.akarazhev.cryptoscout.collector.db.DBUtils.updateOffset;
+
+/**
+ * Writes the BTC risk tables and reads the CMC closes the risk model is warmed up with.
+ */
+public final class RiskRepository extends AbstractReactive implements ReactiveService {
+    // Kline tables the closes are read from; table names are never taken from the caller as is
+    private static final Set<String> CLOSE_TABLES = Set.of(CMC_KLINE_1D_TABLE, CMC_KLINE_1W_TABLE);
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final String stream;
+
+    /**
+     * The risk at a bar: the current price and risks, and the grid of risks with the prices they are reached at.
+     */
+    public record BtcRisk(OffsetDateTime timestamp, long price, double priceRisk, double compositeRisk,
+                          double[] risks, long[] pricesOfPriceRisk, long[] pricesOfCompositeRisk) {
+    }
+
+    /**
+     * Receives the closes of a kline table in bar order.
+     */
+    @FunctionalInterface
+    public interface CloseConsumer {
+        void accept(final OffsetDateTime time, final double close) throws Exception;
+    }
+
+    public static RiskRepository create(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
+        return new RiskRepository(reactor, collectorDataSource);
+    }
+
+    private RiskRepository(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
+        super(reactor);
+        this.dataSource = collectorDataSource.getDataSource();
+        this.batchSize = JdbcConfig.getCryptoScoutBatchSize();
+        this.stream = AmqpConfig.getAmqpCryptoScoutStream();
+    }
+
+    @Override
+    public Promise<Void> start() {
+        return Promise.complete();
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        return Promise.complete();
+    }
+
+    /**
+     * Saves the risks and, when the offset is not negative, the crypto-scout stream offset in one transaction.
+     */
+    public int saveRisks(final List<BtcRisk> risks, final long offset) throws SQLException {
+        var count = 0;
+        try (final var c = dataSource.getConnection()) {
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (final var psRisk = c.prepareStatement(BTC_RISK_PRICE_UPSERT);
+                 final var psGrid = c.prepareStatement(BTC_PRICE_RISK_UPSERT);
+                 final var psOffset = c.prepareStatement(STREAM_OFFSETS_UPSERT)) {
+                var gridCount = 0;
+                for (final var risk : risks) {
+                    psRisk.setObject(RISK_PRICE_TIMESTAMP, risk.timestamp());
+                    psRisk.setLong(RISK_PRICE_PRICE, risk.price());
+                    psRisk.setDouble(RISK_PRICE_PRICE_RISK, risk.priceRisk());
+                    psRisk.setDouble(RISK_PRICE_COMPOSITE_RISK, risk.compositeRisk());
+                    psRisk.addBatch();
+                    for (var i = 0; i < risk.risks().length; i++) {
+                        psGrid.setObject(PRICE_RISK_TIMESTAMP, risk.timestamp());
+                        psGrid.setDouble(PRICE_RISK_RISK, risk.risks()[i]);
+                        psGrid.setLong(PRICE_RISK_PRICE_OF_PRICE_RISK, risk.pricesOfPriceRisk()[i]);
+                        psGrid.setLong(PRICE_RISK_PRICE_OF_COMPOSITE_RISK, risk.pricesOfCompositeRisk()[i]);
+                        psGrid.addBatch();
+                        if (++gridCount % batchSize == 0) {
+                            psGrid.executeBatch();
+                        }
+                    }
+
+                    if (++count % batchSize == 0) {
+                        psRisk.executeBatch();
+                    }
+                }
+
+                psRisk.executeBatch();
+                psGrid.executeBatch();
+                if (offset >= 0) {
+                    updateOffset(psOffset, stream, offset);
+                }
+
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the time of the last stored risk, or null when none is stored.
+     */
+    public OffsetDateTime getLastRiskTime() throws SQLException {
+        try (final var c = dataSource.getConnection();
+             final var ps = c.prepareStatement(BTC_RISK_PRICE_LAST_TIME_SELECT);
+             final var rs = ps.executeQuery()) {
+            return rs.next() ? rs.getObject(1, OffsetDateTime.class) : null;
+        }
+    }
+
+    /**
+     * Streams the whole close history of a symbol from a CMC kline table in bar order through a cursor, so the
+     * history is never held in memory at once. Returns the number of closes streamed.
+     */
+    public long streamCloses(final String klineTable, final String symbol, final int fetchSize,
+                             final CloseConsumer consumer) throws Exception {
+        if (!CLOSE_TABLES.contains(klineTable)) {
+            throw new IllegalArgumentException("Not a CMC kline table: " + klineTable);
+        }
+
+        var count = 0L;
+        try (final var c = dataSource.getConnection()) {
+            // The driver only keeps a cursor open inside a transaction
+            final var oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            final var sql = String.format(CMC_CLOSE_STREAM_BY_SYMBOL, klineTable);
+            try (final var ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                ps.setString(CLOSE_STREAM_SYMBOL, symbol);
+                try (final var rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        final var time = rs.getObject(CLOSE_STREAM_TIME, OffsetDateTime.class);
+                        final var close = rs.getDouble(CLOSE_STREAM_CLOSE);
+                        if (time == null || rs.wasNull()) {
+                            continue;
+                        }
+
+                        consumer.accept(time, close);
+                        count++;
+                    }
+                }
+
+                c.commit();
+            } catch (final Exception ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+
+        return count;
+    }
+}
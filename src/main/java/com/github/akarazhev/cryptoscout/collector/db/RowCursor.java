@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector.db;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forward-only cursor over the rows of a range read. {@link #next} returns at most the requested number of rows and
+ * an empty list once the rows are exhausted; the cursor must be closed, also after a failure.
+ */
+public interface RowCursor extends AutoCloseable {
+
+    List<Map<String, Object>> next(int maxRows) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+
+    /**
+     * Cursor over rows already in memory, e.g. a range answered by the in-memory tail.
+     */
+    static RowCursor of(final List<Map<String, Object>> rows) {
+        return new RowCursor() {
+            private int position;
+
+            @Override
+            public List<Map<String, Object>> next(final int maxRows) {
+                final var from = position;
+                position = Math.min(rows.size(), position + maxRows);
+                return rows.subList(from, position);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
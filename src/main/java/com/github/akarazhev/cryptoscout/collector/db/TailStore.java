@@ -0,0 +1,430 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector.db;
+
+import com.github.akarazhev.cryptoscout.config.JdbcConfig;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.BT;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CLOSE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.END;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.HIGH;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.HIGH_PRICE_24H;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LAST_PRICE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LOW;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LOW_PRICE_24H;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.OPEN;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.P;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.PREV_PRICE_24H;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.PRICE_24H_PCNT;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.RPI;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SIDE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.START;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SYMBOL;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SYMBOL_NAME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.T;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TS;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TURNOVER;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TURNOVER_24H;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.V;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.VOLUME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.VOLUME_24H;
+
+/**
+ * In-memory tail of one table: the most recently committed rows per symbol, kept in primitive columnar ring buffers
+ * ordered by the first column. Buffers grow up to the configured rows and move off-heap once they reach
+ * {@code jdbc.tail.off-heap-min-rows}.
+ * <p>
+ * The store only vouches for rows it has seen: a symbol is covered from the time the store was created, and every
+ * evicted row moves that bound past its time. {@link #get} answers ranges starting inside the covered window and
+ * returns {@code null} for anything older so the caller falls back to the database. Rows must be published only after
+ * their transaction commits. Thread-safe.
+ */
+final class TailStore {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    enum Type {
+        TIME(Long.BYTES), DOUBLE(Double.BYTES), BOOLEAN(Byte.BYTES), TEXT(Integer.BYTES);
+
+        private final int bytes;
+
+        Type(final int bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * A stored column; {@link Type#TEXT} values are dictionary-encoded, so they must have few distinct values.
+     */
+    record Column(String name, Type type) {
+    }
+
+    private final boolean enabled;
+    private final String symbolColumn;
+    private final Column[] columns;
+    private final int endIndex;
+    private final boolean uniqueKey;
+    private final long retentionMs;
+    private final int maxRows;
+    private final int offHeapMinRows;
+    private final long createdAtMs;
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+
+    static TailStore klines(final long intervalMs) {
+        final var bars = JdbcConfig.getTailKlineRetentionBars();
+        return new TailStore(JdbcConfig.isTailEnabled(), SYMBOL, 1, true, bars * intervalMs, bars,
+                JdbcConfig.getTailOffHeapMinRows(), System::currentTimeMillis,
+                new Column(START, Type.TIME), new Column(END, Type.TIME), new Column(OPEN, Type.DOUBLE),
+                new Column(CLOSE, Type.DOUBLE), new Column(HIGH, Type.DOUBLE), new Column(LOW, Type.DOUBLE),
+                new Column(VOLUME, Type.DOUBLE), new Column(TURNOVER, Type.DOUBLE));
+    }
+
+    static TailStore spotTickers() {
+        return new TailStore(JdbcConfig.isTailEnabled(), SYMBOL, 0, true, JdbcConfig.getTailTickerRetentionMs(),
+                JdbcConfig.getTailTickerMaxRows(), JdbcConfig.getTailOffHeapMinRows(), System::currentTimeMillis,
+                new Column(TS, Type.TIME), new Column(LAST_PRICE, Type.DOUBLE), new Column(HIGH_PRICE_24H, Type.DOUBLE),
+                new Column(LOW_PRICE_24H, Type.DOUBLE), new Column(PREV_PRICE_24H, Type.DOUBLE),
+                new Column(VOLUME_24H, Type.DOUBLE), new Column(TURNOVER_24H, Type.DOUBLE),
+                new Column(PRICE_24H_PCNT, Type.DOUBLE));
+    }
+
+    static TailStore publicTrades() {
+        return new TailStore(JdbcConfig.isTailEnabled(), SYMBOL_NAME, 0, false, JdbcConfig.getTailTradeRetentionMs(),
+                JdbcConfig.getTailTradeMaxRows(), JdbcConfig.getTailOffHeapMinRows(), System::currentTimeMillis,
+                new Column(T, Type.TIME), new Column(P, Type.DOUBLE), new Column(V, Type.DOUBLE),
+                new Column(SIDE, Type.TEXT), new Column(BT, Type.BOOLEAN), new Column(RPI, Type.BOOLEAN));
+    }
+
+    /**
+     * @param endIndex  column the end of a range is checked against, e.g. the kline end; 0 for point-in-time rows
+     * @param uniqueKey whether the table ignores a second row at the same time, as {@code ON CONFLICT DO NOTHING}
+     */
+    static TailStore create(final boolean enabled, final String symbolColumn, final int endIndex,
+                            final boolean uniqueKey, final long retentionMs, final int maxRows,
+                            final int offHeapMinRows, final LongSupplier clock, final Column... columns) {
+        return new TailStore(enabled, symbolColumn, endIndex, uniqueKey, retentionMs, maxRows, offHeapMinRows, clock,
+                columns);
+    }
+
+    private TailStore(final boolean enabled, final String symbolColumn, final int endIndex, final boolean uniqueKey,
+                      final long retentionMs, final int maxRows, final int offHeapMinRows, final LongSupplier clock,
+                      final Column... columns) {
+        if (columns.length == 0 || columns[0].type() != Type.TIME || columns[endIndex].type() != Type.TIME) {
+            throw new IllegalArgumentException("The first and the end columns must be TIME columns");
+        }
+
+        this.enabled = enabled;
+        this.symbolColumn = symbolColumn;
+        this.columns = columns;
+        this.endIndex = endIndex;
+        this.uniqueKey = uniqueKey;
+        this.retentionMs = retentionMs;
+        this.maxRows = maxRows;
+        this.offHeapMinRows = offHeapMinRows;
+        // Rows written before the store existed never pass through it
+        this.createdAtMs = clock.getAsLong() + 1;
+    }
+
+    Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Returns the rows of the symbol with the first column in {@code [from, to]} and the end column not after
+     * {@code to}, or {@code null} if the range starts before the covered window. Times are {@link Timestamp}s, as the
+     * driver returns them for the database rows.
+     */
+    List<Map<String, Object>> get(final String symbol, final OffsetDateTime from, final OffsetDateTime to) {
+        if (!enabled) {
+            return null;
+        }
+
+        final var buffer = buffers.get(symbol);
+        return buffer != null ? buffer.get(symbol, from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli()) :
+                null;
+    }
+
+    /**
+     * Rows of one transaction, staged while the statement is batched and published once it has committed.
+     */
+    final class Batch {
+        private final List<String> symbols = new ArrayList<>();
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Stages a row; values follow the column order, with times as {@link OffsetDateTime}.
+         */
+        void add(final String symbol, final Object... values) {
+            if (enabled) {
+                symbols.add(symbol);
+                rows.add(values);
+            }
+        }
+
+        void publish() {
+            for (var i = 0; i < rows.size(); i++) {
+                buffers.computeIfAbsent(symbols.get(i), _ -> new Buffer()).append(rows.get(i));
+            }
+        }
+    }
+
+    private final class Buffer {
+        private final List<List<String>> dictionaries = new ArrayList<>();
+        private final List<Map<String, Integer>> codes = new ArrayList<>();
+        private MemorySegment[] data;
+        private int capacity;
+        private int head;
+        private int size;
+        private long coveredFromMs = createdAtMs;
+
+        private Buffer() {
+            for (final var column : columns) {
+                final var isText = column.type() == Type.TEXT;
+                dictionaries.add(isText ? new ArrayList<>() : null);
+                codes.add(isText ? new HashMap<>() : null);
+            }
+
+            data = allocate(Math.min(INITIAL_CAPACITY, maxRows));
+        }
+
+        private synchronized void append(final Object[] row) {
+            final var key = toEpochMs(row[0]);
+            if (key < coveredFromMs) {
+                return; // outside the covered window, the database answers for it
+            }
+
+            if (size > 0 && key <= keyAt(size - 1)) {
+                insertLate(key, row);
+                return;
+            }
+
+            while (size > 0 && keyAt(0) < key - retentionMs) {
+                evictOldest();
+            }
+
+            makeRoom();
+            write(size++, row);
+        }
+
+        private synchronized List<Map<String, Object>> get(final String symbol, final long fromMs, final long toMs) {
+            if (fromMs < coveredFromMs) {
+                return null;
+            }
+
+            final var rows = new ArrayList<Map<String, Object>>();
+            for (var i = lowerBound(fromMs); i < size; i++) {
+                if (keyAt(i) > toMs) {
+                    break;
+                }
+
+                if (getLong(endIndex, i) <= toMs) {
+                    rows.add(read(symbol, i));
+                }
+            }
+
+            return rows;
+        }
+
+        private void insertLate(final long key, final Object[] row) {
+            var pos = upperBound(key);
+            if (uniqueKey && pos > 0 && keyAt(pos - 1) == key) {
+                return;
+            }
+
+            if (size == capacity && capacity >= maxRows) {
+                evictOldest();
+                if (key < coveredFromMs) {
+                    return;
+                }
+
+                pos--;
+            }
+
+            makeRoom();
+            for (var i = size; i > pos; i--) {
+                copyRow(i - 1, i);
+            }
+
+            write(pos, row);
+            size++;
+        }
+
+        private void makeRoom() {
+            if (size < capacity) {
+                return;
+            }
+
+            if (capacity < maxRows) {
+                grow((int) Math.min((long) capacity * 2, maxRows));
+            } else {
+                evictOldest();
+            }
+        }
+
+        private void evictOldest() {
+            coveredFromMs = Math.max(coveredFromMs, keyAt(0) + 1);
+            head = (head + 1) % capacity;
+            size--;
+        }
+
+        private void grow(final int newCapacity) {
+            final var grown = allocate(newCapacity);
+            final var first = Math.min(size, capacity - head);
+            for (var c = 0; c < columns.length; c++) {
+                final long bytes = columns[c].type().bytes;
+                MemorySegment.copy(data[c], head * bytes, grown[c], 0, first * bytes);
+                MemorySegment.copy(data[c], 0, grown[c], first * bytes, (size - first) * bytes);
+            }
+
+            data = grown;
+            head = 0;
+        }
+
+        private MemorySegment[] allocate(final int rows) {
+            capacity = rows;
+            final var offHeap = rows >= offHeapMinRows;
+            // The automatic arena frees the replaced segments once the buffer grows past them
+            final var arena = offHeap ? Arena.ofAuto() : null;
+            final var segments = new MemorySegment[columns.length];
+            for (var c = 0; c < columns.length; c++) {
+                final var type = columns[c].type();
+                segments[c] = offHeap ? arena.allocate((long) type.bytes * rows, type.bytes) : switch (type) {
+                    case TIME, DOUBLE -> MemorySegment.ofArray(new long[rows]);
+                    case BOOLEAN -> MemorySegment.ofArray(new byte[rows]);
+                    case TEXT -> MemorySegment.ofArray(new int[rows]);
+                };
+            }
+
+            return segments;
+        }
+
+        private void write(final int index, final Object[] row) {
+            final var slot = slot(index);
+            for (var c = 0; c < columns.length; c++) {
+                final var segment = data[c];
+                switch (columns[c].type()) {
+                    case TIME -> segment.setAtIndex(ValueLayout.JAVA_LONG, slot, toEpochMs(row[c]));
+                    case DOUBLE -> segment.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, ((Number) row[c]).doubleValue());
+                    case BOOLEAN -> segment.setAtIndex(ValueLayout.JAVA_BYTE, slot, (byte) ((Boolean) row[c] ? 1 : 0));
+                    case TEXT -> segment.setAtIndex(ValueLayout.JAVA_INT, slot, encode(c, (String) row[c]));
+                }
+            }
+        }
+
+        private Map<String, Object> read(final String symbol, final int index) {
+            final var slot = slot(index);
+            final var row = new HashMap<String, Object>();
+            row.put(symbolColumn, symbol);
+            for (var c = 0; c < columns.length; c++) {
+                final var segment = data[c];
+                row.put(columns[c].name(), switch (columns[c].type()) {
+                    case TIME -> new Timestamp(segment.getAtIndex(ValueLayout.JAVA_LONG, slot));
+                    case DOUBLE -> segment.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+                    case BOOLEAN -> segment.getAtIndex(ValueLayout.JAVA_BYTE, slot) != 0;
+                    case TEXT -> dictionaries.get(c).get(segment.getAtIndex(ValueLayout.JAVA_INT, slot));
+                });
+            }
+
+            return row;
+        }
+
+        private void copyRow(final int from, final int to) {
+            final var fromSlot = slot(from);
+            final var toSlot = slot(to);
+            for (var c = 0; c < columns.length; c++) {
+                final long bytes = columns[c].type().bytes;
+                MemorySegment.copy(data[c], fromSlot * bytes, data[c], toSlot * bytes, bytes);
+            }
+        }
+
+        private int encode(final int column, final String value) {
+            final var dictionary = dictionaries.get(column);
+            return codes.get(column).computeIfAbsent(value, v -> {
+                dictionary.add(v);
+                return dictionary.size() - 1;
+            });
+        }
+
+        private int lowerBound(final long key) {
+            var low = 0;
+            var high = size;
+            while (low < high) {
+                final var mid = (low + high) >>> 1;
+                if (keyAt(mid) < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        private int upperBound(final long key) {
+            var low = 0;
+            var high = size;
+            while (low < high) {
+                final var mid = (low + high) >>> 1;
+                if (keyAt(mid) <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        private long keyAt(final int index) {
+            return getLong(0, index);
+        }
+
+        private long getLong(final int column, final int index) {
+            return data[column].getAtIndex(ValueLayout.JAVA_LONG, slot(index));
+        }
+
+        private int slot(final int index) {
+            return (head + index) % capacity;
+        }
+    }
+
+    private static long toEpochMs(final Object value) {
+        return ((OffsetDateTime) value).toInstant().toEpochMilli();
+    }
+}
@@ -67,8 +67,8 @@ public final class AmqpConfig {
         return AppConfig.getAsString(AMQP_BYBIT_STREAM);
     }
 
-    private static String getAmqpBybitTaStream() {
-        return AppConfig.getAsString(AMQP_BYBIT_TA_STREAM); // todo
+    public static String getAmqpBybitTaStream() {
+        return AppConfig.getAsString(AMQP_BYBIT_TA_STREAM);
     }
 
     public static String getAmqpCryptoScoutStream() {
@@ -55,6 +55,7 @@ final class Constants {
         }
 
         static final String POOL_NAME = "crypto-scout-collector-pool";
+        static final String REPLICA_POOL_NAME = "crypto-scout-collector-replica-pool-";
         static final String JDBC_URL = "jdbc.datasource.url";
         static final String JDBC_USERNAME = "jdbc.datasource.username";
         static final String JDBC_PASSWORD = "jdbc.datasource.password";
@@ -62,10 +63,56 @@ final class Constants {
         static final String JDBC_CRYPTO_SCOUT_FLUSH_INTERVAL_MS = "jdbc.crypto.scout.flush-interval-ms";
         static final String JDBC_BYBIT_BATCH_SIZE = "jdbc.bybit.batch-size";
         static final String JDBC_BYBIT_FLUSH_INTERVAL_MS = "jdbc.bybit.flush-interval-ms";
+        // Volume profile (footprint) aggregation
+        static final String JDBC_BYBIT_VOLUME_PROFILE_INTERVAL_MS = "jdbc.bybit.volume-profile.interval-ms";
+        static final String JDBC_BYBIT_VOLUME_PROFILE_DEFAULT_TICK_SIZE = "jdbc.bybit.volume-profile.default-tick-size";
+        static final String JDBC_BYBIT_VOLUME_PROFILE_TICK_SIZES = "jdbc.bybit.volume-profile.tick-sizes";
+        static final String JDBC_BYBIT_KLINE_ROLLUP_DERIVED_ONLY = "jdbc.bybit.kline-rollup.derived-only";
+        static final String JDBC_BYBIT_KLINE_ROLLUP_GRACE_MS = "jdbc.bybit.kline-rollup.grace-ms";
+        // Kline gap detection and backfill
+        static final String JDBC_GAPS_CHECK_INTERVAL_MS = "jdbc.gaps.check-interval-ms";
+        static final String JDBC_GAPS_GRACE_MS = "jdbc.gaps.grace-ms";
+        static final String JDBC_GAPS_BACKFILL_ENABLED = "jdbc.gaps.backfill-enabled";
+        static final String JDBC_GAPS_MAX_BACKFILLS_PER_RUN = "jdbc.gaps.max-backfills-per-run";
+        static final String JDBC_GAPS_BACKFILL_COOLDOWN_MS = "jdbc.gaps.backfill-cooldown-ms";
+        static final String JDBC_GAPS_BACKFILL_TIMEOUT_MS = "jdbc.gaps.backfill-timeout-ms";
         // Analyst service configuration
         static final String JDBC_ANALYST_BATCH_SIZE = "jdbc.analyst.batch-size";
         static final String JDBC_ANALYST_FLUSH_INTERVAL_MS = "jdbc.analyst.flush-interval-ms";
         static final String JDBC_ANALYST_LOOKBACK_DAYS = "jdbc.analyst.lookback-days";
+        static final String JDBC_ANALYST_SHARDS = "jdbc.analyst.shards";
+        static final String JDBC_ANALYST_IDLE_EVICT_MS = "jdbc.analyst.idle-evict-ms";
+        static final String JDBC_ANALYST_PROVISIONAL_INTERVAL_MS = "jdbc.analyst.provisional-interval-ms";
+        static final String JDBC_ANALYST_SIGNAL_RULES = "jdbc.analyst.signal-rules";
+        static final String JDBC_RECOMPUTE_PARALLELISM = "jdbc.recompute.parallelism";
+        static final String JDBC_RECOMPUTE_FETCH_SIZE = "jdbc.recompute.fetch-size";
+        static final String JDBC_BACKTEST_PARALLELISM = "jdbc.backtest.parallelism";
+        static final String JDBC_BACKTEST_MAX_CONCURRENT = "jdbc.backtest.max-concurrent";
+        static final String JDBC_CACHE_ENABLED = "jdbc.cache.enabled";
+        static final String JDBC_CACHE_MAX_ROWS = "jdbc.cache.max-rows";
+        static final String JDBC_CACHE_SEGMENT_BARS = "jdbc.cache.segment-bars";
+        static final String JDBC_CACHE_TAIL_TTL_MS = "jdbc.cache.tail-ttl-ms";
+        static final String JDBC_CACHE_CLOSED_GRACE_MS = "jdbc.cache.closed-grace-ms";
+        static final String JDBC_TAIL_ENABLED = "jdbc.tail.enabled";
+        static final String JDBC_TAIL_KLINE_RETENTION_BARS = "jdbc.tail.kline.retention-bars";
+        static final String JDBC_TAIL_TICKER_RETENTION_MS = "jdbc.tail.ticker.retention-ms";
+        static final String JDBC_TAIL_TICKER_MAX_ROWS = "jdbc.tail.ticker.max-rows";
+        static final String JDBC_TAIL_TRADE_RETENTION_MS = "jdbc.tail.trade.retention-ms";
+        static final String JDBC_TAIL_TRADE_MAX_ROWS = "jdbc.tail.trade.max-rows";
+        static final String JDBC_TAIL_OFF_HEAP_MIN_ROWS = "jdbc.tail.off-heap-min-rows";
+        static final String JDBC_STREAM_FETCH_SIZE = "jdbc.stream.fetch-size";
+        static final String JDBC_STREAM_CHUNK_ROWS = "jdbc.stream.chunk-rows";
+        static final String JDBC_STREAM_CHUNK_BYTES = "jdbc.stream.chunk-bytes";
+        static final String JDBC_DOWNSAMPLE_MAX_POINTS = "jdbc.downsample.max-points";
+        static final String JDBC_BATCH_MAX_ITEMS = "jdbc.batch.max-items";
+        static final String JDBC_BATCH_MAX_CONCURRENT = "jdbc.batch.max-concurrent";
+        static final String JDBC_REPLICA_URLS = "jdbc.replica.urls";
+        static final String JDBC_REPLICA_MAXIMUM_POOL_SIZE = "jdbc.replica.maximum-pool-size";
+        static final String JDBC_REPLICA_CHECK_INTERVAL_MS = "jdbc.replica.check-interval-ms";
+        static final String JDBC_REPLICA_FRESHNESS_MARGIN_MS = "jdbc.replica.freshness-margin-ms";
+        static final String JDBC_BULKHEAD_PREFIX = "jdbc.bulkhead.";
+        static final String JDBC_BULKHEAD_MAX_CONCURRENT = ".max-concurrent";
+        static final String JDBC_BULKHEAD_MAX_QUEUED = ".max-queued";
         // HikariCP pool configuration
         static final String HIKARI_MAXIMUM_POOL_SIZE = "jdbc.hikari.maximum-pool-size";
         static final String HIKARI_MINIMUM_IDLE = "jdbc.hikari.minimum-idle";
@@ -81,5 +128,7 @@ final class Constants {
         }
 
         static final String SERVER_PORT = "server.port";
+        static final String SERVER_API_PREFIX = "server.api.";
+        static final String SERVER_API_MAX_CONCURRENT = ".max-concurrent";
     }
 }
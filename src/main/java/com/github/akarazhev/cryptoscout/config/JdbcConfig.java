@@ -27,6 +27,11 @@ package com.github.akarazhev.cryptoscout.config;
 import com.github.akarazhev.jcryptolib.config.AppConfig;
 import com.zaxxer.hikari.HikariConfig;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.HIKARI_CONNECTION_TIMEOUT_MS;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.HIKARI_IDLE_TIMEOUT_MS;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.HIKARI_MAX_LIFETIME_MS;
@@ -36,14 +41,59 @@ import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.HIKAR
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BYBIT_BATCH_SIZE;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_ANALYST_BATCH_SIZE;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_ANALYST_FLUSH_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_ANALYST_IDLE_EVICT_MS;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_ANALYST_LOOKBACK_DAYS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_ANALYST_PROVISIONAL_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_ANALYST_SHARDS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BACKTEST_MAX_CONCURRENT;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BACKTEST_PARALLELISM;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_CACHE_CLOSED_GRACE_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_CACHE_ENABLED;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_CACHE_MAX_ROWS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_CACHE_SEGMENT_BARS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_CACHE_TAIL_TTL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_TAIL_ENABLED;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_TAIL_KLINE_RETENTION_BARS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_TAIL_OFF_HEAP_MIN_ROWS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_TAIL_TICKER_MAX_ROWS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_TAIL_TICKER_RETENTION_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_TAIL_TRADE_MAX_ROWS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_TAIL_TRADE_RETENTION_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BATCH_MAX_CONCURRENT;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BATCH_MAX_ITEMS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BULKHEAD_MAX_CONCURRENT;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BULKHEAD_MAX_QUEUED;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BULKHEAD_PREFIX;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_STREAM_CHUNK_BYTES;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_STREAM_CHUNK_ROWS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_STREAM_FETCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_ANALYST_SIGNAL_RULES;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BYBIT_FLUSH_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BYBIT_KLINE_ROLLUP_DERIVED_ONLY;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BYBIT_KLINE_ROLLUP_GRACE_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BYBIT_VOLUME_PROFILE_DEFAULT_TICK_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BYBIT_VOLUME_PROFILE_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_BYBIT_VOLUME_PROFILE_TICK_SIZES;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_DOWNSAMPLE_MAX_POINTS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_GAPS_BACKFILL_COOLDOWN_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_GAPS_BACKFILL_ENABLED;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_GAPS_BACKFILL_TIMEOUT_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_GAPS_CHECK_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_GAPS_GRACE_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_GAPS_MAX_BACKFILLS_PER_RUN;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_CRYPTO_SCOUT_BATCH_SIZE;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_CRYPTO_SCOUT_FLUSH_INTERVAL_MS;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_PASSWORD;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_RECOMPUTE_FETCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_RECOMPUTE_PARALLELISM;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_REPLICA_CHECK_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_REPLICA_FRESHNESS_MARGIN_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_REPLICA_MAXIMUM_POOL_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_REPLICA_URLS;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_URL;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_USERNAME;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.POOL_NAME;
+import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.REPLICA_POOL_NAME;
 
 public final class JdbcConfig {
     private JdbcConfig() {
@@ -62,7 +112,7 @@ public final class JdbcConfig {
         return AppConfig.getAsString(JDBC_PASSWORD);
     }
 
-    private static int getMaximumPoolSize() {
+    public static int getMaximumPoolSize() {
         return AppConfig.getAsInt(HIKARI_MAXIMUM_POOL_SIZE);
     }
 
@@ -112,6 +162,115 @@ public final class JdbcConfig {
         return AppConfig.getAsInt(JDBC_BYBIT_FLUSH_INTERVAL_MS);
     }
 
+    public static long getBybitVolumeProfileIntervalMs() {
+        final var intervalMs = AppConfig.getAsInt(JDBC_BYBIT_VOLUME_PROFILE_INTERVAL_MS);
+        if (intervalMs < 1000) {
+            throw new IllegalArgumentException(
+                "jdbc.bybit.volume-profile.interval-ms must be at least 1000, got: " + intervalMs);
+        }
+        return intervalMs;
+    }
+
+    public static double getBybitVolumeProfileDefaultTickSize() {
+        return parseTickSize(AppConfig.getAsString(JDBC_BYBIT_VOLUME_PROFILE_DEFAULT_TICK_SIZE));
+    }
+
+    /**
+     * Parses per-symbol tick sizes in the form {@code BTCUSDT:1,ETHUSDT:0.1}.
+     */
+    public static Map<String, Double> getBybitVolumeProfileTickSizes() {
+        final var tickSizes = new HashMap<String, Double>();
+        final var value = AppConfig.getAsString(JDBC_BYBIT_VOLUME_PROFILE_TICK_SIZES);
+        if (value == null || value.isBlank()) {
+            return tickSizes;
+        }
+
+        for (final var entry : value.split(",")) {
+            final var parts = entry.trim().split(":");
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException(
+                    "jdbc.bybit.volume-profile.tick-sizes entries must be SYMBOL:TICK, got: " + entry);
+            }
+            tickSizes.put(parts[0].trim(), parseTickSize(parts[1]));
+        }
+        return tickSizes;
+    }
+
+    private static double parseTickSize(final String value) {
+        final double tickSize;
+        try {
+            tickSize = Double.parseDouble(value.trim());
+        } catch (final NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid volume profile tick size: " + value, ex);
+        }
+
+        if (!(tickSize > 0) || Double.isInfinite(tickSize)) {
+            throw new IllegalArgumentException("Volume profile tick size must be positive, got: " + value);
+        }
+        return tickSize;
+    }
+
+    public static boolean getBybitKlineRollupDerivedOnly() {
+        return AppConfig.getAsBoolean(JDBC_BYBIT_KLINE_ROLLUP_DERIVED_ONLY);
+    }
+
+    public static long getBybitKlineRollupGraceMs() {
+        final var graceMs = AppConfig.getAsInt(JDBC_BYBIT_KLINE_ROLLUP_GRACE_MS);
+        if (graceMs < 0) {
+            throw new IllegalArgumentException(
+                "jdbc.bybit.kline-rollup.grace-ms must not be negative, got: " + graceMs);
+        }
+        return graceMs;
+    }
+
+    public static long getGapsCheckIntervalMs() {
+        final var intervalMs = AppConfig.getAsInt(JDBC_GAPS_CHECK_INTERVAL_MS);
+        if (intervalMs < 1000) {
+            throw new IllegalArgumentException(
+                "jdbc.gaps.check-interval-ms must be at least 1000, got: " + intervalMs);
+        }
+        return intervalMs;
+    }
+
+    public static long getGapsGraceMs() {
+        final var graceMs = AppConfig.getAsInt(JDBC_GAPS_GRACE_MS);
+        if (graceMs < 0) {
+            throw new IllegalArgumentException("jdbc.gaps.grace-ms must not be negative, got: " + graceMs);
+        }
+        return graceMs;
+    }
+
+    public static boolean getGapsBackfillEnabled() {
+        return AppConfig.getAsBoolean(JDBC_GAPS_BACKFILL_ENABLED);
+    }
+
+    public static int getGapsMaxBackfillsPerRun() {
+        final var max = AppConfig.getAsInt(JDBC_GAPS_MAX_BACKFILLS_PER_RUN);
+        if (max < 0 || max > 100) {
+            throw new IllegalArgumentException(
+                "jdbc.gaps.max-backfills-per-run must be between 0 and 100, got: " + max);
+        }
+        return max;
+    }
+
+    public static long getGapsBackfillCooldownMs() {
+        final var cooldownMs = AppConfig.getAsInt(JDBC_GAPS_BACKFILL_COOLDOWN_MS);
+        if (cooldownMs < 0) {
+            throw new IllegalArgumentException(
+                "jdbc.gaps.backfill-cooldown-ms must not be negative, got: " + cooldownMs);
+        }
+        return cooldownMs;
+    }
+
+    public static long getGapsBackfillTimeoutMs() {
+        final var timeoutMs = AppConfig.getAsInt(JDBC_GAPS_BACKFILL_TIMEOUT_MS);
+        if (timeoutMs < 1) {
+            throw new IllegalArgumentException(
+                "jdbc.gaps.backfill-timeout-ms must be positive, got: " + timeoutMs);
+        }
+        return timeoutMs;
+    }
+
     public static int getAnalystBatchSize() {
         final var size = AppConfig.getAsInt(JDBC_ANALYST_BATCH_SIZE);
         if (size < 1 || size > 10000) {
@@ -129,6 +288,361 @@ public final class JdbcConfig {
         return AppConfig.getAsInt(JDBC_ANALYST_LOOKBACK_DAYS);
     }
 
+    public static int getAnalystShards() {
+        final var shards = AppConfig.getAsInt(JDBC_ANALYST_SHARDS);
+        if (shards < 0 || shards > 256) {
+            throw new IllegalArgumentException("jdbc.analyst.shards must be between 0 and 256, got: " + shards);
+        }
+        return shards == 0 ? Runtime.getRuntime().availableProcessors() : shards;
+    }
+
+    public static long getAnalystIdleEvictMs() {
+        final var idleMs = AppConfig.getAsInt(JDBC_ANALYST_IDLE_EVICT_MS);
+        if (idleMs < 1000) {
+            throw new IllegalArgumentException(
+                "jdbc.analyst.idle-evict-ms must be at least 1000, got: " + idleMs);
+        }
+        return idleMs;
+    }
+
+    /**
+     * Minimum time between two provisional evaluations of the forming bar of a series; 0 disables them.
+     */
+    public static long getAnalystProvisionalIntervalMs() {
+        final var intervalMs = AppConfig.getAsInt(JDBC_ANALYST_PROVISIONAL_INTERVAL_MS);
+        if (intervalMs < 0 || intervalMs > 3600000) {
+            throw new IllegalArgumentException(
+                "jdbc.analyst.provisional-interval-ms must be between 0 and 3600000, got: " + intervalMs);
+        }
+        return intervalMs;
+    }
+
+    /**
+     * Path of the signal rules file, or an empty string when no signals are evaluated.
+     */
+    public static String getAnalystSignalRules() {
+        final var path = AppConfig.getAsString(JDBC_ANALYST_SIGNAL_RULES);
+        return path == null ? "" : path.trim();
+    }
+
+    /**
+     * Symbols recomputed at once. Each holds a cursor connection and a write connection, so the default (0) is
+     * capped at half the pool.
+     */
+    public static int getRecomputeParallelism() {
+        final var parallelism = AppConfig.getAsInt(JDBC_RECOMPUTE_PARALLELISM);
+        if (parallelism < 0 || parallelism > 256) {
+            throw new IllegalArgumentException(
+                "jdbc.recompute.parallelism must be between 0 and 256, got: " + parallelism);
+        }
+        return parallelism == 0 ?
+                Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), getMaximumPoolSize() / 2)) :
+                parallelism;
+    }
+
+    public static int getRecomputeFetchSize() {
+        final var size = AppConfig.getAsInt(JDBC_RECOMPUTE_FETCH_SIZE);
+        if (size < 1 || size > 100000) {
+            throw new IllegalArgumentException(
+                "jdbc.recompute.fetch-size must be between 1 and 100000, got: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Threads of the backtest pool, shared by the running backtests; the default (0) is one per CPU.
+     */
+    public static int getBacktestParallelism() {
+        final var parallelism = AppConfig.getAsInt(JDBC_BACKTEST_PARALLELISM);
+        if (parallelism < 0 || parallelism > 256) {
+            throw new IllegalArgumentException(
+                "jdbc.backtest.parallelism must be between 0 and 256, got: " + parallelism);
+        }
+        return parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+    }
+
+    /**
+     * Backtests run at once. Each holds the history of its symbol in memory and a connection while loading it.
+     */
+    public static int getBacktestMaxConcurrent() {
+        final var maxConcurrent = AppConfig.getAsInt(JDBC_BACKTEST_MAX_CONCURRENT);
+        if (maxConcurrent < 1 || maxConcurrent > 64) {
+            throw new IllegalArgumentException(
+                "jdbc.backtest.max-concurrent must be between 1 and 64, got: " + maxConcurrent);
+        }
+        return maxConcurrent;
+    }
+
+    public static boolean isCacheEnabled() {
+        return AppConfig.getAsBoolean(JDBC_CACHE_ENABLED);
+    }
+
+    /**
+     * Rows the range cache holds at most; the least recently used segments are evicted beyond it.
+     */
+    public static int getCacheMaxRows() {
+        final var maxRows = AppConfig.getAsInt(JDBC_CACHE_MAX_ROWS);
+        if (maxRows < 1 || maxRows > 10_000_000) {
+            throw new IllegalArgumentException(
+                "jdbc.cache.max-rows must be between 1 and 10000000, got: " + maxRows);
+        }
+        return maxRows;
+    }
+
+    /**
+     * Bars of one cached segment; segments are aligned to multiples of this many bars since the epoch.
+     */
+    public static int getCacheSegmentBars() {
+        final var bars = AppConfig.getAsInt(JDBC_CACHE_SEGMENT_BARS);
+        if (bars < 1 || bars > 100_000) {
+            throw new IllegalArgumentException(
+                "jdbc.cache.segment-bars must be between 1 and 100000, got: " + bars);
+        }
+        return bars;
+    }
+
+    public static long getCacheTailTtlMs() {
+        final var ttlMs = AppConfig.getAsInt(JDBC_CACHE_TAIL_TTL_MS);
+        if (ttlMs < 0) {
+            throw new IllegalArgumentException("jdbc.cache.tail-ttl-ms must not be negative, got: " + ttlMs);
+        }
+        return ttlMs;
+    }
+
+    /**
+     * How long after its end a segment may still receive bars, e.g. late or backfilled ones, before it is closed.
+     */
+    public static long getCacheClosedGraceMs() {
+        final var graceMs = AppConfig.getAsInt(JDBC_CACHE_CLOSED_GRACE_MS);
+        if (graceMs < 0) {
+            throw new IllegalArgumentException("jdbc.cache.closed-grace-ms must not be negative, got: " + graceMs);
+        }
+        return graceMs;
+    }
+
+    /**
+     * Whether the Bybit repositories keep the recently committed klines, tickers and trades in memory.
+     */
+    public static boolean isTailEnabled() {
+        return AppConfig.getAsBoolean(JDBC_TAIL_ENABLED);
+    }
+
+    /**
+     * Bars each kline table retains in memory per symbol, so the retained window scales with the interval.
+     */
+    public static int getTailKlineRetentionBars() {
+        final var bars = AppConfig.getAsInt(JDBC_TAIL_KLINE_RETENTION_BARS);
+        if (bars < 1 || bars > 1_000_000) {
+            throw new IllegalArgumentException(
+                "jdbc.tail.kline.retention-bars must be between 1 and 1000000, got: " + bars);
+        }
+        return bars;
+    }
+
+    public static long getTailTickerRetentionMs() {
+        final var retentionMs = AppConfig.getAsInt(JDBC_TAIL_TICKER_RETENTION_MS);
+        if (retentionMs < 1) {
+            throw new IllegalArgumentException("jdbc.tail.ticker.retention-ms must be positive, got: " + retentionMs);
+        }
+        return retentionMs;
+    }
+
+    public static int getTailTickerMaxRows() {
+        final var maxRows = AppConfig.getAsInt(JDBC_TAIL_TICKER_MAX_ROWS);
+        if (maxRows < 1 || maxRows > 100_000_000) {
+            throw new IllegalArgumentException(
+                "jdbc.tail.ticker.max-rows must be between 1 and 100000000, got: " + maxRows);
+        }
+        return maxRows;
+    }
+
+    public static long getTailTradeRetentionMs() {
+        final var retentionMs = AppConfig.getAsInt(JDBC_TAIL_TRADE_RETENTION_MS);
+        if (retentionMs < 1) {
+            throw new IllegalArgumentException("jdbc.tail.trade.retention-ms must be positive, got: " + retentionMs);
+        }
+        return retentionMs;
+    }
+
+    public static int getTailTradeMaxRows() {
+        final var maxRows = AppConfig.getAsInt(JDBC_TAIL_TRADE_MAX_ROWS);
+        if (maxRows < 1 || maxRows > 100_000_000) {
+            throw new IllegalArgumentException(
+                "jdbc.tail.trade.max-rows must be between 1 and 100000000, got: " + maxRows);
+        }
+        return maxRows;
+    }
+
+    /**
+     * Capacity from which a tail buffer allocates its columns off-heap instead of in Java arrays.
+     */
+    public static int getTailOffHeapMinRows() {
+        final var minRows = AppConfig.getAsInt(JDBC_TAIL_OFF_HEAP_MIN_ROWS);
+        if (minRows < 1) {
+            throw new IllegalArgumentException("jdbc.tail.off-heap-min-rows must be positive, got: " + minRows);
+        }
+        return minRows;
+    }
+
+    /**
+     * Rows a streamed range read fetches from its server-side cursor per round trip.
+     */
+    public static int getStreamFetchSize() {
+        final var fetchSize = AppConfig.getAsInt(JDBC_STREAM_FETCH_SIZE);
+        if (fetchSize < 1 || fetchSize > 1_000_000) {
+            throw new IllegalArgumentException(
+                "jdbc.stream.fetch-size must be between 1 and 1000000, got: " + fetchSize);
+        }
+        return fetchSize;
+    }
+
+    /**
+     * Rows a streamed response chunk holds at most.
+     */
+    public static int getStreamChunkRows() {
+        final var rows = AppConfig.getAsInt(JDBC_STREAM_CHUNK_ROWS);
+        if (rows < 1 || rows > 1_000_000) {
+            throw new IllegalArgumentException("jdbc.stream.chunk-rows must be between 1 and 1000000, got: " + rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Estimated serialized bytes after which a streamed response chunk is published.
+     */
+    public static int getStreamChunkBytes() {
+        final var bytes = AppConfig.getAsInt(JDBC_STREAM_CHUNK_BYTES);
+        if (bytes < 1024) {
+            throw new IllegalArgumentException("jdbc.stream.chunk-bytes must be at least 1024, got: " + bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Blocking tasks of a workload class run at once, each holding about one pooled connection.
+     */
+    public static int getBulkheadMaxConcurrent(final String workload) {
+        final var key = JDBC_BULKHEAD_PREFIX + workload + JDBC_BULKHEAD_MAX_CONCURRENT;
+        final var maxConcurrent = AppConfig.getAsInt(key);
+        if (maxConcurrent < 1 || maxConcurrent > getMaximumPoolSize()) {
+            throw new IllegalArgumentException(
+                key + " must be between 1 and the pool size " + getMaximumPoolSize() + ", got: " + maxConcurrent);
+        }
+        return maxConcurrent;
+    }
+
+    /**
+     * Tasks of a workload class waiting for a permit before further ones are rejected; 0 for no bound.
+     */
+    public static int getBulkheadMaxQueued(final String workload) {
+        final var key = JDBC_BULKHEAD_PREFIX + workload + JDBC_BULKHEAD_MAX_QUEUED;
+        final var maxQueued = AppConfig.getAsInt(key);
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException(key + " must not be negative, got: " + maxQueued);
+        }
+        return maxQueued;
+    }
+
+    /**
+     * Points a downsampled range request may ask for at most.
+     */
+    public static int getDownsampleMaxPoints() {
+        final var maxPoints = AppConfig.getAsInt(JDBC_DOWNSAMPLE_MAX_POINTS);
+        if (maxPoints < 2 || maxPoints > 100_000) {
+            throw new IllegalArgumentException(
+                "jdbc.downsample.max-points must be between 2 and 100000, got: " + maxPoints);
+        }
+        return maxPoints;
+    }
+
+    /**
+     * Sub-queries a batch request may hold at most.
+     */
+    public static int getBatchMaxItems() {
+        final var maxItems = AppConfig.getAsInt(JDBC_BATCH_MAX_ITEMS);
+        if (maxItems < 1 || maxItems > 10_000) {
+            throw new IllegalArgumentException("jdbc.batch.max-items must be between 1 and 10000, got: " + maxItems);
+        }
+        return maxItems;
+    }
+
+    /**
+     * Sub-queries of one batch request run at once, so a batch leaves query permits to other requests.
+     */
+    public static int getBatchMaxConcurrent() {
+        final var maxConcurrent = AppConfig.getAsInt(JDBC_BATCH_MAX_CONCURRENT);
+        if (maxConcurrent < 1 || maxConcurrent > getMaximumPoolSize()) {
+            throw new IllegalArgumentException("jdbc.batch.max-concurrent must be between 1 and the pool size " +
+                getMaximumPoolSize() + ", got: " + maxConcurrent);
+        }
+        return maxConcurrent;
+    }
+
+    /**
+     * JDBC URLs of the read replicas in the form {@code url1,url2}; empty when all reads go to the primary.
+     */
+    public static List<String> getReplicaUrls() {
+        final var urls = new ArrayList<String>();
+        final var value = AppConfig.getAsString(JDBC_REPLICA_URLS);
+        if (value == null || value.isBlank()) {
+            return urls;
+        }
+
+        for (final var url : value.split(",")) {
+            if (url.isBlank()) {
+                throw new IllegalArgumentException("jdbc.replica.urls must not contain empty entries, got: " + value);
+            }
+            urls.add(url.trim());
+        }
+        return urls;
+    }
+
+    public static int getReplicaMaximumPoolSize() {
+        final var size = AppConfig.getAsInt(JDBC_REPLICA_MAXIMUM_POOL_SIZE);
+        if (size < 1 || size > 256) {
+            throw new IllegalArgumentException(
+                "jdbc.replica.maximum-pool-size must be between 1 and 256, got: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Time between two replay lag checks of each replica; a replica is only read from after a successful check.
+     */
+    public static long getReplicaCheckIntervalMs() {
+        final var intervalMs = AppConfig.getAsInt(JDBC_REPLICA_CHECK_INTERVAL_MS);
+        if (intervalMs < 100) {
+            throw new IllegalArgumentException(
+                "jdbc.replica.check-interval-ms must be at least 100, got: " + intervalMs);
+        }
+        return intervalMs;
+    }
+
+    /**
+     * How far past the end of a range a replica must have replayed before the range is read from it.
+     */
+    public static long getReplicaFreshnessMarginMs() {
+        final var marginMs = AppConfig.getAsInt(JDBC_REPLICA_FRESHNESS_MARGIN_MS);
+        if (marginMs < 0) {
+            throw new IllegalArgumentException(
+                "jdbc.replica.freshness-margin-ms must not be negative, got: " + marginMs);
+        }
+        return marginMs;
+    }
+
+    /**
+     * Pool of a read replica: the primary's credentials and timeouts, with read-only connections.
+     */
+    public static HikariConfig getReplicaHikariConfig(final String url, final int index) {
+        final var config = getHikariConfig();
+        config.setJdbcUrl(url);
+        config.setPoolName(REPLICA_POOL_NAME + index);
+        config.setMaximumPoolSize(getReplicaMaximumPoolSize());
+        config.setMinimumIdle(Math.min(getMinimumIdle(), getReplicaMaximumPoolSize()));
+        config.setReadOnly(true);
+        return config;
+    }
+
     public static HikariConfig getHikariConfig() {
         final var config = new HikariConfig();
         config.setJdbcUrl(getUrl());
@@ -26,6 +26,8 @@ package com.github.akarazhev.cryptoscout.config;
 
 import com.github.akarazhev.jcryptolib.config.AppConfig;
 
+import static com.github.akarazhev.cryptoscout.config.Constants.ServerConfig.SERVER_API_MAX_CONCURRENT;
+import static com.github.akarazhev.cryptoscout.config.Constants.ServerConfig.SERVER_API_PREFIX;
 import static com.github.akarazhev.cryptoscout.config.Constants.ServerConfig.SERVER_PORT;
 
 public final class ServerConfig {
@@ -36,4 +38,16 @@ public final class ServerConfig {
     public static int getServerPort() {
         return AppConfig.getAsInt(SERVER_PORT);
     }
+
+    /**
+     * Requests of a query API endpoint served at once, a streamed one until its body is written.
+     */
+    public static int getApiMaxConcurrent(final String endpoint) {
+        final var key = SERVER_API_PREFIX + endpoint + SERVER_API_MAX_CONCURRENT;
+        final var maxConcurrent = AppConfig.getAsInt(key);
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException(key + " must be at least 1, got: " + maxConcurrent);
+        }
+        return maxConcurrent;
+    }
 }
\ No newline at end of file
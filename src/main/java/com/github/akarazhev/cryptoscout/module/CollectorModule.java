@@ -27,15 +27,27 @@ package com.github.akarazhev.cryptoscout.module;
 import com.github.akarazhev.cryptoscout.collector.AmqpConsumer;
 import com.github.akarazhev.cryptoscout.collector.AmqpPublisher;
 import com.github.akarazhev.cryptoscout.collector.AnalystService;
+import com.github.akarazhev.cryptoscout.collector.BacktestService;
 import com.github.akarazhev.cryptoscout.collector.CryptoScoutService;
 import com.github.akarazhev.cryptoscout.collector.DataService;
+import com.github.akarazhev.cryptoscout.collector.IndicatorStreamPublisher;
+import com.github.akarazhev.cryptoscout.collector.KlineBackfillSource;
+import com.github.akarazhev.cryptoscout.collector.KlineGapService;
+import com.github.akarazhev.cryptoscout.collector.RangeCache;
+import com.github.akarazhev.cryptoscout.collector.RequestCoalescer;
+import com.github.akarazhev.cryptoscout.collector.RiskService;
+import com.github.akarazhev.cryptoscout.collector.SignalService;
+import com.github.akarazhev.cryptoscout.collector.StreamKlineBackfillSource;
 import com.github.akarazhev.cryptoscout.collector.StreamService;
+import com.github.akarazhev.cryptoscout.collector.Bulkheads;
 import com.github.akarazhev.cryptoscout.collector.BybitStreamService;
 import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
 import com.github.akarazhev.cryptoscout.collector.db.BybitLinearRepository;
 import com.github.akarazhev.cryptoscout.collector.db.CollectorDataSource;
 import com.github.akarazhev.cryptoscout.collector.db.BybitSpotRepository;
 import com.github.akarazhev.cryptoscout.collector.db.CryptoScoutRepository;
+import com.github.akarazhev.cryptoscout.collector.db.KlineGapRepository;
+import com.github.akarazhev.cryptoscout.collector.db.RiskRepository;
 import com.github.akarazhev.cryptoscout.collector.db.StreamOffsetsRepository;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
 import io.activej.inject.annotation.Eager;
@@ -89,6 +101,11 @@ public final class CollectorModule extends AbstractModule {
         return CryptoScoutRepository.create(reactor, collectorDataSource);
     }
 
+    @Provides
+    private RiskRepository riskRepository(final NioReactor reactor, final CollectorDataSource collectorDataSource) {
+        return RiskRepository.create(reactor, collectorDataSource);
+    }
+
     @Provides
     private StreamOffsetsRepository streamOffsetsRepository(final NioReactor reactor,
                                                             final CollectorDataSource collectorDataSource) {
@@ -96,44 +113,114 @@ public final class CollectorModule extends AbstractModule {
     }
 
     @Provides
-    private BybitStreamService bybitStreamService(final NioReactor reactor, final Executor executor,
+    private KlineGapRepository klineGapRepository(final NioReactor reactor,
+                                                  final CollectorDataSource collectorDataSource) {
+        return KlineGapRepository.create(reactor, collectorDataSource);
+    }
+
+    @Provides
+    private BybitStreamService bybitStreamService(final NioReactor reactor, final Bulkheads bulkheads,
                                                   final StreamOffsetsRepository streamOffsetsRepository,
                                                   final BybitSpotRepository bybitSpotRepository,
-                                                  final BybitLinearRepository bybitLinearRepository) {
-        return BybitStreamService.create(reactor, executor, streamOffsetsRepository, bybitSpotRepository,
-                bybitLinearRepository);
+                                                  final BybitLinearRepository bybitLinearRepository,
+                                                  final AnalystService analystService) {
+        return BybitStreamService.create(reactor, bulkheads.ingest(), bulkheads.query(), streamOffsetsRepository,
+                bybitSpotRepository, bybitLinearRepository, analystService::saveDerived);
     }
 
     @Provides
-    private AnalystService analystService(final NioReactor reactor, final Executor executor,
+    private AnalystService analystService(final NioReactor reactor, final Bulkheads bulkheads,
                                           final StreamOffsetsRepository streamOffsetsRepository,
-                                          final AnalystRepository analystRepository) {
-        return AnalystService.create(reactor, executor, streamOffsetsRepository, analystRepository);
+                                          final AnalystRepository analystRepository,
+                                          final IndicatorStreamPublisher indicatorStreamPublisher,
+                                          final SignalService signalService) {
+        return AnalystService.create(reactor, bulkheads.analyst(), streamOffsetsRepository, analystRepository,
+                indicatorStreamPublisher, signalService);
+    }
+
+    @Provides
+    private SignalService signalService(@Named(CHATBOT_PUBLISHER) final AmqpPublisher chatbotPublisher) {
+        return SignalService.create(chatbotPublisher);
     }
 
     @Provides
-    private CryptoScoutService cryptoScoutService(final NioReactor reactor, final Executor executor,
+    @Eager
+    private IndicatorStreamPublisher indicatorStreamPublisher(final NioReactor reactor, final Executor executor) {
+        return IndicatorStreamPublisher.create(reactor, executor);
+    }
+
+    @Provides
+    private CryptoScoutService cryptoScoutService(final NioReactor reactor, final Bulkheads bulkheads,
                                                   final StreamOffsetsRepository streamOffsetsRepository,
                                                   final CryptoScoutRepository cryptoScoutRepository) {
-        return CryptoScoutService.create(reactor, executor, streamOffsetsRepository, cryptoScoutRepository);
+        return CryptoScoutService.create(reactor, bulkheads.ingest(), bulkheads.query(), streamOffsetsRepository,
+                cryptoScoutRepository);
+    }
+
+    @Provides
+    private RiskService riskService(final NioReactor reactor, final Bulkheads bulkheads,
+                                    final RiskRepository riskRepository) {
+        return RiskService.create(reactor, bulkheads.analyst(), riskRepository);
+    }
+
+    @Provides
+    private KlineBackfillSource klineBackfillSource(final BybitSpotRepository bybitSpotRepository,
+                                                    final BybitLinearRepository bybitLinearRepository,
+                                                    final CryptoScoutRepository cryptoScoutRepository) {
+        return StreamKlineBackfillSource.create(bybitSpotRepository, bybitLinearRepository, cryptoScoutRepository);
+    }
+
+    @Provides
+    private KlineGapService klineGapService(final NioReactor reactor, final Bulkheads bulkheads,
+                                            final KlineGapRepository klineGapRepository,
+                                            final KlineBackfillSource klineBackfillSource) {
+        return KlineGapService.create(reactor, bulkheads.analyst(), klineGapRepository, klineBackfillSource);
     }
 
     @Provides
     private DataService dataService(final BybitStreamService bybitStreamService,
                                     final CryptoScoutService cryptoScoutService,
+                                    final AnalystService analystService,
+                                    final BacktestService backtestService,
+                                    final RangeCache rangeCache,
+                                    final RequestCoalescer requestCoalescer,
                                     @Named(CHATBOT_PUBLISHER) final AmqpPublisher chatbotPublisher) {
-        return DataService.create(bybitStreamService, cryptoScoutService, chatbotPublisher);
+        return DataService.create(bybitStreamService, cryptoScoutService, analystService, backtestService,
+                rangeCache, requestCoalescer, chatbotPublisher);
+    }
+
+    @Provides
+    private RangeCache rangeCache() {
+        return RangeCache.create();
+    }
+
+    @Provides
+    private RequestCoalescer requestCoalescer() {
+        return RequestCoalescer.create();
+    }
+
+    @Provides
+    private Bulkheads bulkheads(final Executor executor) {
+        return Bulkheads.create(executor);
+    }
+
+    @Provides
+    private BacktestService backtestService(final NioReactor reactor, final Bulkheads bulkheads,
+                                            final AnalystRepository analystRepository) {
+        return BacktestService.create(reactor, bulkheads.analyst(), analystRepository);
     }
 
     @Provides
     @Eager
-    private StreamService streamService(final NioReactor reactor, final Executor executor,
+    private StreamService streamService(final NioReactor reactor, final Bulkheads bulkheads,
                                         final StreamOffsetsRepository streamOffsetsRepository,
                                         final AnalystService analystService,
                                         final BybitStreamService bybitStreamService,
-                                        final CryptoScoutService cryptoScoutService) {
-        return StreamService.create(reactor, executor, streamOffsetsRepository, analystService, bybitStreamService,
-                cryptoScoutService);
+                                        final CryptoScoutService cryptoScoutService,
+                                        final RiskService riskService,
+                                        final KlineGapService klineGapService) {
+        return StreamService.create(reactor, bulkheads.ingest(), streamOffsetsRepository, analystService,
+                bybitStreamService, cryptoScoutService, riskService, klineGapService);
     }
 
     @Provides
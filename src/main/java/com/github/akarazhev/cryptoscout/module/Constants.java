@@ -35,6 +35,17 @@ final class Constants {
         }
 
         static final String HEALTH_API = "/health";
+        static final String GAPS_API = "/gaps";
+        static final String CACHE_API = "/cache";
+        static final String REQUESTS_API = "/requests";
+        static final String BULKHEADS_API = "/bulkheads";
+        static final String KLINES_API = "/api/klines";
+        static final String TICKERS_API = "/api/tickers";
+        static final String ORDER_BOOKS_API = "/api/order-books";
+        static final String TRADES_API = "/api/trades";
+        static final String LIQUIDATIONS_API = "/api/liquidations";
+        static final String FGI_API = "/api/fgi";
+        static final String INDICATORS_API = "/api/indicators";
         static final String CHATBOT_PUBLISHER = "chatbotPublisher";
         static final String COLLECTOR_CONSUMER = "collectorConsumer";
 
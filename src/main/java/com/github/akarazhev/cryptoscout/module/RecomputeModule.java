@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.akarazhev.cryptoscout.module;
+
+import com.github.akarazhev.cryptoscout.collector.IndicatorRecomputeJob;
+import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
+import com.github.akarazhev.cryptoscout.collector.db.CollectorDataSource;
+import io.activej.inject.annotation.Provides;
+import io.activej.inject.module.AbstractModule;
+import io.activej.reactor.nio.NioReactor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Recompute module. Data source and analyst repository for the indicator recompute job, without any stream consumers.
+ */
+public final class RecomputeModule extends AbstractModule {
+
+    private RecomputeModule() {
+    }
+
+    public static RecomputeModule create() {
+        return new RecomputeModule();
+    }
+
+    @Provides
+    private CollectorDataSource collectorDataSource(final NioReactor reactor, final Executor executor) {
+        return CollectorDataSource.create(reactor, executor);
+    }
+
+    @Provides
+    private AnalystRepository analystRepository(final NioReactor reactor,
+                                                final CollectorDataSource collectorDataSource) {
+        return AnalystRepository.create(reactor, collectorDataSource);
+    }
+
+    @Provides
+    private IndicatorRecomputeJob indicatorRecomputeJob(final AnalystRepository analystRepository) {
+        return IndicatorRecomputeJob.create(analystRepository);
+    }
+}
@@ -24,7 +24,13 @@
 
 package com.github.akarazhev.cryptoscout.module;
 
+import com.github.akarazhev.cryptoscout.collector.Bulkheads;
+import com.github.akarazhev.cryptoscout.collector.DataService;
 import com.github.akarazhev.cryptoscout.collector.HealthService;
+import com.github.akarazhev.cryptoscout.collector.HttpQueryService;
+import com.github.akarazhev.cryptoscout.collector.KlineGapService;
+import com.github.akarazhev.cryptoscout.collector.RangeCache;
+import com.github.akarazhev.cryptoscout.collector.RequestCoalescer;
 import com.github.akarazhev.cryptoscout.collector.db.CollectorDataSource;
 import com.github.akarazhev.cryptoscout.config.ServerConfig;
 import com.github.akarazhev.jcryptolib.util.JsonUtils;
@@ -39,9 +45,18 @@ import io.activej.inject.module.AbstractModule;
 import io.activej.reactor.Reactor;
 import io.activej.reactor.nio.NioReactor;
 
-import java.util.concurrent.Executor;
-
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.BULKHEADS_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.CACHE_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.FGI_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.GAPS_API;
 import static com.github.akarazhev.cryptoscout.module.Constants.Config.HEALTH_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.INDICATORS_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.KLINES_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.LIQUIDATIONS_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.ORDER_BOOKS_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.REQUESTS_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.TICKERS_API;
+import static com.github.akarazhev.cryptoscout.module.Constants.Config.TRADES_API;
 import static com.github.akarazhev.cryptoscout.module.Constants.Health.HTTP_OK;
 import static com.github.akarazhev.cryptoscout.module.Constants.Health.HTTP_SERVICE_UNAVAILABLE;
 import static com.github.akarazhev.cryptoscout.module.Constants.Health.STATUS;
@@ -60,13 +75,21 @@ public final class WebModule extends AbstractModule {
     }
 
     @Provides
-    private HealthService healthService(final NioReactor reactor, final Executor executor,
+    private HealthService healthService(final NioReactor reactor, final Bulkheads bulkheads,
                                         final CollectorDataSource collectorDataSource) {
-        return HealthService.create(reactor, executor, collectorDataSource);
+        return HealthService.create(reactor, bulkheads.health(), collectorDataSource);
+    }
+
+    @Provides
+    private HttpQueryService httpQueryService(final DataService dataService) {
+        return HttpQueryService.create(dataService);
     }
 
     @Provides
-    private AsyncServlet servlet(final Reactor reactor, final HealthService healthService) {
+    private AsyncServlet servlet(final Reactor reactor, final HealthService healthService,
+                                 final KlineGapService klineGapService, final RangeCache rangeCache,
+                                 final RequestCoalescer requestCoalescer, final Bulkheads bulkheads,
+                                 final HttpQueryService httpQueryService) {
         return RoutingServlet.builder(reactor)
                 .with(HttpMethod.GET, HEALTH_API, (_) ->
                         healthService.checkHealth()
@@ -76,6 +99,29 @@ public final class WebModule extends AbstractModule {
                                             .withJson(JsonUtils.object2Json(health))
                                             .build();
                                 }))
+                .with(HttpMethod.GET, GAPS_API, (_) ->
+                        HttpResponse.ofCode(HTTP_OK)
+                                .withJson(JsonUtils.object2Json(klineGapService.getGaps()))
+                                .toPromise())
+                .with(HttpMethod.GET, CACHE_API, (_) ->
+                        HttpResponse.ofCode(HTTP_OK)
+                                .withJson(JsonUtils.object2Json(rangeCache.getStats()))
+                                .toPromise())
+                .with(HttpMethod.GET, REQUESTS_API, (_) ->
+                        HttpResponse.ofCode(HTTP_OK)
+                                .withJson(JsonUtils.object2Json(requestCoalescer.getStats()))
+                                .toPromise())
+                .with(HttpMethod.GET, BULKHEADS_API, (_) ->
+                        HttpResponse.ofCode(HTTP_OK)
+                                .withJson(JsonUtils.object2Json(bulkheads.getStats()))
+                                .toPromise())
+                .with(HttpMethod.GET, KLINES_API, httpQueryService::getKlines)
+                .with(HttpMethod.GET, TICKERS_API, httpQueryService::getTickers)
+                .with(HttpMethod.GET, ORDER_BOOKS_API, httpQueryService::getOrderBooks)
+                .with(HttpMethod.GET, TRADES_API, httpQueryService::getTrades)
+                .with(HttpMethod.GET, LIQUIDATIONS_API, httpQueryService::getLiquidations)
+                .with(HttpMethod.GET, FGI_API, httpQueryService::getFgi)
+                .with(HttpMethod.GET, INDICATORS_API, httpQueryService::getIndicators)
                 .build();
     }
 
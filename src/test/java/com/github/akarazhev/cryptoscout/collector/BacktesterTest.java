@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BacktesterTest {
+    private static final double EPS = 1e-12;
+
+    private static Backtester.Columns columns(final double... closes) {
+        final var columns = new Backtester.Columns();
+        for (final var close : closes) {
+            columns.add(close);
+        }
+
+        return columns;
+    }
+
+    @Test
+    void shouldHoldWhileFastAverageIsAboveSlowOne() throws Exception {
+        try (final var backtester = Backtester.create(2)) {
+            // Enters at 2, rides to 4, leaves at 3 when the price drops below its 2-bar average
+            final var result = backtester.run(columns(1, 2, 3, 4, 3, 2), Backtester.Average.SMA,
+                    Backtester.grid(List.of(1), List.of(2)), 0.0).getFirst();
+
+            assertEquals(0.5, result.pnl(), EPS);
+            assertEquals(0.25, result.maxDrawdown(), EPS);
+            assertEquals(1, result.trades());
+            assertEquals(1, result.wins());
+        }
+    }
+
+    @Test
+    void shouldChargeFeeOnEntryAndExit() throws Exception {
+        try (final var backtester = Backtester.create(2)) {
+            final var result = backtester.run(columns(1, 2, 3, 4, 3, 2), Backtester.Average.SMA,
+                    Backtester.grid(List.of(1), List.of(2)), 100.0).getFirst();
+
+            assertEquals(1.5 * 0.99 * 0.99 - 1.0, result.pnl(), EPS);
+            assertEquals(1, result.trades());
+        }
+    }
+
+    @Test
+    void shouldValueOpenPositionAtLastClose() throws Exception {
+        try (final var backtester = Backtester.create(1)) {
+            final var result = backtester.run(columns(4, 2, 3, 5, 6), Backtester.Average.SMA,
+                    Backtester.grid(List.of(1), List.of(2)), 0.0).getFirst();
+
+            // Enters at 3 on the third bar and is still in at 6
+            assertEquals(1.0, result.pnl(), EPS);
+            assertEquals(0.0, result.maxDrawdown(), EPS);
+            assertEquals(1, result.trades());
+            assertEquals(1, result.wins());
+        }
+    }
+
+    @Test
+    void shouldGiveSameResultsWhateverParallelism() throws Exception {
+        final var random = new Random(42);
+        final var closes = new double[20_000];
+        var price = 100.0;
+        for (var i = 0; i < closes.length; i++) {
+            price *= 1.0 + random.nextGaussian() * 0.01;
+            closes[i] = price;
+        }
+
+        final var grid = Backtester.grid(List.of(5, 10, 20, 50), List.of(20, 50, 100, 200));
+        assertEquals(13, grid.size());
+        try (final var sequential = Backtester.create(1); final var parallel = Backtester.create(4)) {
+            final var expected = sequential.run(columns(closes), Backtester.Average.EMA, grid, 5.0);
+            final var actual = parallel.run(columns(closes), Backtester.Average.EMA, grid, 5.0);
+
+            assertEquals(expected, actual);
+            for (var i = 1; i < actual.size(); i++) {
+                assertTrue(actual.get(i - 1).pnl() >= actual.get(i).pnl());
+            }
+        }
+    }
+
+    @Test
+    void shouldRunOnItsOwnPool() throws Exception {
+        final var grid = Backtester.grid(List.of(1, 2), List.of(3, 4));
+        // A single worker runs the backtest and helps run the tasks it waits for
+        try (final var backtester = Backtester.create(1)) {
+            final var expected = backtester.run(columns(1, 2, 3, 4, 3, 2, 4, 5), Backtester.Average.SMA, grid, 0.0);
+            final var actual = backtester.getPool().submit(() -> backtester.run(columns(1, 2, 3, 4, 3, 2, 4, 5),
+                    Backtester.Average.SMA, grid, 0.0)).get(10, TimeUnit.SECONDS);
+
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidGridAndFee() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> Backtester.grid(List.of(50), List.of(20)));
+        assertThrows(IllegalArgumentException.class, () -> Backtester.grid(List.of(0), List.of(20)));
+        assertThrows(IllegalArgumentException.class, () -> Backtester.grid(List.of(), List.of(20)));
+        try (final var backtester = Backtester.create(1)) {
+            assertThrows(IllegalArgumentException.class, () -> backtester.run(columns(1, 2, 3),
+                    Backtester.Average.SMA, Backtester.grid(List.of(1), List.of(2)), -1.0));
+        }
+    }
+}
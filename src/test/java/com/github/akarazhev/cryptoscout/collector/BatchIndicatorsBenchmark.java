@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the columnar kernels, on the Vector API and on scalar loops, with feeding the same bars one at a time
+ * through {@link TechnicalAnalysisCalculator#addOhlcv}. Each benchmark computes SMA and EMA 50/100/200, the 20-bar
+ * standard deviation and Bollinger Bands and the 14-bar ATR over the whole series. Not part of the test suite: run
+ * {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BatchIndicatorsBenchmark {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+        Instant.parse("2020-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Param({"10000", "1000000"})
+    public int bars;
+
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private TechnicalAnalysisCalculator.OhlcvPoint[] points;
+    private BatchIndicators vector;
+    private BatchIndicators scalar;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        open = new double[bars];
+        high = new double[bars];
+        low = new double[bars];
+        close = new double[bars];
+        volume = new double[bars];
+        points = new TechnicalAnalysisCalculator.OhlcvPoint[bars];
+        var price = 40_000.0;
+        for (var i = 0; i < bars; i++) {
+            open[i] = price;
+            price = Math.max(1.0, price + random.nextGaussian() * 50.0);
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + random.nextDouble() * 25.0;
+            low[i] = Math.min(open[i], close[i]) - random.nextDouble() * 25.0;
+            volume[i] = random.nextDouble() * 100.0;
+            points[i] = new TechnicalAnalysisCalculator.OhlcvPoint(BASE_TIME.plusMinutes(i), open[i], high[i], low[i],
+                close[i], volume[i]);
+        }
+
+        vector = BatchIndicators.create();
+        scalar = BatchIndicators.create(new BatchIndicators.ScalarKernels());
+        if (!vector.isVectorized()) {
+            throw new IllegalStateException("jdk.incubator.vector is not resolved");
+        }
+    }
+
+    @Benchmark
+    public void perBar(final Blackhole blackhole) {
+        final var calculator = TechnicalAnalysisCalculator.create(TechnicalAnalysisCalculator.Config.builder()
+            .enableBollinger(true)
+            .enableAtr(true)
+            .enableStdDev(true)
+            .build());
+        for (final var point : points) {
+            blackhole.consume(calculator.addOhlcv(point));
+        }
+    }
+
+    @Benchmark
+    public void batchVector(final Blackhole blackhole) {
+        compute(vector, blackhole);
+    }
+
+    @Benchmark
+    public void batchScalar(final Blackhole blackhole) {
+        compute(scalar, blackhole);
+    }
+
+    private void compute(final BatchIndicators batch, final Blackhole blackhole) {
+        blackhole.consume(batch.sma(close, 50));
+        blackhole.consume(batch.sma(close, 100));
+        blackhole.consume(batch.sma(close, 200));
+        blackhole.consume(batch.ema(close, 50));
+        blackhole.consume(batch.ema(close, 100));
+        blackhole.consume(batch.ema(close, 200));
+        blackhole.consume(batch.stdDev(close, 20));
+        blackhole.consume(batch.bollinger(close, 20, 2.0));
+        blackhole.consume(batch.atr(high, low, close, 14));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchIndicatorsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BatchIndicatorsTest {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+        Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final double DELTA = 1e-9;
+    private static final int BARS = 1_000;
+
+    private final double[] open = new double[BARS];
+    private final double[] high = new double[BARS];
+    private final double[] low = new double[BARS];
+    private final double[] close = new double[BARS];
+    private final double[] volume = new double[BARS];
+
+    BatchIndicatorsTest() {
+        final var random = new Random(11);
+        var price = 40_000.0;
+        for (var i = 0; i < BARS; i++) {
+            open[i] = price;
+            price = Math.max(1.0, price + random.nextGaussian() * 400.0);
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + random.nextDouble() * 200.0;
+            low[i] = Math.min(open[i], close[i]) - random.nextDouble() * 200.0;
+            volume[i] = random.nextDouble() * 1_000.0;
+        }
+    }
+
+    @Test
+    void shouldMatchPerBarCalculator() {
+        final var calculator = TechnicalAnalysisCalculator.create(TechnicalAnalysisCalculator.Config.builder()
+            .enableBollinger(true)
+            .enableAtr(true)
+            .enableStdDev(true)
+            .build());
+        final var batch = BatchIndicators.create();
+        final var sma50 = batch.sma(close, 50);
+        final var sma200 = batch.sma(close, 200);
+        final var ema100 = batch.ema(close, 100);
+        final var stdDev20 = batch.stdDev(close, 20);
+        final var bands = batch.bollinger(close, 20, 2.0);
+        final var atr14 = batch.atr(high, low, close, 14);
+
+        for (var i = 0; i < BARS; i++) {
+            final var result = calculator.addOhlcv(new TechnicalAnalysisCalculator.OhlcvPoint(BASE_TIME.plusDays(i),
+                open[i], high[i], low[i], close[i], volume[i]));
+            assertMatches(result.sma50(), sma50[i]);
+            assertMatches(result.sma200(), sma200[i]);
+            assertMatches(result.ema100(), ema100[i]);
+            assertMatches(result.stdDev20(), stdDev20[i]);
+            assertMatches(result.bbMiddle(), bands.middle()[i]);
+            assertMatches(result.bbUpper(), bands.upper()[i]);
+            assertMatches(result.bbLower(), bands.lower()[i]);
+            assertMatches(result.atr14(), atr14[i]);
+        }
+    }
+
+    @Test
+    void shouldProduceSameValuesWithScalarAndDefaultKernels() {
+        final var scalar = BatchIndicators.create(new BatchIndicators.ScalarKernels());
+        final var batch = BatchIndicators.create();
+        // Odd lengths and periods leave tails that do not fill a vector
+        for (final var length : new int[]{0, 1, 3, 17, 257, 5_000}) {
+            final var highs = Arrays.copyOf(high, length);
+            final var lows = Arrays.copyOf(low, length);
+            final var closes = Arrays.copyOf(close, length);
+            for (final var period : new int[]{1, 2, 7, 20}) {
+                assertArrayEquals(scalar.sma(closes, period), batch.sma(closes, period));
+                assertArrayEquals(scalar.stdDev(closes, period), batch.stdDev(closes, period));
+                assertArrayEquals(scalar.bollinger(closes, period, 2.0).upper(),
+                    batch.bollinger(closes, period, 2.0).upper());
+            }
+
+            assertArrayEquals(scalar.trueRange(highs, lows, closes), batch.trueRange(highs, lows, closes));
+        }
+    }
+
+    @Test
+    void shouldKeepPrecisionOnHighPriceLevels() {
+        final var values = new double[10_000];
+        for (var i = 0; i < values.length; i++) {
+            values[i] = 1e9 + (i % 2 == 0 ? 1.0 : -1.0);
+        }
+
+        final var batch = BatchIndicators.create();
+        final var sma = batch.sma(values, 10);
+        final var stdDev = batch.stdDev(values, 10);
+        for (var i = 9; i < values.length; i++) {
+            assertEquals(1e9, sma[i], 1e-6);
+            assertEquals(1.0, stdDev[i], 1e-6);
+        }
+    }
+
+    @Test
+    void shouldComputeTrueRangeFromPreviousClose() {
+        final var tr = BatchIndicators.create().trueRange(
+            new double[]{10.0, 12.0, 9.0},
+            new double[]{8.0, 11.0, 7.0},
+            new double[]{9.0, 11.5, 8.0});
+
+        assertArrayEquals(new double[]{2.0, 3.0, 4.5}, tr);
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        final var batch = BatchIndicators.create();
+        assertThrows(IllegalArgumentException.class, () -> batch.sma(close, 0));
+        assertThrows(IllegalArgumentException.class, () -> batch.trueRange(high, low, new double[1]));
+    }
+
+    private static void assertMatches(final Double expected, final double actual) {
+        if (expected == null) {
+            assertTrue(Double.isNaN(actual), "Expected NaN before warm-up, got: " + actual);
+        } else {
+            assertEquals(expected, actual, DELTA * Math.max(1.0, Math.abs(expected)));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import io.activej.promise.Promise;
+import io.activej.promise.SettablePromise;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BatchRunnerTest {
+
+    @Test
+    void shouldRunAtMostMaxConcurrentSubQueriesAtOnce() {
+        final var calls = new HashMap<String, SettablePromise<Object>>();
+        final var completed = new ArrayList<Object>();
+        final var queries = List.of(query("a"), query("b"), query("c"), query("d"), query("e"));
+        final var result = BatchRunner.create(queries, 2, (method, _) -> {
+            final var call = new SettablePromise<Object>();
+            calls.put(method, call);
+            return call;
+        }, item -> completed.add(item.get("id"))).run();
+
+        assertEquals(2, calls.size());
+        calls.get("b").set("B");
+        assertEquals(3, calls.size());
+        assertTrue(calls.containsKey("c"));
+        calls.get("a").set("A");
+        calls.get("c").set("C");
+        calls.get("d").set("D");
+        assertFalse(result.isComplete());
+        calls.get("e").set("E");
+
+        assertEquals(List.of("b", "a", "c", "d", "e"), completed);
+        final var items = new ArrayList<List<Object>>();
+        result.whenResult(values -> values.forEach(item ->
+                items.add(List.of(item.get("id"), item.get("status"), item.get("data")))));
+        assertEquals(List.of(List.of("a", "OK", "A"), List.of("b", "OK", "B"), List.of("c", "OK", "C"),
+                List.of("d", "OK", "D"), List.of("e", "OK", "E")), items);
+    }
+
+    @Test
+    void shouldFailOnlyTheItemsOfBadSubQueries() {
+        final var queries = List.of(query("ok"), query("unsupported"), query("failing"), query("throwing"),
+                Map.of("args", List.of()));
+        final var items = new ArrayList<Map<String, Object>>();
+        BatchRunner.create(queries, 4, (method, _) -> switch (method) {
+            case "ok" -> Promise.of("rows");
+            case "failing" -> Promise.ofException(new IllegalStateException("query failed"));
+            case "throwing" -> throw new IllegalArgumentException("bad args");
+            default -> null;
+        }, _ -> {
+        }).run().whenResult(items::addAll);
+
+        assertEquals(5, items.size());
+        assertEquals(Map.of("id", "ok", "method", "ok", "status", "OK", "data", "rows"), items.get(0));
+        assertEquals("ERROR", items.get(1).get("status"));
+        assertEquals("Method is not supported in a batch: unsupported", items.get(1).get("error"));
+        assertEquals("query failed", items.get(2).get("error"));
+        assertEquals("bad args", items.get(3).get("error"));
+        assertEquals(4, items.get(4).get("id"));
+        assertEquals("Sub-query has no method", items.get(4).get("error"));
+    }
+
+    @Test
+    void shouldCompleteAnEmptyBatch() {
+        final var items = new ArrayList<Map<String, Object>>();
+        final var result = BatchRunner.create(List.of(), 4, (_, _) -> Promise.of("rows"), _ -> {
+        }).run().whenResult(items::addAll);
+
+        assertTrue(result.isComplete());
+        assertTrue(items.isEmpty());
+    }
+
+    private static Map<String, Object> query(final String method) {
+        return Map.of("id", method, "method", method, "args", List.of());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.RiskRepository.BtcRisk;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BtcRiskModelTest {
+    private static final long DAY_MS = 86_400_000L;
+    private static final long WEEK_MS = 7 * DAY_MS;
+
+    // Three weekly and four daily bars warm the small model: weekly closes rise then fall, daily closes oscillate
+    private static BtcRiskModel warmModel() {
+        final var model = BtcRiskModel.create(3, 4, 4);
+        final double[] weekly = {100, 110, 130, 120, 90};
+        for (var i = 0; i < weekly.length; i++) {
+            model.onWeekly(i * WEEK_MS, weekly[i]);
+        }
+
+        final double[] daily = {95, 100, 92, 98, 90, 105};
+        for (var i = 0; i < daily.length; i++) {
+            model.onDaily(weekly.length * WEEK_MS + i * DAY_MS, daily[i]);
+        }
+
+        return model;
+    }
+
+    @Test
+    void shouldYieldNothingUntilBothAveragesAreWarm() {
+        final var model = BtcRiskModel.create(3, 4, 4);
+        assertNull(model.onWeekly(0L, 100));
+        assertNull(model.onWeekly(WEEK_MS, 110));
+        // The first full weekly window has one distance, which is no range yet
+        assertNull(model.onWeekly(2 * WEEK_MS, 130));
+        assertNull(model.onWeekly(3 * WEEK_MS, 120));
+        for (var i = 0; i < 4; i++) {
+            assertNull(model.onDaily(4 * WEEK_MS + i * DAY_MS, 100 + i));
+        }
+
+        assertNotNull(model.onDaily(4 * WEEK_MS + 4 * DAY_MS, 90));
+        assertTrue(model.isReady());
+    }
+
+    @Test
+    void shouldMapRisksToPricesConsistently() {
+        final var model = warmModel();
+        final var risk = model.onDaily(6 * WEEK_MS, 101);
+        assertNotNull(risk);
+        assertArrayEquals(new double[]{0.0, 0.25, 0.5, 0.75, 1.0}, risk.risks());
+        assertEquals(101L, risk.price());
+        assertTrue(risk.priceRisk() >= 0.0 && risk.priceRisk() <= 1.0);
+        assertTrue(risk.compositeRisk() >= 0.0 && risk.compositeRisk() <= 1.0);
+        for (var i = 1; i < risk.risks().length; i++) {
+            assertTrue(risk.pricesOfPriceRisk()[i] >= risk.pricesOfPriceRisk()[i - 1]);
+            assertTrue(risk.pricesOfCompositeRisk()[i] >= risk.pricesOfCompositeRisk()[i - 1]);
+        }
+
+        // The current price sits between the grid prices around its own risk
+        assertBracketed(risk.price(), risk.priceRisk(), risk.risks(), risk.pricesOfPriceRisk());
+        assertBracketed(risk.price(), risk.compositeRisk(), risk.risks(), risk.pricesOfCompositeRisk());
+    }
+
+    @Test
+    void shouldReachFullRiskAtNewWeeklyHigh() {
+        final var model = warmModel();
+        final var risk = model.onWeekly(6 * WEEK_MS, 400);
+        assertNotNull(risk);
+        assertEquals(1.0, risk.priceRisk(), 1e-12);
+        assertEquals(400L, risk.pricesOfPriceRisk()[risk.risks().length - 1]);
+    }
+
+    @Test
+    void shouldIgnoreReplayedBars() {
+        final var model = warmModel();
+        final var same = warmModel();
+        assertNull(model.onDaily(5 * WEEK_MS, 500));
+        assertNull(model.onWeekly(4 * WEEK_MS, 500));
+        final BtcRisk risk = model.onDaily(6 * WEEK_MS, 101);
+        final BtcRisk expected = same.onDaily(6 * WEEK_MS, 101);
+        assertEquals(expected.priceRisk(), risk.priceRisk());
+        assertEquals(expected.compositeRisk(), risk.compositeRisk());
+        assertArrayEquals(expected.pricesOfCompositeRisk(), risk.pricesOfCompositeRisk());
+    }
+
+    @Test
+    void shouldRejectEmptyGrid() {
+        assertThrows(IllegalArgumentException.class, () -> BtcRiskModel.create(3, 4, 0));
+    }
+
+    private static void assertBracketed(final long price, final double risk, final double[] risks,
+                                        final long[] prices) {
+        for (var i = 1; i < risks.length; i++) {
+            if (risk >= risks[i - 1] && risk <= risks[i]) {
+                assertTrue(price >= prices[i - 1] - 1 && price <= prices[i] + 1,
+                        price + " not within " + prices[i - 1] + ".." + prices[i]);
+                return;
+            }
+        }
+    }
+}
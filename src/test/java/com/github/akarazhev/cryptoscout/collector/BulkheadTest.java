@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class BulkheadTest {
+
+    // Runs the submitted tasks only when asked, like threads that are still busy
+    private static final class ManualExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        void runNext() {
+            tasks.poll().run();
+        }
+
+        int submitted() {
+            return tasks.size();
+        }
+    }
+
+    @Test
+    void shouldQueueBeyondMaxConcurrentInArrivalOrder() {
+        final var executor = new ManualExecutor();
+        final var bulkhead = Bulkhead.create("query", executor, 2, 0);
+        final var ran = new ArrayList<Integer>();
+        for (var i = 0; i < 5; i++) {
+            final var task = i;
+            bulkhead.execute(() -> ran.add(task));
+        }
+
+        assertEquals(2, executor.submitted());
+        assertEquals(2, bulkhead.getStats().get("active"));
+        assertEquals(3, bulkhead.getStats().get("queued"));
+        while (executor.submitted() > 0) {
+            executor.runNext();
+            // A finished task hands its permit to the next queued one, never more than two at once
+            assertEquals(Math.min(2, 5 - ran.size()), executor.submitted());
+        }
+
+        assertEquals(List.of(0, 1, 2, 3, 4), ran);
+        assertEquals(0, bulkhead.getStats().get("active"));
+        assertEquals(3, bulkhead.getStats().get("peak_queued"));
+        assertEquals(5L, bulkhead.getStats().get("completed"));
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFull() {
+        final var executor = new ManualExecutor();
+        final var bulkhead = Bulkhead.create("health", executor, 1, 1);
+        bulkhead.execute(() -> {
+        });
+        bulkhead.execute(() -> {
+        });
+
+        assertThrows(RejectedExecutionException.class, () -> bulkhead.execute(() -> {
+        }));
+        assertEquals(1L, bulkhead.getStats().get("rejected"));
+        executor.runNext();
+        executor.runNext();
+        assertEquals(0, bulkhead.getStats().get("queued"));
+        assertEquals(2L, bulkhead.getStats().get("completed"));
+    }
+
+    @Test
+    void shouldMeasureTheWaitForAPermit() {
+        final var executor = new ManualExecutor();
+        final var clock = new AtomicLong();
+        final var bulkhead = Bulkhead.create("analyst", executor, 1, 0, clock::get);
+        bulkhead.execute(() -> clock.addAndGet(30_000_000L));
+        bulkhead.execute(() -> {
+        });
+        executor.runNext();
+        executor.runNext();
+
+        assertEquals(15.0, bulkhead.getStats().get("avg_wait_ms"));
+        assertEquals(30.0, bulkhead.getStats().get("max_wait_ms"));
+    }
+
+    @Test
+    void shouldReleaseThePermitOfAFailedTask() {
+        final var executor = new ManualExecutor();
+        final var bulkhead = Bulkhead.create("ingest", executor, 1, 0);
+        bulkhead.execute(() -> {
+            throw new IllegalStateException("flush failed");
+        });
+        bulkhead.execute(() -> {
+        });
+
+        assertThrows(IllegalStateException.class, executor::runNext);
+        assertEquals(1, executor.submitted());
+        executor.runNext();
+        assertEquals(0, bulkhead.getStats().get("active"));
+    }
+
+    @Test
+    void shouldHoldTheLeasedPermitUntilClosed() {
+        final var executor = new ManualExecutor();
+        final var bulkhead = Bulkhead.create("query", executor, 1, 0);
+        final var lease = bulkhead.lease();
+        final var ran = new ArrayList<String>();
+        lease.execute(() -> ran.add("open"));
+        bulkhead.execute(() -> ran.add("other"));
+        executor.runNext();
+
+        // The permit outlives the first task, so the other task keeps waiting while the lease reads on
+        assertEquals(1, bulkhead.getStats().get("active"));
+        assertEquals(1, bulkhead.getStats().get("queued"));
+        lease.execute(() -> ran.add("next"));
+        executor.runNext();
+        assertEquals(1, bulkhead.getStats().get("queued"));
+
+        lease.close();
+        executor.runNext();
+        assertEquals(List.of("open", "next", "other"), ran);
+        assertEquals(0, bulkhead.getStats().get("active"));
+        assertThrows(RejectedExecutionException.class, () -> lease.execute(() -> {
+        }));
+    }
+}
@@ -42,6 +42,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -88,6 +89,7 @@ import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.T;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TS;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Symbol.BTC_USDT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 final class BybitStreamServiceTest {
     private static ExecutorService executor;
@@ -109,8 +111,8 @@ final class BybitStreamServiceTest {
         linearRepository = BybitLinearRepository.create(reactor, collectorDataSource);
         spotRepository = BybitSpotRepository.create(reactor, collectorDataSource);
         streamOffsetsRepository = StreamOffsetsRepository.create(reactor, collectorDataSource);
-        bybitStreamService = BybitStreamService.create(reactor, executor, streamOffsetsRepository, spotRepository,
-                linearRepository);
+        bybitStreamService = BybitStreamService.create(reactor, executor,
+                Bulkhead.create("query", executor, 4, 0), streamOffsetsRepository, spotRepository, linearRepository);
         TestUtils.await(bybitStreamService.start());
     }
 
@@ -233,6 +235,19 @@ final class BybitStreamServiceTest {
                 BTC_USDT, oFrom1000, oFrom1000)).size());
     }
 
+    @Test
+    void spotTickersDownsampledFromDatabaseRows() throws Exception {
+        final var tickers = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.TICKERS);
+        assertEquals(1, spotRepository.saveTicker(List.of(tickers), 700L));
+        final var from = OffsetDateTime.ofInstant(Instant.ofEpochMilli((Long) tickers.get(TS)), ZoneOffset.UTC);
+
+        // The tail is disabled in tests, so the rows come from the cursor with java.sql.Timestamp times
+        final var rows = TestUtils.await(bybitStreamService.getTickerDownsampled(BYBIT_SPOT, BTC_USDT, from,
+                OffsetDateTime.now(ZoneOffset.UTC), 10));
+        assertEquals(1, rows.size());
+        assertInstanceOf(Timestamp.class, rows.getFirst().get(TS));
+    }
+
     @Test
     void spotDataSavedViaPayloadAndOffsetsUpdated() throws Exception {
         final var k1 = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
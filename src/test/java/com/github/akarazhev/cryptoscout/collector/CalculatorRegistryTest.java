@@ -0,0 +1,219 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CalculatorRegistryTest {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+            Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final long IDLE_MS = 60_000L;
+    private static final CalculatorRegistry.Key BTC_1M = new CalculatorRegistry.Key("spot", "BTCUSDT", 60_000L);
+
+    @Test
+    void shouldLoadCalculatorOnFirstBarOnly() throws Exception {
+        final var loads = new AtomicInteger();
+        final var befores = new CopyOnWriteArrayList<OffsetDateTime>();
+        try (final var registry = CalculatorRegistry.create(2, IDLE_MS, (_, before) -> {
+            loads.incrementAndGet();
+            befores.add(before);
+            return TechnicalAnalysisCalculator.create(200);
+        })) {
+            assertNotNull(add(registry, BTC_1M, 0, 0L));
+            assertNotNull(add(registry, BTC_1M, 1, 0L));
+
+            assertEquals(1, loads.get());
+            assertEquals(List.of(BASE_TIME), befores);
+            assertEquals(1, registry.size());
+        }
+    }
+
+    @Test
+    void shouldSkipReplayedBar() throws Exception {
+        try (final var registry = CalculatorRegistry.create(2, IDLE_MS,
+                (_, _) -> TechnicalAnalysisCalculator.create(200))) {
+            assertNotNull(add(registry, BTC_1M, 5, 0L));
+            assertNull(add(registry, BTC_1M, 5, 0L));
+            assertNull(add(registry, BTC_1M, 4, 0L));
+            assertNotNull(add(registry, BTC_1M, 6, 0L));
+        }
+    }
+
+    @Test
+    void shouldEvictIdleCalculatorsAndReloadThem() throws Exception {
+        final var loads = new AtomicInteger();
+        try (final var registry = CalculatorRegistry.create(1, IDLE_MS, (_, _) -> {
+            loads.incrementAndGet();
+            return TechnicalAnalysisCalculator.create(200);
+        })) {
+            add(registry, BTC_1M, 0, 1_000L);
+            final var shard = registry.getShardIndex(BTC_1M);
+
+            assertEquals(0, evict(registry, shard, 1_000L + IDLE_MS - 1));
+            assertEquals(1, registry.size());
+            assertEquals(1, evict(registry, shard, 1_000L + IDLE_MS));
+            assertEquals(0, registry.size());
+
+            add(registry, BTC_1M, 1, 2_000L + IDLE_MS);
+            assertEquals(2, loads.get());
+        }
+    }
+
+    @Test
+    void shouldReloadRemovedCalculatorsWithoutTellingTheEvictionListener() throws Exception {
+        final var loads = new AtomicInteger();
+        final var evicted = new CopyOnWriteArrayList<CalculatorRegistry.Key>();
+        try (final var registry = CalculatorRegistry.create(1, IDLE_MS, (_, _) -> {
+            loads.incrementAndGet();
+            return TechnicalAnalysisCalculator.create(200);
+        }, evicted::add)) {
+            add(registry, BTC_1M, 0, 1_000L);
+            final var shard = registry.getShard(registry.getShardIndex(BTC_1M));
+
+            assertTrue(CompletableFuture.supplyAsync(() -> registry.remove(BTC_1M), shard).get());
+            assertFalse(CompletableFuture.supplyAsync(() -> registry.remove(BTC_1M), shard).get());
+            assertEquals(0, registry.size());
+            assertTrue(evicted.isEmpty());
+
+            add(registry, BTC_1M, 1, 2_000L);
+            assertEquals(2, loads.get());
+        }
+    }
+
+    @Test
+    void shouldTellTheKeysOfEvictedCalculators() throws Exception {
+        final var evicted = new CopyOnWriteArrayList<CalculatorRegistry.Key>();
+        final var eth1m = new CalculatorRegistry.Key("spot", "ETHUSDT", 60_000L);
+        try (final var registry = CalculatorRegistry.create(1, IDLE_MS,
+                (_, _) -> TechnicalAnalysisCalculator.create(200), evicted::add)) {
+            add(registry, BTC_1M, 0, 1_000L);
+            add(registry, eth1m, 0, 2_000L);
+
+            assertEquals(1, evict(registry, 0, 1_000L + IDLE_MS));
+            assertEquals(List.of(BTC_1M), evicted);
+            assertEquals(1, evict(registry, 0, 2_000L + IDLE_MS));
+            assertEquals(List.of(BTC_1M, eth1m), evicted);
+        }
+    }
+
+    @Test
+    void shouldApplyBarsOfEachSeriesInOrderOnItsShard() throws Exception {
+        final var threads = new CopyOnWriteArrayList<String>();
+        try (final var registry = CalculatorRegistry.create(4, IDLE_MS, (_, _) -> {
+            threads.add(Thread.currentThread().getName());
+            return TechnicalAnalysisCalculator.create(200);
+        })) {
+            final var keys = new ArrayList<CalculatorRegistry.Key>();
+            for (var i = 0; i < 16; i++) {
+                keys.add(new CalculatorRegistry.Key(i % 2 == 0 ? "spot" : "linear", "SYM" + i, 60_000L));
+            }
+
+            final var results = new ArrayList<CompletableFuture<TechnicalAnalysisCalculator.AnalysisResult>>();
+            for (var bar = 0; bar < 300; bar++) {
+                for (final var key : keys) {
+                    final var offset = bar;
+                    results.add(CompletableFuture.supplyAsync(() -> addOnShard(registry, key, offset, 0L),
+                            registry.getShard(registry.getShardIndex(key))));
+                }
+            }
+
+            for (final var result : results) {
+                assertNotNull(result.get(), "Bars of a series must be applied in submission order");
+            }
+
+            assertEquals(keys.size(), registry.size());
+            assertEquals(keys.size(), threads.size());
+            assertTrue(threads.stream().allMatch(name -> name.startsWith("analyst-shard-")));
+        }
+    }
+
+    @Test
+    void shouldPreviewOnlyBarFollowingLastBarOfLiveCalculator() throws Exception {
+        final var loads = new AtomicInteger();
+        try (final var registry = CalculatorRegistry.create(2, IDLE_MS, (_, _) -> {
+            loads.incrementAndGet();
+            return TechnicalAnalysisCalculator.create(200);
+        })) {
+            assertNull(preview(registry, BTC_1M, 0));
+            assertEquals(0, loads.get());
+
+            add(registry, BTC_1M, 0, 0L);
+            assertNotNull(preview(registry, BTC_1M, 1));
+            assertNull(preview(registry, BTC_1M, 0));
+            assertNull(preview(registry, BTC_1M, 2));
+
+            // The preview left the series where it was
+            assertNotNull(add(registry, BTC_1M, 1, 0L));
+            assertEquals(1, loads.get());
+        }
+    }
+
+    private static TechnicalAnalysisCalculator.AnalysisResult preview(final CalculatorRegistry registry,
+                                                                      final CalculatorRegistry.Key key,
+                                                                      final int minute) throws Exception {
+        return CompletableFuture.supplyAsync(() -> registry.preview(key,
+                        new TechnicalAnalysisCalculator.OhlcvPoint(BASE_TIME.plusMinutes(minute), 100.0, 101.0, 99.0,
+                                100.5, 10.0)),
+                registry.getShard(registry.getShardIndex(key))).get();
+    }
+
+    private static TechnicalAnalysisCalculator.AnalysisResult add(final CalculatorRegistry registry,
+                                                                  final CalculatorRegistry.Key key, final int minute,
+                                                                  final long nowMs) throws Exception {
+        return CompletableFuture.supplyAsync(() -> addOnShard(registry, key, minute, nowMs),
+                registry.getShard(registry.getShardIndex(key))).get();
+    }
+
+    private static TechnicalAnalysisCalculator.AnalysisResult addOnShard(final CalculatorRegistry registry,
+                                                                         final CalculatorRegistry.Key key,
+                                                                         final int minute, final long nowMs) {
+        final var price = 100.0 + minute % 7;
+        try {
+            return registry.add(key, new TechnicalAnalysisCalculator.OhlcvPoint(BASE_TIME.plusMinutes(minute), price,
+                    price + 1, price - 1, price, 10.0), nowMs);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int evict(final CalculatorRegistry registry, final int shard, final long nowMs) throws Exception {
+        return CompletableFuture.supplyAsync(() -> registry.evictIdle(shard, nowMs), registry.getShard(shard)).get();
+    }
+}
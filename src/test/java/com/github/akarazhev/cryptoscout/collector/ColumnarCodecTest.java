@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ColumnarCodecTest {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+            Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private static List<Map<String, Object>> klines(final int count) {
+        final var rows = new ArrayList<Map<String, Object>>(count);
+        for (var i = 0; i < count; i++) {
+            final var row = new HashMap<String, Object>();
+            row.put("symbol", "BTCUSDT");
+            row.put("start_time", BASE_TIME.plusMinutes(i));
+            row.put("close_price", 100.0 + i * 0.25);
+            row.put("volume", 10.0 + i % 5);
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    @Test
+    void shouldEncodeOnePrimitiveArrayPerColumn() {
+        final var encoded = ColumnarCodec.encode(klines(3));
+
+        assertEquals(3, encoded.get("count"));
+        assertEquals(List.of("close_price", "start_time", "symbol", "volume"), encoded.get("columns"));
+        assertEquals(List.of("double", "time", "text", "double"), encoded.get("types"));
+        final var data = (List<?>) encoded.get("data");
+        assertArrayEquals(new double[]{100.0, 100.25, 100.5}, (double[]) data.get(0));
+        final var start = BASE_TIME.toInstant().toEpochMilli();
+        assertArrayEquals(new long[]{start, start + 60_000L, start + 120_000L}, (long[]) data.get(1));
+        assertArrayEquals(new String[]{"BTCUSDT", "BTCUSDT", "BTCUSDT"}, (String[]) data.get(2));
+        assertFalse(encoded.containsKey("nulls"));
+    }
+
+    @Test
+    void shouldListNullsAndWidenMixedNumbers() {
+        final var rows = klines(3);
+        rows.get(1).put("volume", null);
+        rows.get(0).put("trades", 5L);
+        rows.get(2).put("trades", 7.5);
+        final var encoded = ColumnarCodec.encode(rows);
+
+        assertEquals(List.of("close_price", "start_time", "symbol", "trades", "volume"), encoded.get("columns"));
+        assertEquals("double", ((List<?>) encoded.get("types")).get(3));
+        assertArrayEquals(new double[]{5.0, 0.0, 7.5}, (double[]) ((List<?>) encoded.get("data")).get(3));
+        assertEquals(Map.of("trades", List.of(1), "volume", List.of(1)), encoded.get("nulls"));
+    }
+
+    @Test
+    void shouldRoundTripBinaryEncoding() {
+        final var rows = klines(100);
+        rows.get(3).put("symbol", "ETHUSDT");
+        rows.get(4).put("close_price", null);
+        rows.get(5).put("is_block_trade", true);
+        rows.get(6).put("is_block_trade", false);
+        final var decoded = ColumnarCodec.decodeBinary(ColumnarCodec.encodeBinary(rows));
+
+        final var expected = new ArrayList<Map<String, Object>>();
+        for (final var row : rows) {
+            final var copy = new HashMap<>(row);
+            copy.values().removeIf(value -> value == null);
+            expected.add(copy);
+        }
+
+        assertEquals(expected, decoded);
+    }
+
+    @Test
+    void shouldBeSmallerThanRows() {
+        final var rows = klines(1_000);
+        final var binary = ColumnarCodec.encodeBinary(rows);
+        // Eight bytes per time and price, a dictionary index per symbol, against well over 100 bytes of a JSON row
+        assertTrue(binary.length < rows.size() * (Double.BYTES * 2 + Long.BYTES + Integer.BYTES) + 200);
+    }
+
+    @Test
+    void shouldChooseFormatFromOptionalArgument() {
+        final var rows = klines(2);
+        assertSame(rows, ColumnarCodec.Format.of(List.of("BYBIT_SPOT", "BTCUSDT"), 2).encode(rows));
+        assertEquals(ColumnarCodec.Format.COLUMNAR, ColumnarCodec.Format.of(List.of("BTCUSDT", "columnar"), 1));
+        assertEquals(ColumnarCodec.Format.BINARY, ColumnarCodec.Format.of(List.of("BTCUSDT", "BINARY"), 1));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarCodec.Format.of(List.of("BTCUSDT", "xml"), 1));
+    }
+
+    @Test
+    void shouldRejectOtherVersion() {
+        final var body = ColumnarCodec.encodeBinary(klines(1));
+        body[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> ColumnarCodec.decodeBinary(body));
+    }
+}
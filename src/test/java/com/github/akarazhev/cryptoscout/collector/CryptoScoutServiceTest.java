@@ -77,7 +77,8 @@ final class CryptoScoutServiceTest {
         collectorDataSource = CollectorDataSource.create(reactor, executor);
         streamOffsetsRepository = StreamOffsetsRepository.create(reactor, collectorDataSource);
         cryptoScoutRepository = CryptoScoutRepository.create(reactor, collectorDataSource);
-        cryptoScoutService = CryptoScoutService.create(reactor, executor, streamOffsetsRepository, cryptoScoutRepository);
+        cryptoScoutService = CryptoScoutService.create(reactor, executor, executor, streamOffsetsRepository,
+                cryptoScoutRepository);
         TestUtils.await(cryptoScoutService.start());
     }
 
@@ -24,6 +24,7 @@
 
 package com.github.akarazhev.cryptoscout.collector;
 
+import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
 import com.github.akarazhev.cryptoscout.collector.db.BybitLinearRepository;
 import com.github.akarazhev.cryptoscout.collector.db.BybitSpotRepository;
 import com.github.akarazhev.cryptoscout.collector.db.CryptoScoutRepository;
@@ -56,10 +57,12 @@ import static com.github.akarazhev.cryptoscout.collector.BybitStreamService.Type
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_KLINE_15M;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_KLINE_1D;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_KLINE_1M;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_KLINE_1S;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_KLINE_240M;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_KLINE_5M;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_KLINE_60M;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_TICKER;
+import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_VOLUME_PROFILE;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_ALL_LIQUIDATION;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_ORDER_BOOK_1;
 import static com.github.akarazhev.cryptoscout.collector.Constants.Method.BYBIT_GET_ORDER_BOOK_1000;
@@ -131,6 +134,7 @@ final class DataServiceTest {
 
     private static BybitStreamService bybitStreamService;
     private static CryptoScoutService cryptoScoutService;
+    private static AnalystService analystService;
     private static DataService dataService;
 
     private static AmqpPublisher chatbotPublisher;
@@ -151,13 +155,20 @@ final class DataServiceTest {
         cryptoScoutRepository = CryptoScoutRepository.create(reactor, collectorDataSource);
         streamOffsetsRepository = StreamOffsetsRepository.create(reactor, collectorDataSource);
 
-        bybitStreamService = BybitStreamService.create(reactor, executor, streamOffsetsRepository, spotRepository,
-                linearRepository);
-        cryptoScoutService = CryptoScoutService.create(reactor, executor, streamOffsetsRepository, cryptoScoutRepository);
+        bybitStreamService = BybitStreamService.create(reactor, executor,
+                Bulkhead.create("query", executor, 4, 0), streamOffsetsRepository, spotRepository, linearRepository);
+        cryptoScoutService = CryptoScoutService.create(reactor, executor, executor, streamOffsetsRepository,
+                cryptoScoutRepository);
+        analystService = AnalystService.create(reactor, executor, streamOffsetsRepository,
+                AnalystRepository.create(reactor, collectorDataSource),
+                IndicatorStreamPublisher.create(reactor, executor),
+                SignalService.create(SignalEngine.create(List.of()), null));
 
         chatbotPublisher = AmqpPublisher.create(reactor, executor, AmqpConfig.getConnectionFactory(),
                 CHATBOT_PUBLISHER_CLIENT_NAME, AmqpConfig.getAmqpChatbotQueue());
-        dataService = DataService.create(bybitStreamService, cryptoScoutService, chatbotPublisher);
+        dataService = DataService.create(bybitStreamService, cryptoScoutService, analystService,
+                BacktestService.create(reactor, executor, AnalystRepository.create(reactor, collectorDataSource)),
+                RangeCache.create(), RequestCoalescer.create(), chatbotPublisher);
         collectorConsumer = AmqpConsumer.create(reactor, executor, AmqpConfig.getConnectionFactory(),
                 COLLECTOR_CONSUMER_CLIENT_NAME, AmqpConfig.getAmqpCollectorQueue());
         collectorConsumer.getStreamSupplier().streamTo(dataService.getStreamConsumer());
@@ -274,6 +285,44 @@ final class DataServiceTest {
         assertNotNull(message.value());
     }
 
+    @Test
+    void bybitSpotKline1sRequestReturnsResponse() throws Exception {
+        final var to = OffsetDateTime.now(ZoneOffset.UTC);
+        final var from = to.minusMinutes(1);
+
+        TestUtils.await(collectorTestPublisher.publish(AmqpConfig.getAmqpCryptoScoutExchange(),
+                        AmqpConfig.getAmqpCollectorRoutingKey(),
+                        Message.of(Message.Command.of(Message.Type.REQUEST, CHATBOT, BYBIT_GET_KLINE_1S),
+                                new Object[]{BYBIT_SPOT.name(), BTC_USDT, from, to}))
+                .whenComplete(chatbotTestConsumer::start));
+        final var message = TestUtils.await(chatbotTestConsumer.getMessage());
+
+        assertNotNull(message);
+        assertEquals(Message.Type.RESPONSE, message.command().type());
+        assertEquals(COLLECTOR, message.command().source());
+        assertEquals(BYBIT_GET_KLINE_1S, message.command().method());
+        assertNotNull(message.value());
+    }
+
+    @Test
+    void bybitSpotVolumeProfileRequestReturnsResponse() throws Exception {
+        final var to = OffsetDateTime.now(ZoneOffset.UTC);
+        final var from = to.minusMinutes(1);
+
+        TestUtils.await(collectorTestPublisher.publish(AmqpConfig.getAmqpCryptoScoutExchange(),
+                        AmqpConfig.getAmqpCollectorRoutingKey(),
+                        Message.of(Message.Command.of(Message.Type.REQUEST, CHATBOT, BYBIT_GET_VOLUME_PROFILE),
+                                new Object[]{BYBIT_SPOT.name(), BTC_USDT, from, to}))
+                .whenComplete(chatbotTestConsumer::start));
+        final var message = TestUtils.await(chatbotTestConsumer.getMessage());
+
+        assertNotNull(message);
+        assertEquals(Message.Type.RESPONSE, message.command().type());
+        assertEquals(COLLECTOR, message.command().source());
+        assertEquals(BYBIT_GET_VOLUME_PROFILE, message.command().method());
+        assertNotNull(message.value());
+    }
+
     @Test
     void bybitSpotKline1mRequestReturnsResponse() throws Exception {
         final var kline = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class DownsamplerTest {
+    private static final OffsetDateTime FROM = OffsetDateTime.ofInstant(
+            Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final long MINUTE_MS = 60_000L;
+    private static final long HOUR_MS = 3_600_000L;
+    private static final long DAY_MS = 86_400_000L;
+
+    private static Map<String, Object> row(final long timeMs, final double value) {
+        final var row = new HashMap<String, Object>();
+        row.put("ts", OffsetDateTime.ofInstant(Instant.ofEpochMilli(timeMs), ZoneOffset.UTC));
+        row.put("lastPrice", value);
+        return row;
+    }
+
+    private static long timeOf(final Map<String, Object> row) {
+        return ((OffsetDateTime) row.get("ts")).toInstant().toEpochMilli();
+    }
+
+    @Test
+    void shouldBucketLongRangesFromCoarserTables() {
+        final var to = FROM.plusDays(30).minusNanos(1_000_000);
+        // A month of 1m klines in 500 points: 86.4 minute buckets rounded up to two hours of the 60m table
+        final var bucketMs = Downsampler.bucketMs(MINUTE_MS, FROM, to, 500);
+        assertEquals(2 * HOUR_MS, bucketMs);
+        assertEquals(HOUR_MS, Downsampler.sourceIntervalMs(bucketMs));
+        assertTrue(30 * DAY_MS / bucketMs <= 500);
+
+        // Never finer than the requested interval, and whole days come from the 1d table
+        assertEquals(15 * MINUTE_MS, Downsampler.bucketMs(15 * MINUTE_MS, FROM, FROM.plusHours(1), 500));
+        final var yearBucketMs = Downsampler.bucketMs(MINUTE_MS, FROM, FROM.plusYears(1), 400);
+        assertEquals(DAY_MS, Downsampler.sourceIntervalMs(yearBucketMs));
+        assertEquals(5 * MINUTE_MS, Downsampler.sourceIntervalMs(10 * MINUTE_MS));
+        assertTrue(Downsampler.isKlineInterval(4 * HOUR_MS));
+        assertTrue(!Downsampler.isKlineInterval(2 * HOUR_MS));
+        assertThrows(IllegalArgumentException.class, () -> Downsampler.bucketMs(MINUTE_MS, FROM, FROM, 1));
+    }
+
+    @Test
+    void shouldReturnAllRowsInTimeOrderWhenFewerThanThePoints() {
+        final var downsampler = Downsampler.create(FROM, FROM.plusMinutes(10), 100, "ts", "lastPrice");
+        final var start = FROM.toInstant().toEpochMilli();
+        downsampler.add(row(start + 3 * MINUTE_MS, 3.0));
+        downsampler.add(row(start + MINUTE_MS, 1.0));
+        downsampler.add(row(start + 2 * MINUTE_MS, 2.0));
+        // Outside the range, or without a value
+        downsampler.add(row(start + 11 * MINUTE_MS, 4.0));
+        final var missing = row(start + 4 * MINUTE_MS, 0.0);
+        missing.remove("lastPrice");
+        downsampler.add(missing);
+
+        final var rows = downsampler.finish();
+        assertEquals(3, rows.size());
+        assertEquals(List.of(1.0, 2.0, 3.0), rows.stream().map(r -> r.get("lastPrice")).toList());
+    }
+
+    @Test
+    void shouldKeepTheEndsAndTheExtremesOfALongSeries() {
+        final var to = FROM.plusDays(1);
+        final var start = FROM.toInstant().toEpochMilli();
+        final var input = new ArrayList<Map<String, Object>>();
+        final var random = new Random(42);
+        for (var i = 0; i < 86_400; i++) {
+            input.add(row(start + i * 1_000L, 100.0 + random.nextGaussian()));
+        }
+
+        input.set(40_000, row(start + 40_000_000L, 500.0));
+        input.set(60_000, row(start + 60_000_000L, -300.0));
+
+        final var ordered = Downsampler.create(FROM, to, 200, "ts", "lastPrice");
+        input.forEach(ordered::add);
+        final var rows = ordered.finish();
+
+        assertEquals(200, rows.size());
+        assertEquals(start, timeOf(rows.getFirst()));
+        assertEquals(start + 86_399_000L, timeOf(rows.getLast()));
+        for (var i = 1; i < rows.size(); i++) {
+            assertTrue(timeOf(rows.get(i - 1)) < timeOf(rows.get(i)));
+        }
+
+        final var values = rows.stream().map(r -> (Double) r.get("lastPrice")).toList();
+        assertTrue(values.contains(500.0));
+        assertTrue(values.contains(-300.0));
+
+        // The scan keeps per-slot extremes only, so the row order does not change the result
+        Collections.shuffle(input, random);
+        final var shuffled = Downsampler.create(FROM, to, 200, "ts", "lastPrice");
+        input.forEach(shuffled::add);
+        assertEquals(rows, shuffled.finish());
+    }
+
+    @Test
+    void shouldReadTheTimesOfDatabaseRows() {
+        final var downsampler = Downsampler.create(FROM, FROM.plusMinutes(10), 100, "ts", "lastPrice");
+        final var start = FROM.toInstant().toEpochMilli();
+        final var timestamp = row(start + 2 * MINUTE_MS, 2.0);
+        timestamp.put("ts", new Timestamp(start + 2 * MINUTE_MS));
+        final var instant = row(start + MINUTE_MS, 1.0);
+        instant.put("ts", Instant.ofEpochMilli(start + MINUTE_MS));
+        downsampler.add(timestamp);
+        downsampler.add(instant);
+
+        final var rows = downsampler.finish();
+        assertEquals(List.of(1.0, 2.0), rows.stream().map(r -> r.get("lastPrice")).toList());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HttpQueryServiceTest {
+
+    @Test
+    void shouldJoinChunksIntoOneJsonArray() {
+        final var rows = List.<Map<String, Object>>of(Map.of("a", 1), Map.of("a", 2));
+        assertEquals("[{\"a\":1},{\"a\":2}", HttpQueryService.encodeChunk(chunk(0, rows, false)));
+        assertEquals(",{\"a\":1},{\"a\":2}", HttpQueryService.encodeChunk(chunk(1, rows, false)));
+        assertEquals("]", HttpQueryService.encodeChunk(chunk(2, List.of(), true)));
+        assertEquals("[]", HttpQueryService.encodeChunk(chunk(0, List.of(), true)));
+        assertEquals("[{\"a\":1}]", HttpQueryService.encodeChunk(chunk(0, List.of(Map.of("a", 1)), true)));
+    }
+
+    @Test
+    void shouldMatchTheEtagOfTheSameContentOnly() {
+        final var rows = List.<Map<String, Object>>of(Map.of("t", 0L, "c", 1.5), Map.of("t", 60_000L, "c", 2.5));
+        final var etag = HttpQueryService.etag(rows, 1);
+        assertEquals(etag, HttpQueryService.etag(List.<Map<String, Object>>of(Map.of("t", 0L, "c", 1.5),
+                Map.of("t", 60_000L, "c", 2.5)), 1));
+        // A backfilled bar or a corrected value changes the tag of the same range
+        assertNotEquals(etag, HttpQueryService.etag(List.<Map<String, Object>>of(Map.of("t", 0L, "c", 1.5),
+                Map.of("t", 30_000L, "c", 2.0), Map.of("t", 60_000L, "c", 2.5)), 1));
+        assertNotEquals(etag, HttpQueryService.etag(List.<Map<String, Object>>of(Map.of("t", 0L, "c", 1.5),
+                Map.of("t", 60_000L, "c", 3.5)), 1));
+        assertEquals(HttpQueryService.etag("{\"value\":1}"), HttpQueryService.etag("{\"value\":1}"));
+        assertNotEquals(HttpQueryService.etag("{\"value\":1}"), HttpQueryService.etag("{\"value\":2}"));
+
+        assertTrue(HttpQueryService.matches(etag, etag));
+        assertTrue(HttpQueryService.matches("\"other\", " + etag.substring(2), etag));
+        assertTrue(HttpQueryService.matches("*", etag));
+        assertFalse(HttpQueryService.matches("\"other\"", etag));
+        assertFalse(HttpQueryService.matches(null, etag));
+    }
+
+    @Test
+    void shouldOnlyTagRangesPastTheClosedGrace() {
+        assertTrue(HttpQueryService.isClosed(1_000L, 11_000L, 10_000L));
+        assertFalse(HttpQueryService.isClosed(1_001L, 11_000L, 10_000L));
+        assertFalse(HttpQueryService.isClosed(Long.MAX_VALUE, 11_000L, 10_000L));
+    }
+
+    @Test
+    void shouldNegotiateGzip() {
+        assertTrue(HttpQueryService.acceptsGzip("gzip, deflate, br"));
+        assertTrue(HttpQueryService.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(HttpQueryService.acceptsGzip("gzip;q=0"));
+        assertFalse(HttpQueryService.acceptsGzip("deflate"));
+        assertFalse(HttpQueryService.acceptsGzip(null));
+    }
+
+    @Test
+    void shouldParseEpochAndIsoTimes() {
+        assertEquals(1_704_067_200_000L, HttpQueryService.parseTime("1704067200000"));
+        assertEquals(1_704_067_200_000L, HttpQueryService.parseTime("2024-01-01T00:00:00Z"));
+        assertEquals(1_704_067_200_000L, HttpQueryService.parseTime("2024-01-01T03:00:00+03:00"));
+        assertThrows(IllegalArgumentException.class, () -> HttpQueryService.parseTime("yesterday"));
+    }
+
+    private static Map<String, Object> chunk(final long seq, final List<Map<String, Object>> rows,
+                                             final boolean last) {
+        final var chunk = new LinkedHashMap<String, Object>();
+        chunk.put("seq", seq);
+        chunk.put("rows", rows);
+        chunk.put("last", last);
+        return chunk;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class IndicatorCodecTest {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+            Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final CalculatorRegistry.Key BTC_1M = new CalculatorRegistry.Key("spot", "BTCUSDT", 60_000L);
+
+    private static TechnicalAnalysisCalculator.OhlcvPoint point(final int minute) {
+        final var close = 100.0 + Math.sin(minute / 7.0) * 5.0 + minute * 0.01;
+        return new TechnicalAnalysisCalculator.OhlcvPoint(BASE_TIME.plusMinutes(minute), close - 0.5, close + 1.0,
+                close - 1.0, close, 10.0 + minute % 5, close * 1_000.0, 1_000L);
+    }
+
+    private static TechnicalAnalysisCalculator.AnalysisResult compute(final int bars) {
+        final var calc = TechnicalAnalysisCalculator.create(TechnicalAnalysisCalculator.Config.builder()
+                .enableRsi(true)
+                .enableStochastic(true)
+                .enableMacd(true)
+                .enableBollinger(true)
+                .enableAtr(true)
+                .enableStdDev(true)
+                .enableVwap(true)
+                .enableVolumeSma(true)
+                .includeMarketFundamentals(true)
+                .build());
+        TechnicalAnalysisCalculator.AnalysisResult result = null;
+        for (var i = 0; i < bars; i++) {
+            result = calc.addOhlcv(point(i));
+        }
+
+        return result;
+    }
+
+    @Test
+    void shouldRoundTripIndicatorsAsInTableRow() {
+        final var point = point(249);
+        final var result = compute(250);
+        final var decoded = IndicatorCodec.decode(IndicatorCodec.encode(BTC_1M, point, result, false));
+
+        final var expected = result.toMap(BTC_1M.symbol(), point.timestamp(), point);
+        expected.values().removeIf(value -> value == null);
+        expected.put("market", "spot");
+        expected.put("interval_ms", 60_000L);
+        expected.put("provisional", false);
+        assertEquals(expected, decoded);
+    }
+
+    @Test
+    void shouldOmitUndefinedIndicators() {
+        final var point = point(29);
+        final var result = compute(30);
+        assertNotNull(result.rsi14());
+        assertNull(result.sma50());
+
+        final var body = IndicatorCodec.encode(BTC_1M, point, result, true);
+        final var decoded = IndicatorCodec.decode(body);
+        assertTrue((Boolean) decoded.get("provisional"));
+        assertTrue(decoded.containsKey("rsi_14"));
+        assertFalse(decoded.containsKey("sma_50"));
+        assertTrue(body.length < IndicatorCodec.encode(BTC_1M, point(249), compute(250), true).length);
+    }
+
+    @Test
+    void shouldRejectOtherVersionAndTrailingBytes() {
+        final var body = IndicatorCodec.encode(BTC_1M, point(0), compute(1), false);
+
+        final var otherVersion = body.clone();
+        otherVersion[0] = IndicatorCodec.VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> IndicatorCodec.decode(otherVersion));
+        assertThrows(IllegalArgumentException.class, () -> IndicatorCodec.decode(Arrays.copyOf(body, body.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> IndicatorCodec.decode(Arrays.copyOf(body, body.length - 1)));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.collector.db.AnalystRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class IndicatorRecomputeJobTest {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+            Instant.parse("2020-01-06T00:00:00Z"), ZoneOffset.UTC);
+    private static final IndicatorSeries SERIES = IndicatorSeries.CMC_1W;
+    private static final int BARS = 300;
+    private static final int BATCH_SIZE = 32;
+
+    @Test
+    void shouldRecomputeEverySymbolInParallel() throws Exception {
+        final var store = new MemoryStore(List.of("BTC", "ETH", "SOL", "XRP", "ADA", "DOGE"));
+        final var summary = IndicatorRecomputeJob.create(store, 4, 50, BATCH_SIZE)
+                .run(List.of(SERIES.indicatorsTable()), false);
+
+        assertEquals(6, summary.symbols());
+        assertEquals(0, summary.failed());
+        assertEquals(6L * BARS, summary.bars());
+        assertEquals(6L * BARS, summary.rows());
+        for (final var symbol : store.symbols) {
+            assertEquals(expected(store, symbol), store.saved.get(symbol));
+            assertEquals(time(BARS - 1), store.checkpoints.get(symbol));
+        }
+    }
+
+    @Test
+    void shouldResumeAfterCheckpointWithExactValues() throws Exception {
+        final var store = new MemoryStore(List.of("BTC"));
+        store.checkpoints.put("BTC", time(199));
+        final var summary = IndicatorRecomputeJob.create(store, 2, 50, BATCH_SIZE)
+                .run(List.of(SERIES.indicatorsTable()), false);
+
+        assertEquals(BARS, summary.bars());
+        assertEquals(BARS - 200, summary.rows());
+        // Rows after the checkpoint match a full recompute, since the history before it is replayed
+        assertEquals(expected(store, "BTC").subList(200, BARS), store.saved.get("BTC"));
+    }
+
+    @Test
+    void shouldRewriteEverythingWhenFresh() throws Exception {
+        final var store = new MemoryStore(List.of("BTC"));
+        store.checkpoints.put("BTC", time(BARS - 1));
+        final var summary = IndicatorRecomputeJob.create(store, 2, 50, BATCH_SIZE)
+                .run(List.of(SERIES.indicatorsTable()), true);
+
+        assertEquals(BARS, summary.rows());
+        assertEquals(List.of(SERIES.indicatorsTable()), store.deleted);
+    }
+
+    @Test
+    void shouldCountFailedSymbolsWithoutStoppingOthers() throws Exception {
+        final var store = new MemoryStore(List.of("BTC", "BAD", "ETH"));
+        final var summary = IndicatorRecomputeJob.create(store, 3, 50, BATCH_SIZE)
+                .run(List.of(SERIES.indicatorsTable()), false);
+
+        assertEquals(3, summary.symbols());
+        assertEquals(1, summary.failed());
+        assertEquals(expected(store, "BTC"), store.saved.get("BTC"));
+        assertEquals(expected(store, "ETH"), store.saved.get("ETH"));
+        assertNull(store.checkpoints.get("BAD"));
+        assertTrue(summary.barsPerSecond() > 0);
+    }
+
+    private static List<Map<String, Object>> expected(final MemoryStore store, final String symbol) {
+        final var calculator = TechnicalAnalysisCalculator.create(SERIES.config());
+        final var rows = new ArrayList<Map<String, Object>>();
+        for (final var point : store.points(symbol)) {
+            rows.add(calculator.addOhlcv(point).toMap(symbol, point.timestamp(), point));
+        }
+
+        return rows;
+    }
+
+    private static OffsetDateTime time(final int i) {
+        return BASE_TIME.plusWeeks(i);
+    }
+
+    private static final class MemoryStore implements IndicatorRecomputeJob.Store {
+        private final List<String> symbols;
+        private final Map<String, List<Map<String, Object>>> saved = new ConcurrentHashMap<>();
+        private final Map<String, OffsetDateTime> checkpoints = new ConcurrentHashMap<>();
+        private final List<String> deleted = new CopyOnWriteArrayList<>();
+
+        private MemoryStore(final List<String> symbols) {
+            this.symbols = symbols;
+        }
+
+        private List<TechnicalAnalysisCalculator.OhlcvPoint> points(final String symbol) {
+            final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>(BARS);
+            var price = 100.0 + symbol.hashCode() % 50;
+            for (var i = 0; i < BARS; i++) {
+                final var next = price * (1 + Math.sin(i * 0.37 + symbol.length()) * 0.02);
+                points.add(new TechnicalAnalysisCalculator.OhlcvPoint(time(i), price, Math.max(price, next) + 1,
+                        Math.min(price, next) - 1, next, 1_000 + i, 1e9 + i, 19_000_000L + i));
+                price = next;
+            }
+
+            return points;
+        }
+
+        @Override
+        public List<String> getSymbols(final String klineTable) {
+            return SERIES.klineTable().equals(klineTable) ? symbols : List.of();
+        }
+
+        @Override
+        public long streamKlines(final String klineTable, final String symbol, final int fetchSize,
+                                 final AnalystRepository.KlineConsumer consumer) throws Exception {
+            var count = 0L;
+            for (final var point : points(symbol)) {
+                if ("BAD".equals(symbol) && count == 100) {
+                    throw new IllegalStateException("Cursor closed");
+                }
+
+                consumer.accept(point.timestamp(), point.open(), point.high(), point.low(), point.close(),
+                        point.volume(), point.marketCap(), point.circulatingSupply());
+                count++;
+            }
+
+            return count;
+        }
+
+        @Override
+        public OffsetDateTime getCheckpoint(final String indicatorsTable, final String symbol) {
+            return checkpoints.get(symbol);
+        }
+
+        @Override
+        public void save(final String indicatorsTable, final String symbol, final List<Map<String, Object>> indicators,
+                         final OffsetDateTime lastTime) {
+            if ("BAD".equals(symbol)) {
+                return;
+            }
+
+            saved.computeIfAbsent(symbol, _ -> new ArrayList<>()).addAll(indicators);
+            checkpoints.put(symbol, lastTime);
+        }
+
+        @Override
+        public void deleteCheckpoints(final String indicatorsTable) {
+            deleted.add(indicatorsTable);
+            checkpoints.clear();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.Gaps.HORIZON_BARS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class KlineGapTrackerTest {
+    private static final long BASE_TIME_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long MINUTE_MS = 60_000L;
+    private static final long WEEK_MS = 7 * 24 * 60 * MINUTE_MS;
+    private static final String TABLE = "crypto_scout.bybit_spot_kline_1m";
+    private static final String WEEKLY_TABLE = "crypto_scout.cmc_kline_1w";
+    private static final String BTC_USDT = "BTCUSDT";
+    private static final String ETH_USDT = "ETHUSDT";
+
+    @Test
+    void shouldReportNoGapsForContiguousBars() {
+        final var tracker = KlineGapTracker.create();
+        tracker.register(TABLE, MINUTE_MS, 0);
+        for (var i = 0; i < 10; i++) {
+            tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS + i * MINUTE_MS);
+        }
+
+        assertTrue(tracker.findGaps(BASE_TIME_MS + 10 * MINUTE_MS).isEmpty());
+    }
+
+    @Test
+    void shouldReportRunsOfMissingBars() {
+        final var tracker = KlineGapTracker.create();
+        tracker.register(TABLE, MINUTE_MS, 0);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS + 4 * MINUTE_MS);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS + 5 * MINUTE_MS);
+
+        final var gaps = tracker.findGaps(BASE_TIME_MS + 6 * MINUTE_MS);
+        assertEquals(1, gaps.size());
+        final var gap = gaps.getFirst();
+        assertEquals(TABLE, gap.get("table"));
+        assertEquals(BTC_USDT, gap.get("symbol"));
+        assertEquals(MINUTE_MS, gap.get("interval_ms"));
+        assertEquals(toUtc(BASE_TIME_MS + MINUTE_MS), gap.get("from"));
+        assertEquals(toUtc(BASE_TIME_MS + 3 * MINUTE_MS), gap.get("to"));
+        assertEquals(3L, gap.get("missing_bars"));
+    }
+
+    @Test
+    void shouldWaitForGracePeriodBeforeExpectingBars() {
+        final var tracker = KlineGapTracker.create();
+        tracker.register(TABLE, MINUTE_MS, 2 * MINUTE_MS);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS);
+
+        // The bar at +1m has closed but is still within the grace period
+        assertTrue(tracker.findGaps(BASE_TIME_MS + 3 * MINUTE_MS).isEmpty());
+
+        final var gaps = tracker.findGaps(BASE_TIME_MS + 5 * MINUTE_MS);
+        assertEquals(1, gaps.size());
+        assertEquals(2L, gaps.getFirst().get("missing_bars"));
+    }
+
+    @Test
+    void shouldCloseGapWhenBackfilledBarIsMarked() {
+        final var tracker = KlineGapTracker.create();
+        tracker.register(TABLE, MINUTE_MS, 0);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS + 2 * MINUTE_MS);
+        assertEquals(1, tracker.findGaps(BASE_TIME_MS + 3 * MINUTE_MS).size());
+
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS + MINUTE_MS);
+        assertTrue(tracker.findGaps(BASE_TIME_MS + 3 * MINUTE_MS).isEmpty());
+    }
+
+    @Test
+    void shouldTrackSymbolsIndependently() {
+        final var tracker = KlineGapTracker.create();
+        tracker.register(TABLE, MINUTE_MS, 0);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS + MINUTE_MS);
+        tracker.mark(TABLE, ETH_USDT, BASE_TIME_MS + MINUTE_MS);
+
+        final var gaps = tracker.findGaps(BASE_TIME_MS + 3 * MINUTE_MS);
+        assertEquals(2, gaps.size());
+        for (final var gap : gaps) {
+            assertEquals(toUtc(BASE_TIME_MS + 2 * MINUTE_MS), gap.get("from"));
+            assertEquals(1L, gap.get("missing_bars"));
+        }
+    }
+
+    @Test
+    void shouldAlignBarsToFirstBarSeen() {
+        // Weekly bars start on Mondays, which are not epoch multiples of a week
+        final var monday = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+        final var tracker = KlineGapTracker.create();
+        tracker.register(WEEKLY_TABLE, WEEK_MS, 0);
+        tracker.mark(WEEKLY_TABLE, BTC_USDT, monday);
+        tracker.mark(WEEKLY_TABLE, BTC_USDT, monday + 2 * WEEK_MS);
+
+        final var gaps = tracker.findGaps(monday + 3 * WEEK_MS);
+        assertEquals(1, gaps.size());
+        assertEquals(toUtc(monday + WEEK_MS), gaps.getFirst().get("from"));
+    }
+
+    @Test
+    void shouldLimitGapsToTheHorizon() {
+        final var tracker = KlineGapTracker.create();
+        tracker.register(TABLE, MINUTE_MS, 0);
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS);
+
+        final var gaps = tracker.findGaps(BASE_TIME_MS + 10_000 * MINUTE_MS);
+        assertEquals(1, gaps.size());
+        assertEquals((long) HORIZON_BARS, gaps.getFirst().get("missing_bars"));
+    }
+
+    @Test
+    void shouldIgnoreUnregisteredTables() {
+        final var tracker = KlineGapTracker.create();
+        tracker.mark(TABLE, BTC_USDT, BASE_TIME_MS);
+        assertTrue(tracker.getTables().isEmpty());
+        assertTrue(tracker.findGaps(BASE_TIME_MS + 10 * MINUTE_MS).isEmpty());
+    }
+
+    private static OffsetDateTime toUtc(final long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CLOSE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CONFIRM;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.END;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.HIGH;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LOW;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.OPEN;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.START;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TURNOVER;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.VOLUME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TOPIC_FIELD;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_1;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.TopicType.KLINE_5;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getFirstRow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class KlineRollupAggregatorTest {
+    private static final long BASE_TIME_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long MINUTE_MS = 60_000L;
+    private static final long FIVE_MINUTES_MS = 300_000L;
+    private static final String BTC_USDT = "BTCUSDT";
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void shouldRollUpCompleteFiveMinuteBar() {
+        final var rollup = KlineRollupAggregator.create(true, 0L);
+        rollup.addKlines(minutes(0, 5));
+
+        final var klines = rollup.drainDerivedKlines(FIVE_MINUTES_MS);
+        assertEquals(1, klines.size());
+        final var kline = klines.getFirst();
+        assertEquals(KLINE_5 + BTC_USDT, kline.get(TOPIC_FIELD));
+        final var row = getFirstRow(DATA, kline);
+        assertEquals(BASE_TIME_MS, row.get(START));
+        assertEquals(BASE_TIME_MS + FIVE_MINUTES_MS - 1, row.get(END));
+        assertEquals(100.0, (Double) row.get(OPEN), DELTA);
+        assertEquals(105.0, (Double) row.get(HIGH), DELTA);
+        assertEquals(99.0, (Double) row.get(LOW), DELTA);
+        assertEquals(104.0, (Double) row.get(CLOSE), DELTA);
+        assertEquals(15.0, (Double) row.get(VOLUME), DELTA);
+        assertEquals(1_500.0, (Double) row.get(TURNOVER), DELTA);
+        assertEquals(true, row.get(CONFIRM));
+        assertTrue(rollup.drainDerivedKlines(FIVE_MINUTES_MS).isEmpty());
+    }
+
+    @Test
+    void shouldKeepDerivedKlinesUntilRemoved() {
+        final var rollup = KlineRollupAggregator.create(true, 0L);
+        rollup.addKlines(minutes(0, 5));
+
+        final var klines = rollup.getDerivedKlines(FIVE_MINUTES_MS);
+        assertEquals(1, klines.size());
+        assertEquals(klines, rollup.getDerivedKlines(FIVE_MINUTES_MS));
+        rollup.addKlines(minutes(5, 10));
+        rollup.removeDerivedKlines(FIVE_MINUTES_MS, klines.size());
+
+        final var remaining = rollup.getDerivedKlines(FIVE_MINUTES_MS);
+        assertEquals(1, remaining.size());
+        assertEquals(BASE_TIME_MS + FIVE_MINUTES_MS, getFirstRow(DATA, remaining.getFirst()).get(START));
+    }
+
+    @Test
+    void shouldDropBarsWithMissingMinutes() {
+        final var rollup = KlineRollupAggregator.create(true, 0L);
+        final var klines = new ArrayList<>(minutes(0, 2));
+        klines.addAll(minutes(3, 7));
+        rollup.addKlines(klines);
+
+        assertTrue(rollup.drainDerivedKlines(FIVE_MINUTES_MS).isEmpty());
+        assertEquals(1L, rollup.getIncompleteBars());
+    }
+
+    @Test
+    void shouldIgnoreDuplicateMinutes() {
+        final var rollup = KlineRollupAggregator.create(true, 0L);
+        rollup.addKlines(minutes(0, 3));
+        rollup.addKlines(minutes(2, 5));
+
+        final var row = getFirstRow(DATA, rollup.drainDerivedKlines(FIVE_MINUTES_MS).getFirst());
+        assertEquals(15.0, (Double) row.get(VOLUME), DELTA);
+    }
+
+    @Test
+    void shouldCrossCheckAgainstBybitBarsInsteadOfStoringThem() {
+        final var rollup = KlineRollupAggregator.create(false, MINUTE_MS);
+        rollup.checkKlines(FIVE_MINUTES_MS, List.of(fiveMinuteBar(105.0)));
+        rollup.addKlines(minutes(0, 5));
+        rollup.addKlines(minutes(5, 7));
+
+        assertTrue(rollup.drainDerivedKlines(FIVE_MINUTES_MS).isEmpty());
+        assertEquals(0L, rollup.getMismatches());
+        assertEquals(0L, rollup.getGapFills());
+    }
+
+    @Test
+    void shouldCountMismatches() {
+        final var rollup = KlineRollupAggregator.create(false, MINUTE_MS);
+        rollup.addKlines(minutes(0, 5));
+        rollup.checkKlines(FIVE_MINUTES_MS, List.of(fiveMinuteBar(104.0)));
+        assertEquals(1L, rollup.getMismatches());
+    }
+
+    @Test
+    void shouldFillGapWhenBybitBarDoesNotArrive() {
+        final var rollup = KlineRollupAggregator.create(false, MINUTE_MS);
+        rollup.addKlines(minutes(0, 5));
+        assertTrue(rollup.drainDerivedKlines(FIVE_MINUTES_MS).isEmpty());
+
+        rollup.addKlines(minutes(5, 6));
+        assertEquals(1, rollup.drainDerivedKlines(FIVE_MINUTES_MS).size());
+        assertEquals(1L, rollup.getGapFills());
+    }
+
+    private static List<Map<String, Object>> minutes(final int from, final int to) {
+        final var klines = new ArrayList<Map<String, Object>>();
+        for (var i = from; i < to; i++) {
+            final var start = BASE_TIME_MS + i * MINUTE_MS;
+            final var row = Map.<String, Object>of(START, start, END, start + MINUTE_MS - 1,
+                    OPEN, String.valueOf(100.0 + i), HIGH, String.valueOf(101.0 + i), LOW, String.valueOf(99.0 + i),
+                    CLOSE, String.valueOf(100.0 + i), VOLUME, "3", TURNOVER, "300", CONFIRM, true);
+            klines.add(Map.of(TOPIC_FIELD, KLINE_1 + BTC_USDT, DATA, List.of(row)));
+        }
+
+        return klines;
+    }
+
+    private static Map<String, Object> fiveMinuteBar(final double high) {
+        final var row = Map.<String, Object>of(START, BASE_TIME_MS, END, BASE_TIME_MS + FIVE_MINUTES_MS - 1,
+                OPEN, "100", HIGH, String.valueOf(high), LOW, "99", CLOSE, "104", VOLUME, "15", TURNOVER, "1500",
+                CONFIRM, true);
+        return Map.of(TOPIC_FIELD, KLINE_5 + BTC_USDT, DATA, List.of(row));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUCKET_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_BUY_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SELL_NOTIONAL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.LiquidationBuckets.LIQ_SYMBOL;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.P;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SIDE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SYMBOL_NAME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.T;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.V;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LiquidationAggregatorTest {
+    private static final long BASE_TIME_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final String BTC_USDT = "BTCUSDT";
+    private static final String ETH_USDT = "ETHUSDT";
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void shouldKeepRollingWindowsPerSide() {
+        final var aggregator = LiquidationAggregator.create();
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS, 40_000.0, 0.5, true);
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 30_000, 40_000.0, 1.0, false);
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 50_000, 40_000.0, 0.25, true);
+
+        final var windows = aggregator.getWindows(BTC_USDT, BASE_TIME_MS + 50_000);
+        assertEquals(BTC_USDT, windows.get("symbol"));
+        assertEquals(2L, windows.get("buy_count_1m"));
+        assertEquals(30_000.0, (Double) windows.get("buy_notional_1m"), DELTA);
+        assertEquals(1L, windows.get("sell_count_1m"));
+        assertEquals(40_000.0, (Double) windows.get("sell_notional_1m"), DELTA);
+        assertEquals(2L, windows.get("buy_count_1h"));
+    }
+
+    @Test
+    void shouldExpireOldSlotsAsTimeMovesOn() {
+        final var aggregator = LiquidationAggregator.create();
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS, 100.0, 1.0, true);
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 90_000, 100.0, 2.0, true);
+
+        final var windows = aggregator.getWindows(BTC_USDT, BASE_TIME_MS + 90_000);
+        assertEquals(1L, windows.get("buy_count_1m"));
+        assertEquals(200.0, (Double) windows.get("buy_notional_1m"), DELTA);
+        assertEquals(2L, windows.get("buy_count_5m"));
+        assertEquals(300.0, (Double) windows.get("buy_notional_5m"), DELTA);
+
+        final var later = aggregator.getWindows(BTC_USDT, BASE_TIME_MS + 2 * 3_600_000L);
+        assertEquals(0L, later.get("buy_count_5m"));
+        assertEquals(0L, later.get("buy_count_1h"));
+        assertEquals(0.0, (Double) later.get("buy_notional_1h"), DELTA);
+    }
+
+    @Test
+    void shouldReturnEmptyWindowsForUnknownSymbol() {
+        final var aggregator = LiquidationAggregator.create();
+        assertTrue(aggregator.getWindows(ETH_USDT, BASE_TIME_MS).isEmpty());
+        assertTrue(aggregator.getWindows(BASE_TIME_MS).isEmpty());
+    }
+
+    @Test
+    void shouldCloseMinuteBuckets() {
+        final var aggregator = LiquidationAggregator.create();
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 1_000, 100.0, 1.0, true);
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 2_000, 100.0, 3.0, false);
+        assertTrue(aggregator.drainClosedBuckets().isEmpty());
+
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 61_000, 100.0, 1.0, true);
+        final var buckets = aggregator.drainClosedBuckets();
+        assertEquals(1, buckets.size());
+        final var bucket = buckets.getFirst();
+        assertEquals(BTC_USDT, bucket.get(LIQ_SYMBOL));
+        assertEquals(OffsetDateTime.ofInstant(Instant.ofEpochMilli(BASE_TIME_MS), ZoneOffset.UTC),
+                bucket.get(LIQ_BUCKET_TIME));
+        assertEquals(1L, bucket.get(LIQ_BUY_COUNT));
+        assertEquals(1.0, (Double) bucket.get(LIQ_BUY_SIZE), DELTA);
+        assertEquals(100.0, (Double) bucket.get(LIQ_BUY_NOTIONAL), DELTA);
+        assertEquals(1L, bucket.get(LIQ_SELL_COUNT));
+        assertEquals(300.0, (Double) bucket.get(LIQ_SELL_NOTIONAL), DELTA);
+    }
+
+    @Test
+    void shouldKeepClosedBucketsUntilRemoved() {
+        final var aggregator = LiquidationAggregator.create();
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS, 100.0, 1.0, true);
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 60_000, 100.0, 2.0, true);
+
+        final var buckets = aggregator.getClosedBuckets();
+        assertEquals(1, buckets.size());
+        assertEquals(buckets, aggregator.getClosedBuckets());
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 120_000, 100.0, 3.0, true);
+        aggregator.removeClosedBuckets(buckets.size());
+
+        final var remaining = aggregator.getClosedBuckets();
+        assertEquals(1, remaining.size());
+        assertEquals(2.0, (Double) remaining.getFirst().get(LIQ_BUY_SIZE), DELTA);
+    }
+
+    @Test
+    void shouldParseEventsAndCloseIdleSymbols() {
+        final var aggregator = LiquidationAggregator.create();
+        aggregator.addLiquidations(List.of(Map.of(DATA, List.of(
+                Map.of(SYMBOL_NAME, ETH_USDT, T, BASE_TIME_MS, P, "2000", V, "1.5", SIDE, "Sell"),
+                Map.of(SYMBOL_NAME, BTC_USDT, T, BASE_TIME_MS, P, "40000", V, "0.1", SIDE, "Buy")))));
+        aggregator.addLiquidations(List.of(Map.of(DATA, List.of(
+                Map.of(SYMBOL_NAME, BTC_USDT, T, BASE_TIME_MS + 120_000, P, "40000", V, "0.1", SIDE, "Buy")))));
+
+        assertEquals(2, aggregator.drainClosedBuckets().size());
+        assertEquals(2, aggregator.getWindows(BASE_TIME_MS + 120_000).size());
+    }
+
+    @Test
+    void shouldCountLateEventsButKeepThemInWindows() {
+        final var aggregator = LiquidationAggregator.create();
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 60_000, 100.0, 1.0, true);
+        aggregator.addLiquidation(BTC_USDT, BASE_TIME_MS + 59_000, 100.0, 1.0, true);
+
+        assertEquals(1L, aggregator.getLateEvents());
+        assertEquals(2L, aggregator.getWindows(BTC_USDT, BASE_TIME_MS + 60_000).get("buy_count_1m"));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import io.activej.promise.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class RangeCacheTest {
+    private static final long INTERVAL_MS = 1_000L;
+    private static final int SEGMENT_BARS = 10;
+    private static final RangeCache.Dataset DATASET =
+            RangeCache.Dataset.bybitKlines(BybitStreamService.Type.BYBIT_SPOT, INTERVAL_MS);
+
+    // One bar a second up to the clock, like a kline table whose end_time is the last millisecond of the bar
+    private static final class Table implements RangeCache.Loader {
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private int loads;
+
+        Table(final long untilMs, final long... missingStarts) {
+            for (var start = 0L; start < untilMs; start += INTERVAL_MS) {
+                final var bar = start;
+                if (Arrays.stream(missingStarts).noneMatch(missing -> missing == bar)) {
+                    rows.add(Map.of("symbol", "BTCUSDT", "start", odt(start), "end", odt(start + INTERVAL_MS - 1)));
+                }
+            }
+        }
+
+        @Override
+        public Promise<List<Map<String, Object>>> load(final String symbol, final OffsetDateTime from,
+                                                       final OffsetDateTime to) {
+            loads++;
+            return Promise.of(rows.stream()
+                    .filter(row -> !((OffsetDateTime) row.get("start")).isBefore(from) &&
+                            !((OffsetDateTime) row.get("end")).isAfter(to))
+                    .toList());
+        }
+    }
+
+    private static OffsetDateTime odt(final long epochMs) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneOffset.UTC);
+    }
+
+    private static List<Map<String, Object>> get(final RangeCache cache, final Table table, final long fromMs,
+                                                 final long toMs) {
+        return cache.get(DATASET, "BTCUSDT", odt(fromMs), odt(toMs), table).getResult();
+    }
+
+    @Test
+    void shouldStitchOverlappingRangesFromSharedSegments() {
+        final var now = new long[]{1_000_000L};
+        final var cache = RangeCache.create(1_000, SEGMENT_BARS, 5_000L, 0L, () -> now[0]);
+        final var table = new Table(now[0]);
+
+        assertEquals(50, get(cache, table, 0L, 49_999L).size());
+        assertEquals(1, table.loads);
+        // Segments 20s to 50s are shared, the missing run 50s to 80s is read with one query
+        final var rows = get(cache, table, 20_000L, 79_999L);
+        assertEquals(60, rows.size());
+        assertEquals(odt(20_000L), rows.getFirst().get("start"));
+        assertEquals(odt(79_000L), rows.getLast().get("start"));
+        assertEquals(2, table.loads);
+        assertEquals(3L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    void shouldTrimToRangeLikeRepository() {
+        final var cache = RangeCache.create(1_000, SEGMENT_BARS, 5_000L, 0L, () -> 1_000_000L);
+        final var table = new Table(1_000_000L);
+
+        final var expected = table.load("BTCUSDT", odt(5_500L), odt(14_999L)).getResult();
+        assertEquals(expected, get(cache, table, 5_500L, 14_999L));
+        assertEquals(9, expected.size());
+    }
+
+    @Test
+    void shouldExpireTailAndIncompleteSegments() {
+        final var now = new long[]{100_500L};
+        final var cache = RangeCache.create(1_000, SEGMENT_BARS, 5_000L, 0L, () -> now[0]);
+        // The bar at 15s is missing, so its segment may still be backfilled
+        final var table = new Table(now[0], 15_000L);
+
+        assertEquals(11, get(cache, table, 90_000L, 200_000L).size());
+        assertEquals(9, get(cache, table, 10_000L, 19_999L).size());
+        assertEquals(10, get(cache, table, 20_000L, 29_999L).size());
+        assertEquals(3, table.loads);
+
+        now[0] += 1_000L;
+        get(cache, table, 90_000L, 200_000L);
+        get(cache, table, 10_000L, 19_999L);
+        get(cache, table, 20_000L, 29_999L);
+        assertEquals(3, table.loads);
+
+        now[0] += 5_000L;
+        get(cache, table, 90_000L, 200_000L);
+        get(cache, table, 10_000L, 19_999L);
+        // The complete, closed segment never expires
+        get(cache, table, 20_000L, 29_999L);
+        assertEquals(5, table.loads);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSegmentsBeyondRowBound() {
+        final var cache = RangeCache.create(25, SEGMENT_BARS, 5_000L, 0L, () -> 1_000_000L);
+        final var table = new Table(1_000_000L);
+
+        get(cache, table, 0L, 9_999L);
+        get(cache, table, 10_000L, 19_999L);
+        get(cache, table, 0L, 9_999L);
+        get(cache, table, 20_000L, 29_999L);
+        final var stats = cache.getStats();
+        assertEquals(1L, stats.get("evictions"));
+        assertEquals(20L, stats.get("rows"));
+        assertEquals(2, stats.get("segments"));
+
+        // The segment at 10s was the least recently used
+        get(cache, table, 0L, 9_999L);
+        assertEquals(3, table.loads);
+        get(cache, table, 10_000L, 19_999L);
+        assertEquals(4, table.loads);
+    }
+}
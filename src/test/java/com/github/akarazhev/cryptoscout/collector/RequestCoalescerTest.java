@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import io.activej.promise.Promise;
+import io.activej.promise.SettablePromise;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class RequestCoalescerTest {
+    private static final OffsetDateTime FROM = OffsetDateTime.ofInstant(
+            Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final OffsetDateTime TO = FROM.plusHours(1);
+
+    @Test
+    void shouldShareThePendingCallBetweenIdenticalRequests() {
+        final var coalescer = RequestCoalescer.create();
+        final var calls = new ArrayList<SettablePromise<String>>();
+        final var results = new ArrayList<String>();
+        for (var i = 0; i < 3; i++) {
+            coalescer.<String>get("bybit.getKline1m", List.of("BTCUSDT", FROM, TO), () -> {
+                final var call = new SettablePromise<String>();
+                calls.add(call);
+                return call;
+            }).whenResult(results::add);
+        }
+
+        assertEquals(1, calls.size());
+        assertEquals(1, coalescer.getStats().get("in_flight"));
+        calls.getFirst().set("klines");
+        assertEquals(List.of("klines", "klines", "klines"), results);
+        assertEquals(Map.of("requests", 3L, "coalesced", 2L, "queries", 1L, "in_flight", 0),
+                coalescer.getStats());
+    }
+
+    @Test
+    void shouldCallAgainOnceTheCallCompleted() {
+        final var coalescer = RequestCoalescer.create();
+        final var call = new SettablePromise<String>();
+        assertSame(call, coalescer.get("bybit.getTicker", List.of("BTCUSDT"), () -> call));
+        call.setException(new IllegalStateException("database down"));
+
+        final var retry = new SettablePromise<String>();
+        assertSame(retry, coalescer.get("bybit.getTicker", List.of("BTCUSDT"), () -> retry));
+        assertEquals(0L, coalescer.getStats().get("coalesced"));
+    }
+
+    @Test
+    void shouldMatchNormalizedArguments() {
+        final var coalescer = RequestCoalescer.create();
+        final var call = new SettablePromise<String>();
+        coalescer.get("bybit.backtest", List.of("BTCUSDT", 60_000, FROM, List.of(5, 10)), () -> call);
+
+        final Promise<String> same = coalescer.get("bybit.backtest",
+                List.of("BTCUSDT", 60_000L, FROM.withOffsetSameInstant(ZoneOffset.ofHours(3)), List.of(5L, 10L)),
+                SettablePromise::new);
+        assertSame(call, same);
+        final Promise<String> other = coalescer.get("bybit.backtest", List.of("ETHUSDT", 60_000L, FROM, List.of(5, 10)),
+                SettablePromise::new);
+        assertNotSame(call, other);
+        final Promise<String> otherMethod = coalescer.get("bybit.getTicker", List.of("BTCUSDT", 60_000, FROM,
+                List.of(5, 10)), SettablePromise::new);
+        assertNotSame(call, otherMethod);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ResponseChunkerTest {
+    private static final Map<String, Object> ROW = Map.of("s", "BTCUSDT", "cts", OffsetDateTime.now(ZoneOffset.UTC),
+            "S", "Buy", "p", 100_000.5, "v", 0.25);
+
+    @Test
+    void shouldCutChunksByRows() {
+        final var chunker = ResponseChunker.create(3, Long.MAX_VALUE);
+        assertFalse(chunker.add(ROW));
+        assertFalse(chunker.add(ROW));
+        assertTrue(chunker.add(ROW));
+
+        final var first = chunker.drain(false);
+        assertEquals(0L, first.get("seq"));
+        assertEquals(3, ((List<?>) first.get("rows")).size());
+        assertEquals(false, first.get("last"));
+
+        chunker.add(ROW);
+        final var last = chunker.drain(true);
+        assertEquals(1L, last.get("seq"));
+        assertEquals(1, ((List<?>) last.get("rows")).size());
+        assertEquals(true, last.get("last"));
+    }
+
+    @Test
+    void shouldCutChunksByEstimatedBytes() {
+        // A row is about a hundred bytes of JSON
+        final var chunker = ResponseChunker.create(Integer.MAX_VALUE, 1_000L);
+        var rows = 1;
+        while (!chunker.add(ROW)) {
+            rows++;
+        }
+
+        assertTrue(rows > 5 && rows < 15, "rows: " + rows);
+        assertEquals(rows, ((List<?>) chunker.drain(false).get("rows")).size());
+        assertTrue(((List<?>) chunker.drain(true).get("rows")).isEmpty());
+    }
+
+    @Test
+    void shouldEndWithTheErrorOnFailure() {
+        final var chunker = ResponseChunker.create(10, Long.MAX_VALUE);
+        chunker.add(ROW);
+        chunker.drain(false);
+        chunker.add(ROW);
+
+        final var chunk = chunker.fail("connection reset");
+        assertEquals(1L, chunk.get("seq"));
+        assertEquals(true, chunk.get("last"));
+        assertEquals("connection reset", chunk.get("error"));
+        assertTrue(((List<?>) chunk.get("rows")).isEmpty());
+    }
+}
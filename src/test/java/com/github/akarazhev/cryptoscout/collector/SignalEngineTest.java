@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class SignalEngineTest {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+            Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final CalculatorRegistry.Key BTC_1M = new CalculatorRegistry.Key("spot", "BTCUSDT", 60_000L);
+    private static final CalculatorRegistry.Key ETH_1M = new CalculatorRegistry.Key("spot", "ETHUSDT", 60_000L);
+    private static final CalculatorRegistry.Key BTC_1D = new CalculatorRegistry.Key("linear", "BTCUSDT", 86_400_000L);
+
+    private static TechnicalAnalysisCalculator.OhlcvPoint point(final int minute, final double close) {
+        return new TechnicalAnalysisCalculator.OhlcvPoint(BASE_TIME.plusMinutes(minute), close, close, close, close,
+                1.0);
+    }
+
+    private static List<String> fired(final SignalEngine engine, final CalculatorRegistry.Key key,
+                                      final double... closes) {
+        final var calc = TechnicalAnalysisCalculator.create(200);
+        final var rules = new ArrayList<String>();
+        for (var i = 0; i < closes.length; i++) {
+            final var point = point(i, closes[i]);
+            for (final var signal : engine.evaluate(key, point, calc.addOhlcv(point))) {
+                rules.add(signal.rule() + "@" + i);
+            }
+        }
+
+        return rules;
+    }
+
+    @Test
+    void shouldFireOnBarWhereComparisonStartsToHold() {
+        final var engine = SignalEngine.create(SignalEngine.parse(List.of(
+                "breakout * * * close_price crosses_above 100",
+                "breakdown * * * close_price < 90")));
+
+        // Already above on the first bar: nothing fires until the price leaves and crosses again
+        assertEquals(List.of("breakdown@3", "breakout@5"),
+                fired(engine, BTC_1M, 101, 102, 95, 85, 99, 105, 106, 101));
+    }
+
+    @Test
+    void shouldEvaluateOnlyRulesOfSeries() {
+        final var engine = SignalEngine.create(SignalEngine.parse(List.of(
+                "# BTC only",
+                "",
+                "btc_1m spot BTCUSDT 1m close_price > 100",
+                "eth ETHUSDT * * close_price > 100",
+                "btc_daily linear BTCUSDT 1d close_price > 100")));
+
+        assertEquals(List.of("btc_1m@1"), fired(engine, BTC_1M, 99, 101));
+        assertEquals(List.of("btc_daily@1"), fired(engine, BTC_1D, 99, 101));
+        assertTrue(fired(engine, ETH_1M, 99, 101).isEmpty());
+    }
+
+    @Test
+    void shouldForgetTheOutcomesOfAnEvictedSeries() {
+        final var engine = SignalEngine.create(SignalEngine.parse(List.of("breakout * * * close_price > 100")));
+        assertTrue(fired(engine, BTC_1M, 99).isEmpty());
+        assertTrue(fired(engine, ETH_1M, 99).isEmpty());
+
+        // A resumed series has no previous outcome, so its first bar above the level fires nothing
+        engine.forget(BTC_1M);
+        assertTrue(fired(engine, BTC_1M, 101).isEmpty());
+        assertEquals(List.of("breakout@0"), fired(engine, ETH_1M, 101));
+    }
+
+    @Test
+    void shouldNotFireWhenOperandBecomesDefined() {
+        final var engine = SignalEngine.create(SignalEngine.parse(List.of("above_sma * * * close_price > sma_50")));
+        final var closes = new double[60];
+        for (var i = 0; i < closes.length; i++) {
+            closes[i] = i < 55 ? 100.0 + i : 50.0;
+        }
+
+        // SMA 50 is defined from the 50th bar with the price already above it, then the price drops below
+        assertTrue(fired(engine, BTC_1M, closes).isEmpty());
+    }
+
+    @Test
+    void shouldKeepEdgeOfEveryRuleWhenSeriesHasManyRules() {
+        final var lines = new ArrayList<String>();
+        for (var i = 0; i < 1_000; i++) {
+            lines.add("level_" + i + " * * * close_price >= " + i);
+        }
+
+        final var engine = SignalEngine.create(SignalEngine.parse(lines));
+        assertEquals(1_000, engine.getRuleCount());
+        final var calc = TechnicalAnalysisCalculator.create(200);
+        assertTrue(engine.evaluate(BTC_1M, point(0, 0), calc.addOhlcv(point(0, 0))).isEmpty());
+
+        final var signals = engine.evaluate(BTC_1M, point(1, 700), calc.addOhlcv(point(1, 700)));
+        assertEquals(700, signals.size());
+        assertEquals("level_1", signals.getFirst().rule());
+        assertEquals("close_price >= 700", signals.getLast().condition());
+        assertEquals(700.0, signals.getLast().left());
+        assertTrue(engine.evaluate(BTC_1M, point(2, 700.5), calc.addOhlcv(point(2, 700.5))).isEmpty());
+    }
+
+    @Test
+    void shouldRejectInvalidRulesWithLineNumber() {
+        final var e = assertThrows(IllegalArgumentException.class, () -> SignalEngine.parse(List.of(
+                "ok * * * rsi_14 > 70",
+                "bad * * * rsi_14 => 70")));
+        assertTrue(e.getMessage().contains("line 2"));
+        assertThrows(IllegalArgumentException.class, () -> SignalEngine.parse(List.of("bad * * 3x rsi_14 > 70")));
+        assertThrows(IllegalArgumentException.class, () -> SignalEngine.parse(List.of("bad * * * rsi > 70")));
+        assertThrows(IllegalArgumentException.class, () -> SignalEngine.parse(List.of("bad * * * rsi_14 > NaN")));
+        assertThrows(IllegalArgumentException.class, () -> SignalEngine.parse(List.of("bad * * rsi_14 > 70")));
+    }
+}
@@ -29,6 +29,8 @@ import com.github.akarazhev.cryptoscout.collector.db.BybitLinearRepository;
 import com.github.akarazhev.cryptoscout.collector.db.BybitSpotRepository;
 import com.github.akarazhev.cryptoscout.collector.db.CollectorDataSource;
 import com.github.akarazhev.cryptoscout.collector.db.CryptoScoutRepository;
+import com.github.akarazhev.cryptoscout.collector.db.KlineGapRepository;
+import com.github.akarazhev.cryptoscout.collector.db.RiskRepository;
 import com.github.akarazhev.cryptoscout.collector.db.StreamOffsetsRepository;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
 import com.github.akarazhev.cryptoscout.test.DBUtils;
@@ -115,6 +117,7 @@ final class StreamServiceTest {
     private static BybitStreamService bybitStreamService;
     private static CryptoScoutService cryptoScoutService;
     private static AnalystService analystService;
+    private static KlineGapService klineGapService;
     private static StreamService streamService;
 
     private static StreamTestPublisher bybitStreamTestPublisher;
@@ -133,14 +136,21 @@ final class StreamServiceTest {
         cryptoScoutRepository = CryptoScoutRepository.create(reactor, collectorDataSource);
         analystRepository = AnalystRepository.create(reactor, collectorDataSource);
 
-        bybitStreamService = BybitStreamService.create(reactor, executor, streamOffsetsRepository, spotRepository,
-                linearRepository);
-        cryptoScoutService = CryptoScoutService.create(reactor, executor, streamOffsetsRepository,
+        bybitStreamService = BybitStreamService.create(reactor, executor,
+                Bulkhead.create("query", executor, 4, 0), streamOffsetsRepository, spotRepository, linearRepository);
+        cryptoScoutService = CryptoScoutService.create(reactor, executor, executor, streamOffsetsRepository,
                 cryptoScoutRepository);
-        analystService = AnalystService.create(reactor, executor, streamOffsetsRepository, analystRepository);
+        analystService = AnalystService.create(reactor, executor, streamOffsetsRepository, analystRepository,
+                IndicatorStreamPublisher.create(reactor, executor),
+                SignalService.create(SignalEngine.create(List.of()), null));
+        klineGapService = KlineGapService.create(reactor, executor,
+                KlineGapRepository.create(reactor, collectorDataSource),
+                StreamKlineBackfillSource.create(spotRepository, linearRepository, cryptoScoutRepository));
 
         streamService = StreamService.create(reactor, executor, streamOffsetsRepository, analystService,
-                bybitStreamService, cryptoScoutService);
+                bybitStreamService, cryptoScoutService,
+                RiskService.create(reactor, executor, RiskRepository.create(reactor, collectorDataSource)),
+                klineGapService);
 
         final var environment = AmqpConfig.getEnvironment();
         bybitStreamTestPublisher = StreamTestPublisher.create(reactor, executor, environment,
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class StreamingIndicatorsTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void shouldKeepRollingWindowStatisticsOverLastValues() {
+        final var window = new StreamingIndicators.RollingWindow(3);
+        window.add(1.0);
+        window.add(2.0);
+        assertFalse(window.isFull());
+        window.add(3.0);
+        window.add(4.0);
+
+        assertTrue(window.isFull());
+        assertEquals(3, window.count());
+        assertEquals(9.0, window.sum(), DELTA);
+        assertEquals(3.0, window.mean(), DELTA);
+        assertEquals(2.0 / 3.0, window.variance(), DELTA);
+        assertEquals(Math.sqrt(2.0 / 3.0), window.stdDev(), DELTA);
+    }
+
+    @Test
+    void shouldMatchNaiveStatisticsOverLongSeries() {
+        final var random = new Random(7);
+        final var period = 20;
+        final var values = new double[5_000];
+        final var window = new StreamingIndicators.RollingWindow(period);
+        for (var i = 0; i < values.length; i++) {
+            values[i] = 40_000.0 + random.nextGaussian() * 500.0;
+            window.add(values[i]);
+            if (i >= period - 1) {
+                var sum = 0.0;
+                for (var j = i - period + 1; j <= i; j++) {
+                    sum += values[j];
+                }
+                final var mean = sum / period;
+                var squares = 0.0;
+                for (var j = i - period + 1; j <= i; j++) {
+                    squares += (values[j] - mean) * (values[j] - mean);
+                }
+                assertEquals(mean, window.mean(), 1e-6);
+                assertEquals(squares / period, window.variance(), 1e-3);
+            }
+        }
+    }
+
+    @Test
+    void shouldSeedExponentialAverageWithFirstSample() {
+        final var ema = StreamingIndicators.ExponentialAverage.ema(3);
+        assertEquals(10.0, ema.add(10.0), DELTA);
+        assertEquals(15.0, ema.add(20.0), DELTA);
+        assertEquals(15.0, ema.value(), DELTA);
+
+        final var wilder = StreamingIndicators.ExponentialAverage.wilder(4);
+        wilder.add(8.0);
+        assertEquals(7.0, wilder.add(4.0), DELTA);
+    }
+
+    @Test
+    void shouldTrackRollingExtremes() {
+        final var highest = StreamingIndicators.RollingExtreme.highest(3);
+        final var lowest = StreamingIndicators.RollingExtreme.lowest(3);
+        final var values = new double[]{5.0, 1.0, 3.0, 2.0, 4.0, 0.5, 6.0};
+        final var expectedHighs = new double[]{5.0, 5.0, 5.0, 3.0, 4.0, 4.0, 6.0};
+        final var expectedLows = new double[]{5.0, 1.0, 1.0, 1.0, 2.0, 0.5, 0.5};
+        for (var i = 0; i < values.length; i++) {
+            assertEquals(expectedHighs[i], highest.add(values[i]), DELTA);
+            assertEquals(expectedLows[i], lowest.add(values[i]), DELTA);
+        }
+    }
+}
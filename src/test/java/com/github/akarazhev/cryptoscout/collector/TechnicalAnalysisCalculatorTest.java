@@ -30,6 +30,7 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -645,4 +646,107 @@ final class TechnicalAnalysisCalculatorTest {
         calc.initializeWithOhlcv(points);
         assertEquals(100, calc.getDataCount());
     }
+
+    // ==================== State Tests ====================
+
+    @Test
+    void shouldContinueExactlyAfterRestoringState() {
+        final var config = TechnicalAnalysisCalculator.Config.builder()
+            .maxPeriod(250)
+            .enableRsi(true)
+            .enableStochastic(true)
+            .enableMacd(true)
+            .enableBollinger(true)
+            .enableAtr(true)
+            .enableStdDev(true)
+            .enableVwap(true)
+            .enableVolumeSma(true)
+            .includeMarketFundamentals(true)
+            .build();
+        final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        var price = 100.0;
+        for (var i = 0; i < 400; i++) {
+            final var close = price * (1 + Math.sin(i * 0.7) * 0.03);
+            points.add(createPointWithFundamentals(i, price, Math.max(price, close) + 2, Math.min(price, close) - 2,
+                close, 1_000 + (i % 17) * 10, 1e9 + i, 19_000_000L + i));
+            price = close;
+        }
+
+        final var original = TechnicalAnalysisCalculator.create(config);
+        original.initializeWithOhlcv(points.subList(0, 250));
+        final var restored = TechnicalAnalysisCalculator.restoreState(config, original.saveState());
+
+        assertEquals(original.getDataCount(), restored.getDataCount());
+        assertEquals(original.getLastEndTime(), restored.getLastEndTime());
+        for (final var point : points.subList(250, 400)) {
+            assertEquals(original.addOhlcv(point).toMap("BTC", point.timestamp(), point),
+                restored.addOhlcv(point).toMap("BTC", point.timestamp(), point));
+        }
+    }
+
+    @Test
+    void shouldRejectReplayedBarAfterRestoringState() {
+        final var calc = TechnicalAnalysisCalculator.create(200);
+        calc.initializeWithOhlcv(generateRisingPriceSeries(30, 100.0, 1.0, 1000.0));
+        final var restored = TechnicalAnalysisCalculator.restoreState(
+            TechnicalAnalysisCalculator.Config.builder().maxPeriod(200).build(), calc.saveState());
+
+        assertThrows(IllegalArgumentException.class, () -> restored.addOhlcv(createPoint(29, 129.0, 1000.0)));
+        assertNotNull(restored.addOhlcv(createPoint(30, 130.0, 1000.0)));
+    }
+
+    @Test
+    void shouldRejectStateOfAnotherConfiguration() {
+        final var calc = TechnicalAnalysisCalculator.create(200);
+        calc.initializeWithOhlcv(generateFlatPriceSeries(10, 100.0, 1000.0));
+        final var state = calc.saveState();
+
+        assertThrows(IllegalArgumentException.class, () -> TechnicalAnalysisCalculator.restoreState(
+            TechnicalAnalysisCalculator.Config.builder().maxPeriod(200).enableRsi(true).build(), state));
+        assertThrows(IllegalArgumentException.class, () -> TechnicalAnalysisCalculator.restoreState(
+            TechnicalAnalysisCalculator.Config.builder().maxPeriod(300).build(), state));
+        assertThrows(IllegalArgumentException.class, () -> TechnicalAnalysisCalculator.restoreState(
+            TechnicalAnalysisCalculator.Config.builder().maxPeriod(200).build(),
+            Arrays.copyOf(state, state.length - 1)));
+    }
+
+    @Test
+    void shouldPreviewFormingBarWithoutChangingState() {
+        final var config = TechnicalAnalysisCalculator.Config.builder()
+            .enableRsi(true)
+            .enableStochastic(true)
+            .enableMacd(true)
+            .enableBollinger(true)
+            .enableAtr(true)
+            .enableStdDev(true)
+            .enableVwap(true)
+            .enableVolumeSma(true)
+            .build();
+        final var history = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        for (var i = 0; i < 300; i++) {
+            final var close = 100.0 + Math.sin(i * 0.3) * 5;
+            history.add(createPoint(i, close, close + 1, close - 1, close, 1_000 + i % 13));
+        }
+
+        final var calc = TechnicalAnalysisCalculator.create(config);
+        final var reference = TechnicalAnalysisCalculator.create(config);
+        calc.initializeWithOhlcv(history);
+        reference.initializeWithOhlcv(history);
+
+        // Successive updates of the forming bar, then the confirmed bar
+        for (final var close : new double[]{101.0, 97.5, 99.0}) {
+            final var forming = createPoint(300, 100.0, Math.max(100.0, close) + 1, Math.min(100.0, close) - 1,
+                close, 500.0);
+            final var expected = TechnicalAnalysisCalculator.create(config);
+            expected.initializeWithOhlcv(history);
+            assertEquals(expected.addOhlcv(forming).toMap("BTC", forming.timestamp(), forming),
+                calc.previewOhlcv(forming).toMap("BTC", forming.timestamp(), forming));
+        }
+
+        final var confirmed = createPoint(300, 100.0, 102.0, 96.0, 98.0, 1_200.0);
+        assertEquals(reference.addOhlcv(confirmed).toMap("BTC", confirmed.timestamp(), confirmed),
+            calc.addOhlcv(confirmed).toMap("BTC", confirmed.timestamp(), confirmed));
+        assertEquals(reference.getDataCount(), calc.getDataCount());
+        assertThrows(IllegalArgumentException.class, () -> calc.previewOhlcv(confirmed));
+    }
 }
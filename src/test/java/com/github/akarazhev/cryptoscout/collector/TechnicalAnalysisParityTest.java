@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import com.github.akarazhev.cryptoscout.test.MockData;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.StochasticOscillatorKIndicator;
+import org.ta4j.core.indicators.averages.EMAIndicator;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.indicators.volume.VWAPIndicator;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.CLOSE;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.HIGH;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.LOW;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.OPEN;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.QUOTE;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.QUOTES;
+import static com.github.akarazhev.jcryptolib.cmc.Constants.Response.VOLUME;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getRow;
+import static com.github.akarazhev.jcryptolib.util.ParserUtils.getRows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the streaming indicators against the ta4j implementation the calculator used to be built on, bar by bar, on
+ * generated series and on the kline fixtures of the other tests.
+ */
+final class TechnicalAnalysisParityTest {
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.ofInstant(
+        Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final String[] NAMES = {
+        "sma50", "sma100", "sma200", "ema50", "ema100", "ema200", "rsi14", "stochastic14",
+        "macdLine", "macdSignal", "macdHistogram", "bbMiddle", "bbUpper", "bbLower",
+        "atr14", "stdDev20", "vwap", "volumeSma20"
+    };
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    @Test
+    void shouldMatchTa4jForFlatPrice() {
+        final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        for (var i = 0; i < 250; i++) {
+            points.add(createPoint(i, 100.0, 100.0, 100.0, 100.0, 1000.0));
+        }
+
+        assertParity(points);
+    }
+
+    @Test
+    void shouldMatchTa4jForRisingPrice() {
+        final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        for (var i = 0; i < 250; i++) {
+            final var price = 100.0 + i;
+            points.add(createPoint(i, price, price, price, price, 1000.0));
+        }
+
+        assertParity(points);
+    }
+
+    @Test
+    void shouldMatchTa4jForOscillatingPrice() {
+        final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        for (var i = 0; i < 250; i++) {
+            final var price = 100.0 + 10.0 * Math.sin(i * 0.5);
+            points.add(createPoint(i, price, price + 5, price - 5, price, 1000.0 + 10.0 * i));
+        }
+
+        assertParity(points);
+    }
+
+    @Test
+    void shouldMatchTa4jForRandomWalk() {
+        final var random = new Random(42);
+        final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        var close = 40_000.0;
+        for (var i = 0; i < 600; i++) {
+            final var open = close;
+            close = Math.max(1.0, open * (1.0 + random.nextGaussian() * 0.02));
+            final var high = Math.max(open, close) * (1.0 + random.nextDouble() * 0.01);
+            final var low = Math.min(open, close) * (1.0 - random.nextDouble() * 0.01);
+            points.add(createPoint(i, open, high, low, close, random.nextDouble() * 1_000.0));
+        }
+
+        assertParity(points);
+    }
+
+    @Test
+    void shouldMatchTa4jForBybitFixtureKlines() throws Exception {
+        final var bars = new ArrayList<double[]>();
+        final PayloadParser.KlineBarConsumer consumer = (_, _, _, open, high, low, close, volume) ->
+            bars.add(new double[]{open, high, low, close, volume});
+        for (final var source : List.of(MockData.Source.BYBIT_SPOT, MockData.Source.BYBIT_LINEAR)) {
+            final var stream = source == MockData.Source.BYBIT_SPOT ? Source.PMST : Source.PML;
+            for (final var type : List.of(MockData.Type.KLINE_1, MockData.Type.KLINE_5, MockData.Type.KLINE_15,
+                MockData.Type.KLINE_60, MockData.Type.KLINE_240, MockData.Type.KLINE_D)) {
+                final var data = MockData.get(source, type);
+                PayloadParser.forKlineBar(stream, data, consumer);
+                PayloadParser.forFormingKlineBar(stream, data, consumer);
+            }
+        }
+
+        assertParity(replay(bars));
+    }
+
+    @Test
+    void shouldMatchTa4jForCmcFixtureKlines() throws Exception {
+        final var bars = new ArrayList<double[]>();
+        for (final var type : List.of(MockData.Type.KLINE_W, MockData.Type.KLINE_D)) {
+            final var quotes = getRows(QUOTES, MockData.get(MockData.Source.CRYPTO_SCOUT, type));
+            for (final var row : quotes == null ? List.<Map<String, Object>>of() : quotes) {
+                final var quote = getRow(QUOTE, row);
+                if (quote != null && quote.get(OPEN) instanceof Number open && quote.get(HIGH) instanceof Number high &&
+                    quote.get(LOW) instanceof Number low && quote.get(CLOSE) instanceof Number close &&
+                    quote.get(VOLUME) instanceof Number volume) {
+                    bars.add(new double[]{open.doubleValue(), high.doubleValue(), low.doubleValue(),
+                        close.doubleValue(), volume.doubleValue()});
+                }
+            }
+        }
+
+        assertParity(replay(bars));
+    }
+
+    /**
+     * Replays the fixture bars in turn, one per day, until every indicator has its full period.
+     */
+    private static List<TechnicalAnalysisCalculator.OhlcvPoint> replay(final List<double[]> bars) {
+        assertFalse(bars.isEmpty(), "The fixtures hold no klines");
+        final var points = new ArrayList<TechnicalAnalysisCalculator.OhlcvPoint>();
+        for (var i = 0; i < 250; i++) {
+            final var bar = bars.get(i % bars.size());
+            points.add(createPoint(i, bar[0], bar[1], bar[2], bar[3], bar[4]));
+        }
+
+        return points;
+    }
+
+    private static void assertParity(final List<TechnicalAnalysisCalculator.OhlcvPoint> points) {
+        final var calculator = TechnicalAnalysisCalculator.create(TechnicalAnalysisCalculator.Config.builder()
+            .enableRsi(true)
+            .enableStochastic(true)
+            .enableMacd(true)
+            .enableBollinger(true)
+            .enableAtr(true)
+            .enableStdDev(true)
+            .enableVwap(true)
+            .enableVolumeSma(true)
+            .build());
+        final var reference = new Ta4jReference();
+        for (var i = 0; i < points.size(); i++) {
+            final var result = calculator.addOhlcv(points.get(i));
+            final var expected = reference.add(points.get(i));
+            final var actual = new Double[]{
+                result.sma50(), result.sma100(), result.sma200(), result.ema50(), result.ema100(), result.ema200(),
+                result.rsi14(), result.stochastic14(), result.macdLine(), result.macdSignal(), result.macdHistogram(),
+                result.bbMiddle(), result.bbUpper(), result.bbLower(), result.atr14(), result.stdDev20(),
+                result.vwap(), result.volumeSma20()
+            };
+            for (var j = 0; j < NAMES.length; j++) {
+                assertClose(NAMES[j] + " at bar " + i, expected[j], actual[j]);
+            }
+        }
+    }
+
+    private static void assertClose(final String name, final Double expected, final Double actual) {
+        if (expected == null) {
+            assertNull(actual, name);
+        } else if (expected.isNaN()) {
+            assertTrue(actual != null && actual.isNaN(), name + ": expected NaN, got " + actual);
+        } else {
+            assertTrue(actual != null, name + ": expected " + expected + ", got null");
+            assertEquals(expected, actual, RELATIVE_TOLERANCE * Math.max(1.0, Math.abs(expected)), name);
+        }
+    }
+
+    private static TechnicalAnalysisCalculator.OhlcvPoint createPoint(final int dayOffset, final double open,
+                                                                      final double high, final double low,
+                                                                      final double close, final double volume) {
+        return new TechnicalAnalysisCalculator.OhlcvPoint(BASE_TIME.plusDays(dayOffset), open, high, low, close,
+            volume);
+    }
+
+    /**
+     * The ta4j setup of the original calculator: a 200-bar DecimalNum series, indicators read only once enough bars
+     * were added for their period.
+     */
+    private static final class Ta4jReference {
+        private final BarSeries series = new BaseBarSeriesBuilder()
+            .withMaxBarCount(200)
+            .withName("MA_Calculator")
+            .withNumFactory(DecimalNumFactory.getInstance())
+            .build();
+        private final ClosePriceIndicator close = new ClosePriceIndicator(series);
+        private final SMAIndicator sma50 = new SMAIndicator(close, 50);
+        private final SMAIndicator sma100 = new SMAIndicator(close, 100);
+        private final SMAIndicator sma200 = new SMAIndicator(close, 200);
+        private final EMAIndicator ema50 = new EMAIndicator(close, 50);
+        private final EMAIndicator ema100 = new EMAIndicator(close, 100);
+        private final EMAIndicator ema200 = new EMAIndicator(close, 200);
+        private final RSIIndicator rsi = new RSIIndicator(close, 14);
+        private final StochasticOscillatorKIndicator stochastic = new StochasticOscillatorKIndicator(series, 14);
+        private final MACDIndicator macd = new MACDIndicator(close, 12, 26);
+        private final SMAIndicator macdSignal = new SMAIndicator(macd, 9);
+        private final StandardDeviationIndicator stdDev = new StandardDeviationIndicator(close, 20);
+        private final BollingerBandsMiddleIndicator bbMiddle = new BollingerBandsMiddleIndicator(close);
+        private final BollingerBandsUpperIndicator bbUpper = new BollingerBandsUpperIndicator(bbMiddle, stdDev);
+        private final BollingerBandsLowerIndicator bbLower = new BollingerBandsLowerIndicator(bbMiddle, stdDev);
+        private final ATRIndicator atr = new ATRIndicator(series, 14);
+        private final VWAPIndicator vwap = new VWAPIndicator(series, 20);
+        private final SMAIndicator volumeSma = new SMAIndicator(new VolumeIndicator(series), 20);
+
+        private Double[] add(final TechnicalAnalysisCalculator.OhlcvPoint point) {
+            series.addBar(series.barBuilder()
+                .timePeriod(Duration.ofDays(7))
+                .endTime(point.timestamp().toInstant())
+                .openPrice(point.open())
+                .highPrice(point.high())
+                .lowPrice(point.low())
+                .closePrice(point.close())
+                .volume(point.volume())
+                .build());
+            final var macdLine = value(macd, 26);
+            final var macdSignalValue = value(macdSignal, 9);
+            return new Double[]{
+                value(sma50, 50), value(sma100, 100), value(sma200, 200),
+                value(ema50, 50), value(ema100, 100), value(ema200, 200),
+                value(rsi, 14), value(stochastic, 14),
+                macdLine, macdSignalValue,
+                macdLine != null && macdSignalValue != null ? macdLine - macdSignalValue : null,
+                value(bbMiddle, 20), value(bbUpper, 20), value(bbLower, 20),
+                value(atr, 14), value(stdDev, 20),
+                value(vwap, 1), value(volumeSma, 20)
+            };
+        }
+
+        private Double value(final Indicator<Num> indicator, final int period) {
+            return series.getBarCount() < period ? null : indicator.getValue(series.getEndIndex()).doubleValue();
+        }
+    }
+}
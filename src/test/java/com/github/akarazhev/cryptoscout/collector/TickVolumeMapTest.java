@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TickVolumeMapTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void shouldAccumulateBuyAndSellVolumePerTick() {
+        final var map = new TickVolumeMap();
+        map.add(100L, 1.5, true);
+        map.add(100L, 0.5, false);
+        map.add(100L, 2.0, true);
+        map.add(-3L, 4.0, false);
+
+        assertEquals(2, map.size());
+        assertEquals(3.5, map.getBuyVolume(100L), DELTA);
+        assertEquals(0.5, map.getSellVolume(100L), DELTA);
+        assertEquals(0.0, map.getBuyVolume(-3L), DELTA);
+        assertEquals(4.0, map.getSellVolume(-3L), DELTA);
+        assertEquals(0.0, map.getBuyVolume(42L), DELTA);
+    }
+
+    @Test
+    void shouldGrowAndKeepAllTicks() {
+        final var map = new TickVolumeMap();
+        for (var tick = 0L; tick < 10_000L; tick++) {
+            map.add(tick * 7, tick, tick % 2 == 0);
+        }
+
+        assertEquals(10_000, map.size());
+        for (var tick = 0L; tick < 10_000L; tick++) {
+            final var volume = tick % 2 == 0 ? map.getBuyVolume(tick * 7) : map.getSellVolume(tick * 7);
+            assertEquals(tick, volume, DELTA);
+        }
+    }
+
+    @Test
+    void shouldReturnSortedTicks() {
+        final var map = new TickVolumeMap();
+        map.add(5L, 1.0, true);
+        map.add(-1L, 1.0, true);
+        map.add(3L, 1.0, false);
+        assertArrayEquals(new long[]{-1L, 3L, 5L}, map.sortedTicks());
+    }
+
+    @Test
+    void shouldClearForReuse() {
+        final var map = new TickVolumeMap();
+        map.add(1L, 1.0, true);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0.0, map.getBuyVolume(1L), DELTA);
+        map.add(1L, 2.0, true);
+        assertEquals(2.0, map.getBuyVolume(1L), DELTA);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.CLOSE_GRACE_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.INTERVAL_15S_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.INTERVAL_1S_MS;
+import static com.github.akarazhev.cryptoscout.collector.Constants.TradeBars.INTERVAL_5S_MS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_BUY_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_CLOSE_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_END_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_HIGH_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_LOW_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SELL_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_START_TIME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TRADE_COUNT;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_TURNOVER;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VOLUME;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.TradeBars.BAR_VWAP;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.P;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SIDE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SYMBOL_NAME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.T;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.V;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TradeBarAggregatorTest {
+    private static final long BASE_TIME_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final String BTC_USDT = "BTCUSDT";
+    private static final String ETH_USDT = "ETHUSDT";
+    private static final double DELTA = 1e-9;
+
+    private static Map<String, Object> trade(final String symbol, final long timeMs, final String price,
+                                             final String size, final String side) {
+        return Map.of(SYMBOL_NAME, symbol, T, timeMs, P, price, V, size, SIDE, side);
+    }
+
+    @Test
+    void shouldRejectInvalidIntervals() {
+        assertThrows(IllegalArgumentException.class, TradeBarAggregator::create);
+        assertThrows(IllegalArgumentException.class, () -> TradeBarAggregator.create(0L));
+        assertThrows(IllegalArgumentException.class, () -> TradeBarAggregator.create(INTERVAL_1S_MS, -1L));
+    }
+
+    @Test
+    void shouldKeepBarOpenUntilNextBucketStarts() {
+        final var aggregator = TradeBarAggregator.create(INTERVAL_1S_MS);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS, 100.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 999, 101.0, 1.0, false);
+        assertTrue(aggregator.drainClosedBars(INTERVAL_1S_MS).isEmpty());
+    }
+
+    @Test
+    void shouldBuildOhlcvBarFromTrades() {
+        final var aggregator = TradeBarAggregator.create(INTERVAL_1S_MS);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 10, 100.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 200, 105.0, 2.0, false);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 400, 95.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 900, 102.0, 4.0, false);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 1_000, 103.0, 1.0, true);
+
+        final var bars = aggregator.drainClosedBars(INTERVAL_1S_MS);
+        assertEquals(1, bars.size());
+        final var bar = bars.getFirst();
+        assertEquals(BTC_USDT, bar.get(BAR_SYMBOL));
+        assertEquals(OffsetDateTime.ofInstant(Instant.ofEpochMilli(BASE_TIME_MS), ZoneOffset.UTC),
+                bar.get(BAR_START_TIME));
+        assertEquals(OffsetDateTime.ofInstant(Instant.ofEpochMilli(BASE_TIME_MS + 999), ZoneOffset.UTC),
+                bar.get(BAR_END_TIME));
+        assertEquals(100.0, (Double) bar.get(BAR_OPEN_PRICE), DELTA);
+        assertEquals(105.0, (Double) bar.get(BAR_HIGH_PRICE), DELTA);
+        assertEquals(95.0, (Double) bar.get(BAR_LOW_PRICE), DELTA);
+        assertEquals(102.0, (Double) bar.get(BAR_CLOSE_PRICE), DELTA);
+        assertEquals(8.0, (Double) bar.get(BAR_VOLUME), DELTA);
+        assertEquals(813.0, (Double) bar.get(BAR_TURNOVER), DELTA);
+        assertEquals(813.0 / 8.0, (Double) bar.get(BAR_VWAP), DELTA);
+        assertEquals(4L, bar.get(BAR_TRADE_COUNT));
+        assertEquals(2.0, (Double) bar.get(BAR_BUY_VOLUME), DELTA);
+        assertEquals(6.0, (Double) bar.get(BAR_SELL_VOLUME), DELTA);
+        assertTrue(aggregator.drainClosedBars(INTERVAL_1S_MS).isEmpty());
+    }
+
+    @Test
+    void shouldKeepClosedBarsUntilRemoved() {
+        final var aggregator = TradeBarAggregator.create(INTERVAL_1S_MS);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS, 100.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 1_000, 101.0, 1.0, true);
+
+        final var bars = aggregator.getClosedBars(INTERVAL_1S_MS);
+        assertEquals(1, bars.size());
+        assertEquals(bars, aggregator.getClosedBars(INTERVAL_1S_MS));
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 2_000, 102.0, 1.0, true);
+        aggregator.removeClosedBars(INTERVAL_1S_MS, bars.size());
+
+        final var remaining = aggregator.getClosedBars(INTERVAL_1S_MS);
+        assertEquals(1, remaining.size());
+        assertEquals(101.0, (Double) remaining.getFirst().get(BAR_OPEN_PRICE), DELTA);
+    }
+
+    @Test
+    void shouldAggregateAllIntervalsIndependently() {
+        final var aggregator = TradeBarAggregator.create(INTERVAL_1S_MS, INTERVAL_5S_MS, INTERVAL_15S_MS);
+        for (var i = 0; i <= 15; i++) {
+            aggregator.addTrade(BTC_USDT, BASE_TIME_MS + i * 1_000L, 100.0 + i, 1.0, true);
+        }
+
+        assertEquals(15, aggregator.drainClosedBars(INTERVAL_1S_MS).size());
+        final var bars5s = aggregator.drainClosedBars(INTERVAL_5S_MS);
+        assertEquals(3, bars5s.size());
+        assertEquals(5L, bars5s.getFirst().get(BAR_TRADE_COUNT));
+        assertEquals(104.0, (Double) bars5s.getFirst().get(BAR_CLOSE_PRICE), DELTA);
+        final var bars15s = aggregator.drainClosedBars(INTERVAL_15S_MS);
+        assertEquals(1, bars15s.size());
+        assertEquals(15.0, (Double) bars15s.getFirst().get(BAR_VOLUME), DELTA);
+    }
+
+    @Test
+    void shouldDropLateTrades() {
+        final var aggregator = TradeBarAggregator.create(INTERVAL_1S_MS);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 1_500, 100.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 500, 90.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 2_000, 101.0, 1.0, true);
+
+        final var bars = aggregator.drainClosedBars(INTERVAL_1S_MS);
+        assertEquals(1, bars.size());
+        assertEquals(1L, bars.getFirst().get(BAR_TRADE_COUNT));
+        assertEquals(1L, aggregator.getLateTrades());
+    }
+
+    @Test
+    void shouldCloseIdleSymbolsWhenMarketClockAdvances() {
+        final var aggregator = TradeBarAggregator.create(INTERVAL_1S_MS);
+        aggregator.addTrades(List.of(Map.of(DATA, List.of(
+                trade(ETH_USDT, BASE_TIME_MS, "2000.5", "0.5", "Sell"),
+                trade(BTC_USDT, BASE_TIME_MS + 100, "42000", "0.01", "Buy")))));
+        assertTrue(aggregator.drainClosedBars(INTERVAL_1S_MS).isEmpty());
+
+        aggregator.addTrades(List.of(Map.of(DATA, List.of(
+                trade(BTC_USDT, BASE_TIME_MS + INTERVAL_1S_MS + CLOSE_GRACE_MS, "42010", "0.02", "Sell")))));
+        final var bars = aggregator.drainClosedBars(INTERVAL_1S_MS);
+        assertEquals(2, bars.size());
+        final var eth = bars.stream().filter(b -> ETH_USDT.equals(b.get(BAR_SYMBOL))).findFirst().orElseThrow();
+        assertEquals(0.5, (Double) eth.get(BAR_SELL_VOLUME), DELTA);
+        assertEquals(0.0, (Double) eth.get(BAR_BUY_VOLUME), DELTA);
+        assertEquals(2, aggregator.getSymbolsCount());
+    }
+
+    @Test
+    void shouldSkipMalformedTradeRows() {
+        final var aggregator = TradeBarAggregator.create(INTERVAL_1S_MS);
+        aggregator.addTrades(List.of(Map.of(DATA, List.of(Map.of(SYMBOL_NAME, BTC_USDT, T, BASE_TIME_MS)))));
+        assertEquals(0, aggregator.getSymbolsCount());
+    }
+}
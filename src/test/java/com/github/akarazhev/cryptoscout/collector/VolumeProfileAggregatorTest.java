@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_BUY_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_DELTA;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_POC_PRICE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_PRICE_TICKS;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SELL_VOLUMES;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_SYMBOL;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_TICK_SIZE;
+import static com.github.akarazhev.cryptoscout.collector.db.Constants.VolumeProfile.PROFILE_VOLUME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.P;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SIDE;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SYMBOL_NAME;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.T;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.V;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class VolumeProfileAggregatorTest {
+    private static final long BASE_TIME_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long INTERVAL_MS = 60_000L;
+    private static final String BTC_USDT = "BTCUSDT";
+    private static final String ETH_USDT = "ETHUSDT";
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> VolumeProfileAggregator.create(0L, 0.01, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> VolumeProfileAggregator.create(INTERVAL_MS, 0, Map.of()));
+    }
+
+    @Test
+    void shouldBucketVolumeByTickAndTakerSide() {
+        final var aggregator = VolumeProfileAggregator.create(INTERVAL_MS, 0.01, Map.of(BTC_USDT, 10.0));
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS, 42_001.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 1_000, 42_009.9, 2.0, false);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 2_000, 42_010.0, 0.5, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 3_000, 41_995.0, 0.25, false);
+        assertTrue(aggregator.drainClosedProfiles().isEmpty());
+
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + INTERVAL_MS, 42_000.0, 1.0, true);
+        final var profiles = aggregator.drainClosedProfiles();
+        assertEquals(1, profiles.size());
+        final var profile = profiles.getFirst();
+        assertEquals(BTC_USDT, profile.get(PROFILE_SYMBOL));
+        assertEquals(10.0, (Double) profile.get(PROFILE_TICK_SIZE), DELTA);
+        assertArrayEquals(new long[]{4_199L, 4_200L, 4_201L}, (long[]) profile.get(PROFILE_PRICE_TICKS));
+        assertArrayEquals(new double[]{0.0, 1.0, 0.5}, (double[]) profile.get(PROFILE_BUY_VOLUMES), DELTA);
+        assertArrayEquals(new double[]{0.25, 2.0, 0.0}, (double[]) profile.get(PROFILE_SELL_VOLUMES), DELTA);
+        assertEquals(3.75, (Double) profile.get(PROFILE_VOLUME), DELTA);
+        assertEquals(-0.75, (Double) profile.get(PROFILE_DELTA), DELTA);
+        assertEquals(42_000.0, (Double) profile.get(PROFILE_POC_PRICE), DELTA);
+    }
+
+    @Test
+    void shouldKeepPricesOnTickBoundaryInTheirOwnTick() {
+        final var aggregator = VolumeProfileAggregator.create(INTERVAL_MS, 0.1, Map.of());
+        aggregator.addTrade(ETH_USDT, BASE_TIME_MS, 0.3, 1.0, true);
+        aggregator.addTrade(ETH_USDT, BASE_TIME_MS + INTERVAL_MS, 0.3, 1.0, true);
+        final var profile = aggregator.drainClosedProfiles().getFirst();
+        assertArrayEquals(new long[]{3L}, (long[]) profile.get(PROFILE_PRICE_TICKS));
+    }
+
+    @Test
+    void shouldParseTradesAndCloseIdleSymbols() {
+        final var aggregator = VolumeProfileAggregator.create(INTERVAL_MS, 0.01, Map.of());
+        aggregator.addTrades(List.of(Map.of(DATA, List.of(
+                Map.of(SYMBOL_NAME, ETH_USDT, T, BASE_TIME_MS, P, "2000.01", V, "3", SIDE, "Sell"),
+                Map.of(SYMBOL_NAME, BTC_USDT, T, BASE_TIME_MS, P, "42000", V, "1", SIDE, "Buy")))));
+        aggregator.addTrades(List.of(Map.of(DATA, List.of(
+                Map.of(SYMBOL_NAME, BTC_USDT, T, BASE_TIME_MS + 2 * INTERVAL_MS, P, "42001", V, "1", SIDE, "Buy")))));
+
+        final var profiles = aggregator.drainClosedProfiles();
+        assertEquals(2, profiles.size());
+        assertTrue(aggregator.drainClosedProfiles().isEmpty());
+    }
+
+    @Test
+    void shouldKeepClosedProfilesUntilRemoved() {
+        final var aggregator = VolumeProfileAggregator.create(INTERVAL_MS, 1.0, Map.of());
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS, 100.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + INTERVAL_MS, 101.0, 1.0, true);
+
+        final var profiles = aggregator.getClosedProfiles();
+        assertEquals(1, profiles.size());
+        assertEquals(profiles, aggregator.getClosedProfiles());
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + 2 * INTERVAL_MS, 102.0, 1.0, true);
+        aggregator.removeClosedProfiles(profiles.size());
+
+        final var remaining = aggregator.getClosedProfiles();
+        assertEquals(1, remaining.size());
+        assertEquals(101.0, (Double) remaining.getFirst().get(PROFILE_POC_PRICE), DELTA);
+    }
+
+    @Test
+    void shouldDropLateTrades() {
+        final var aggregator = VolumeProfileAggregator.create(INTERVAL_MS, 1.0, Map.of());
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS + INTERVAL_MS, 100.0, 1.0, true);
+        aggregator.addTrade(BTC_USDT, BASE_TIME_MS, 100.0, 1.0, true);
+        assertEquals(1L, aggregator.getLateTrades());
+    }
+}
@@ -33,9 +33,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -56,13 +58,22 @@ import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_PUBLIC_TRADE_TABLE;
 import static com.github.akarazhev.cryptoscout.collector.db.Constants.Bybit.SPOT_TICKERS_TABLE;
 import static com.github.akarazhev.cryptoscout.test.Assertions.assertTableCount;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CLOSE;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.CTS;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.DATA;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.END;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.HIGH;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.LOW;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.OPEN;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.START;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.SYMBOL;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.T;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TS;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.TURNOVER;
+import static com.github.akarazhev.jcryptolib.bybit.Constants.Response.VOLUME;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Symbol.BTC_USDT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 final class BybitSpotRepositoryTest {
     private static ExecutorService executor;
@@ -173,6 +184,38 @@ final class BybitSpotRepositoryTest {
         assertEquals(expected, repository.getKline1m(BTC_USDT, from, OffsetDateTime.now(ZoneOffset.UTC)).size());
     }
 
+    @Test
+    void getKline1mRowsMatchBetweenTailAndDatabase() throws Exception {
+        final var k1 = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        final var start = ((Map<?, ?>)((List<?>) k1.get(DATA)).getFirst()).get(START);
+        repository.saveKline1m(List.of(k1), 800L);
+        final var from = OffsetDateTime.ofInstant(Instant.ofEpochMilli((Long) start), ZoneOffset.UTC);
+        final var to = OffsetDateTime.now(ZoneOffset.UTC);
+        final var dbRows = repository.getKline1m(BTC_USDT, from, to);
+
+        // The tail the repository keeps when jdbc.tail.enabled is set, created before the rows
+        final var tail = TailStore.create(true, SYMBOL, 1, true, Long.MAX_VALUE / 2, 1000, Integer.MAX_VALUE,
+                () -> 0L, new TailStore.Column(START, TailStore.Type.TIME),
+                new TailStore.Column(END, TailStore.Type.TIME), new TailStore.Column(OPEN, TailStore.Type.DOUBLE),
+                new TailStore.Column(CLOSE, TailStore.Type.DOUBLE), new TailStore.Column(HIGH, TailStore.Type.DOUBLE),
+                new TailStore.Column(LOW, TailStore.Type.DOUBLE), new TailStore.Column(VOLUME, TailStore.Type.DOUBLE),
+                new TailStore.Column(TURNOVER, TailStore.Type.DOUBLE));
+        final var batch = tail.batch();
+        for (final var row : dbRows) {
+            batch.add(BTC_USDT, toOdt(row.get(START)), toOdt(row.get(END)), row.get(OPEN), row.get(CLOSE),
+                    row.get(HIGH), row.get(LOW), row.get(VOLUME), row.get(TURNOVER));
+        }
+
+        batch.publish();
+        final var tailRows = tail.get(BTC_USDT, from, to);
+        assertEquals(dbRows, tailRows);
+        assertInstanceOf(Timestamp.class, tailRows.getFirst().get(START));
+    }
+
+    private static OffsetDateTime toOdt(final Object time) {
+        return OffsetDateTime.ofInstant(((Date) time).toInstant(), ZoneOffset.UTC);
+    }
+
     @Test
     void getKline5m() throws Exception {
         final var k5 = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_5);
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ReplicaRouterTest {
+    private static final long MARGIN_MS = 5_000L;
+
+    @Test
+    void shouldStayOnThePrimaryUntilAReplicaIsChecked() {
+        assertEquals(ReplicaRouter.PRIMARY, ReplicaRouter.create(0, MARGIN_MS).route(0L));
+        final var router = ReplicaRouter.create(2, MARGIN_MS);
+        assertEquals(ReplicaRouter.PRIMARY, router.route(0L));
+        assertEquals(ReplicaRouter.PRIMARY, router.route(Long.MIN_VALUE));
+    }
+
+    @Test
+    void shouldFallBackToThePrimaryWhenTheRangeIsNewerThanTheReplay() {
+        final var router = ReplicaRouter.create(1, MARGIN_MS);
+        router.update(0, 100_000L);
+        assertEquals(0, router.route(95_000L));
+        // The margin covers writes committed shortly before the end of the range
+        assertEquals(ReplicaRouter.PRIMARY, router.route(95_001L));
+        assertEquals(ReplicaRouter.PRIMARY, router.route(Long.MAX_VALUE));
+
+        router.markDown(0);
+        assertEquals(ReplicaRouter.PRIMARY, router.route(0L));
+    }
+
+    @Test
+    void shouldSpreadReadsOverTheFreshReplicas() {
+        final var router = ReplicaRouter.create(3, MARGIN_MS);
+        router.update(0, 100_000L);
+        router.update(1, 50_000L);
+        router.update(2, 100_000L);
+
+        final var picked = new HashSet<Integer>();
+        for (var i = 0; i < 6; i++) {
+            picked.add(router.route(90_000L));
+        }
+
+        assertEquals(2, picked.size());
+        assertTrue(picked.contains(0) && picked.contains(2));
+
+        // Older ranges are served by the lagging replica too
+        final var all = new HashSet<Integer>();
+        for (var i = 0; i < 3; i++) {
+            all.add(router.route(40_000L));
+        }
+
+        assertEquals(3, all.size());
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.collector.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TailStoreTest {
+    private static final String SYMBOL = "BTCUSDT";
+    private static final long INTERVAL_MS = 1_000L;
+    private static final long CREATED_AT_MS = 100_000L;
+
+    private static OffsetDateTime odt(final long epochMs) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneOffset.UTC);
+    }
+
+    private static TailStore klines(final long retentionMs, final int maxRows, final int offHeapMinRows) {
+        return TailStore.create(true, "symbol", 1, true, retentionMs, maxRows, offHeapMinRows, () -> CREATED_AT_MS,
+                new TailStore.Column("start", TailStore.Type.TIME), new TailStore.Column("end", TailStore.Type.TIME),
+                new TailStore.Column("close", TailStore.Type.DOUBLE));
+    }
+
+    private static TailStore trades(final int maxRows) {
+        return TailStore.create(true, "s", 0, false, 60_000L, maxRows, Integer.MAX_VALUE, () -> CREATED_AT_MS,
+                new TailStore.Column("T", TailStore.Type.TIME), new TailStore.Column("p", TailStore.Type.DOUBLE),
+                new TailStore.Column("S", TailStore.Type.TEXT), new TailStore.Column("BT", TailStore.Type.BOOLEAN));
+    }
+
+    private static void addBars(final TailStore store, final long fromMs, final long toMs) {
+        final var batch = store.batch();
+        for (var start = fromMs; start < toMs; start += INTERVAL_MS) {
+            batch.add(SYMBOL, odt(start), odt(start + INTERVAL_MS - 1), (double) start);
+        }
+
+        batch.publish();
+    }
+
+    @Test
+    void shouldAnswerRangesInsideTheCoveredWindow() {
+        final var store = klines(3_600_000L, 10_000, Integer.MAX_VALUE);
+        // Bars before the store existed may already be in the database, so they are not retained
+        addBars(store, 90_000L, 200_000L);
+
+        final var rows = store.get(SYMBOL, odt(150_000L), odt(159_999L));
+        assertEquals(10, rows.size());
+        assertEquals(new Timestamp(150_000L), rows.getFirst().get("start"));
+        assertEquals(SYMBOL, rows.getFirst().get("symbol"));
+        assertEquals(159_000.0, rows.getLast().get("close"));
+        // The bar ending after the range is left out, as with the end_time predicate
+        assertEquals(9, store.get(SYMBOL, odt(150_000L), odt(159_998L)).size());
+        assertNull(store.get(SYMBOL, odt(99_000L), odt(159_999L)));
+        assertNull(store.get("ETHUSDT", odt(150_000L), odt(159_999L)));
+    }
+
+    @Test
+    void shouldFallBackOnceRowsAreEvicted() {
+        final var store = klines(50_000L, 10_000, Integer.MAX_VALUE);
+        addBars(store, 101_000L, 300_000L);
+
+        // Bars up to the retention before the newest one stay
+        assertNull(store.get(SYMBOL, odt(248_000L), odt(300_000L)));
+        assertEquals(51, store.get(SYMBOL, odt(249_000L), odt(300_000L)).size());
+        // The row limit evicts too
+        final var bounded = klines(3_600_000L, 20, Integer.MAX_VALUE);
+        addBars(bounded, 101_000L, 200_000L);
+        assertNull(bounded.get(SYMBOL, odt(179_000L), odt(200_000L)));
+        assertEquals(20, bounded.get(SYMBOL, odt(180_000L), odt(200_000L)).size());
+    }
+
+    @Test
+    void shouldInsertLateRowsInOrderAndSkipDuplicates() {
+        final var store = klines(3_600_000L, 10_000, Integer.MAX_VALUE);
+        addBars(store, 101_000L, 110_000L);
+        addBars(store, 120_000L, 130_000L);
+        // A backfilled gap and a redelivered bar
+        addBars(store, 110_000L, 121_000L);
+
+        final var rows = store.get(SYMBOL, odt(101_000L), odt(129_999L));
+        assertEquals(29, rows.size());
+        for (var i = 0; i < rows.size(); i++) {
+            assertEquals(new Timestamp(101_000L + i * INTERVAL_MS), rows.get(i).get("start"));
+        }
+    }
+
+    @Test
+    void shouldGrowOffHeapAcrossTheRing() {
+        final var store = klines(3_600_000L, 3_000, 1_024);
+        addBars(store, 101_000L, 3_101_000L);
+
+        final var rows = store.get(SYMBOL, odt(2_000_000L), odt(3_100_999L));
+        assertEquals(1_101, rows.size());
+        assertEquals(2_000_000.0, rows.getFirst().get("close"));
+        assertEquals(3_100_000.0, rows.getLast().get("close"));
+        assertNull(store.get(SYMBOL, odt(100_000L), odt(3_100_999L)));
+    }
+
+    @Test
+    void shouldKeepTradesWithEqualTimes() {
+        final var store = trades(10_000);
+        final var batch = store.batch();
+        batch.add(SYMBOL, odt(101_000L), 1.0, "Buy", false);
+        batch.add(SYMBOL, odt(101_000L), 2.0, "Sell", true);
+        batch.add(SYMBOL, odt(102_000L), 3.0, "Buy", false);
+        batch.publish();
+
+        final var rows = store.get(SYMBOL, odt(101_000L), odt(101_000L));
+        assertEquals(2, rows.size());
+        assertEquals("Sell", rows.getLast().get("S"));
+        assertEquals(true, rows.getLast().get("BT"));
+        assertEquals(SYMBOL, rows.getLast().get("s"));
+        assertTrue(store.get(SYMBOL, odt(103_000L), odt(104_000L)).isEmpty());
+    }
+
+    @Test
+    void shouldNotAnswerWhenDisabled() {
+        final var store = TailStore.create(false, "symbol", 0, true, 60_000L, 100, 100, () -> CREATED_AT_MS,
+                new TailStore.Column("start", TailStore.Type.TIME));
+        final var batch = store.batch();
+        batch.add(SYMBOL, odt(101_000L));
+        batch.publish();
+
+        assertNull(store.get(SYMBOL, odt(101_000L), odt(101_000L)));
+    }
+}